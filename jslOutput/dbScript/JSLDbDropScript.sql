@@ -0,0 +1,7 @@
+drop table jsl_db.batch_stat;
+drop table jsl_db.within_rep_counter_stat;
+drop table jsl_db.across_rep_stat;
+drop table jsl_db.within_rep_stat;
+drop table jsl_db.model_element;
+drop table jsl_db.simulation_run;
+drop schema jsl_db restrict;
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.benchmarks;
+
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.Model;
+import jsl.modeling.Simulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of scheduling and executing events with and without the
+ * Executive's event pool. An operation is one executed event. Run with the GC
+ * profiler (as main() does) and compare gc.alloc.rate.norm, the bytes allocated
+ * per executed event, between the two settings of the pooling parameter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPoolBenchmark {
+
+    private static final int NUM_EVENTS = 100000;
+
+    /**
+     * The number of events pending on the calendar at any time
+     */
+    @Param({"10", "1000"})
+    public int pending;
+
+    @Param({"false", "true"})
+    public boolean pooling;
+
+    private Executive myExecutive;
+
+    private Model myModel;
+
+    private Random myRandom;
+
+    private EventActionIfc myAction;
+
+    private int myCount;
+
+    @Setup
+    public void setUp() {
+        Simulation sim = new Simulation("EventPoolBenchmark");
+        myModel = sim.getModel();
+        myExecutive = new Executive();
+        myExecutive.setTerminationWarningMessageOption(false);
+        myExecutive.setEventPoolingOption(pooling);
+        myRandom = new Random(1234);
+        myAction = new EventActionIfc() {
+            @Override
+            public void action(JSLEvent event) {
+                myCount++;
+                if (myCount <= NUM_EVENTS - pending) {
+                    myExecutive.scheduleEvent(this, -Math.log(myRandom.nextDouble()),
+                            null, JSLEvent.DEFAULT_PRIORITY, null, myModel);
+                }
+            }
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_EVENTS)
+    public double scheduleAndExecute() {
+        myCount = 0;
+        myExecutive.initialize();
+        for (int i = 0; i < pending; i++) {
+            myExecutive.scheduleEvent(myAction, -Math.log(myRandom.nextDouble()),
+                    null, JSLEvent.DEFAULT_PRIORITY, null, myModel);
+        }
+        myExecutive.executeAllEvents();
+        return myExecutive.getTime();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(EventPoolBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
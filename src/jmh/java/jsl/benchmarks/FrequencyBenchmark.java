@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.benchmarks;
+
+import jsl.utilities.statistic.IntegerFrequency;
+import jsl.utilities.statistic.StateFrequency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the collection throughput of IntegerFrequency and StateFrequency,
+ * which are updated on every change of a queue length, inventory level or state.
+ * The values follow a random walk, like a queue length, over a small range
+ * (held in a dense array) or are spread over a large range (held in a hash
+ * table). The boxedMap benchmark tabulates the same values in a HashMap of
+ * boxed integers as a baseline. An operation is one collected value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrequencyBenchmark {
+
+    private static final int SIZE = 4096;
+
+    private static final int NUM_STATES = 8;
+
+    @Param({"small", "large"})
+    public String range;
+
+    private int[] myValues;
+
+    private IntegerFrequency myFrequency;
+
+    private Map<Integer, Integer> myMap;
+
+    private StateFrequency myStateFrequency;
+
+    private jsl.modeling.State[] myStates;
+
+    @Setup
+    public void setUp() {
+        Random r = new Random(42);
+        myValues = new int[SIZE];
+        int x = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (range.equals("small")) {
+                x = Math.max(0, x + (r.nextBoolean() ? 1 : -1));
+                myValues[i] = x;
+            } else {
+                myValues[i] = r.nextInt(1 << 24);
+            }
+        }
+        myFrequency = new IntegerFrequency();
+        myMap = new HashMap<>();
+        myStateFrequency = new StateFrequency(NUM_STATES);
+        List<jsl.modeling.State> states = myStateFrequency.getStates();
+        myStates = new jsl.modeling.State[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            myStates[i] = states.get(Math.abs(myValues[i]) % NUM_STATES);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int integerFrequency() {
+        myFrequency.reset();
+        for (int v : myValues) {
+            myFrequency.collect(v);
+        }
+        return myFrequency.getNumberOfCells();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int boxedMap() {
+        myMap.clear();
+        for (int v : myValues) {
+            myMap.merge(v, 1, Integer::sum);
+        }
+        return myMap.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int stateFrequency() {
+        myStateFrequency.reset();
+        for (jsl.modeling.State s : myStates) {
+            myStateFrequency.collect(s);
+        }
+        return myStateFrequency.getTotalCount();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(FrequencyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.benchmarks;
+
+import ex.models.DriveThroughPharmacy;
+import ex.models.TandemQueue;
+import jsl.modeling.ModelElement;
+import jsl.modeling.Simulation;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Macro-benchmark that runs complete replications of example models. An
+ * operation is one replication, so the score is replications per second. The
+ * auxiliary counter "events" reports the number of events executed per second
+ * over the same replications.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelBenchmark {
+
+    @Param({"DriveThroughPharmacy", "TandemQueue"})
+    public String model;
+
+    @Param({"20000"})
+    public double lengthOfReplication;
+
+    private Simulation mySimulation;
+
+    private EventCounter myEventCounter;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+
+        /**
+         * The number of events executed during the iteration
+         */
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            events = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        mySimulation = new Simulation("ModelBenchmark");
+        mySimulation.setNumberOfReplications(1);
+        mySimulation.setLengthOfReplication(lengthOfReplication);
+        switch (model) {
+            case "DriveThroughPharmacy":
+                new DriveThroughPharmacy(mySimulation.getModel());
+                break;
+            case "TandemQueue":
+                new TandemQueue(mySimulation.getModel());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown model " + model);
+        }
+        myEventCounter = new EventCounter(mySimulation.getModel());
+    }
+
+    @Benchmark
+    public double replication(Counters counters) {
+        mySimulation.run();
+        counters.events = counters.events + myEventCounter.myNumEvents;
+        return myEventCounter.myNumEvents;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ModelBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * Records the number of events executed by the last replication
+     */
+    static class EventCounter extends ModelElement {
+
+        long myNumEvents;
+
+        EventCounter(ModelElement parent) {
+            super(parent);
+        }
+
+        @Override
+        protected void afterReplication() {
+            myNumEvents = (long) getExecutive().getTotalNumberEventsExecuted();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.benchmarks;
+
+import jsl.modeling.Simulation;
+import jsl.modeling.queue.QObject;
+import jsl.modeling.queue.Queue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Queue.removeNext() followed by Queue.enqueue() of the removed object
+ * for each queue discipline, with the number in queue held constant. The
+ * priorities of the objects cycle through seven values so that the RANKED
+ * discipline has ties to break. An operation is one remove and one enqueue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+    @Param({"FIFO", "LIFO", "RANDOM", "RANKED"})
+    public Queue.Discipline discipline;
+
+    /**
+     * The number of objects in the queue
+     */
+    @Param({"10", "1000"})
+    public int size;
+
+    private Queue<QObject> myQueue;
+
+    @Setup
+    public void setUp() {
+        Simulation sim = new Simulation("QueueBenchmark");
+        myQueue = new Queue<>(sim.getModel(), "Q", discipline);
+        for (int i = 0; i < size; i++) {
+            QObject qObject = new QObject(0.0);
+            qObject.setPriority(i % 7);
+            myQueue.enqueue(qObject);
+        }
+    }
+
+    @Benchmark
+    public QObject removeNextAndEnqueue() {
+        QObject qObject = myQueue.removeNext();
+        myQueue.enqueue(qObject);
+        return qObject;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(QueueBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
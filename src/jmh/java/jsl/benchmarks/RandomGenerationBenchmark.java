@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.benchmarks;
+
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.random.rng.RNStreamIfc;
+import jsl.utilities.random.rvariable.AbstractRVariable;
+import jsl.utilities.random.rvariable.ExponentialRV;
+import jsl.utilities.random.rvariable.NormalRV;
+import jsl.utilities.random.rvariable.TriangularRV;
+import jsl.utilities.random.rvariable.UniformRV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generating random numbers one call at a time with filling an array
+ * through the bulk methods, RNStreamIfc.randU01(double[], int, int) and
+ * AbstractRVariable.sample(double[]). An operation is one generated value.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomGenerationBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @State(Scope.Thread)
+    public static class StreamState {
+
+        RNStreamIfc myStream;
+
+        double[] myValues;
+
+        @Setup
+        public void setUp() {
+            myStream = new RNStreamFactory().getStream();
+            myValues = new double[SIZE];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class VariateState {
+
+        @Param({"uniform", "exponential", "normal", "triangular"})
+        public String distribution;
+
+        AbstractRVariable myVariate;
+
+        double[] myValues;
+
+        @Setup
+        public void setUp() {
+            RNStreamIfc stream = new RNStreamFactory().getStream();
+            switch (distribution) {
+                case "uniform":
+                    myVariate = new UniformRV(0.0, 10.0, stream);
+                    break;
+                case "exponential":
+                    myVariate = new ExponentialRV(10.0, stream);
+                    break;
+                case "normal":
+                    myVariate = new NormalRV(10.0, 4.0, stream);
+                    break;
+                case "triangular":
+                    myVariate = new TriangularRV(1.0, 2.0, 5.0, stream);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown distribution " + distribution);
+            }
+            myValues = new double[SIZE];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] randU01PerCall(StreamState s) {
+        double[] x = s.myValues;
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = s.myStream.randU01();
+        }
+        return x;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] randU01Bulk(StreamState s) {
+        s.myStream.randU01(s.myValues, 0, SIZE);
+        return s.myValues;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] samplePerCall(VariateState s) {
+        double[] x = s.myValues;
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = s.myVariate.sample();
+        }
+        return x;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double[] sampleBulk(VariateState s) {
+        s.myVariate.sample(s.myValues);
+        return s.myValues;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RandomGenerationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
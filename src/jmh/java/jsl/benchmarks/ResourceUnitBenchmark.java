@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.benchmarks;
+
+import jsl.modeling.ModelElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.resource.Request;
+import jsl.modeling.resource.RequestReactorAdapter;
+import jsl.modeling.resource.ResourceUnit;
+import jsl.utilities.random.rvariable.ExponentialRV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures seizing and releasing a ResourceUnit within a running replication.
+ * A fixed number of customers cycle through the unit: each seizes it for an
+ * exponential usage time and seizes it again as soon as its request is
+ * completed, so with more than one customer requests also wait in the unit's
+ * queue. An operation is one completed request, which includes the
+ * end-of-usage event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceUnitBenchmark {
+
+    private static final int NUM_REQUESTS = 100000;
+
+    /**
+     * The number of customers competing for the unit
+     */
+    @Param({"1", "10"})
+    public int customers;
+
+    private Simulation mySimulation;
+
+    private Cycler myCycler;
+
+    @Setup
+    public void setUp() {
+        mySimulation = new Simulation("ResourceUnitBenchmark");
+        mySimulation.setNumberOfReplications(1);
+        ResourceUnit unit = new ResourceUnit.Builder(mySimulation.getModel()).name("Unit").build();
+        myCycler = new Cycler(mySimulation.getModel(), unit, customers);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_REQUESTS)
+    public int seizeAndRelease() {
+        mySimulation.run();
+        return myCycler.myNumCompleted;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ResourceUnitBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+
+    static class Cycler extends ModelElement {
+
+        private final ResourceUnit myUnit;
+
+        private final int myNumCustomers;
+
+        private final ExponentialRV myUsageTime = new ExponentialRV(1.0);
+
+        private final Reactor myReactor = new Reactor();
+
+        int myNumCompleted;
+
+        Cycler(ModelElement parent, ResourceUnit unit, int numCustomers) {
+            super(parent);
+            myUnit = unit;
+            myNumCustomers = numCustomers;
+        }
+
+        @Override
+        protected void initialize() {
+            myNumCompleted = 0;
+            for (int i = 0; i < myNumCustomers; i++) {
+                myUnit.seize(myReactor, myUsageTime, this);
+            }
+        }
+
+        class Reactor extends RequestReactorAdapter {
+
+            @Override
+            public void completed(Request request) {
+                myNumCompleted++;
+                if (myNumCompleted <= NUM_REQUESTS - myNumCustomers) {
+                    myUnit.seize(myReactor, myUsageTime, Cycler.this);
+                }
+            }
+        }
+    }
+}
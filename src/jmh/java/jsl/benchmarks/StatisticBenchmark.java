@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.benchmarks;
+
+import jsl.utilities.random.rvariable.ExponentialRV;
+import jsl.utilities.statistic.Statistic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Statistic.collect(), which is called for every observation of every
+ * response in a model. An operation is one collected value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private double[] myValues;
+
+    private Statistic myStatistic;
+
+    @Setup
+    public void setUp() {
+        myValues = new ExponentialRV(2.0).sample(SIZE);
+        myStatistic = new Statistic();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double collect() {
+        myStatistic.reset();
+        for (double x : myValues) {
+            myStatistic.collect(x);
+        }
+        return myStatistic.getAverage();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double collectWeighted() {
+        myStatistic.reset();
+        for (double x : myValues) {
+            myStatistic.collect(x, 0.5);
+        }
+        return myStatistic.getAverage();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(StatisticBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package ex.running;
+
+import ex.models.DriveThroughPharmacy;
+import jsl.modeling.ModelBuilderIfc;
+import jsl.modeling.ParallelReplicationRunner;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.random.rng.RNStreamProvider;
+import jsl.utilities.random.rvariable.JSLRandom;
+
+/**
+ * Illustrates the use of a ParallelReplicationRunner and measures how the
+ * number of replications per second scales with the number of workers.
+ */
+public class ParallelReplicationsDemo {
+
+    public static void main(String[] args) {
+        ModelBuilderIfc builder = model -> new DriveThroughPharmacy(model, 2);
+        int numReps = 400;
+
+        JSLRandom.setRNStreamProvider(new RNStreamProvider());
+        Simulation seq = makeSimulation("Sequential", numReps);
+        builder.buildModel(seq.getModel());
+        long start = System.currentTimeMillis();
+        seq.run();
+        long elapsed = System.currentTimeMillis() - start;
+        double seqAvg = seq.getModel().getResponseVariable("System Time").getAcrossReplicationAverage();
+        System.out.printf("%-10s %10s %15s %20s%n", "Workers", "Time (ms)", "Reps/Second", "System Time");
+        System.out.printf("%-10s %10d %15.2f %20.12f%n", "seq", elapsed, numReps / (elapsed / 1000.0), seqAvg);
+
+        int maxWorkers = Runtime.getRuntime().availableProcessors();
+        for (int w = 1; w <= maxWorkers; w = w * 2) {
+            JSLRandom.setRNStreamProvider(new RNStreamProvider());
+            Simulation sim = makeSimulation("Parallel", numReps);
+            ParallelReplicationRunner runner = new ParallelReplicationRunner(sim, builder, w);
+            runner.run();
+            ResponseVariable st = sim.getModel().getResponseVariable("System Time");
+            System.out.printf("%-10d %10d %15.2f %20.12f%n", w, runner.getElapsedExecutionTime(),
+                    runner.getReplicationsPerSecond(), st.getAcrossReplicationAverage());
+            if (st.getAcrossReplicationAverage() != seqAvg) {
+                System.out.println("The parallel results did not match the sequential results!");
+            }
+        }
+    }
+
+    private static Simulation makeSimulation(String name, int numReps) {
+        Simulation sim = new Simulation(name);
+        sim.setNumberOfReplications(numReps);
+        sim.setLengthOfReplication(20000.0);
+        sim.setLengthOfWarmUp(5000.0);
+        return sim;
+    }
+}
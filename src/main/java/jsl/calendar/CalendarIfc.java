@@ -17,6 +17,8 @@ package jsl.calendar;
 
 import jsl.modeling.JSLEvent;
 
+import java.util.function.Predicate;
+
 /**
  * The interface defines behavior for holding, adding and retrieving JSLEvents.
  * <p>
@@ -64,7 +66,8 @@ public interface CalendarIfc {
     /**
      * Cancels the supplied JSLEvent in the calendar. Canceling does not remove
      * the event from the data structure. It simply indicates that the
-     * scheduled event must not be executed.
+     * scheduled event must not be executed. Use remove() or removeIf() to
+     * take canceled events out of the calendar.
      *
      * @param event The JSLEvent to be canceled
      */
@@ -76,4 +79,30 @@ public interface CalendarIfc {
      * @return An int representing the number of events.
      */
     public int size();
+
+    /**
+     * Removes the supplied JSLEvent from the calendar, if the calendar
+     * supports efficient removal of arbitrary events. Calendars that do not
+     * support removal return false and leave the event in the calendar.
+     *
+     * @param event The JSLEvent to be removed
+     * @return true if the event was removed, false otherwise
+     */
+    default boolean remove(JSLEvent event) {
+        return false;
+    }
+
+    /**
+     * Removes every event in the calendar for which the filter returns true. The
+     * filter is applied at most once to each event and an event is removed if and
+     * only if the filter returns true for it. The order of the remaining events is
+     * not changed. Calendars that do not support removal do not apply the filter
+     * and return 0.
+     *
+     * @param filter the test for removing an event
+     * @return the number of events removed
+     */
+    default int removeIf(Predicate<JSLEvent> filter) {
+        return 0;
+    }
 }
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.calendar;
+
+import jsl.modeling.JSLEvent;
+
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * This class provides an event calendar by using a calendar queue (R. Brown, 1988,
+ * "Calendar queues: a fast O(1) priority queue implementation for the simulation
+ * event set problem") to hold the underlying events.
+ * <p>
+ * The events are hashed by time into an array of buckets (days), each covering an
+ * interval of time of the same width. The calendar scans the buckets in order, one
+ * "year" at a time, so that adding and removing events take O(1) amortized time
+ * when the width of the buckets fits the spacing of the events. The number of buckets
+ * doubles (halves) as the number of events grows (shrinks) and the width of the buckets
+ * is re-estimated from the events at the front of the calendar whenever it is resized.
+ * <p>
+ * Within a bucket the events are kept ordered by JSLEvent.compareTo(). Since events
+ * with the same time are always placed in the same bucket, the events are returned
+ * in exactly the same order (time, priority, id) as by the other calendars.
+ */
+public class CalendarQueueEventCalendar implements CalendarIfc {
+
+    /**
+     * The smallest number of buckets
+     */
+    private static final int MIN_BUCKETS = 16;
+
+    /**
+     * The number of events at the front of the calendar used to estimate the
+     * width of the buckets when resizing
+     */
+    private static final int SAMPLE_SIZE = 25;
+
+    private Node[] myHeads;
+
+    private Node[] myTails;
+
+    /**
+     * Always a power of 2, the bucket of a day is myDay &amp; myMask
+     */
+    private int myMask;
+
+    private double myWidth;
+
+    /**
+     * The day (time divided by the width) currently being scanned
+     */
+    private long myDay;
+
+    private int myNumEvents;
+
+    /**
+     * The number of events at which the buckets are doubled or halved
+     */
+    private int myUpperThreshold;
+
+    private int myLowerThreshold;
+
+    /**
+     * The number of times that the calendar was resized
+     */
+    private int myNumResizes;
+
+    /**
+     * Creates a calendar with an initial bucket width of 1.0
+     */
+    public CalendarQueueEventCalendar() {
+        this(1.0);
+    }
+
+    /**
+     * @param width the initial width of the buckets, must be &gt; 0. The width is
+     *              re-estimated as the calendar grows.
+     */
+    public CalendarQueueEventCalendar(double width) {
+        if (width <= 0.0 || Double.isInfinite(width) || Double.isNaN(width)) {
+            throw new IllegalArgumentException("The bucket width must be > 0 and finite");
+        }
+        myWidth = width;
+        makeBuckets(MIN_BUCKETS);
+    }
+
+    @Override
+    public final void add(JSLEvent event) {
+        if (event == null) {
+            throw new IllegalArgumentException("The event was null");
+        }
+        Node node = new Node(event, dayOf(event.getTime()));
+        insert(node);
+        if (node.day < myDay) {
+            // added before the current position of the scan
+            myDay = node.day;
+        }
+        myNumEvents++;
+        if (myNumEvents > myUpperThreshold) {
+            resize(2 * myHeads.length);
+        }
+    }
+
+    @Override
+    public final JSLEvent nextEvent() {
+        if (myNumEvents == 0) {
+            return null;
+        }
+        int b = findNextBucket();
+        Node node = myHeads[b];
+        myHeads[b] = node.next;
+        if (node.next == null) {
+            myTails[b] = null;
+        }
+        myNumEvents--;
+        if ((myNumEvents < myLowerThreshold) && (myHeads.length > MIN_BUCKETS)) {
+            resize(myHeads.length / 2);
+        }
+        return node.event;
+    }
+
+    @Override
+    public final JSLEvent peekNext() {
+        if (myNumEvents == 0) {
+            return null;
+        }
+        return myHeads[findNextBucket()].event;
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return (myNumEvents == 0);
+    }
+
+    @Override
+    public final void clear() {
+        makeBuckets(MIN_BUCKETS);
+        myNumEvents = 0;
+        myDay = 0;
+    }
+
+    @Override
+    public final void cancel(JSLEvent event) {
+        event.setCanceledFlag(true);
+    }
+
+    @Override
+    public int size() {
+        return (myNumEvents);
+    }
+
+    @Override
+    public final boolean remove(JSLEvent event) {
+        int b = (int) (dayOf(event.getTime()) & myMask);
+        Node prev = null;
+        Node node = myHeads[b];
+        while ((node != null) && (node.event != event)) {
+            prev = node;
+            node = node.next;
+        }
+        if (node == null) {
+            return false;
+        }
+        unlink(b, prev, node);
+        myNumEvents--;
+        return true;
+    }
+
+    @Override
+    public final int removeIf(Predicate<JSLEvent> filter) {
+        int n = 0;
+        for (int b = 0; b < myHeads.length; b++) {
+            Node prev = null;
+            Node node = myHeads[b];
+            while (node != null) {
+                Node next = node.next;
+                if (filter.test(node.event)) {
+                    unlink(b, prev, node);
+                    n++;
+                } else {
+                    prev = node;
+                }
+                node = next;
+            }
+        }
+        myNumEvents = myNumEvents - n;
+        return n;
+    }
+
+    /**
+     * @return the current number of buckets
+     */
+    public final int getNumberOfBuckets() {
+        return myHeads.length;
+    }
+
+    /**
+     * @return the current width (in time units) of the buckets
+     */
+    public final double getBucketWidth() {
+        return myWidth;
+    }
+
+    /**
+     * @return the number of times that the calendar has been resized
+     */
+    public final int getNumberOfResizes() {
+        return myNumResizes;
+    }
+
+    @Override
+    public String toString() {
+        return ("Number of events = " + myNumEvents + " Number of buckets = "
+                + myHeads.length + " Bucket width = " + myWidth);
+    }
+
+    private void unlink(int b, Node prev, Node node) {
+        if (prev == null) {
+            myHeads[b] = node.next;
+        } else {
+            prev.next = node.next;
+        }
+        if (myTails[b] == node) {
+            myTails[b] = prev;
+        }
+        node.next = null;
+    }
+
+    private long dayOf(double time) {
+        return (long) Math.floor(time / myWidth);
+    }
+
+    private void makeBuckets(int n) {
+        myHeads = new Node[n];
+        myTails = new Node[n];
+        myMask = n - 1;
+        myUpperThreshold = 2 * n;
+        myLowerThreshold = n / 2;
+    }
+
+    /**
+     * Places the node within its bucket, keeping the bucket ordered. Events are
+     * most often added behind the events already in the bucket, so the tail is
+     * checked first.
+     *
+     * @param node the node to insert
+     */
+    private void insert(Node node) {
+        int b = (int) (node.day & myMask);
+        Node tail = myTails[b];
+        if (tail == null) {
+            myHeads[b] = node;
+            myTails[b] = node;
+            return;
+        }
+        if (node.event.compareTo(tail.event) > 0) {
+            tail.next = node;
+            myTails[b] = node;
+            return;
+        }
+        Node prev = null;
+        Node current = myHeads[b];
+        while (node.event.compareTo(current.event) > 0) {
+            prev = current;
+            current = current.next;
+        }
+        node.next = current;
+        if (prev == null) {
+            myHeads[b] = node;
+        } else {
+            prev.next = node;
+        }
+    }
+
+    /**
+     * Moves the scan forward to the bucket holding the next event. The calendar
+     * must not be empty.
+     *
+     * @return the index of the bucket whose head is the next event
+     */
+    private int findNextBucket() {
+        // scan at most one year, day by day
+        for (int i = 0; i < myHeads.length; i++) {
+            int b = (int) (myDay & myMask);
+            Node head = myHeads[b];
+            if ((head != null) && (head.day == myDay)) {
+                return b;
+            }
+            myDay++;
+        }
+        // nothing within the year, jump directly to the earliest event
+        Node min = null;
+        int minBucket = 0;
+        for (int b = 0; b < myHeads.length; b++) {
+            Node head = myHeads[b];
+            if ((head != null) && ((min == null) || (head.event.compareTo(min.event) < 0))) {
+                min = head;
+                minBucket = b;
+            }
+        }
+        myDay = min.day;
+        return minBucket;
+    }
+
+    /**
+     * Changes the number of buckets and re-estimates the bucket width
+     *
+     * @param n the new number of buckets, a power of 2
+     */
+    private void resize(int n) {
+        myNumResizes++;
+        Node[] heads = myHeads;
+        estimateWidth(heads);
+        makeBuckets(n);
+        long minDay = Long.MAX_VALUE;
+        for (Node head : heads) {
+            Node node = head;
+            while (node != null) {
+                Node next = node.next;
+                node.next = null;
+                node.day = dayOf(node.event.getTime());
+                minDay = Math.min(minDay, node.day);
+                insert(node);
+                node = next;
+            }
+        }
+        myDay = (minDay == Long.MAX_VALUE) ? 0 : minDay;
+    }
+
+    /**
+     * Sets the bucket width to three times the average separation of the
+     * earliest events, ignoring separations that are more than twice the
+     * average as recommended by Brown. The width is not changed if a
+     * positive finite separation cannot be estimated.
+     *
+     * @param heads the buckets holding the events
+     */
+    private void estimateWidth(Node[] heads) {
+        // keep the SAMPLE_SIZE smallest times, largest at the head
+        PriorityQueue<Double> sample = new PriorityQueue<>(SAMPLE_SIZE + 1, (a, b) -> Double.compare(b, a));
+        for (Node head : heads) {
+            Node node = head;
+            int k = 0;
+            // each bucket is ordered, so only its first SAMPLE_SIZE events can be in the sample
+            while ((node != null) && (k < SAMPLE_SIZE)) {
+                double t = node.event.getTime();
+                if (sample.size() < SAMPLE_SIZE) {
+                    sample.add(t);
+                } else if (t < sample.peek()) {
+                    sample.poll();
+                    sample.add(t);
+                } else {
+                    break;
+                }
+                node = node.next;
+                k++;
+            }
+        }
+        if (sample.size() < 2) {
+            return;
+        }
+        double[] times = new double[sample.size()];
+        for (int i = times.length - 1; i >= 0; i--) {
+            times[i] = sample.poll();
+        }
+        double range = times[times.length - 1] - times[0];
+        double avg = range / (times.length - 1);
+        double sum = 0.0;
+        int count = 0;
+        for (int i = 1; i < times.length; i++) {
+            double sep = times[i] - times[i - 1];
+            if (sep <= 2.0 * avg) {
+                sum = sum + sep;
+                count++;
+            }
+        }
+        if (count > 0) {
+            avg = sum / count;
+        }
+        double w = 3.0 * avg;
+        if ((w > 0.0) && !Double.isInfinite(w) && !Double.isNaN(w)) {
+            myWidth = w;
+        }
+    }
+
+    private static class Node {
+
+        private final JSLEvent event;
+
+        private long day;
+
+        private Node next;
+
+        Node(JSLEvent event, long day) {
+            this.event = event;
+            this.day = day;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.calendar;
+
+import jsl.modeling.JSLEvent;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * This class provides an event calendar by using an indexed binary heap to hold
+ * the underlying events. Each event records its position within the heap, so that
+ * an arbitrary event can be removed in O(log n) time. Thus, events canceled through
+ * the Executive are removed from the calendar rather than remaining in the calendar
+ * until their scheduled time.
+ * <p>
+ * The events are ordered by JSLEvent.compareTo(), i.e. by time, priority and id.
+ */
+public class IndexedHeapEventCalendar implements CalendarIfc {
+
+    private JSLEvent[] myHeap;
+
+    private int myNumEvents;
+
+    /**
+     * Creates a calendar with an initial capacity of 64 events
+     */
+    public IndexedHeapEventCalendar() {
+        this(64);
+    }
+
+    /**
+     * @param initialCapacity the initial capacity, must be &gt; 0. The capacity grows as needed.
+     */
+    public IndexedHeapEventCalendar(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("The initial capacity must be > 0");
+        }
+        myHeap = new JSLEvent[initialCapacity];
+        myNumEvents = 0;
+    }
+
+    @Override
+    public final void add(JSLEvent event) {
+        if (event == null) {
+            throw new IllegalArgumentException("The event was null");
+        }
+        if (myNumEvents == myHeap.length) {
+            myHeap = Arrays.copyOf(myHeap, 2 * myHeap.length);
+        }
+        myNumEvents++;
+        siftUp(myNumEvents - 1, event);
+    }
+
+    @Override
+    public final JSLEvent nextEvent() {
+        if (myNumEvents == 0) {
+            return null;
+        }
+        JSLEvent e = myHeap[0];
+        removeAt(0);
+        return e;
+    }
+
+    @Override
+    public final JSLEvent peekNext() {
+        if (myNumEvents == 0) {
+            return null;
+        }
+        return myHeap[0];
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return (myNumEvents == 0);
+    }
+
+    @Override
+    public final void clear() {
+        for (int i = 0; i < myNumEvents; i++) {
+            myHeap[i].setCalendarIndex(-1);
+            myHeap[i] = null;
+        }
+        myNumEvents = 0;
+    }
+
+    @Override
+    public final void cancel(JSLEvent event) {
+        event.setCanceledFlag(true);
+    }
+
+    @Override
+    public int size() {
+        return (myNumEvents);
+    }
+
+    @Override
+    public final boolean remove(JSLEvent event) {
+        int i = event.getCalendarIndex();
+        if ((i < 0) || (i >= myNumEvents) || (myHeap[i] != event)) {
+            return false;
+        }
+        removeAt(i);
+        return true;
+    }
+
+    @Override
+    public final int removeIf(Predicate<JSLEvent> filter) {
+        int k = 0;
+        for (int i = 0; i < myNumEvents; i++) {
+            JSLEvent e = myHeap[i];
+            if (filter.test(e)) {
+                e.setCalendarIndex(-1);
+            } else {
+                myHeap[k] = e;
+                k++;
+            }
+        }
+        int n = myNumEvents - k;
+        if (n == 0) {
+            return 0;
+        }
+        for (int i = k; i < myNumEvents; i++) {
+            myHeap[i] = null;
+        }
+        myNumEvents = k;
+        // rebuild the heap bottom up
+        for (int i = 0; i < myNumEvents; i++) {
+            myHeap[i].setCalendarIndex(i);
+        }
+        for (int i = (myNumEvents >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, myHeap[i]);
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        return ("Number of events = " + myNumEvents);
+    }
+
+    /**
+     * Removes the event at the supplied position, filling the hole with the
+     * last event of the heap
+     *
+     * @param i the position
+     */
+    private void removeAt(int i) {
+        myHeap[i].setCalendarIndex(-1);
+        myNumEvents--;
+        JSLEvent last = myHeap[myNumEvents];
+        myHeap[myNumEvents] = null;
+        if (i == myNumEvents) {
+            return;
+        }
+        siftDown(i, last);
+        if (myHeap[i] == last) {
+            siftUp(i, last);
+        }
+    }
+
+    private void siftUp(int i, JSLEvent e) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            JSLEvent p = myHeap[parent];
+            if (e.compareTo(p) >= 0) {
+                break;
+            }
+            myHeap[i] = p;
+            p.setCalendarIndex(i);
+            i = parent;
+        }
+        myHeap[i] = e;
+        e.setCalendarIndex(i);
+    }
+
+    private void siftDown(int i, JSLEvent e) {
+        int half = myNumEvents >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            JSLEvent c = myHeap[child];
+            int right = child + 1;
+            if ((right < myNumEvents) && (c.compareTo(myHeap[right]) > 0)) {
+                child = right;
+                c = myHeap[child];
+            }
+            if (e.compareTo(c) <= 0) {
+                break;
+            }
+            myHeap[i] = c;
+            c.setCalendarIndex(i);
+            i = child;
+        }
+        myHeap[i] = e;
+        e.setCalendarIndex(i);
+    }
+}
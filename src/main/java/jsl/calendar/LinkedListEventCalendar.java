@@ -19,6 +19,7 @@ import jsl.modeling.JSLEvent;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.function.Predicate;
 
 /** LinkedListEventCalendar is a concrete implementation of the CalendarIfc for use with the Scheduler
  *  This class provides an event calendar by using a java.util.LinkedList to hold the underlying events.
@@ -94,6 +95,13 @@ public class LinkedListEventCalendar implements CalendarIfc {
     public int size(){
         return(myEventSet.size());
     }
+
+    @Override
+    public int removeIf(Predicate<JSLEvent> filter){
+        int n = myEventSet.size();
+        myEventSet.removeIf(filter);
+        return n - myEventSet.size();
+    }
      
     @Override
     public String toString(){
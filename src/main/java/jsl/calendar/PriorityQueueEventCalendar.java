@@ -16,6 +16,7 @@
 package jsl.calendar;
 
 import java.util.PriorityQueue;
+import java.util.function.Predicate;
 
 import jsl.modeling.JSLEvent;
 
@@ -67,4 +68,11 @@ public class PriorityQueueEventCalendar implements CalendarIfc {
         return (myEventSet.size());
     }
 
+    @Override
+    public final int removeIf(Predicate<JSLEvent> filter) {
+        int n = myEventSet.size();
+        myEventSet.removeIf(filter);
+        return n - myEventSet.size();
+    }
+
 }
@@ -18,6 +18,12 @@ package jsl.calendar;
 
 import jsl.modeling.JSLEvent;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+
 /** This class provides an event calendar by using a skew heap to hold the underlying events.
 */
 public class SkewHeapEventCalendar implements CalendarIfc {
@@ -80,6 +86,34 @@ public class SkewHeapEventCalendar implements CalendarIfc {
         return(myNumEvents);
     }
        
+    @Override
+    public int removeIf(Predicate<JSLEvent> filter){
+        if (isEmpty()){
+            return 0;
+        }
+        // visit every node, keeping the events that pass the filter
+        List<BinaryNode> kept = new ArrayList<>();
+        Deque<BinaryNode> stack = new ArrayDeque<>();
+        stack.push(myRoot);
+        while (!stack.isEmpty()){
+            BinaryNode node = stack.pop();
+            if (node.leftChild != null) stack.push(node.leftChild);
+            if (node.rightChild != null) stack.push(node.rightChild);
+            node.leftChild = null;
+            node.rightChild = null;
+            if (!filter.test((JSLEvent)node.value)){
+                kept.add(node);
+            }
+        }
+        int n = myNumEvents - kept.size();
+        myRoot = null;
+        for (BinaryNode node : kept){
+            myRoot = merge(myRoot, node);
+        }
+        myNumEvents = kept.size();
+        return n;
+    }
+
     @Override
     public String toString(){
         return("Number of events = " + myNumEvents);
@@ -19,6 +19,7 @@ package jsl.calendar;
 import jsl.modeling.JSLEvent;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
 /** This class provides an event calendar by using a tree set to hold the underlying events.
 */
@@ -74,6 +75,18 @@ public class TreeSetEventCalendar implements CalendarIfc {
     public int size(){
         return(myEventSet.size());
     }
+
+    @Override
+    public boolean remove(JSLEvent e){
+        return myEventSet.remove(e);
+    }
+
+    @Override
+    public int removeIf(Predicate<JSLEvent> filter){
+        int n = myEventSet.size();
+        myEventSet.removeIf(filter);
+        return n - myEventSet.size();
+    }
       
     @Override
     public String toString(){
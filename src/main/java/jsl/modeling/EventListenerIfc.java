@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling;
+
+/**
+ * An EventListenerIfc is called by the Executive before and after the
+ * execution of each (non-canceled) event. It provides a typed alternative to
+ * observing the Executive's BEFORE_EVENT and AFTER_EVENT states, which avoids
+ * the checks and casts of ObserverIfc.update() on every event.
+ */
+public interface EventListenerIfc {
+
+    /**
+     * Called after the simulation clock has been advanced to the event's time
+     * and before the event's action is executed
+     *
+     * @param time  the current simulated time
+     * @param event the event about to be executed
+     */
+    default void beforeEvent(double time, JSLEvent event) {
+    }
+
+    /**
+     * Called after the event's action has been executed
+     *
+     * @param time  the current simulated time
+     * @param event the event that was executed
+     */
+    default void afterEvent(double time, JSLEvent event) {
+    }
+}
@@ -25,6 +25,8 @@ import jsl.observers.textfile.IPLogReport;
 import jsl.utilities.IdentityIfc;
 import jsl.utilities.reporting.JSL;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -139,6 +141,78 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
      */
     private long myNumEventsExecuted;
 
+    /**
+     * A counter that tracks the number of events canceled via cancel()
+     */
+    private long myNumEventsCanceled;
+
+    /**
+     * The number of events canceled via cancel() that are still held by
+     * the calendar
+     */
+    private int myNumCanceledInCalendar;
+
+    /**
+     * The largest number of events held by the calendar during the execution
+     */
+    private int myMaxCalendarSize;
+
+    /**
+     * The number of times the canceled events were removed from the calendar
+     */
+    private int myNumCompactions;
+
+    /**
+     * The calendar is compacted when the fraction of its events that have been
+     * canceled exceeds this fraction
+     */
+    private double myCompactionFraction = 0.5;
+
+    /**
+     * The calendar is not compacted unless it holds at least this number of
+     * canceled events
+     */
+    private int myCompactionThreshold = 1000;
+
+    /**
+     * The number of canceled events within the calendar at which compaction
+     * is next considered
+     */
+    private int myNextCompactionLevel = myCompactionThreshold;
+
+    /**
+     * The listeners called before and after each event, replaced (not
+     * modified) when a listener is added or removed
+     */
+    private EventListenerIfc[] myEventListeners = new EventListenerIfc[0];
+
+    /**
+     * Holds executed and canceled events for reuse, null if event pooling
+     * is off
+     */
+    private ArrayDeque<JSLEvent> myEventPool;
+
+    /**
+     * The maximum number of events held by the event pool
+     */
+    private int myMaxEventPoolSize = 4096;
+
+    /**
+     * If true, recycled events are never reused so that any later use of them
+     * can be detected
+     */
+    private boolean myEventPoolDebugOption;
+
+    /**
+     * The number of events created by the executive
+     */
+    private long myNumEventsCreated;
+
+    /**
+     * The number of events taken from the event pool rather than created
+     */
+    private long myNumEventsReused;
+
     /**
      * Allows the object to be observed
      */
@@ -293,6 +367,54 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         myObservableComponent.addObserver(observer);
     }
 
+    /**
+     * Adds an observer that is notified only for the supplied states, e.g.
+     * Executive.INITIALIZED or Executive.AFTER_EXECUTION. An observer that does
+     * not need BEFORE_EVENT or AFTER_EVENT should be added this way so that
+     * executing events does not call it.
+     *
+     * @param observer the observer to add
+     * @param states   the states to observe, if none then all states are observed
+     */
+    public final void addObserver(ObserverIfc observer, int... states) {
+        myObservableComponent.addObserver(observer, states);
+    }
+
+    /**
+     * Adds a listener that is called before and after each event is executed.
+     * This is cheaper than an observer of the BEFORE_EVENT and AFTER_EVENT states.
+     *
+     * @param listener the listener, must not be null or already added
+     */
+    public final void addEventListener(EventListenerIfc listener) {
+        Objects.requireNonNull(listener, "The event listener was null");
+        for (EventListenerIfc l : myEventListeners) {
+            if (l == listener) {
+                throw new IllegalArgumentException("The supplied event listener is already attached");
+            }
+        }
+        EventListenerIfc[] listeners = Arrays.copyOf(myEventListeners, myEventListeners.length + 1);
+        listeners[myEventListeners.length] = listener;
+        myEventListeners = listeners;
+    }
+
+    /**
+     * Removes the listener
+     *
+     * @param listener the listener to remove
+     */
+    public final void removeEventListener(EventListenerIfc listener) {
+        for (int i = 0; i < myEventListeners.length; i++) {
+            if (myEventListeners[i] == listener) {
+                EventListenerIfc[] listeners = new EventListenerIfc[myEventListeners.length - 1];
+                System.arraycopy(myEventListeners, 0, listeners, 0, i);
+                System.arraycopy(myEventListeners, i + 1, listeners, i, listeners.length - i);
+                myEventListeners = listeners;
+                return;
+            }
+        }
+    }
+
     @Override
     public boolean contains(ObserverIfc observer) {
         return myObservableComponent.contains(observer);
@@ -314,7 +436,7 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
     }
 
     protected final void notifyObservers(JSLEvent e) {
-        myObservableComponent.notifyObservers(this, e);
+        myObservableComponent.notifyObservers(myObserverState, this, e);
     }
 
     /**
@@ -350,6 +472,7 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
             throw new IllegalArgumentException("Attempted to reschedule an already scheduled event.");
         }
         event.setCanceledFlag(false);
+        event.setRemovableFlag(false);
         event.setTime(getTime() + time);
         schedule(event);
     }
@@ -373,7 +496,7 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
             double time, String name, int priority, T message, ModelElement theElementScheduling) {
 
         // create the event
-        JSLEvent<T> event = new JSLEvent();
+        JSLEvent<T> event = newEvent();
 
         // prepare the event
         event.setName(name);
@@ -390,6 +513,12 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
     /**
      * Tells the event calendar to cancel the provided event. The event must
      * have been scheduled otherwise an IllegalArgumentException is thrown.
+     * <p>
+     * If the calendar supports removal (e.g. IndexedHeapEventCalendar) the event
+     * is removed from the calendar and is no longer scheduled. Otherwise, the
+     * event remains in the calendar until its time and the calendar is compacted
+     * according to the compaction policy. An event canceled via this method should
+     * not be uncanceled by setting its canceled flag.
      *
      * @param e A reference to the event to be canceled.
      */
@@ -397,7 +526,246 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         if (!e.isScheduled()) {
             throw new IllegalArgumentException("Attempted to cancel an unscheduled event.");
         }
+        if (e.isRemovable()) {
+            // already canceled and held by the calendar
+            return;
+        }
+        myNumEventsCanceled = myNumEventsCanceled + 1;
+        if (myEventCalendar.remove(e)) {
+            e.setCanceledFlag(true);
+            e.setScheduledFlag(false);
+            if (myEventPool != null) {
+                recycle(e);
+            }
+            return;
+        }
         myEventCalendar.cancel(e);
+        e.setRemovableFlag(true);
+        myNumCanceledInCalendar = myNumCanceledInCalendar + 1;
+        if (myNumCanceledInCalendar >= myNextCompactionLevel) {
+            if (myNumCanceledInCalendar > myCompactionFraction * myEventCalendar.size()) {
+                compactCalendar();
+            }
+        }
+    }
+
+    /**
+     * Removes the events canceled via cancel() from the calendar, if the
+     * calendar supports removal. Events canceled by directly setting their
+     * canceled flag are not removed because they can be uncanceled.
+     */
+    public final void compactCalendar() {
+        int n = myEventCalendar.removeIf(this::removeCanceledEvent);
+        if (n > 0) {
+            myNumCompactions = myNumCompactions + 1;
+            myNumCanceledInCalendar = Math.max(0, myNumCanceledInCalendar - n);
+        }
+        // if the calendar does not support removal or the canceled events
+        // were uncanceled, do not try again right away
+        myNextCompactionLevel = Math.max(myCompactionThreshold, 2 * myNumCanceledInCalendar);
+    }
+
+    private boolean removeCanceledEvent(JSLEvent e) {
+        if (e.isRemovable()) {
+            e.setScheduledFlag(false);
+            if (myEventPool != null) {
+                recycle(e);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Turns on or off the pooling of events. When on, events that have been
+     * executed or canceled are recycled and reused by later calls to
+     * scheduleEvent() rather than creating new events. This reduces the garbage
+     * produced by models that schedule many events.
+     * <p>
+     * An executed event is recycled after the next event executes (unless it
+     * was rescheduled). An event canceled via cancel() is recycled when it is
+     * removed from the calendar. Events canceled by setting their canceled flag
+     * are never recycled, because they may be uncanceled. Thus, with pooling on,
+     * clients must not keep or use a reference to an event after it has executed
+     * or been canceled via cancel(), e.g. to check isScheduled(). The elements
+     * provided by the library release their references when their events
+     * execute or are canceled. Using a recycled event causes a
+     * JSLEventException. Turn on the debug option to check a model for such uses.
+     *
+     * @param flag true means that events are pooled
+     */
+    public final void setEventPoolingOption(boolean flag) {
+        if (flag) {
+            if (myEventPool == null) {
+                myEventPool = new ArrayDeque<>();
+            }
+        } else {
+            myEventPool = null;
+        }
+    }
+
+    /**
+     * @return true if events are pooled
+     */
+    public final boolean getEventPoolingOption() {
+        return myEventPool != null;
+    }
+
+    /**
+     * When the debug option is on, recycled events are never reused. Any
+     * later use of a recycled event by the model will then cause a
+     * JSLEventException, which identifies uses of events that would not be safe
+     * with pooling. The debug option has no effect unless pooling is on.
+     *
+     * @param flag true means that recycled events are not reused
+     */
+    public final void setEventPoolDebugOption(boolean flag) {
+        myEventPoolDebugOption = flag;
+    }
+
+    /**
+     * @return true if recycled events are not reused
+     */
+    public final boolean getEventPoolDebugOption() {
+        return myEventPoolDebugOption;
+    }
+
+    /**
+     * @param size the maximum number of events held by the event pool, must be &gt; 0
+     */
+    public final void setMaximumEventPoolSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The maximum event pool size must be > 0");
+        }
+        myMaxEventPoolSize = size;
+    }
+
+    /**
+     * @return the maximum number of events held by the event pool
+     */
+    public final int getMaximumEventPoolSize() {
+        return myMaxEventPoolSize;
+    }
+
+    /**
+     * @return the number of events created by the executive since it was
+     * constructed
+     */
+    public final long getNumberOfEventsCreated() {
+        return myNumEventsCreated;
+    }
+
+    /**
+     * @return the number of events taken from the event pool since the
+     * executive was constructed
+     */
+    public final long getNumberOfEventsReused() {
+        return myNumEventsReused;
+    }
+
+    private <T> JSLEvent<T> newEvent() {
+        if ((myEventPool != null) && !myEventPool.isEmpty()) {
+            JSLEvent<T> event = myEventPool.pop();
+            event.reuse();
+            myNumEventsReused = myNumEventsReused + 1;
+            return event;
+        }
+        myNumEventsCreated = myNumEventsCreated + 1;
+        return new JSLEvent<>();
+    }
+
+    private void recycle(JSLEvent e) {
+        if ((e == myEndEvent) || e.isRecycled() || e.isScheduled()) {
+            return;
+        }
+        e.recycle();
+        if (!myEventPoolDebugOption && (myEventPool.size() < myMaxEventPoolSize)) {
+            myEventPool.push(e);
+        }
+    }
+
+    /**
+     * The calendar is compacted, i.e. the events canceled via cancel()
+     * are removed from the calendar, when the number of canceled events held
+     * by the calendar is at least the threshold and the canceled events are
+     * more than the fraction of the events in the calendar.
+     *
+     * @param fraction the fraction, must be in (0,1]
+     * @param threshold the minimum number of canceled events, must be &gt; 0
+     */
+    public final void setCompactionPolicy(double fraction, int threshold) {
+        if ((fraction <= 0.0) || (fraction > 1.0)) {
+            throw new IllegalArgumentException("The compaction fraction must be in (0,1]");
+        }
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("The compaction threshold must be > 0");
+        }
+        myCompactionFraction = fraction;
+        myCompactionThreshold = threshold;
+        myNextCompactionLevel = threshold;
+    }
+
+    /**
+     * @return the fraction of canceled events that triggers compaction
+     */
+    public final double getCompactionFraction() {
+        return myCompactionFraction;
+    }
+
+    /**
+     * @return the minimum number of canceled events held by the calendar before
+     * compaction is considered
+     */
+    public final int getCompactionThreshold() {
+        return myCompactionThreshold;
+    }
+
+    /**
+     * Gets the number of events canceled via cancel() during the execution
+     *
+     * @return the number of canceled events
+     */
+    public final long getNumberOfEventsCanceled() {
+        return myNumEventsCanceled;
+    }
+
+    /**
+     * Gets the number of events canceled via cancel() that are still held by the
+     * calendar, i.e. that will be skipped when their time comes up
+     *
+     * @return the number of canceled events within the calendar
+     */
+    public final int getNumberOfCanceledEventsInCalendar() {
+        return myNumCanceledInCalendar;
+    }
+
+    /**
+     * Gets the number of events currently held by the calendar, including
+     * canceled events that have not been removed
+     *
+     * @return the size of the calendar
+     */
+    public final int getCalendarSize() {
+        return myEventCalendar.size();
+    }
+
+    /**
+     * Gets the largest number of events held by the calendar during the execution
+     *
+     * @return the largest size of the calendar
+     */
+    public final int getMaximumCalendarSize() {
+        return myMaxCalendarSize;
+    }
+
+    /**
+     * Gets the number of times that canceled events were removed from the
+     * calendar during the execution
+     *
+     * @return the number of compactions
+     */
+    public final int getNumberOfCompactions() {
+        return myNumCompactions;
     }
 
     /**
@@ -441,6 +809,12 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         sb.append("Number of events executed: ");
         sb.append(getTotalNumberEventsExecuted());
         sb.append("\n");
+        sb.append("Number of events canceled: ");
+        sb.append(getNumberOfEventsCanceled());
+        sb.append("\n");
+        sb.append("Maximum calendar size: ");
+        sb.append(getMaximumCalendarSize());
+        sb.append("\n");
         sb.append("Scheduled end time: ");
         sb.append(getScheduledEndTime());
         sb.append("\n");
@@ -766,18 +1140,41 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
             if (event != null) {
                 // the event is no longer scheduled
                 event.setScheduledFlag(false);
+                if (event.isRemovable()) {
+                    myNumCanceledInCalendar = Math.max(0, myNumCanceledInCalendar - 1);
+                }
                 if (event.getCanceledFlag() == false) {
                     // event was not cancelled
                     // update the current simulation time to the event time
+                    JSLEvent previous = myLastExecutedEvent;
                     myCurrentTime = event.getTime();
                     myObserverState = BEFORE_EVENT;
-                    notifyObservers(event);
+                    if (myObservableComponent.isObserved(BEFORE_EVENT)) {
+                        notifyObservers(event);
+                    }
+                    EventListenerIfc[] listeners = myEventListeners;
+                    for (EventListenerIfc l : listeners) {
+                        l.beforeEvent(myCurrentTime, event);
+                    }
                     event.execute();
                     myLastExecutedEvent = event;
                     myNumEventsExecuted = myNumEventsExecuted + 1;
                     myObserverState = AFTER_EVENT;
-                    notifyObservers(event);
+                    if (myObservableComponent.isObserved(AFTER_EVENT)) {
+                        notifyObservers(event);
+                    }
+                    for (EventListenerIfc l : listeners) {
+                        l.afterEvent(myCurrentTime, event);
+                    }
                     performCPhase();
+                    // the last executed event is available until the next one executes
+                    if ((myEventPool != null) && (previous != null) && (previous != event)) {
+                        recycle(previous);
+                    }
+                } else if ((myEventPool != null) && event.isRemovable()) {
+                    // only events canceled via cancel() are recycled, an event
+                    // canceled by setting its flag may still be held for uncanceling
+                    recycle(event);
                 }
             }
         } catch (RuntimeException e) {
@@ -851,6 +1248,9 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
             e.setId(myNumEventsScheduled);
             myEventCalendar.add(e);
             e.setScheduledFlag(true);
+            if (myEventCalendar.size() > myMaxCalendarSize) {
+                myMaxCalendarSize = myEventCalendar.size();
+            }
         }
     }
 
@@ -990,6 +1390,11 @@ public class Executive implements IdentityIfc, ObservableIfc, IterativeProcessIf
         unregisterAllActions();
         myNumEventsScheduled = 0;
         myNumEventsExecuted = 0;
+        myNumEventsCanceled = 0;
+        myNumCanceledInCalendar = 0;
+        myMaxCalendarSize = 0;
+        myNumCompactions = 0;
+        myNextCompactionLevel = myCompactionThreshold;
         myObserverState = INITIALIZED;
         notifyObservers(null);
     }
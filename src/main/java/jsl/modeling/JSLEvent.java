@@ -105,6 +105,24 @@ public class JSLEvent<T> implements Comparable<JSLEvent>, GetNameIfc {
      */
     private boolean myScheduledFlag;
 
+    /**
+     * Whether or not the event was canceled through the Executive, in which case
+     * the event will never be executed and it may be removed from the calendar
+     */
+    private boolean myRemovableFlag;
+
+    /**
+     * The position of the event within a calendar that supports removal, -1 if
+     * the event is not held by such a calendar
+     */
+    private int myCalendarIndex = -1;
+
+    /**
+     * Whether or not the event has been returned to the Executive's event pool.
+     * A recycled event must not be used by clients.
+     */
+    private boolean myRecycledFlag;
+
     /**
      * Allows the association of an Entity with the event
      */
@@ -146,6 +164,7 @@ public class JSLEvent<T> implements Comparable<JSLEvent>, GetNameIfc {
      * @return the entity attached to the event
      */
     public final Entity getEntity() {
+        checkRecycled();
         return myEntity;
     }
 
@@ -155,6 +174,7 @@ public class JSLEvent<T> implements Comparable<JSLEvent>, GetNameIfc {
      * @return the ModelElement that scheduled the event
      */
     public final ModelElement getModelElement() {
+        checkRecycled();
         return myModelElement;
     }
 
@@ -216,6 +236,7 @@ public class JSLEvent<T> implements Comparable<JSLEvent>, GetNameIfc {
      *
      */
     public final void setCanceledFlag(boolean b) {
+        checkRecycled();
         myCancelledFlag = b;
     }
 
@@ -225,6 +246,7 @@ public class JSLEvent<T> implements Comparable<JSLEvent>, GetNameIfc {
      * @return Object representing the message sent with the event
      */
     public final T getMessage() {
+        checkRecycled();
         return (myMessage);
     }
 
@@ -297,6 +319,7 @@ public class JSLEvent<T> implements Comparable<JSLEvent>, GetNameIfc {
      *
      */
     public final boolean getCanceledFlag() {
+        checkRecycled();
         return (myCancelledFlag);
     }
 
@@ -310,9 +333,32 @@ public class JSLEvent<T> implements Comparable<JSLEvent>, GetNameIfc {
      * @return A boolean (true is scheduled, false is not scheduled)
      */
     public final boolean isScheduled() {
+        checkRecycled();
         return (myScheduledFlag);
     }
 
+    /**
+     * The position of the event within the calendar. Used by calendars that index
+     * their events to support removal, e.g. IndexedHeapEventCalendar. Clients
+     * should not use this value.
+     *
+     * @return the position of the event within the calendar, -1 if not held by an
+     * indexed calendar
+     */
+    public final int getCalendarIndex() {
+        return myCalendarIndex;
+    }
+
+    /**
+     * Sets the position of the event within the calendar. Used by calendars that index
+     * their events to support removal. Clients should not call this method.
+     *
+     * @param index the position of the event within the calendar, -1 if not held
+     */
+    public final void setCalendarIndex(int index) {
+        myCalendarIndex = index;
+    }
+
     /**
      * Provides a string representation for the event. Useful for tracing
      *
@@ -375,6 +421,64 @@ public class JSLEvent<T> implements Comparable<JSLEvent>, GetNameIfc {
         myScheduledFlag = flag;
     }
 
+    /**
+     * Indicates that the event was canceled through the Executive and thus can
+     * be removed from the calendar, package scope because only the Executive
+     * should indicate this
+     *
+     * @param flag true means that the event can be removed
+     */
+    final void setRemovableFlag(boolean flag) {
+        myRemovableFlag = flag;
+    }
+
+    /**
+     * Clears the references held by the event and marks it as recycled, package
+     * scope because only the Executive's event pool should recycle events
+     */
+    final void recycle() {
+        myMessage = null;
+        myAction = null;
+        myName = null;
+        myEntity = null;
+        myModelElement = null;
+        myType = DEFAULT_TYPE;
+        myCancelledFlag = false;
+        myScheduledFlag = false;
+        myRemovableFlag = false;
+        myCalendarIndex = -1;
+        myRecycledFlag = true;
+    }
+
+    /**
+     * Marks a recycled event as available for scheduling, package scope
+     * because only the Executive's event pool should reuse events
+     */
+    final void reuse() {
+        myRecycledFlag = false;
+    }
+
+    /**
+     * @return true if the event is held by the Executive's event pool
+     */
+    final boolean isRecycled() {
+        return myRecycledFlag;
+    }
+
+    private void checkRecycled() {
+        if (myRecycledFlag) {
+            throw new JSLEventException("Event " + myId + " was used after it was recycled by the Executive's event pool");
+        }
+    }
+
+    /**
+     * @return true if the event was canceled through the Executive and not
+     * uncanceled since
+     */
+    final boolean isRemovable() {
+        return myRemovableFlag && myCancelledFlag;
+    }
+
     /**
      * Sets the scheduled time of the event, protected scope because only the
      * Scheduler should indicate when the event is scheduled
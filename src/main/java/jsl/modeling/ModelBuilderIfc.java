@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling;
+
+/** An interface used to construct the model elements of a model. Implementations
+ * are used when more than one copy of the same model is needed, e.g. when
+ * replications are executed in parallel by a ParallelReplicationRunner.
+ * <p>
+ * An implementation must create every model element and every source of
+ * randomness (e.g. ExponentialRV) that the model uses within buildModel(), so
+ * that each copy of the model is independent of every other copy. Each call
+ * must create the model elements in the same order.
+ */
+@FunctionalInterface
+public interface ModelBuilderIfc {
+
+    /** Builds the model elements for the supplied model
+     *
+     * @param model the model to which the model elements should be added
+     */
+    void buildModel(Model model);
+}
@@ -1229,6 +1229,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
     public final void cancelWarmUpEvent() {
         if (myWarmUpEvent != null) {
             getExecutive().cancel(myWarmUpEvent);
+            myWarmUpEvent = null;
         }
     }
 
@@ -1275,6 +1276,7 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
     public final void cancelTimedUpdateEvent() {
         if (myTimedUpdateEvent != null) {
             getExecutive().cancel(myTimedUpdateEvent);
+            myTimedUpdateEvent = null;
         }
     }
 
@@ -1391,6 +1393,19 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
         myObservableComponent.addObserver(observer);
     }
 
+    /**
+     * Adds an observer that is notified only when the model element enters one
+     * of the supplied states, e.g. ModelElement.AFTER_REPLICATION. Observers that
+     * do not need every state (in particular UPDATE, which is notified on every
+     * change of a variable) should be attached this way.
+     *
+     * @param observer the observer to add
+     * @param states   the states to observe, if none then all states are observed
+     */
+    public void addObserver(ObserverIfc observer, int... states) {
+        myObservableComponent.addObserver(observer, states);
+    }
+
     /**
      * Adds an observer to this model element. Every model element implements
      * the Observer interface and thus can be observed at particular state
@@ -2025,7 +2040,19 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
      */
     protected final void notifyObservers(int observerState, Object arg) {
         setObserverState(observerState);
-        myObservableComponent.notifyObservers(this, arg);
+        myObservableComponent.notifyObservers(observerState, this, arg);
+    }
+
+    /**
+     * Returns true if some observer of this model element observes the
+     * supplied state. Subclasses can use this to avoid preparing the argument
+     * of a notification that no observer would receive.
+     *
+     * @param observerState the state as an integer
+     * @return true if observed
+     */
+    protected final boolean isObserved(int observerState) {
+        return myObservableComponent.isObserved(observerState);
     }
 
     protected final void notifyObservers(int observerState) {
@@ -2687,6 +2714,8 @@ public abstract class ModelElement implements IdentityIfc, ObservableIfc {
 
         @Override
         public void action(JSLEvent event) {
+            // the event may be recycled by the executive's event pool
+            myWarmUpEvent = null;
             warmUp_();
         }
     }
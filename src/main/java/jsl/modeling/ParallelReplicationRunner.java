@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling;
+
+import jsl.modeling.elements.variable.Counter;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.random.rng.RNStreamProvider;
+import jsl.utilities.random.rng.RNStreamProviderIfc;
+import jsl.utilities.random.rvariable.JSLRandom;
+import jsl.utilities.reporting.JSL;
+import jsl.utilities.statistic.QuantileSketch;
+import jsl.utilities.statistic.WeightedStatistic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A ParallelReplicationRunner executes the replications of a simulation's
+ * experiment on multiple threads. Each worker thread owns an independent copy
+ * of the model, built by the supplied ModelBuilderIfc, with its own Executive.
+ * <p>
+ * The supplied simulation's model is built by the builder when the runner is
+ * constructed. Each worker copy is built so that its random number streams
+ * are the same streams that the simulation's model received. A worker that is
+ * assigned replication k advances its streams to the sub-stream that replication
+ * k would have used within a sequential run of the experiment. Thus, the results of
+ * each replication are the same as those of the sequential run.
+ * <p>
+ * After all replications are completed, the results are replayed, in replication
+ * order, through the supplied simulation's model. This causes the across
+ * replication statistics, any attached observers (e.g. a JSLDatabaseObserver)
+ * and any SimulationReporter to see the same results as if the simulation had
+ * been executed sequentially via its run() method.
+ * <p>
+ * Restrictions: all randomness within the model must come from streams created
+ * within ModelBuilderIfc.buildModel() (not from shared streams or the static methods
+ * of JSLRandom), the antithetic option and statistical batching are not supported,
+ * and the advance to next sub-stream option must be on. The streams of the copies
+ * match the simulation's streams when JSLRandom uses an RNStreamProvider.
+ */
+public class ParallelReplicationRunner {
+
+    /**
+     * The simulation whose experiment is executed
+     */
+    private final Simulation mySimulation;
+
+    /**
+     * Used to build each copy of the model
+     */
+    private final ModelBuilderIfc myBuilder;
+
+    /**
+     * The number of worker threads (and model copies)
+     */
+    private final int myNumWorkers;
+
+    /**
+     * The number of streams that had been provided by JSLRandom prior to
+     * building the simulation's model
+     */
+    private final int myStreamNumber;
+
+    /**
+     * The number of replications assigned to a worker at a time, 0 means
+     * that the number will be determined from the number of replications
+     * and the number of workers
+     */
+    private int myReplicationsPerTask = 0;
+
+    /**
+     * The model copies, created on the first run
+     */
+    private final List<WorkerSimulation> myWorkers;
+
+    /**
+     * The elapsed clock time of the last run in milliseconds
+     */
+    private long myElapsedTime;
+
+    /**
+     * Uses the number of available processors as the number of workers
+     *
+     * @param simulation the simulation, its model must not have any model elements
+     * @param builder    the builder for the model, must not be null
+     */
+    public ParallelReplicationRunner(Simulation simulation, ModelBuilderIfc builder) {
+        this(simulation, builder, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param simulation the simulation, its model must not have any model elements
+     * @param builder    the builder for the model, must not be null
+     * @param numWorkers the number of workers, must be &gt; 0
+     */
+    public ParallelReplicationRunner(Simulation simulation, ModelBuilderIfc builder, int numWorkers) {
+        Objects.requireNonNull(simulation, "The simulation was null");
+        Objects.requireNonNull(builder, "The model builder was null");
+        if (numWorkers <= 0) {
+            throw new IllegalArgumentException("The number of workers must be > 0");
+        }
+        if (!simulation.getModel().getResponseVariables().isEmpty()
+                || !simulation.getModel().getCounters().isEmpty()) {
+            throw new IllegalArgumentException("The simulation's model must be built by the supplied builder");
+        }
+        mySimulation = simulation;
+        myBuilder = builder;
+        myNumWorkers = numWorkers;
+        myWorkers = new ArrayList<>();
+        myStreamNumber = JSLRandom.getRNStreamProvider().lastRNStreamNumber();
+        myBuilder.buildModel(mySimulation.getModel());
+    }
+
+    /**
+     * @return the simulation whose experiment is executed
+     */
+    public final Simulation getSimulation() {
+        return mySimulation;
+    }
+
+    /**
+     * @return the number of worker threads
+     */
+    public final int getNumberOfWorkers() {
+        return myNumWorkers;
+    }
+
+    /**
+     * @return the number of replications assigned to a worker at a time, 0 means
+     * that the number is determined from the number of replications and workers
+     */
+    public final int getReplicationsPerTask() {
+        return myReplicationsPerTask;
+    }
+
+    /**
+     * The number of replications that a worker executes before asking for
+     * more replications. Larger values have less overhead, smaller values
+     * balance the load better. The value does not affect the results.
+     *
+     * @param n must be &gt;= 0, 0 means determined by the runner
+     */
+    public final void setReplicationsPerTask(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("The number of replications per task must be >= 0");
+        }
+        myReplicationsPerTask = n;
+    }
+
+    /**
+     * @return the elapsed clock time (in milliseconds) of the last call to run()
+     */
+    public final long getElapsedExecutionTime() {
+        return myElapsedTime;
+    }
+
+    /**
+     * @return the number of replications completed per second during the last
+     * call to run()
+     */
+    public final double getReplicationsPerSecond() {
+        if (myElapsedTime == 0) {
+            return Double.NaN;
+        }
+        return mySimulation.getNumberOfReplications() / (myElapsedTime / 1000.0);
+    }
+
+    /**
+     * Executes the experiment as currently specified on the simulation
+     */
+    public final void run() {
+        checkExperiment();
+        long start = System.currentTimeMillis();
+        ReplicationResult[] results = execute(1, mySimulation.getNumberOfReplications());
+        replay(results);
+        myElapsedTime = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Executes replications first through last of the experiment as currently
+     * specified on the simulation, without replaying them. The results are the
+     * same as those of the replications with the same numbers in a sequential run.
+     *
+     * @param first the number of the first replication, must be &gt;= 1
+     * @param last  the number of the last replication, must be &gt;= first
+     * @return the results, indexed by replication number - first
+     */
+    final ReplicationResult[] execute(int first, int last) {
+        if ((first < 1) || (last < first)) {
+            throw new IllegalArgumentException("The replication numbers must satisfy 1 <= first <= last");
+        }
+        checkExperiment();
+        if (myWorkers.isEmpty()) {
+            buildWorkers();
+        }
+        int numReps = last - first + 1;
+        ReplicationResult[] results = new ReplicationResult[numReps];
+        int perTask = myReplicationsPerTask;
+        if (perTask == 0) {
+            perTask = Math.max(1, numReps / (4 * myNumWorkers));
+        }
+        AtomicInteger nextRep = new AtomicInteger(first);
+        ExecutorService service = Executors.newFixedThreadPool(myNumWorkers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (WorkerSimulation w : myWorkers) {
+                final int n = perTask;
+                futures.add(service.submit(() -> w.runReplications(nextRep, n, first, last, results)));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The parallel replications were interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            service.shutdown();
+        }
+        return results;
+    }
+
+    private void checkExperiment() {
+        if (mySimulation.getAntitheticOption()) {
+            throw new IllegalStateException("The antithetic option is not supported for parallel replications");
+        }
+        if (!mySimulation.getAdvanceNextSubStreamOption()) {
+            throw new IllegalStateException("The advance next sub-stream option must be on for parallel replications");
+        }
+        if (mySimulation.getStatisticalBatchingElement().isPresent()) {
+            throw new IllegalStateException("Statistical batching is not supported for parallel replications");
+        }
+    }
+
+    /**
+     * Builds the copies of the model. Each copy is built with a stream provider
+     * that has provided the same number of streams as JSLRandom's provider had
+     * when the simulation's model was built.
+     */
+    private void buildWorkers() {
+        RNStreamProviderIfc provider = JSLRandom.getRNStreamProvider();
+        try {
+            for (int i = 1; i <= myNumWorkers; i++) {
+                RNStreamProvider p = new RNStreamProvider();
+                while (p.lastRNStreamNumber() < myStreamNumber) {
+                    p.nextRNStream();
+                }
+                JSLRandom.setRNStreamProvider(p);
+                WorkerSimulation w = new WorkerSimulation(mySimulation.getName() + "_Worker_" + i);
+                myBuilder.buildModel(w.getModel());
+                if (w.getModel().getResponseVariables().size() != mySimulation.getModel().getResponseVariables().size()
+                        || w.getModel().getCounters().size() != mySimulation.getModel().getCounters().size()) {
+                    throw new IllegalStateException("The model builder did not build the same model for each copy");
+                }
+                myWorkers.add(w);
+            }
+        } finally {
+            JSLRandom.setRNStreamProvider(provider);
+        }
+    }
+
+    /**
+     * Replays the replication results through the simulation's model in
+     * replication order, mimicking the sequential replication execution process
+     *
+     * @param results the results of the replications
+     */
+    final void replay(ReplicationResult[] results) {
+        Experiment e = mySimulation.myExperiment;
+        Model m = mySimulation.myModel;
+        Executive exec = mySimulation.myExecutive;
+        exec.setTerminationWarningMessageOption(false);
+        e.resetCurrentReplicationNumber();
+        mySimulation.beforeExperiment();
+        m.markPreOrderTraversalModelElementHierarchy();
+        m.setUpExperiment();
+        List<ResponseVariable> rvs = m.getResponseVariables();
+        List<Counter> counters = m.getCounters();
+        for (ReplicationResult r : results) {
+            e.incrementCurrentReplicationNumber();
+            mySimulation.beforeReplication();
+            exec.initialize();
+            m.setUpReplication();
+            exec.end("The replication's results were executed by a parallel worker");
+            r.replay(rvs, counters);
+            m.afterReplication_();
+            mySimulation.afterReplication();
+        }
+        m.afterExperiment(e);
+        mySimulation.afterExperiment();
+        JSL.LOGGER.info("Replayed {} parallel replications for simulation {}", results.length, mySimulation.getName());
+    }
+
+    /**
+     * Holds the results of a replication executed by a worker
+     */
+    static final class ReplicationResult {
+
+        private final WeightedStatistic[] myResponses;
+
+        private final QuantileSketch[] myQuantiles;
+
+        private final double[] myCounts;
+
+        ReplicationResult(List<ResponseVariable> rvs, List<Counter> counters) {
+            myResponses = new WeightedStatistic[rvs.size()];
+            myQuantiles = new QuantileSketch[rvs.size()];
+            for (int i = 0; i < myResponses.length; i++) {
+                WeightedStatistic s = (WeightedStatistic) rvs.get(i).getWithinReplicationStatistic();
+                myResponses[i] = s.newInstance();
+                QuantileSketch q = rvs.get(i).getWithinReplicationQuantileSketch();
+                if (q != null) {
+                    myQuantiles[i] = q.newInstance();
+                }
+            }
+            myCounts = new double[counters.size()];
+            for (int i = 0; i < myCounts.length; i++) {
+                myCounts[i] = counters.get(i).getValue();
+            }
+        }
+
+        /**
+         * @param i the index of the response variable within the model's list
+         * @return the within replication average of the response, which is
+         * the value that the replication contributes across replications
+         */
+        double getResponseAverage(int i) {
+            return myResponses[i].getAverage();
+        }
+
+        /**
+         * @param i the index of the counter within the model's list
+         * @return the final count of the counter
+         */
+        double getCount(int i) {
+            return myCounts[i];
+        }
+
+        void replay(List<ResponseVariable> rvs, List<Counter> counters) {
+            for (int i = 0; i < myResponses.length; i++) {
+                rvs.get(i).replayWithinReplicationStatistic(myResponses[i]);
+                if ((myQuantiles[i] != null) && rvs.get(i).isQuantileCollectionOn()) {
+                    rvs.get(i).replayWithinReplicationQuantileSketch(myQuantiles[i]);
+                }
+            }
+            for (int i = 0; i < myCounts.length; i++) {
+                counters.get(i).replayCount(myCounts[i]);
+            }
+        }
+    }
+
+    /**
+     * A copy of the simulation that captures the results of its replications
+     */
+    private class WorkerSimulation extends Simulation {
+
+        /**
+         * The sub-stream that the streams of the model copy are positioned at
+         */
+        private int mySubStream = 0;
+
+        /**
+         * The replication number (within the experiment) currently executing
+         */
+        private int myFirstRep;
+
+        /**
+         * The replication number of the first element of the results
+         */
+        private int myResultOffset;
+
+        private ReplicationResult[] myResults;
+
+        WorkerSimulation(String name) {
+            super(name);
+            setRepLengthWarningMessageOption(false);
+        }
+
+        /**
+         * Takes replications from the shared counter until all are completed. The
+         * counter ensures that each worker sees increasing replication numbers, so
+         * that its streams only need to advance.
+         *
+         * @param nextRep the next replication to execute
+         * @param perTask the number of replications to take at a time
+         * @param firstRep the first replication to execute
+         * @param lastRep the last replication to execute
+         * @param results where the results are placed, indexed by replication - firstRep
+         */
+        void runReplications(AtomicInteger nextRep, int perTask, int firstRep, int lastRep,
+                             ReplicationResult[] results) {
+            myResults = results;
+            myResultOffset = firstRep;
+            int first = nextRep.getAndAdd(perTask);
+            while (first <= lastRep) {
+                int last = Math.min(first + perTask - 1, lastRep);
+                runBlock(first, last);
+                first = nextRep.getAndAdd(perTask);
+            }
+        }
+
+        private void runBlock(int first, int last) {
+            Experiment me = mySimulation.myExperiment;
+            int base = me.getResetStartStreamOption() ? 0 : me.getNumberOfStreamAdvancesPriorToRunning();
+            int target = base + first - 1;
+            if (target < mySubStream) {
+                // an earlier replication than the last one executed, start over
+                myModel.resetStartStream();
+                mySubStream = 0;
+            }
+            if (target > mySubStream) {
+                myModel.advanceSubstreams(target - mySubStream);
+            }
+            myExperiment.setExperimentName(me.getExperimentName());
+            myExperiment.setNumberOfReplications(last - first + 1);
+            myExperiment.setLengthOfReplication(me.getLengthOfReplication());
+            myExperiment.setLengthOfWarmUp(me.getLengthOfWarmUp());
+            myExperiment.setReplicationInitializationOption(me.getReplicationInitializationOption());
+            if (me.getMaximumAllowedExecutionTimePerReplication() > 0) {
+                myExperiment.setMaximumExecutionTimePerReplication(me.getMaximumAllowedExecutionTimePerReplication());
+            }
+            myExperiment.setResetStartStreamOption(false);
+            myExperiment.setAdvanceNextSubStreamOption(true);
+            myExperiment.setGarbageCollectAfterReplicationFlag(me.getGarbageCollectAfterReplicationFlag());
+            myFirstRep = first;
+            run();
+            mySubStream = base + last;
+        }
+
+        @Override
+        protected void afterReplication() {
+            int rep = myFirstRep + getCurrentReplicationNumber() - 1;
+            myResults[rep - myResultOffset] = new ReplicationResult(myModel.getResponseVariables(), myModel.getCounters());
+        }
+    }
+}
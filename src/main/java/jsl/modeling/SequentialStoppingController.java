@@ -0,0 +1,726 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling;
+
+import jsl.modeling.elements.variable.Counter;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.reporting.JSL;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A SequentialStoppingController executes the replications of a simulation's
+ * experiment until the across replication confidence intervals of a set of
+ * responses meet their precision targets, or until a budget is exhausted.
+ * <p>
+ * A target is either an absolute half-width (the half-width must be &lt;= the
+ * desired half-width) or a relative precision (the half-width must be &lt;=
+ * the relative precision times the absolute value of the average). Targets
+ * are specified by the name of a ResponseVariable or Counter of the model.
+ * <p>
+ * The controller first executes the initial (pilot) replications and then
+ * executes replications in batches. The size of the next batch is estimated
+ * from the current half-widths: for each unmet target with half-width h based
+ * on n replications and desired half-width d, about n(h/d)^2 replications are
+ * required. The batch is the largest such requirement minus n, limited by the
+ * maximum batch size and the remaining replication budget. The experiment ends
+ * as soon as all targets are met, the number of replications reaches the
+ * budget, or the optional wall clock budget is exceeded.
+ * <p>
+ * The number of replications set on the simulation is treated as the fixed
+ * plan. It is the default replication budget, and the difference between
+ * the plan and the number of replications actually executed is reported via
+ * getReplicationsSaved(). After the experiment, the number of replications of
+ * the simulation is set back to the plan.
+ * <p>
+ * If the controller is constructed from a ParallelReplicationRunner, each batch is
+ * executed in parallel by the runner's workers and the results are replayed
+ * through the simulation's model once the experiment ends. Because replication k
+ * produces the same results in either mode, the sequential and parallel
+ * controllers stop after the same number of replications when the same batches
+ * are executed.
+ */
+public class SequentialStoppingController {
+
+    /**
+     * The default number of initial (pilot) replications
+     */
+    public static final int DEFAULT_INITIAL_REPLICATIONS = 10;
+
+    /**
+     * The simulation whose experiment is controlled
+     */
+    private final Simulation mySimulation;
+
+    /**
+     * The runner used to execute batches in parallel, may be null
+     */
+    private final ParallelReplicationRunner myRunner;
+
+    /**
+     * The precision targets
+     */
+    private final List<Target> myTargets;
+
+    /**
+     * The confidence level of the intervals
+     */
+    private double myConfidenceLevel = Statistic.DEFAULT_CONFIDENCE_LEVEL;
+
+    /**
+     * The number of replications executed before checking the targets
+     */
+    private int myInitialReplications = DEFAULT_INITIAL_REPLICATIONS;
+
+    /**
+     * The maximum number of replications, 0 means use the planned number
+     */
+    private int myMaxReplications = 0;
+
+    /**
+     * The maximum number of replications within a batch
+     */
+    private int myMaxBatchSize = Integer.MAX_VALUE;
+
+    /**
+     * The wall clock budget in milliseconds, 0 means no limit
+     */
+    private long myMaxWallClockTime = 0;
+
+    /**
+     * The number of replications of the fixed plan for the last experiment
+     */
+    private int myPlannedReplications;
+
+    /**
+     * The number of replications executed in the last experiment
+     */
+    private int myExecutedReplications;
+
+    /**
+     * The number of batches (including the initial batch) in the last experiment
+     */
+    private int myNumBatches;
+
+    /**
+     * The wall clock time of the last experiment in milliseconds
+     */
+    private long myElapsedTime;
+
+    /**
+     * Why the last experiment stopped
+     */
+    private String myStoppingReason;
+
+    /**
+     * Executes the replications sequentially using the simulation
+     *
+     * @param simulation the simulation, must not be null
+     */
+    public SequentialStoppingController(Simulation simulation) {
+        Objects.requireNonNull(simulation, "The simulation was null");
+        mySimulation = simulation;
+        myRunner = null;
+        myTargets = new ArrayList<>();
+    }
+
+    /**
+     * Executes the batches of replications in parallel using the runner
+     *
+     * @param runner the runner, must not be null
+     */
+    public SequentialStoppingController(ParallelReplicationRunner runner) {
+        Objects.requireNonNull(runner, "The parallel replication runner was null");
+        mySimulation = runner.getSimulation();
+        myRunner = runner;
+        myTargets = new ArrayList<>();
+    }
+
+    /**
+     * @return the simulation whose experiment is controlled
+     */
+    public final Simulation getSimulation() {
+        return mySimulation;
+    }
+
+    /**
+     * @return true if the batches are executed by a ParallelReplicationRunner
+     */
+    public final boolean isParallel() {
+        return myRunner != null;
+    }
+
+    /**
+     * Adds a target on the half-width of the response
+     *
+     * @param response  the response, must be part of the simulation's model
+     * @param halfWidth the desired half-width, must be &gt; 0
+     * @return the target
+     */
+    public final Target addHalfWidthTarget(ResponseVariable response, double halfWidth) {
+        Objects.requireNonNull(response, "The response variable was null");
+        return addHalfWidthTarget(response.getName(), halfWidth);
+    }
+
+    /**
+     * Adds a target on the half-width of the counter
+     *
+     * @param counter   the counter, must be part of the simulation's model
+     * @param halfWidth the desired half-width, must be &gt; 0
+     * @return the target
+     */
+    public final Target addHalfWidthTarget(Counter counter, double halfWidth) {
+        Objects.requireNonNull(counter, "The counter was null");
+        return addHalfWidthTarget(counter.getName(), halfWidth);
+    }
+
+    /**
+     * Adds a target on the half-width of the named response variable or counter
+     *
+     * @param name      the name of a response variable or counter of the model
+     * @param halfWidth the desired half-width, must be &gt; 0
+     * @return the target
+     */
+    public final Target addHalfWidthTarget(String name, double halfWidth) {
+        if (halfWidth <= 0.0) {
+            throw new IllegalArgumentException("The desired half-width must be > 0");
+        }
+        return addTarget(name, halfWidth, false);
+    }
+
+    /**
+     * Adds a target on the relative precision of the response
+     *
+     * @param response          the response, must be part of the simulation's model
+     * @param relativePrecision the desired ratio of the half-width to the
+     *                          absolute value of the average, must be &gt; 0
+     * @return the target
+     */
+    public final Target addRelativePrecisionTarget(ResponseVariable response, double relativePrecision) {
+        Objects.requireNonNull(response, "The response variable was null");
+        return addRelativePrecisionTarget(response.getName(), relativePrecision);
+    }
+
+    /**
+     * Adds a target on the relative precision of the counter
+     *
+     * @param counter           the counter, must be part of the simulation's model
+     * @param relativePrecision the desired ratio of the half-width to the
+     *                          absolute value of the average, must be &gt; 0
+     * @return the target
+     */
+    public final Target addRelativePrecisionTarget(Counter counter, double relativePrecision) {
+        Objects.requireNonNull(counter, "The counter was null");
+        return addRelativePrecisionTarget(counter.getName(), relativePrecision);
+    }
+
+    /**
+     * Adds a target on the relative precision of the named response variable or counter
+     *
+     * @param name              the name of a response variable or counter of the model
+     * @param relativePrecision the desired ratio of the half-width to the
+     *                          absolute value of the average, must be &gt; 0
+     * @return the target
+     */
+    public final Target addRelativePrecisionTarget(String name, double relativePrecision) {
+        if (relativePrecision <= 0.0) {
+            throw new IllegalArgumentException("The desired relative precision must be > 0");
+        }
+        return addTarget(name, relativePrecision, true);
+    }
+
+    private Target addTarget(String name, double precision, boolean relative) {
+        Objects.requireNonNull(name, "The name was null");
+        Model m = mySimulation.getModel();
+        int index = m.getResponseVariables().indexOf(m.getResponseVariable(name));
+        boolean counter = false;
+        if (index < 0) {
+            index = m.getCounters().indexOf(m.getCounter(name));
+            counter = true;
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("The model does not have a response variable or counter named " + name);
+        }
+        Target t = new Target(name, counter, index, precision, relative);
+        myTargets.add(t);
+        return t;
+    }
+
+    /**
+     * @return an unmodifiable list of the targets
+     */
+    public final List<Target> getTargets() {
+        return Collections.unmodifiableList(myTargets);
+    }
+
+    /**
+     * @return the confidence level of the intervals
+     */
+    public final double getConfidenceLevel() {
+        return myConfidenceLevel;
+    }
+
+    /**
+     * @param level the confidence level of the intervals, must be in (0,1)
+     */
+    public final void setConfidenceLevel(double level) {
+        if ((level <= 0.0) || (level >= 1.0)) {
+            throw new IllegalArgumentException("The confidence level must be in (0,1)");
+        }
+        myConfidenceLevel = level;
+    }
+
+    /**
+     * @return the number of replications executed before checking the targets
+     */
+    public final int getInitialReplications() {
+        return myInitialReplications;
+    }
+
+    /**
+     * @param n the number of replications executed before checking the targets, must be &gt;= 2
+     */
+    public final void setInitialReplications(int n) {
+        if (n < 2) {
+            throw new IllegalArgumentException("The number of initial replications must be >= 2");
+        }
+        myInitialReplications = n;
+    }
+
+    /**
+     * @return the maximum number of replications, 0 means the number of
+     * replications set on the simulation
+     */
+    public final int getMaximumReplications() {
+        return myMaxReplications;
+    }
+
+    /**
+     * @param n the maximum number of replications, must be &gt;= 0, 0 means the
+     *          number of replications set on the simulation
+     */
+    public final void setMaximumReplications(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("The maximum number of replications must be >= 0");
+        }
+        myMaxReplications = n;
+    }
+
+    /**
+     * @return the maximum number of replications within a batch
+     */
+    public final int getMaximumBatchSize() {
+        return myMaxBatchSize;
+    }
+
+    /**
+     * @param n the maximum number of replications within a batch, must be &gt; 0
+     */
+    public final void setMaximumBatchSize(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("The maximum batch size must be > 0");
+        }
+        myMaxBatchSize = n;
+    }
+
+    /**
+     * @return the wall clock budget in milliseconds, 0 means no limit
+     */
+    public final long getMaximumWallClockTime() {
+        return myMaxWallClockTime;
+    }
+
+    /**
+     * The budget is checked between batches (and between replications when
+     * executing sequentially), so the experiment may run somewhat longer.
+     *
+     * @param millis the wall clock budget in milliseconds, must be &gt;= 0, 0 means no limit
+     */
+    public final void setMaximumWallClockTime(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("The wall clock budget must be >= 0");
+        }
+        myMaxWallClockTime = millis;
+    }
+
+    /**
+     * @return the number of replications of the fixed plan for the last experiment
+     */
+    public final int getPlannedNumberOfReplications() {
+        return myPlannedReplications;
+    }
+
+    /**
+     * @return the number of replications executed in the last experiment
+     */
+    public final int getNumberOfReplicationsExecuted() {
+        return myExecutedReplications;
+    }
+
+    /**
+     * @return the number of replications of the fixed plan that were not
+     * needed, negative if the budget exceeded the plan and more were needed
+     */
+    public final int getReplicationsSaved() {
+        return myPlannedReplications - myExecutedReplications;
+    }
+
+    /**
+     * @return the number of batches, including the initial batch, of the last experiment
+     */
+    public final int getNumberOfBatches() {
+        return myNumBatches;
+    }
+
+    /**
+     * @return the wall clock time of the last experiment in milliseconds
+     */
+    public final long getElapsedExecutionTime() {
+        return myElapsedTime;
+    }
+
+    /**
+     * @return why the last experiment stopped, null if not run
+     */
+    public final String getStoppingReason() {
+        return myStoppingReason;
+    }
+
+    /**
+     * @return true if all targets were met by the last experiment
+     */
+    public final boolean allTargetsMet() {
+        for (Target t : myTargets) {
+            if (!t.isMet()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes the experiment
+     */
+    public final void run() {
+        if (myTargets.isEmpty()) {
+            throw new IllegalStateException("No precision targets were added to the controller");
+        }
+        long start = System.currentTimeMillis();
+        myPlannedReplications = mySimulation.getNumberOfReplications();
+        int budget = (myMaxReplications == 0) ? myPlannedReplications : myMaxReplications;
+        for (Target t : myTargets) {
+            t.reset();
+        }
+        myExecutedReplications = 0;
+        myNumBatches = 0;
+        myStoppingReason = null;
+        try {
+            if (myRunner == null) {
+                runSequentially(budget, start);
+            } else {
+                runInParallel(budget, start);
+            }
+        } finally {
+            mySimulation.setNumberOfReplications(myPlannedReplications);
+        }
+        myElapsedTime = System.currentTimeMillis() - start;
+        JSL.LOGGER.info("Sequential stopping for simulation {}: {} of {} planned replications, {}",
+                mySimulation.getName(), myExecutedReplications, myPlannedReplications, myStoppingReason);
+    }
+
+    private void runSequentially(int budget, long start) {
+        mySimulation.setNumberOfReplications(budget);
+        mySimulation.initialize();
+        int checkpoint = Math.min(myInitialReplications, budget);
+        myNumBatches = 1;
+        while (mySimulation.hasNextReplication()) {
+            mySimulation.runNext();
+            myExecutedReplications++;
+            if (myExecutedReplications == checkpoint) {
+                Model m = mySimulation.getModel();
+                for (Target t : myTargets) {
+                    t.update(m, myConfidenceLevel);
+                }
+                int batch = nextBatchSize(budget);
+                if (batch == 0) {
+                    break;
+                }
+                checkpoint = checkpoint + batch;
+                myNumBatches++;
+            }
+            if (wallClockExceeded(start)) {
+                break;
+            }
+        }
+        if (myStoppingReason == null) {
+            myStoppingReason = "The replication budget was exhausted";
+        }
+        Model m = mySimulation.getModel();
+        for (Target t : myTargets) {
+            t.update(m, myConfidenceLevel);
+        }
+        mySimulation.end(myStoppingReason);
+    }
+
+    private void runInParallel(int budget, long start) {
+        List<ParallelReplicationRunner.ReplicationResult[]> batches = new ArrayList<>();
+        int batch = Math.min(myInitialReplications, budget);
+        while (batch > 0) {
+            int first = myExecutedReplications + 1;
+            ParallelReplicationRunner.ReplicationResult[] results = myRunner.execute(first, first + batch - 1);
+            batches.add(results);
+            myNumBatches++;
+            myExecutedReplications = myExecutedReplications + batch;
+            for (Target t : myTargets) {
+                t.collect(results, myConfidenceLevel);
+            }
+            if (wallClockExceeded(start)) {
+                break;
+            }
+            batch = nextBatchSize(budget);
+        }
+        if (myStoppingReason == null) {
+            myStoppingReason = "The replication budget was exhausted";
+        }
+        ParallelReplicationRunner.ReplicationResult[] all = new ParallelReplicationRunner.ReplicationResult[myExecutedReplications];
+        int k = 0;
+        for (ParallelReplicationRunner.ReplicationResult[] results : batches) {
+            System.arraycopy(results, 0, all, k, results.length);
+            k = k + results.length;
+        }
+        mySimulation.setNumberOfReplications(myExecutedReplications);
+        myRunner.replay(all);
+    }
+
+    private boolean wallClockExceeded(long start) {
+        if ((myMaxWallClockTime > 0) && (System.currentTimeMillis() - start >= myMaxWallClockTime)) {
+            myStoppingReason = "The wall clock budget was exhausted";
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Determines the size of the next batch based on the current state of the targets.
+     * Sets the stopping reason if the next batch size is 0.
+     *
+     * @param budget the maximum number of replications
+     * @return the number of replications in the next batch, 0 means stop
+     */
+    private int nextBatchSize(int budget) {
+        int n = myExecutedReplications;
+        long required = n;
+        for (Target t : myTargets) {
+            if (!t.isMet()) {
+                required = Math.max(required, t.getEstimatedReplications());
+            }
+        }
+        if (allTargetsMet()) {
+            myStoppingReason = "All precision targets were met";
+            return 0;
+        }
+        if (n >= budget) {
+            myStoppingReason = "The replication budget was exhausted";
+            return 0;
+        }
+        long batch = required - n;
+        int min = (myRunner == null) ? 1 : myRunner.getNumberOfWorkers();
+        batch = Math.max(batch, min);
+        batch = Math.min(batch, myMaxBatchSize);
+        batch = Math.min(batch, budget - n);
+        return (int) batch;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Sequential stopping for simulation: ").append(mySimulation.getName());
+        sb.append(System.lineSeparator());
+        sb.append("Confidence level = ").append(myConfidenceLevel);
+        sb.append(System.lineSeparator());
+        sb.append("Planned replications = ").append(myPlannedReplications);
+        sb.append(System.lineSeparator());
+        sb.append("Executed replications = ").append(myExecutedReplications);
+        sb.append(System.lineSeparator());
+        sb.append("Replications saved = ").append(getReplicationsSaved());
+        sb.append(System.lineSeparator());
+        sb.append("Number of batches = ").append(myNumBatches);
+        sb.append(System.lineSeparator());
+        sb.append("Stopping reason = ").append(myStoppingReason);
+        sb.append(System.lineSeparator());
+        for (Target t : myTargets) {
+            sb.append(t);
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A precision target on the across replication statistics of a response
+     */
+    public static final class Target {
+
+        private final String myName;
+
+        private final boolean myCounterFlag;
+
+        private final int myIndex;
+
+        private final double myPrecision;
+
+        private final boolean myRelativeFlag;
+
+        /**
+         * Collects the values when executing in parallel
+         */
+        private final Statistic myStatistic;
+
+        private double myAverage = Double.NaN;
+
+        private double myHalfWidth = Double.NaN;
+
+        private double myCount;
+
+        private Target(String name, boolean counter, int index, double precision, boolean relative) {
+            myName = name;
+            myCounterFlag = counter;
+            myIndex = index;
+            myPrecision = precision;
+            myRelativeFlag = relative;
+            myStatistic = new Statistic(name);
+        }
+
+        /**
+         * @return the name of the response variable or counter
+         */
+        public String getName() {
+            return myName;
+        }
+
+        /**
+         * @return true if the target is a relative precision, false if it is a half-width
+         */
+        public boolean isRelative() {
+            return myRelativeFlag;
+        }
+
+        /**
+         * @return the desired half-width or relative precision
+         */
+        public double getPrecision() {
+            return myPrecision;
+        }
+
+        /**
+         * @return the across replication average at the last check
+         */
+        public double getAverage() {
+            return myAverage;
+        }
+
+        /**
+         * @return the across replication half-width at the last check
+         */
+        public double getHalfWidth() {
+            return myHalfWidth;
+        }
+
+        /**
+         * @return the desired half-width at the last check, for relative precision
+         * targets this depends on the current average
+         */
+        public double getDesiredHalfWidth() {
+            if (myRelativeFlag) {
+                return myPrecision * Math.abs(myAverage);
+            }
+            return myPrecision;
+        }
+
+        /**
+         * @return true if the target was met at the last check
+         */
+        public boolean isMet() {
+            return (myCount >= 2) && (myHalfWidth <= getDesiredHalfWidth());
+        }
+
+        /**
+         * @return the estimated total number of replications needed to meet the
+         * target, based on the last check
+         */
+        public long getEstimatedReplications() {
+            double d = getDesiredHalfWidth();
+            if (Double.isNaN(myHalfWidth) || Double.isNaN(d)) {
+                return Long.MAX_VALUE;
+            }
+            if (d <= 0.0) {
+                // e.g. relative precision with an average of 0, cannot estimate
+                return Long.MAX_VALUE;
+            }
+            double r = myHalfWidth / d;
+            double n = Math.ceil(myCount * r * r);
+            return (n >= Long.MAX_VALUE) ? Long.MAX_VALUE : (long) n;
+        }
+
+        private void reset() {
+            myStatistic.reset();
+            myAverage = Double.NaN;
+            myHalfWidth = Double.NaN;
+            myCount = 0;
+        }
+
+        private void update(Model model, double level) {
+            if (myCounterFlag) {
+                update(model.getCounters().get(myIndex).getAcrossReplicationStatistic(), level);
+            } else {
+                update(model.getResponseVariables().get(myIndex).getAcrossReplicationStatistic(), level);
+            }
+        }
+
+        private void collect(ParallelReplicationRunner.ReplicationResult[] results, double level) {
+            for (ParallelReplicationRunner.ReplicationResult r : results) {
+                if (myCounterFlag) {
+                    myStatistic.collect(r.getCount(myIndex));
+                } else {
+                    myStatistic.collect(r.getResponseAverage(myIndex));
+                }
+            }
+            update(myStatistic, level);
+        }
+
+        private void update(StatisticAccessorIfc s, double level) {
+            myCount = s.getCount();
+            myAverage = s.getAverage();
+            myHalfWidth = s.getHalfWidth(level);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(myName);
+            sb.append(myRelativeFlag ? ": relative precision target = " : ": half-width target = ");
+            sb.append(myPrecision);
+            sb.append(", average = ").append(myAverage);
+            sb.append(", half-width = ").append(myHalfWidth);
+            sb.append(", met = ").append(isMet());
+            return sb.toString();
+        }
+    }
+}
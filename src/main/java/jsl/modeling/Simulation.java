@@ -1004,6 +1004,16 @@ public class Simulation implements ObservableIfc, IterativeProcessIfc,
         return new SimulationReporter(this);
     }
 
+    /**
+     * Constructs a SequentialStoppingController that executes the
+     * replications of this Simulation instance sequentially
+     *
+     * @return the SequentialStoppingController
+     */
+    public SequentialStoppingController makeSequentialStoppingController() {
+        return new SequentialStoppingController(this);
+    }
+
     /**
      * Is available only if the simulation was created with the option
      * of automatically creating an embedded database
@@ -408,6 +408,23 @@ public class SimulationReporter {
         }
     }
 
+    /** Returns a list holding the across replication quantile sketches of the
+     *  response variables that have quantile collection turned on and that
+     *  should appear on the default reports.
+     *
+     * @return the list of sketches, possibly empty
+     */
+    public final List<StatisticAccessorIfc> getAcrossReplicationQuantileSketchList() {
+        List<StatisticAccessorIfc> list = new ArrayList<>();
+        List<ResponseVariable> rvs = getResponseVariables();
+        for (ResponseVariable r : rvs) {
+            if (r.isQuantileCollectionOn() && r.getDefaultReportingOption()) {
+                list.add(r.getAcrossReplicationQuantileSketch());
+            }
+        }
+        return list;
+    }
+
     /** Fills the list with across replication statistics from the Counters
      * 
      * @param list the list to fill
@@ -920,6 +937,30 @@ public class SimulationReporter {
         out.flush();
     }
 
+    /**
+     *  Prints a quantile summary report for the responses that have quantile
+     *  collection turned on to System.out
+     */
+    public final void printAcrossReplicationQuantileSummaryReport(){
+        PrintWriter printWriter = new PrintWriter(System.out);
+        writeAcrossReplicationQuantileSummaryReport(printWriter);
+        printWriter.flush();
+    }
+
+    /** Writes a quantile summary report (P50, P95, P99) for the responses that
+     *  have quantile collection turned on. The quantiles are estimated over
+     *  the observations of all the replications.
+     *
+     * @param out the writer to write to
+     */
+    public final void writeAcrossReplicationQuantileSummaryReport(PrintWriter out){
+        List<StatisticAccessorIfc> list = getAcrossReplicationQuantileSketchList();
+        StatisticReporter statisticReporter = new StatisticReporter(list);
+        StringBuilder report = statisticReporter.getQuantileSummaryReport();
+        out.println(report.toString());
+        out.flush();
+    }
+
     /**
      *
      * @return a StatisticReporter holding the across replication statistics for reporting
@@ -107,6 +107,10 @@ public class ActionSchedule extends SchedulingElement {
      */
     protected JSLEvent myStartEvent;
 
+    /** True once the schedule has started during the replication
+     */
+    private boolean myStartedFlag;
+
     /** Represents the event for the actions on the schedule
      */
     protected JSLEvent myActionEvent;
@@ -370,7 +374,7 @@ public class ActionSchedule extends SchedulingElement {
      *  if it has not already be started
      */
     public final void scheduleStart() {
-        if (myStartEvent == null) {
+        if ((myStartEvent == null) && !myStartedFlag) {
             myStartEvent = scheduleEvent(getInitialStartTime(), START_EVENT);
         }
     }
@@ -386,6 +390,7 @@ public class ActionSchedule extends SchedulingElement {
     protected void afterReplication() {
         super.afterReplication();
         myStartEvent = null;
+        myStartedFlag = false;
         myNextScheduledAction = null;
         myActionIterator = null;
         myActionEvent = null;
@@ -400,6 +405,9 @@ public class ActionSchedule extends SchedulingElement {
     @Override
     protected void handleEvent(JSLEvent event) {
         if (event.getType() == START_EVENT) {
+            // the executed events may be reused by the executive's event pool
+            myStartEvent = null;
+            myStartedFlag = true;
             myCycleStartTime = getTime();
             // get iterator to actions
             myActionIterator = myActions.iterator();
@@ -436,10 +444,14 @@ public class ActionSchedule extends SchedulingElement {
                     }
                 }
             }
+            if ((myActionEvent == event) && !event.isScheduled()) {
+                myActionEvent = null;
+            }
             return;
         }
 
         if (event.getType() == END_EVENT) {
+            myEndEvent = null;
             if (myScheduleRepeatFlag == true) {
                 //System.out.println(getTime() + "> " + "Schedule is repeating...");
                 myCycleStartTime = getTime();
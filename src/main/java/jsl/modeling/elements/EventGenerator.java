@@ -624,6 +624,7 @@ public class EventGenerator extends SchedulingElement implements EventGeneratorI
             if (myNextEvent.isScheduled()) {
                 cancelEvent(myNextEvent);
             }
+            myNextEvent = null;
         }
     }
 
@@ -644,6 +645,7 @@ public class EventGenerator extends SchedulingElement implements EventGeneratorI
             if (myNextEvent.isScheduled()) {
                 cancelEvent(myNextEvent);
             }
+            myNextEvent = null;
         }
     }
 
@@ -929,6 +931,10 @@ public class EventGenerator extends SchedulingElement implements EventGeneratorI
                 }
             }
         }
+        // an event that was not rescheduled may be reused by the executive's event pool
+        if ((myNextEvent == event) && !event.isScheduled()) {
+            myNextEvent = null;
+        }
     }
 
     @Override
@@ -89,7 +89,7 @@ public class Schedule extends SchedulingElement {
      * The time that the schedule started for its current cycle
      * <p>
      */
-    private double myCycleStartTime;
+    private double myCycleStartTime = Double.NaN;
 
     /**
      * The schedule repeat flag controls whether or not
@@ -535,7 +535,8 @@ public class Schedule extends SchedulingElement {
      * if it has not already be started
      */
     public final void scheduleStart() {
-        if (myStartScheduleEvent == null) {
+        // a started schedule has a cycle start time
+        if ((myStartScheduleEvent == null) && Double.isNaN(myCycleStartTime)) {
             // priority for starting the schedule must be lower than the first
             // item on the schedule to ensure it goes first
             int priority = getStartEventPriority();
@@ -551,6 +552,10 @@ public class Schedule extends SchedulingElement {
     }
 
     protected void startSchedule(JSLEvent evt) {
+        // the executed event may be reused by the executive's event pool
+        if (evt == myStartScheduleEvent) {
+            myStartScheduleEvent = null;
+        }
         myCycleStartTime = getTime();
         // logic for what to do when schedule is started
         notifyScheduleChangeListenersScheduleStarted();
@@ -569,12 +574,14 @@ public class Schedule extends SchedulingElement {
 
     protected void startItem(JSLEvent evt) {
         ScheduleItem item = (ScheduleItem) evt.getMessage();
+        item.myStartEvent = null;
         notifyScheduleChangeListenersScheduleItemStarted(item);
         scheduleItemEnd(item);
     }
 
     protected void endItem(JSLEvent evt) {
         ScheduleItem item = (ScheduleItem) evt.getMessage();
+        item.myEndEvent = null;
         notifyScheduleChangeListenersScheduleItemEnded(item);
     }
 
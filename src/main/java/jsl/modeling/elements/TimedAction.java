@@ -204,7 +204,11 @@ public class TimedAction extends SchedulingElement {
      */
     public final void cancelAction() {
         if (myTimedActionEvent != null) {
-            cancelEvent(myTimedActionEvent);
+            if (myTimedActionEvent.isScheduled()) {
+                cancelEvent(myTimedActionEvent);
+            }
+            // the canceled event may be reused by the executive's event pool
+            myTimedActionEvent = null;
         }
     }
 
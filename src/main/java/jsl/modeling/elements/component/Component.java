@@ -1196,6 +1196,10 @@ public class Component extends SchedulingElement {
     private class EndOperationListener implements EventActionIfc {
 
         public void action(JSLEvent evt) {
+            // the executed event may be reused by the executive's event pool
+            if (evt == myEndOperationEvent) {
+                myEndOperationEvent = null;
+            }
             myState.endOperation();
         }
     }
@@ -1203,6 +1207,9 @@ public class Component extends SchedulingElement {
     private class FailureListener implements EventActionIfc {
 
         public void action(JSLEvent evt) {
+            if (evt == myFailureEvent) {
+                myFailureEvent = null;
+            }
             myState.fail();
         }
     }
@@ -1210,6 +1217,9 @@ public class Component extends SchedulingElement {
     private class EndRepairListener implements EventActionIfc {
 
         public void action(JSLEvent evt) {
+            if (evt == myEndRepairEvent) {
+                myEndRepairEvent = null;
+            }
             myState.endRepair();
         }
     }
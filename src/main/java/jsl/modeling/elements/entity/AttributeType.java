@@ -18,7 +18,10 @@ package jsl.modeling.elements.entity;
 import jsl.utilities.IdentityIfc;
 
 /**
- *
+ * An AttributeType defines a numeric attribute of the entities of an EntityType.
+ * When defined via EntityType.defineAttributeType(), the attribute type is
+ * assigned the index of its slot within the attribute values of each entity of
+ * the type, so that entities can access the attribute without a name lookup.
  */
 public class AttributeType implements IdentityIfc {
 
@@ -37,6 +40,16 @@ public class AttributeType implements IdentityIfc {
      */
     private String myName;
 
+    /** The entity type that defined this attribute type, null if not
+     *  defined by an entity type
+     */
+    private EntityType myEntityType;
+
+    /** The index of the attribute's slot within the entities
+     *  of the entity type, -1 if not defined by an entity type
+     */
+    private int myIndex = -1;
+
     protected AttributeType() {
         this(null);
     }
@@ -73,6 +86,31 @@ public class AttributeType implements IdentityIfc {
         return myName;
     }
 
+    /** Called by the EntityType when the attribute type is defined
+     *
+     * @param entityType the defining entity type
+     * @param index the index of the attribute's slot
+     */
+    final void setSlot(EntityType entityType, int index) {
+        myEntityType = entityType;
+        myIndex = index;
+    }
+
+    /** Gets the entity type that defined this attribute type
+     * @return the entity type or null if not defined by an entity type
+     */
+    public final EntityType getEntityType() {
+        return myEntityType;
+    }
+
+    /** Gets the index of the attribute's slot within the entities of
+     *  the defining entity type
+     * @return the index or -1 if not defined by an entity type
+     */
+    public final int getIndex() {
+        return myIndex;
+    }
+
     /** Gets a uniquely assigned integer identifier for this attribute type.
      * This identifier is assigned when the attribute type is
      * created.  It may vary if the order of creation changes.
@@ -15,6 +15,7 @@
  */
 package jsl.modeling.elements.entity;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -59,7 +60,13 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      */
     private Map<String, Resource> mySavedResources;
 
-    /** A map to hold the attached named attributes
+    /** The values of the attributes defined by the entity type,
+     *  indexed by AttributeType.getIndex()
+     *
+     */
+    private double[] myAttributeValues;
+
+    /** A map to hold the attributes attached via addAttribute()
      *
      */
     private Map<String, AttributeIfc> myAttributes;
@@ -117,6 +124,11 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      */
     private List<Entity> myEntityList;
 
+    /** True while the entity is held by the pool of its EntityType
+     *  waiting to be reused
+     */
+    private boolean myPooledFlag;
+
     /** Creates an Entity with the given name
      *  and the creation time set to the current simulation time
      * @param entityType 
@@ -126,7 +138,47 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
         super(entityType.getTime(), name);
         setType(entityType);
         myEntityList = new LinkedList<Entity>();
-        myAllocations = new HashMap<Resource, Allocation>();
+    }
+
+    /** Causes a pooled entity to look like new, as if just created
+     *  by the entity type with the given name at the current time
+     *
+     * @param entityType the type of the entity
+     * @param name the name of the entity
+     */
+    final void reuse(EntityType entityType, String name) {
+        initialize(entityType.getTime(), name);
+        setType(entityType);
+        myPooledFlag = false;
+        myUseDurationFlag = false;
+        myDurationTime = 0.0;
+        myUseAmountFlag = false;
+        myAmount = 1;
+        myEnterReceiverTime = 0.0;
+    }
+
+    /** Clears the references held by a disposed entity so that it can
+     *  be held by the pool of its entity type. The maps and the entity
+     *  list are cleared rather than released so that they can be reused.
+     */
+    private void recycle() {
+        clearReferences();
+        myCurrentReceiver = null;
+        myPlannedReceiver = null;
+        myMessage = null;
+        myEntityReceiverIterator = null;
+        myProcessExecutor = null;
+        if (myAttributes != null) {
+            myAttributes.clear();
+        }
+        if (mySavedResources != null) {
+            mySavedResources.clear();
+        }
+        if (myRSetUsage != null) {
+            myRSetUsage.clear();
+        }
+        myEntityList.clear();
+        myPooledFlag = true;
     }
 
     @Override
@@ -140,11 +192,14 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
             myAttributes.clear();
         }
         myAttributes = null;
+        myAttributeValues = null;
 
-        for (Allocation a : myAllocations.values()) {
-            a.nullify();
+        if (myAllocations != null) {
+            for (Allocation a : myAllocations.values()) {
+                a.nullify();
+            }
+            myAllocations.clear();
         }
-        myAllocations.clear();
         myAllocations = null;
 
         if (mySavedResources != null) {
@@ -220,9 +275,11 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
 
         myEntityType = entityType;
 
-        for (AttributeType at : myEntityType.getAttributeTypes()) {
-            Attribute a = new Attribute(at.getName());
-            addAttribute(a.getName(), a);
+        int n = myEntityType.getNumberOfAttributeTypes();
+        if ((myAttributeValues == null) || (myAttributeValues.length != n)) {
+            myAttributeValues = new double[n];
+        } else {
+            Arrays.fill(myAttributeValues, 0.0);
         }
 
         myEntityReceiverIterator = myEntityType.getSequenceIterator();
@@ -232,7 +289,7 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
     /** Adds the named attribute to the entity as a valid attribute
      *  Arguments must be non-null, or exceptions will be thrown.
      *  The named attribute must not already have been added to the entity
-     *  or an exception will be thrown.
+     *  or defined by its entity type or an exception will be thrown.
      *
      * @param attributeName
      * @param attribute
@@ -250,7 +307,8 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
             myAttributes = new LinkedHashMap<String, AttributeIfc>();
         }
 
-        if (myAttributes.containsKey(attributeName)) {
+        if (myAttributes.containsKey(attributeName)
+                || (findAttributeType(attributeName) != null)) {
             throw new IllegalArgumentException("The Entity already has an "
                     + "attribute named: " + attributeName);
         }
@@ -265,11 +323,15 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      * @return true if already added, false otherwise
      */
     public final boolean containsAttribute(String attributeName) {
-        if (myAttributes == null) {
+        if (attributeName == null) {
             return (false);
         }
 
-        if (attributeName == null) {
+        if (findAttributeType(attributeName) != null) {
+            return (true);
+        }
+
+        if (myAttributes == null) {
             return (false);
         } else {
             return (myAttributes.containsKey(attributeName));
@@ -283,18 +345,24 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      * @param value
      */
     public final void setAttributeValue(String attributeName, double value) {
-        if (myAttributes == null) {
-            throw new IllegalArgumentException("The Entity does not have an "
-                    + "attribute named: " + attributeName);
-        }
-
-        if (!myAttributes.containsKey(attributeName)) {
-            throw new IllegalArgumentException("The Entity does not have an "
-                    + "attribute named: " + attributeName);
+        AttributeType at = findAttributeType(attributeName);
+        if (at != null) {
+            setAttributeValue(at, value);
+        } else {
+            getAddedAttribute(attributeName).setValue(value);
         }
+    }
 
-        AttributeIfc attribute = (AttributeIfc) myAttributes.get(attributeName);
-        attribute.setValue(value);
+    /** Allows the user to set the value of the attribute
+     *  to the given value. This accesses the attribute's slot
+     *  directly, without looking up the attribute by name.
+     *
+     * @param attributeType the attribute type, must be defined by the entity's type
+     * @param value the value
+     */
+    public final void setAttributeValue(AttributeType attributeType, double value) {
+        int i = slot(attributeType);
+        myAttributeValues[i] = value;
     }
 
     /** Gets the value of the attribute using the GetValueIfc
@@ -303,18 +371,72 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      * @return
      */
     public final double getAttributeValue(String attributeName) {
-        if (myAttributes == null) {
-            throw new IllegalArgumentException("The Entity does not have an "
-                    + "attribute named: " + attributeName);
+        AttributeType at = findAttributeType(attributeName);
+        if (at != null) {
+            return getAttributeValue(at);
+        } else {
+            return getAddedAttribute(attributeName).getValue();
+        }
+    }
+
+    /** Gets the value of the attribute. This accesses the attribute's slot
+     *  directly, without looking up the attribute by name.
+     *
+     * @param attributeType the attribute type, must be defined by the entity's type
+     * @return the value
+     */
+    public final double getAttributeValue(AttributeType attributeType) {
+        int i = slot(attributeType);
+        return myAttributeValues[i];
+    }
+
+    /** Returns the index of the attribute type's slot, growing the
+     *  attribute values if the attribute type was defined after the
+     *  entity was created
+     *
+     * @param attributeType the attribute type
+     * @return the index of the slot
+     */
+    private int slot(AttributeType attributeType) {
+        if (attributeType.getEntityType() != myEntityType) {
+            throw new IllegalArgumentException("The attribute type " + attributeType.getName()
+                    + " is not defined by the entity's type");
+        }
+        int i = attributeType.getIndex();
+        if (i >= myAttributeValues.length) {
+            myAttributeValues = Arrays.copyOf(myAttributeValues, myEntityType.getNumberOfAttributeTypes());
+        }
+        return i;
+    }
+
+    /** Returns the attribute type with the name defined by the entity's type
+     *
+     * @param attributeName the name of the attribute
+     * @return the attribute type or null if the entity does not have a type
+     * or its type does not define the attribute
+     */
+    private AttributeType findAttributeType(String attributeName) {
+        if (myEntityType == null) {
+            return null;
         }
+        return myEntityType.getAttributeType(attributeName);
+    }
 
-        if (!myAttributes.containsKey(attributeName)) {
+    /** Returns the attribute added via addAttribute()
+     *
+     * @param attributeName the name of the attribute
+     * @return the attribute
+     */
+    private AttributeIfc getAddedAttribute(String attributeName) {
+        AttributeIfc attribute = null;
+        if (myAttributes != null) {
+            attribute = myAttributes.get(attributeName);
+        }
+        if (attribute == null) {
             throw new IllegalArgumentException("The Entity does not have an "
                     + "attribute named: " + attributeName);
         }
-
-        AttributeIfc attribute = (AttributeIfc) myAttributes.get(attributeName);
-        return (attribute.getValue());
+        return attribute;
     }
 
     /** This is used by the ProcessExecutor to tell the entity
@@ -331,10 +453,16 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
 
     final void addAllocation(Allocation a) {
         Resource r = a.getAllocatedResource();
+        if (myAllocations == null) {
+            myAllocations = new HashMap<Resource, Allocation>();
+        }
         myAllocations.put(r, a);
     }
 
     final void removeAllocation(Allocation a) {
+        if (myAllocations == null) {
+            return;
+        }
         Resource r = a.getAllocatedResource();
         myAllocations.remove(r);
     }
@@ -377,7 +505,7 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      * @return
      */
     public final boolean hasAllocations() {
-        return !myAllocations.isEmpty();
+        return (myAllocations != null) && !myAllocations.isEmpty();
     }
 
     /** Checks if the entity has the supplied allocation
@@ -386,7 +514,7 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      * @return
      */
     public final boolean containsAllocation(Allocation a) {
-        return myAllocations.containsValue(a);
+        return (myAllocations != null) && myAllocations.containsValue(a);
     }
 
     /** Checks of the entity has an allocation for the
@@ -396,7 +524,7 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      * @return
      */
     public final boolean containsAllocation(Resource r) {
-        return myAllocations.containsKey(r);
+        return (myAllocations != null) && myAllocations.containsKey(r);
     }
 
     /** Gets the allocation for the supplied resource
@@ -406,6 +534,9 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      * @return
      */
     public final Allocation getAllocation(Resource r) {
+        if (myAllocations == null) {
+            return null;
+        }
         return myAllocations.get(r);
     }
 
@@ -451,7 +582,7 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      * @param resource
      */
     public final void release(Resource resource) {
-        if (!myAllocations.containsKey(resource)) {
+        if (!containsAllocation(resource)) {
             throw new IllegalArgumentException("Tried to release a resource that"
                     + " was not allocated to the entity");
         }
@@ -766,10 +897,18 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
      *  be used.  The entity must not have any outstanding requests.
      *  This can be checked by using hasAllocations().
      *  If the entity is carrying any entities in its list, those
-     *  entities will also be disposed
+     *  entities will also be disposed.
+     *
+     *  If the entity's type has entity pooling turned on, the entity is
+     *  cleared and returned to the pool of its type for reuse; thus, clients
+     *  must not keep or use a reference to the entity after disposing it.
      *
      */
     public final void dispose() {
+        if ((myEntityType == null) || myPooledFlag) {
+            throw new DisposeEntityException("Attempt to dispose the entity "
+                    + getName() + " after it was already disposed");
+        }
         if (hasAllocations()) {
             throw new DisposeEntityException("Attempt to dispose the entity "
                     + "when it still had allocations with resources");
@@ -787,8 +926,14 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
         }
         }
          */
-        myEntityType.dispose(this);
-        nullify();
+        EntityType type = myEntityType;
+        type.dispose(this);
+        if (type.getEntityPoolingOption() && (getClass() == Entity.class)) {
+            recycle();
+            type.recycle(this);
+        } else {
+            nullify();
+        }
     }
 
     public List<SeizeRequirement> getSeizeRequirements() {
@@ -816,7 +961,7 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
     }
 
     void releaseFirstMemberSeized(ResourceSet set, int releaseAmount) {
-        if (!myRSetUsage.containsKey(set)) {
+        if ((myRSetUsage == null) || !myRSetUsage.containsKey(set)) {
             throw new IllegalArgumentException("Attempted to release from "
                     + "ResourceSet that was not seize");
         }
@@ -834,7 +979,7 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
     }
 
     void releaseLastMemberSeized(ResourceSet set, int releaseAmount) {
-        if (!myRSetUsage.containsKey(set)) {
+        if ((myRSetUsage == null) || !myRSetUsage.containsKey(set)) {
             throw new IllegalArgumentException("Attempted to release from "
                     + "ResourceSet that was not seize");
         }
@@ -851,11 +996,11 @@ public class Entity extends QObject implements EntityReceiverIteratorIfc, List<E
     }
 
     void releaseSpecificMember(ResourceSet set, String key, int releaseAmount) {
-        if (!myRSetUsage.containsKey(set)) {
+        if ((myRSetUsage == null) || !myRSetUsage.containsKey(set)) {
             throw new IllegalArgumentException("Attempted to release from "
                     + "ResourceSet that was not seized");
         }
-        if (!mySavedResources.containsKey(key)) {
+        if ((mySavedResources == null) || !mySavedResources.containsKey(key)) {
             throw new IllegalArgumentException("Attempted to release a specific "
                     + "member from a ResourceSet with invalid save key");
         }
@@ -24,6 +24,7 @@ import jsl.modeling.elements.variable.TimeWeighted;
 import jsl.utilities.GetValueIfc;
 import jsl.utilities.random.rvariable.ConstantRV;
 import jsl.utilities.random.rvariable.RVariableIfc;
+import jsl.utilities.reporting.JSL;
 
 import java.util.*;
 
@@ -52,10 +53,10 @@ public class EntityType extends SchedulingElement {
      */
     private List<AttributeType> myAttributeTypes;
 
-    /** A hash set to keep track of what names have been
-     *  applied to AttributeTypes
+    /** Maps the names of the AttributeTypes to the
+     *  AttributeTypes
      */
-    private HashSet<String> myAttributeTypeNames;
+    private Map<String, AttributeType> myAttributeTypeNames;
 
     /** For tracking system time for entities by EntityType
      *
@@ -95,6 +96,34 @@ public class EntityType extends SchedulingElement {
      */
     protected Map<Delay, RandomVariable> myActivityTimes;
 
+    /** Holds disposed entities for reuse, null if entity
+     *  pooling is off
+     */
+    private ArrayDeque<Entity> myEntityPool;
+
+    /** The maximum number of entities held by the entity pool
+     */
+    private int myMaxEntityPoolSize = 1024;
+
+    /** The number of entities created by the entity type
+     */
+    private long myNumEntitiesCreated;
+
+    /** The number of entities taken from the entity pool rather
+     *  than created
+     */
+    private long myNumEntitiesReused;
+
+    /** The entities created and not yet disposed during the current
+     *  replication, null if leak detection is off
+     */
+    private Set<Entity> myLiveEntities;
+
+    /** The number of entities not disposed by the end of the last
+     *  replication, when leak detection is on
+     */
+    private int myNumLeakedEntities;
+
     /** Creates an EntityType with a default name
      * 
      * @param parent 
@@ -111,7 +140,7 @@ public class EntityType extends SchedulingElement {
     public EntityType(ModelElement parent, String name) {
         super(parent, name);
         myAttributeTypes = new ArrayList<AttributeType>();
-        myAttributeTypeNames = new HashSet<String>();
+        myAttributeTypeNames = new HashMap<String, AttributeType>();
     }
 
     /** Creates an entity
@@ -130,7 +159,19 @@ public class EntityType extends SchedulingElement {
      */
     @Override
     public Entity createEntity(String name) {
-        Entity e = new Entity(this, name);
+        Entity e;
+        if ((myEntityPool != null) && !myEntityPool.isEmpty()) {
+            e = myEntityPool.pop();
+            e.reuse(this, name);
+            myNumEntitiesReused = myNumEntitiesReused + 1;
+        } else {
+            e = new Entity(this, name);
+            myNumEntitiesCreated = myNumEntitiesCreated + 1;
+        }
+
+        if (myLiveEntities != null) {
+            myLiveEntities.add(e);
+        }
 
         if (myNumInSystem != null) {
             myNumInSystem.increment();
@@ -160,7 +201,9 @@ public class EntityType extends SchedulingElement {
     }
 
     /** Defines an attribute type with the given name and
-     *  adds it to the available types for this entity type
+     *  adds it to the available types for this entity type. The
+     *  attribute type is assigned the next slot index, i.e. the
+     *  number of attribute types previously defined.
      *
      * @param name the name of the attribute type, must be non-null
      *  and unique to this entity type
@@ -171,16 +214,36 @@ public class EntityType extends SchedulingElement {
             throw new IllegalArgumentException("Name of attribute type must be non-null!");
         }
 
-        if (!myAttributeTypeNames.add(name)) {
+        if (myAttributeTypeNames.containsKey(name)) {
             throw new IllegalArgumentException("Name of attribute type must be unique for this process description!");
         }
 
         AttributeType at = new AttributeType(name);
-
+        at.setSlot(this, myAttributeTypes.size());
+        myAttributeTypeNames.put(name, at);
         myAttributeTypes.add(at);
         return (at);
     }
 
+    /** Returns the attribute type with the given name
+     *
+     * @param name the name of the attribute type
+     * @return the attribute type or null if this entity type does not
+     *  define an attribute type with the name
+     */
+    public final AttributeType getAttributeType(String name) {
+        return myAttributeTypeNames.get(name);
+    }
+
+    /** Returns the number of attribute types defined, which is the
+     *  number of attribute slots of the entities of this type
+     *
+     * @return the number of attribute types
+     */
+    public final int getNumberOfAttributeTypes() {
+        return myAttributeTypes.size();
+    }
+
     /** Returns an unmodifiable list of the attribute types
      *
      * @return
@@ -350,6 +413,10 @@ public class EntityType extends SchedulingElement {
      */
     protected void dispose(Entity e) {
 
+        if (myLiveEntities != null) {
+            myLiveEntities.remove(e);
+        }
+
         if (myNumInSystem != null) {
             myNumInSystem.decrement();
         }
@@ -360,6 +427,146 @@ public class EntityType extends SchedulingElement {
 
     }
 
+    /** Called by a disposed entity, after it has been cleared, to
+     *  return itself to the entity pool
+     *
+     * @param e the disposed entity
+     */
+    final void recycle(Entity e) {
+        if (myEntityPool.size() < myMaxEntityPoolSize) {
+            myEntityPool.push(e);
+        }
+    }
+
+    /** When pooling is on, disposed entities are cleared and held by the
+     *  entity type so that createEntity() can reuse them rather than create
+     *  new entities. A reused entity looks like new: it gets a new id,
+     *  name, and creation time, and its attributes are reset. Thus, with
+     *  pooling on, clients must not keep or use a reference to an entity
+     *  after it has been disposed. Only entities of class Entity are pooled,
+     *  entities created by sub-classes that override createEntity() are not.
+     *
+     * @param flag true means that disposed entities are pooled
+     */
+    public final void setEntityPoolingOption(boolean flag) {
+        if (flag) {
+            if (myEntityPool == null) {
+                myEntityPool = new ArrayDeque<>();
+            }
+        } else {
+            myEntityPool = null;
+        }
+    }
+
+    /**
+     * @return true if disposed entities are pooled
+     */
+    public final boolean getEntityPoolingOption() {
+        return myEntityPool != null;
+    }
+
+    /**
+     * @param size the maximum number of entities held by the entity pool, must be &gt; 0
+     */
+    public final void setMaximumEntityPoolSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The maximum entity pool size must be > 0");
+        }
+        myMaxEntityPoolSize = size;
+    }
+
+    /**
+     * @return the maximum number of entities held by the entity pool
+     */
+    public final int getMaximumEntityPoolSize() {
+        return myMaxEntityPoolSize;
+    }
+
+    /**
+     * @return the number of entities created by createEntity() since the
+     * entity type was constructed
+     */
+    public final long getNumberOfEntitiesCreated() {
+        return myNumEntitiesCreated;
+    }
+
+    /**
+     * @return the number of entities taken from the entity pool since the
+     * entity type was constructed
+     */
+    public final long getNumberOfEntitiesReused() {
+        return myNumEntitiesReused;
+    }
+
+    /** When leak detection is on, the entity type tracks the entities that
+     *  it creates during each replication. At the end of the replication,
+     *  the entities that were never disposed are reported via JSL.LOGGER.
+     *  Entities that remain in the system at the end of a replication, e.g.
+     *  waiting in queues, are also reported.
+     *
+     * @param flag true means that entities not disposed by the end of each
+     * replication are reported
+     */
+    public final void setLeakDetectionOption(boolean flag) {
+        if (flag) {
+            if (myLiveEntities == null) {
+                myLiveEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+        } else {
+            myLiveEntities = null;
+        }
+    }
+
+    /**
+     * @return true if entities not disposed by the end of each replication
+     * are reported
+     */
+    public final boolean getLeakDetectionOption() {
+        return myLiveEntities != null;
+    }
+
+    /**
+     * @return the number of entities that were created but not disposed by the
+     * end of the last replication, 0 if leak detection is off
+     */
+    public final int getNumberOfLeakedEntities() {
+        return myNumLeakedEntities;
+    }
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        myNumLeakedEntities = 0;
+        if (myLiveEntities != null) {
+            myLiveEntities.clear();
+        }
+    }
+
+    @Override
+    protected void replicationEnded() {
+        super.replicationEnded();
+        if ((myLiveEntities == null) || myLiveEntities.isEmpty()) {
+            return;
+        }
+        myNumLeakedEntities = myLiveEntities.size();
+        StringBuilder sb = new StringBuilder();
+        int n = 0;
+        for (Entity e : myLiveEntities) {
+            if (n == 5) {
+                sb.append(", ...");
+                break;
+            }
+            if (n > 0) {
+                sb.append(", ");
+            }
+            sb.append(e.getName()).append("#").append(e.getId());
+            n++;
+        }
+        JSL.LOGGER.warn("EntityType {}: {} entities were not disposed by the end of replication {}: {}",
+                getName(), myNumLeakedEntities, getCurrentReplicationNumber(), sb);
+        myLiveEntities.clear();
+    }
+
     /** Attaches a listener that will be called immediately before
      *  the entity is received, i.e. prior to receive(Entity entity)
      *  being called
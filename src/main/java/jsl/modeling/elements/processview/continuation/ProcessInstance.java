@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.processview.continuation;
+
+/**
+ * One execution of a ProcessProgram, e.g. the life cycle of one entity. The
+ * instance is its own continuation: it records the program, the index of the
+ * next step, and the little state needed while it is suspended. It is created
+ * by a ProcessRunner and is resumed only by events on the Executive's calendar,
+ * so no thread is associated with it.
+ */
+public final class ProcessInstance {
+
+    private final long myId;
+
+    private final ProcessRunner myRunner;
+
+    private final ProcessProgram myProgram;
+
+    private final Object myEntity;
+
+    private double myStartTime = Double.NaN;
+
+    private double myEndTime = Double.NaN;
+
+    /**
+     * The index of the next step of the program to execute
+     */
+    int myNextStep;
+
+    /**
+     * The amount requested while waiting for a ProcessResource
+     */
+    int myAmountRequested;
+
+    /**
+     * The time that the instance started waiting for a resource or signal
+     */
+    double myTimeSuspended;
+
+    ProcessInstance(long id, ProcessRunner runner, ProcessProgram program, Object entity) {
+        myId = id;
+        myRunner = runner;
+        myProgram = program;
+        myEntity = entity;
+    }
+
+    /**
+     * @return the id assigned by the runner
+     */
+    public long getId() {
+        return myId;
+    }
+
+    /**
+     * @return the runner that executes the instance
+     */
+    public ProcessRunner getProcessRunner() {
+        return myRunner;
+    }
+
+    /**
+     * @return the program being executed
+     */
+    public ProcessProgram getProgram() {
+        return myProgram;
+    }
+
+    /**
+     * @return the object supplied when the instance was started, may be null
+     */
+    public Object getEntity() {
+        return myEntity;
+    }
+
+    /**
+     * @return the time the instance started executing, NaN if it has not started
+     */
+    public double getStartTime() {
+        return myStartTime;
+    }
+
+    /**
+     * @return the time the program ended, NaN if it has not ended
+     */
+    public double getEndTime() {
+        return myEndTime;
+    }
+
+    /**
+     * @return true if the program has ended
+     */
+    public boolean isFinished() {
+        return !Double.isNaN(myEndTime);
+    }
+
+    void started(double time) {
+        myStartTime = time;
+    }
+
+    void finished(double time) {
+        myEndTime = time;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstance " + myId + " at step " + myNextStep;
+    }
+}
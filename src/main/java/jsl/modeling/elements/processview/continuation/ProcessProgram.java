@@ -0,0 +1,421 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.processview.continuation;
+
+import jsl.utilities.GetValueIfc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A ProcessProgram is the straight-line description of an entity's life cycle,
+ * e.g. seize, delay, release, written once and shared by every ProcessInstance
+ * that executes it. The program is compiled by its Builder into a flat array of
+ * steps. A ProcessInstance holds only the index of its next step, so suspending
+ * the instance requires no thread and no stack; the ProcessRunner simply
+ * continues at that index when the Executive resumes the instance.
+ * <p>
+ * Conditional and repeated sections are written with when() and loopWhile()
+ * and are compiled into jumps. A loop body must contain a step that can suspend
+ * (delay, seize, waitFor), otherwise a loop whose condition stays true never
+ * gives control back to the Executive.
+ * <pre>
+ * ProcessProgram customer = ProcessProgram.builder()
+ *         .seize(pharmacist)
+ *         .delay(serviceTime)
+ *         .release(pharmacist)
+ *         .build();
+ * </pre>
+ */
+public final class ProcessProgram {
+
+    private final Step[] mySteps;
+
+    private final String myName;
+
+    private ProcessProgram(String name, List<Step> steps) {
+        myName = name;
+        mySteps = steps.toArray(new Step[steps.size()]);
+    }
+
+    /**
+     * @return a builder for a program
+     */
+    public static Builder builder() {
+        return new Builder(null);
+    }
+
+    /**
+     * @param name the name of the program, used in toString()
+     * @return a builder for a program
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * @return the name of the program, may be null
+     */
+    public String getName() {
+        return myName;
+    }
+
+    /**
+     * @return the number of compiled steps
+     */
+    public int getNumberOfSteps() {
+        return mySteps.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ProcessProgram ").append(myName == null ? "" : myName).append(System.lineSeparator());
+        for (int i = 0; i < mySteps.length; i++) {
+            sb.append(i).append(": ").append(mySteps[i]).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Executes steps of the program for the instance starting at its current
+     * step until a step suspends the instance or the program ends.
+     *
+     * @param p the instance
+     * @return true if the program ended
+     */
+    boolean run(ProcessInstance p) {
+        final Step[] steps = mySteps;
+        while (p.myNextStep < steps.length) {
+            Step s = steps[p.myNextStep++];
+            if (!s.execute(p)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A compiled step of a program
+     */
+    static abstract class Step {
+
+        /**
+         * @param p the instance executing the step
+         * @return true if execution continues with the next step, false if the
+         * instance was suspended and will be resumed later
+         */
+        abstract boolean execute(ProcessInstance p);
+    }
+
+    static final class SeizeStep extends Step {
+
+        private final ProcessResource myResource;
+        private final int myAmount;
+
+        SeizeStep(ProcessResource resource, int amount) {
+            myResource = resource;
+            myAmount = amount;
+        }
+
+        @Override
+        boolean execute(ProcessInstance p) {
+            return myResource.seize(p, myAmount);
+        }
+
+        @Override
+        public String toString() {
+            return "seize " + myAmount + " of " + myResource.getName();
+        }
+    }
+
+    static final class ReleaseStep extends Step {
+
+        private final ProcessResource myResource;
+        private final int myAmount;
+
+        ReleaseStep(ProcessResource resource, int amount) {
+            myResource = resource;
+            myAmount = amount;
+        }
+
+        @Override
+        boolean execute(ProcessInstance p) {
+            myResource.release(myAmount);
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "release " + myAmount + " of " + myResource.getName();
+        }
+    }
+
+    static final class DelayStep extends Step {
+
+        private final GetValueIfc myTime;
+
+        DelayStep(GetValueIfc time) {
+            myTime = time;
+        }
+
+        @Override
+        boolean execute(ProcessInstance p) {
+            p.getProcessRunner().resume(p, myTime.getValue());
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "delay";
+        }
+    }
+
+    static final class WaitForStep extends Step {
+
+        private final ProcessSignal mySignal;
+
+        WaitForStep(ProcessSignal signal) {
+            mySignal = signal;
+        }
+
+        @Override
+        boolean execute(ProcessInstance p) {
+            mySignal.waitFor(p);
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "waitFor " + mySignal.getName();
+        }
+    }
+
+    static final class ExecuteStep extends Step {
+
+        private final Consumer<ProcessInstance> myAction;
+
+        ExecuteStep(Consumer<ProcessInstance> action) {
+            myAction = action;
+        }
+
+        @Override
+        boolean execute(ProcessInstance p) {
+            myAction.accept(p);
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "execute";
+        }
+    }
+
+    /**
+     * Jumps to the target step when the condition is false. With a null
+     * condition the jump is unconditional.
+     */
+    static final class JumpStep extends Step {
+
+        private final Predicate<ProcessInstance> myCondition;
+        private int myTarget;
+
+        JumpStep(Predicate<ProcessInstance> condition) {
+            myCondition = condition;
+        }
+
+        @Override
+        boolean execute(ProcessInstance p) {
+            if ((myCondition == null) || !myCondition.test(p)) {
+                p.myNextStep = myTarget;
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return (myCondition == null ? "jump to " : "unless condition jump to ") + myTarget;
+        }
+    }
+
+    /**
+     * Builds a ProcessProgram one step at a time, in the order in which the
+     * steps are to be executed.
+     */
+    public static final class Builder {
+
+        private final String myName;
+
+        private final List<Step> mySteps = new ArrayList<>();
+
+        private Builder(String name) {
+            myName = name;
+        }
+
+        /**
+         * Seizes one unit of the resource, waiting in its queue if necessary
+         *
+         * @param resource the resource
+         * @return the builder
+         */
+        public Builder seize(ProcessResource resource) {
+            return seize(resource, 1);
+        }
+
+        /**
+         * Seizes units of the resource, waiting in its queue if necessary
+         *
+         * @param resource the resource
+         * @param amount   the number of units, must be 1 or more and no more than
+         *                 the capacity of the resource
+         * @return the builder
+         */
+        public Builder seize(ProcessResource resource, int amount) {
+            Objects.requireNonNull(resource, "The resource was null");
+            if ((amount < 1) || (amount > resource.getCapacity())) {
+                throw new IllegalArgumentException("The amount to seize must be in [1, capacity]");
+            }
+            mySteps.add(new SeizeStep(resource, amount));
+            return this;
+        }
+
+        /**
+         * Releases one unit of the resource
+         *
+         * @param resource the resource
+         * @return the builder
+         */
+        public Builder release(ProcessResource resource) {
+            return release(resource, 1);
+        }
+
+        /**
+         * Releases units of the resource
+         *
+         * @param resource the resource
+         * @param amount   the number of units, must be 1 or more
+         * @return the builder
+         */
+        public Builder release(ProcessResource resource, int amount) {
+            Objects.requireNonNull(resource, "The resource was null");
+            if (amount < 1) {
+                throw new IllegalArgumentException("The amount to release must be >= 1");
+            }
+            mySteps.add(new ReleaseStep(resource, amount));
+            return this;
+        }
+
+        /**
+         * Suspends the instance for a fixed amount of time
+         *
+         * @param time the time, must be >= 0
+         * @return the builder
+         */
+        public Builder delay(double time) {
+            if (time < 0.0) {
+                throw new IllegalArgumentException("The delay time must be >= 0");
+            }
+            return delay(() -> time);
+        }
+
+        /**
+         * Suspends the instance for the time returned by the value, e.g. a
+         * RandomVariable
+         *
+         * @param time the source of the delay times
+         * @return the builder
+         */
+        public Builder delay(GetValueIfc time) {
+            Objects.requireNonNull(time, "The time was null");
+            mySteps.add(new DelayStep(time));
+            return this;
+        }
+
+        /**
+         * Suspends the instance until the signal is sent
+         *
+         * @param signal the signal
+         * @return the builder
+         */
+        public Builder waitFor(ProcessSignal signal) {
+            Objects.requireNonNull(signal, "The signal was null");
+            mySteps.add(new WaitForStep(signal));
+            return this;
+        }
+
+        /**
+         * Executes the action without suspending the instance, e.g. to assign
+         * an attribute of the entity or to collect a statistic
+         *
+         * @param action the action
+         * @return the builder
+         */
+        public Builder execute(Consumer<ProcessInstance> action) {
+            Objects.requireNonNull(action, "The action was null");
+            mySteps.add(new ExecuteStep(action));
+            return this;
+        }
+
+        /**
+         * Executes the steps added by the body only if the condition is true
+         *
+         * @param condition the condition, tested when the instance reaches it
+         * @param body      adds the steps of the conditional section
+         * @return the builder
+         */
+        public Builder when(Predicate<ProcessInstance> condition, Consumer<Builder> body) {
+            Objects.requireNonNull(condition, "The condition was null");
+            Objects.requireNonNull(body, "The body was null");
+            JumpStep skip = new JumpStep(condition);
+            mySteps.add(skip);
+            body.accept(this);
+            skip.myTarget = mySteps.size();
+            return this;
+        }
+
+        /**
+         * Repeats the steps added by the body while the condition is true. The
+         * condition is tested before each pass.
+         *
+         * @param condition the condition
+         * @param body      adds the steps of the loop
+         * @return the builder
+         */
+        public Builder loopWhile(Predicate<ProcessInstance> condition, Consumer<Builder> body) {
+            Objects.requireNonNull(condition, "The condition was null");
+            Objects.requireNonNull(body, "The body was null");
+            int top = mySteps.size();
+            JumpStep exit = new JumpStep(condition);
+            mySteps.add(exit);
+            body.accept(this);
+            JumpStep back = new JumpStep(null);
+            back.myTarget = top;
+            mySteps.add(back);
+            exit.myTarget = mySteps.size();
+            return this;
+        }
+
+        /**
+         * @return the compiled program
+         */
+        public ProcessProgram build() {
+            return new ProcessProgram(myName, mySteps);
+        }
+    }
+}
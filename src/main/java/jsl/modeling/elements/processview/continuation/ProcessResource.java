@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.processview.continuation;
+
+import jsl.modeling.ModelElement;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.modeling.elements.variable.TimeWeighted;
+
+import java.util.ArrayDeque;
+
+/**
+ * A ProcessResource is a pool of identical units that ProcessInstances seize and
+ * release. Instances that cannot be allocated wait in FIFO order; an instance
+ * at the front that needs more units than are free blocks those behind it.
+ * When units are released, the waiting instances that can now be allocated are
+ * resumed at the current time.
+ * <p>
+ * The number of busy units, the number waiting, and the time spent waiting
+ * (including zero waits) are collected. Waiting instances are discarded when a
+ * replication is initialized.
+ */
+public class ProcessResource extends ModelElement {
+
+    private final int myCapacity;
+
+    private int myNumBusy;
+
+    private final ArrayDeque<ProcessInstance> myWaiting = new ArrayDeque<>();
+
+    private final TimeWeighted myNumBusyTW;
+
+    private final TimeWeighted myNumInQ;
+
+    private final ResponseVariable myTimeInQ;
+
+    /**
+     * @param parent   the parent
+     * @param capacity the number of units, must be 1 or more
+     */
+    public ProcessResource(ModelElement parent, int capacity) {
+        this(parent, capacity, null);
+    }
+
+    /**
+     * @param parent   the parent
+     * @param capacity the number of units, must be 1 or more
+     * @param name     the name
+     */
+    public ProcessResource(ModelElement parent, int capacity, String name) {
+        super(parent, name);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be >= 1");
+        }
+        myCapacity = capacity;
+        myNumBusyTW = new TimeWeighted(this, 0.0, getName() + ":NumBusy");
+        myNumInQ = new TimeWeighted(this, 0.0, getName() + ":NumInQ");
+        myTimeInQ = new ResponseVariable(this, getName() + ":TimeInQ");
+    }
+
+    /**
+     * @return the number of units
+     */
+    public final int getCapacity() {
+        return myCapacity;
+    }
+
+    /**
+     * @return the number of units that are allocated
+     */
+    public final int getNumBusy() {
+        return myNumBusy;
+    }
+
+    /**
+     * @return the number of units that are not allocated
+     */
+    public final int getNumAvailable() {
+        return myCapacity - myNumBusy;
+    }
+
+    /**
+     * @return the number of instances waiting for units
+     */
+    public final int getNumberWaiting() {
+        return myWaiting.size();
+    }
+
+    /**
+     * Allocates the units to the instance if they are free and no instance is
+     * waiting, otherwise places the instance in the queue.
+     *
+     * @param p      the instance
+     * @param amount the amount
+     * @return true if the units were allocated
+     */
+    boolean seize(ProcessInstance p, int amount) {
+        if (myWaiting.isEmpty() && (amount <= myCapacity - myNumBusy)) {
+            allocate(amount);
+            myTimeInQ.setValue(0.0);
+            return true;
+        }
+        p.myAmountRequested = amount;
+        p.myTimeSuspended = getTime();
+        myWaiting.add(p);
+        myNumInQ.setValue(myWaiting.size());
+        return false;
+    }
+
+    /**
+     * Returns the units and resumes the waiting instances that can now be
+     * allocated
+     *
+     * @param amount the amount
+     */
+    void release(int amount) {
+        if (amount > myNumBusy) {
+            throw new IllegalStateException("Attempted to release " + amount
+                    + " units of " + getName() + " when only " + myNumBusy + " are busy");
+        }
+        myNumBusy = myNumBusy - amount;
+        myNumBusyTW.setValue(myNumBusy);
+        boolean changed = false;
+        while (!myWaiting.isEmpty()) {
+            ProcessInstance p = myWaiting.peek();
+            if (p.myAmountRequested > myCapacity - myNumBusy) {
+                break;
+            }
+            myWaiting.poll();
+            changed = true;
+            allocate(p.myAmountRequested);
+            myTimeInQ.setValue(getTime() - p.myTimeSuspended);
+            p.getProcessRunner().resume(p, 0.0);
+        }
+        if (changed) {
+            myNumInQ.setValue(myWaiting.size());
+        }
+    }
+
+    private void allocate(int amount) {
+        myNumBusy = myNumBusy + amount;
+        myNumBusyTW.setValue(myNumBusy);
+    }
+
+    @Override
+    protected void initialize() {
+        myNumBusy = 0;
+        myWaiting.clear();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.processview.continuation;
+
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.ModelElement;
+import jsl.modeling.SchedulingElement;
+import jsl.modeling.elements.variable.Counter;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.modeling.elements.variable.TimeWeighted;
+
+import java.util.Objects;
+
+/**
+ * A ProcessRunner starts and resumes ProcessInstances. Each instance executes
+ * the steps of its ProcessProgram until a step suspends it (delay, a seize that
+ * must wait, waitFor). The instance is then resumed by a single event on the
+ * Executive's calendar, so suspending and resuming an instance costs one event,
+ * instances are resumed one at a time in calendar order, and a replication is
+ * reproducible. No threads or locks are involved and a suspended instance holds
+ * only a few fields, so very large numbers of instances can be active.
+ * <p>
+ * The runner collects the number of active instances, the time from start to
+ * end of each instance, and the number of instances that ended.
+ */
+public class ProcessRunner extends SchedulingElement {
+
+    /**
+     * The name of the events used to resume instances
+     */
+    public static final String RESUME_EVENT_NAME = "Resume Process";
+
+    private final ResumeAction myResumeAction = new ResumeAction();
+
+    private long myInstanceCounter;
+
+    private int myNumActive;
+
+    private final TimeWeighted myNumActiveTW;
+
+    private final ResponseVariable myTimeInProcess;
+
+    private final Counter myNumCompleted;
+
+    /**
+     * @param parent the parent
+     */
+    public ProcessRunner(ModelElement parent) {
+        this(parent, null);
+    }
+
+    /**
+     * @param parent the parent
+     * @param name   the name
+     */
+    public ProcessRunner(ModelElement parent, String name) {
+        super(parent, name);
+        myNumActiveTW = new TimeWeighted(this, 0.0, getName() + ":NumActive");
+        myTimeInProcess = new ResponseVariable(this, getName() + ":TimeInProcess");
+        myNumCompleted = new Counter(this, getName() + ":NumCompleted");
+    }
+
+    /**
+     * @return the number of instances that have started and not ended
+     */
+    public final int getNumberActive() {
+        return myNumActive;
+    }
+
+    /**
+     * Starts an instance of the program at the current time. The instance
+     * executes its first steps when the start event is executed, after any
+     * events already scheduled for the current time.
+     *
+     * @param program the program
+     * @param entity  an object associated with the instance, may be null
+     * @return the instance
+     */
+    public final ProcessInstance start(ProcessProgram program, Object entity) {
+        return start(program, entity, 0.0);
+    }
+
+    /**
+     * Starts an instance of the program after the supplied amount of time
+     *
+     * @param program the program
+     * @param entity  an object associated with the instance, may be null
+     * @param time    the time until the start, must be >= 0
+     * @return the instance
+     */
+    public final ProcessInstance start(ProcessProgram program, Object entity, double time) {
+        Objects.requireNonNull(program, "The program was null");
+        ProcessInstance p = new ProcessInstance(++myInstanceCounter, this, program, entity);
+        resume(p, time);
+        return p;
+    }
+
+    /**
+     * Schedules the resumption of the instance
+     *
+     * @param p    the instance
+     * @param time the time until resumption
+     */
+    final void resume(ProcessInstance p, double time) {
+        getExecutive().scheduleEvent(myResumeAction, time, RESUME_EVENT_NAME,
+                JSLEvent.DEFAULT_PRIORITY, p, this);
+    }
+
+    /**
+     * Executes the instance until it is suspended or ends
+     *
+     * @param p the instance
+     */
+    private void execute(ProcessInstance p) {
+        if (Double.isNaN(p.getStartTime())) {
+            p.started(getTime());
+            myNumActive++;
+            myNumActiveTW.setValue(myNumActive);
+        }
+        if (p.getProgram().run(p)) {
+            p.finished(getTime());
+            myNumActive--;
+            myNumActiveTW.setValue(myNumActive);
+            myTimeInProcess.setValue(p.getEndTime() - p.getStartTime());
+            myNumCompleted.increment();
+            processEnded(p);
+        }
+    }
+
+    /**
+     * Called when an instance ends. Subclasses may override, e.g. to start a
+     * new instance for the entity.
+     *
+     * @param p the instance that ended
+     */
+    protected void processEnded(ProcessInstance p) {
+    }
+
+    @Override
+    protected void initialize() {
+        myNumActive = 0;
+    }
+
+    private class ResumeAction implements EventActionIfc<ProcessInstance> {
+
+        @Override
+        public void action(JSLEvent<ProcessInstance> evt) {
+            execute(evt.getMessage());
+        }
+    }
+}
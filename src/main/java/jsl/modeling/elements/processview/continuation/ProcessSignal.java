@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.processview.continuation;
+
+import jsl.modeling.ModelElement;
+
+import java.util.ArrayDeque;
+
+/**
+ * A ProcessSignal holds the ProcessInstances that executed a waitFor step on it.
+ * Sending the signal resumes waiting instances in the order in which they
+ * started waiting. Waiting instances are discarded when a replication is
+ * initialized.
+ */
+public class ProcessSignal extends ModelElement {
+
+    private final ArrayDeque<ProcessInstance> myWaiting = new ArrayDeque<>();
+
+    /**
+     * @param parent the parent
+     */
+    public ProcessSignal(ModelElement parent) {
+        this(parent, null);
+    }
+
+    /**
+     * @param parent the parent
+     * @param name   the name
+     */
+    public ProcessSignal(ModelElement parent, String name) {
+        super(parent, name);
+    }
+
+    /**
+     * @return the number of instances waiting for the signal
+     */
+    public final int getNumberWaiting() {
+        return myWaiting.size();
+    }
+
+    /**
+     * Resumes all waiting instances at the current time
+     *
+     * @return the number resumed
+     */
+    public final int signal() {
+        return signal(myWaiting.size());
+    }
+
+    /**
+     * Resumes at most n waiting instances at the current time, earliest
+     * waiting first
+     *
+     * @param n the maximum number to resume
+     * @return the number resumed
+     */
+    public final int signal(int n) {
+        int k = 0;
+        while ((k < n) && !myWaiting.isEmpty()) {
+            ProcessInstance p = myWaiting.poll();
+            p.getProcessRunner().resume(p, 0.0);
+            k++;
+        }
+        return k;
+    }
+
+    void waitFor(ProcessInstance p) {
+        p.myTimeSuspended = getTime();
+        myWaiting.add(p);
+    }
+
+    @Override
+    protected void initialize() {
+        myWaiting.clear();
+    }
+}
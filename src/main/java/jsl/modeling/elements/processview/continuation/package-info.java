@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+/**
+ * A thread-free process-interaction view. A ProcessProgram describes an
+ * entity's life cycle as a straight-line sequence of seize, delay, waitFor and
+ * release steps. A ProcessInstance is the continuation of one execution of a
+ * program and is resumed by events that a ProcessRunner schedules on the
+ * Executive, one at a time and in calendar order.
+ */
+package jsl.modeling.elements.processview.continuation;
@@ -449,7 +449,10 @@ abstract public class AbstractMover extends SpatialModelElement implements Mover
             return;
         }
         // moving or on a trip
-        myCurrentMovementEvent.setCanceledFlag(true);
+        if ((myCurrentMovementEvent != null) && myCurrentMovementEvent.isScheduled()) {
+            getExecutive().cancel(myCurrentMovementEvent);
+        }
+        myCurrentMovementEvent = null;
         myMovingFlag = false;
         myTripFlag = false;
         tripCanceled();
@@ -1012,6 +1015,10 @@ abstract public class AbstractMover extends SpatialModelElement implements Mover
         @Override
         public void action(JSLEvent event) {
             endMovement_();
+            // an event that was not rescheduled may be reused by the executive's event pool
+            if ((myCurrentMovementEvent == event) && !event.isScheduled()) {
+                myCurrentMovementEvent = null;
+            }
         }
     }
 
@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.spatial;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A PathFinder for a GraphSpatialModel. Shortest paths are found by
+ * Dijkstra's algorithm, or by A* search with a Euclidean heuristic when no edge
+ * of the graph is shorter than the Euclidean distance between its nodes.
+ * <p>
+ * Recently used origin-destination paths are held in a least recently used
+ * cache, whose hits and misses are counted so that its capacity can be sized.
+ * For static networks, precomputeAllPairs() computes the shortest paths
+ * between all pairs of nodes, after which no searches are needed. This
+ * requires memory proportional to the square of the number of nodes.
+ * <p>
+ * Any change to the graph causes the cache and the precomputed paths to be
+ * discarded. The path finder is not thread safe.
+ */
+public class GraphPathFinder implements PathFinder {
+
+    /**
+     * A shortest path between two nodes
+     */
+    private static final class Route {
+
+        /**
+         * The nodes after the origin, null if there is no path
+         */
+        private final int[] myNodes;
+
+        /**
+         * The length of each leg of the path
+         */
+        private final double[] myLegs;
+
+        /**
+         * The length of the path, infinite if there is no path
+         */
+        private final double myDistance;
+
+        private Route(int[] nodes, double[] legs, double distance) {
+            myNodes = nodes;
+            myLegs = legs;
+            myDistance = distance;
+        }
+    }
+
+    /**
+     * The graph being searched
+     */
+    private final GraphSpatialModel myGraph;
+
+    /**
+     * The version of the graph when the cache and the precomputed paths were
+     * made
+     */
+    private int myGraphVersion;
+
+    /**
+     * The least recently used cache of routes, keyed by origin * n +
+     * destination
+     */
+    private final LinkedHashMap<Long, Route> myCache;
+
+    /**
+     * The maximum number of routes in the cache
+     */
+    private int myCacheCapacity = 1024;
+
+    private long myCacheHits;
+
+    private long myCacheMisses;
+
+    private long myNumSearches;
+
+    /**
+     * True if A* search should be used when the graph allows it
+     */
+    private boolean myAStarOption = true;
+
+    /**
+     * The precomputed distances, row by origin, null if not precomputed
+     */
+    private double[] myAllDistances;
+
+    /**
+     * The precomputed predecessors of the destinations, row by origin
+     */
+    private int[] myAllPredecessors;
+
+    // working arrays of the searches, reused across searches
+    private double[] myDist = new double[0];
+
+    private int[] myPred = new int[0];
+
+    private int[] myReached = new int[0];
+
+    private int[] myClosed = new int[0];
+
+    private int myStamp;
+
+    private double[] myHeapKeys = new double[16];
+
+    private int[] myHeapNodes = new int[16];
+
+    private int myHeapSize;
+
+    /**
+     * @param graph the graph to search, must not be null
+     */
+    public GraphPathFinder(GraphSpatialModel graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("The graph was null");
+        }
+        myGraph = graph;
+        myGraphVersion = graph.getVersion();
+        myCache = new LinkedHashMap<Long, Route>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Route> eldest) {
+                return size() > myCacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * @return the graph being searched
+     */
+    public final GraphSpatialModel getGraph() {
+        return myGraph;
+    }
+
+    /**
+     * @param capacity the maximum number of paths held by the cache, 0 turns
+     * off the cache
+     */
+    public final void setCacheCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The cache capacity must be >= 0");
+        }
+        myCacheCapacity = capacity;
+        if (myCache.size() > capacity) {
+            myCache.clear();
+        }
+    }
+
+    /**
+     * @return the maximum number of paths held by the cache
+     */
+    public final int getCacheCapacity() {
+        return myCacheCapacity;
+    }
+
+    /**
+     * @return the number of paths held by the cache
+     */
+    public final int getCacheSize() {
+        return myCache.size();
+    }
+
+    /**
+     * @return the number of requests answered from the cache
+     */
+    public final long getCacheHits() {
+        return myCacheHits;
+    }
+
+    /**
+     * @return the number of requests that were not in the cache and required
+     * a search
+     */
+    public final long getCacheMisses() {
+        return myCacheMisses;
+    }
+
+    /**
+     * @return the fraction of the cached requests answered from the cache, NaN
+     * if there have been no such requests
+     */
+    public final double getCacheHitRatio() {
+        long n = myCacheHits + myCacheMisses;
+        return (n == 0) ? Double.NaN : (double) myCacheHits / n;
+    }
+
+    /**
+     * Sets the cache hit and miss counts to zero
+     */
+    public final void resetCacheStatistics() {
+        myCacheHits = 0;
+        myCacheMisses = 0;
+    }
+
+    /**
+     * Removes all the paths from the cache
+     */
+    public final void clearCache() {
+        myCache.clear();
+    }
+
+    /**
+     * @return the number of shortest path searches performed, including those
+     * performed by precomputeAllPairs()
+     */
+    public final long getNumberOfSearches() {
+        return myNumSearches;
+    }
+
+    /**
+     * @param flag true means that A* search is used when no edge is shorter
+     * than the Euclidean distance between its nodes, false means that
+     * Dijkstra's algorithm is always used
+     */
+    public final void setAStarOption(boolean flag) {
+        myAStarOption = flag;
+    }
+
+    /**
+     * @return true if A* search is used when the graph allows it
+     */
+    public final boolean getAStarOption() {
+        return myAStarOption;
+    }
+
+    /**
+     * Computes the shortest paths between all pairs of nodes. Afterwards,
+     * distances and paths are found without searching or caching until the
+     * graph changes.
+     */
+    public final void precomputeAllPairs() {
+        checkVersion();
+        int n = myGraph.getNumberOfNodes();
+        double[] dist = new double[n * n];
+        int[] pred = new int[n * n];
+        for (int s = 0; s < n; s++) {
+            search(s, -1, false);
+            for (int v = 0; v < n; v++) {
+                boolean reached = myReached[v] == myStamp;
+                dist[s * n + v] = reached ? myDist[v] : Double.POSITIVE_INFINITY;
+                pred[s * n + v] = reached ? myPred[v] : -1;
+            }
+        }
+        myAllDistances = dist;
+        myAllPredecessors = pred;
+    }
+
+    /**
+     * @return true if the shortest paths between all pairs of nodes have been
+     * computed for the current graph
+     */
+    public final boolean isPrecomputed() {
+        return (myAllDistances != null) && (myGraphVersion == myGraph.getVersion());
+    }
+
+    /**
+     * The length of the shortest path between the nodes at the coordinates.
+     * Throws a NoPathFoundException if there is no path.
+     *
+     * @param from the coordinate of the origin node
+     * @param to the coordinate of the destination node
+     * @return the length of the shortest path
+     */
+    public final double getDistance(CoordinateIfc from, CoordinateIfc to) {
+        int s = nodeIndex(from);
+        int t = nodeIndex(to);
+        double d;
+        if (s == t) {
+            d = 0.0;
+        } else if (isPrecomputed()) {
+            d = myAllDistances[s * myGraph.getNumberOfNodes() + t];
+        } else {
+            d = route(s, t).myDistance;
+        }
+        if (Double.isInfinite(d)) {
+            throw new NoPathFoundException("There is no path from " + myGraph.getNode(s).getName()
+                    + " to " + myGraph.getNode(t).getName());
+        }
+        return d;
+    }
+
+    @Override
+    public void findPath(Path path, CoordinateIfc from, CoordinateIfc to) {
+        int s = nodeIndex(from);
+        int t = nodeIndex(to);
+        path.clear();
+        if (s == t) {
+            return;
+        }
+        if (isPrecomputed()) {
+            int n = myGraph.getNumberOfNodes();
+            if (Double.isInfinite(myAllDistances[s * n + t])) {
+                return;
+            }
+            // the number of legs, then fill the path from the destination back
+            int k = 0;
+            for (int v = t; v != s; v = myAllPredecessors[s * n + v]) {
+                k++;
+            }
+            GraphSpatialModel.Node[] nodes = new GraphSpatialModel.Node[k];
+            for (int v = t; v != s; v = myAllPredecessors[s * n + v]) {
+                nodes[--k] = myGraph.getNode(v);
+            }
+            path.setOrigin(myGraph.getNode(s));
+            double previous = 0.0;
+            for (GraphSpatialModel.Node node : nodes) {
+                double d = myAllDistances[s * n + node.getIndex()];
+                path.add(node, d - previous);
+                previous = d;
+            }
+            return;
+        }
+        Route r = route(s, t);
+        if (r.myNodes == null) {
+            return;
+        }
+        path.setOrigin(myGraph.getNode(s));
+        for (int i = 0; i < r.myNodes.length; i++) {
+            path.add(myGraph.getNode(r.myNodes[i]), r.myLegs[i]);
+        }
+    }
+
+    @Override
+    public void findPath(Path path, SpatialElementIfc from, SpatialElementIfc to) {
+        findPath(path, from.getPosition(), to.getPosition());
+    }
+
+    private int nodeIndex(CoordinateIfc c) {
+        checkVersion();
+        GraphSpatialModel.Node node = myGraph.getNode(c);
+        if (node == null) {
+            throw new IllegalArgumentException("The coordinate is not a node of the graph " + myGraph.getName());
+        }
+        return node.getIndex();
+    }
+
+    /**
+     * Discards the cache and the precomputed paths if the graph has changed
+     */
+    private void checkVersion() {
+        if (myGraphVersion != myGraph.getVersion()) {
+            myGraphVersion = myGraph.getVersion();
+            myCache.clear();
+            myAllDistances = null;
+            myAllPredecessors = null;
+        }
+    }
+
+    /**
+     * @return the route from s to t, from the cache if possible
+     */
+    private Route route(int s, int t) {
+        Long key = null;
+        if (myCacheCapacity > 0) {
+            key = (long) s * myGraph.getNumberOfNodes() + t;
+            Route r = myCache.get(key);
+            if (r != null) {
+                myCacheHits++;
+                return r;
+            }
+            myCacheMisses++;
+        }
+        boolean aStar = myAStarOption && myGraph.isEuclideanLowerBound();
+        search(s, t, aStar);
+        Route r;
+        if (myReached[t] != myStamp) {
+            r = new Route(null, null, Double.POSITIVE_INFINITY);
+        } else {
+            int k = 0;
+            for (int v = t; v != s; v = myPred[v]) {
+                k++;
+            }
+            int[] nodes = new int[k];
+            double[] legs = new double[k];
+            for (int v = t; v != s; v = myPred[v]) {
+                k--;
+                nodes[k] = v;
+                legs[k] = myDist[v] - myDist[myPred[v]];
+            }
+            r = new Route(nodes, legs, myDist[t]);
+        }
+        if (key != null) {
+            myCache.put(key, r);
+        }
+        return r;
+    }
+
+    /**
+     * Searches from the source until the target is closed, or until all
+     * reachable nodes are closed if the target is -1. Afterwards, a node v was
+     * reached if myReached[v] == myStamp, in which case myDist[v] and
+     * myPred[v] hold its distance and predecessor.
+     */
+    private void search(int source, int target, boolean aStar) {
+        myNumSearches++;
+        int[] start = myGraph.getAdjacencyStarts();
+        int[] adj = myGraph.getAdjacentNodes();
+        double[] len = myGraph.getAdjacentLengths();
+        int n = myGraph.getNumberOfNodes();
+        if (myDist.length < n) {
+            myDist = new double[n];
+            myPred = new int[n];
+            myReached = new int[n];
+            myClosed = new int[n];
+            myStamp = 0;
+        }
+        myStamp++;
+        if (myStamp == Integer.MAX_VALUE) {
+            Arrays.fill(myReached, 0);
+            Arrays.fill(myClosed, 0);
+            myStamp = 1;
+        }
+        GraphSpatialModel.Node goal = (target == -1) ? null : myGraph.getNode(target);
+        aStar = aStar && (goal != null);
+        myHeapSize = 0;
+        myDist[source] = 0.0;
+        myPred[source] = -1;
+        myReached[source] = myStamp;
+        push(aStar ? heuristic(source, goal) : 0.0, source);
+        while (myHeapSize > 0) {
+            int u = pop();
+            if (myClosed[u] == myStamp) {
+                continue;
+            }
+            myClosed[u] = myStamp;
+            if (u == target) {
+                return;
+            }
+            double du = myDist[u];
+            for (int e = start[u]; e < start[u + 1]; e++) {
+                int v = adj[e];
+                if (myClosed[v] == myStamp) {
+                    continue;
+                }
+                double dv = du + len[e];
+                if ((myReached[v] != myStamp) || (dv < myDist[v])) {
+                    myReached[v] = myStamp;
+                    myDist[v] = dv;
+                    myPred[v] = u;
+                    push(aStar ? dv + heuristic(v, goal) : dv, v);
+                }
+            }
+        }
+    }
+
+    private double heuristic(int v, GraphSpatialModel.Node goal) {
+        GraphSpatialModel.Node node = myGraph.getNode(v);
+        double dx = node.getX1() - goal.getX1();
+        double dy = node.getX2() - goal.getX2();
+        double dz = node.getX3() - goal.getX3();
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private void push(double key, int node) {
+        if (myHeapSize == myHeapKeys.length) {
+            myHeapKeys = Arrays.copyOf(myHeapKeys, 2 * myHeapSize);
+            myHeapNodes = Arrays.copyOf(myHeapNodes, 2 * myHeapSize);
+        }
+        int i = myHeapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (myHeapKeys[p] <= key) {
+                break;
+            }
+            myHeapKeys[i] = myHeapKeys[p];
+            myHeapNodes[i] = myHeapNodes[p];
+            i = p;
+        }
+        myHeapKeys[i] = key;
+        myHeapNodes[i] = node;
+    }
+
+    private int pop() {
+        int top = myHeapNodes[0];
+        int n = --myHeapSize;
+        double key = myHeapKeys[n];
+        int node = myHeapNodes[n];
+        int i = 0;
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= n) {
+                break;
+            }
+            if ((c + 1 < n) && (myHeapKeys[c + 1] < myHeapKeys[c])) {
+                c++;
+            }
+            if (key <= myHeapKeys[c]) {
+                break;
+            }
+            myHeapKeys[i] = myHeapKeys[c];
+            myHeapNodes[i] = myHeapNodes[c];
+            i = c;
+        }
+        myHeapKeys[i] = key;
+        myHeapNodes[i] = node;
+        return top;
+    }
+
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.spatial;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A spatial model formed by a network of nodes connected by directed edges,
+ * e.g. the aisles of a warehouse. Spatial elements must be located at the
+ * nodes. The distance between two nodes is the length of the shortest path
+ * between them along the edges, as found by the model's GraphPathFinder.
+ * Thus, movers (e.g. transporters) that move directly to a destination take
+ * the travel time of the shortest path, and movers that use a
+ * PathFollowingMovementController visit each node along the path.
+ * <p>
+ * The length of an edge defaults to the Euclidean distance between its nodes.
+ * Nodes and edges may be added at any time, but each change causes the path
+ * finder to discard its cached and precomputed paths.
+ */
+public class GraphSpatialModel extends SpatialModel {
+
+    /**
+     * A node of the graph. The coordinates of a node cannot be changed.
+     */
+    public static final class Node implements CoordinateIfc {
+
+        private final int myIndex;
+
+        private final String myName;
+
+        private final double myX1;
+
+        private final double myX2;
+
+        private final double myX3;
+
+        private Node(int index, String name, double x1, double x2, double x3) {
+            myIndex = index;
+            myName = name;
+            myX1 = x1;
+            myX2 = x2;
+            myX3 = x3;
+        }
+
+        /**
+         * @return the index of the node, nodes are numbered from 0 in the
+         * order added to the graph
+         */
+        public final int getIndex() {
+            return myIndex;
+        }
+
+        /**
+         * @return the name of the node
+         */
+        public final String getName() {
+            return myName;
+        }
+
+        @Override
+        public final double getX1() {
+            return myX1;
+        }
+
+        @Override
+        public final double getX2() {
+            return myX2;
+        }
+
+        @Override
+        public final double getX3() {
+            return myX3;
+        }
+
+        @Override
+        public String toString() {
+            return myName + "(" + myX1 + ", " + myX2 + ", " + myX3 + ")";
+        }
+    }
+
+    /**
+     * The nodes in the order added
+     */
+    private final List<Node> myNodes;
+
+    /**
+     * Maps the names of the nodes to the nodes
+     */
+    private final Map<String, Node> myNodeNames;
+
+    /**
+     * Open addressing table of node index + 1 (0 is empty) hashed by the
+     * coordinates of the node
+     */
+    private int[] myNodeTable;
+
+    /**
+     * The edges in the order added
+     */
+    private int[] myEdgeFrom;
+
+    private int[] myEdgeTo;
+
+    private double[] myEdgeLength;
+
+    private int myNumEdges;
+
+    /**
+     * The adjacency of the graph in compressed form: the edges leaving node
+     * i are myAdjStart[i] to myAdjStart[i+1]-1. Null until needed after a
+     * change.
+     */
+    private int[] myAdjStart;
+
+    private int[] myAdjTarget;
+
+    private double[] myAdjLength;
+
+    /**
+     * True if no edge is shorter than the Euclidean distance between its
+     * nodes, which allows A* search with a Euclidean heuristic
+     */
+    private boolean myEuclideanLowerBoundFlag = true;
+
+    /**
+     * Counts the changes to the graph
+     */
+    private int myVersion;
+
+    /**
+     * The path finder used to compute distances, created when needed
+     */
+    private GraphPathFinder myPathFinder;
+
+    /**
+     * Constructs an empty graph
+     */
+    public GraphSpatialModel() {
+        this(null);
+    }
+
+    /**
+     * Constructs an empty graph
+     *
+     * @param name the name of the spatial model
+     */
+    public GraphSpatialModel(String name) {
+        super(name);
+        myNodes = new ArrayList<>();
+        myNodeNames = new HashMap<>();
+        myNodeTable = new int[16];
+        myEdgeFrom = new int[16];
+        myEdgeTo = new int[16];
+        myEdgeLength = new double[16];
+    }
+
+    /**
+     * Adds a node with x3 = 0.0
+     *
+     * @param name the unique name of the node, must not be null
+     * @param x1 the first coordinate
+     * @param x2 the second coordinate
+     * @return the node
+     */
+    public final Node addNode(String name, double x1, double x2) {
+        return addNode(name, x1, x2, 0.0);
+    }
+
+    /**
+     * Adds a node. No two nodes may have the same name or the same
+     * coordinates.
+     *
+     * @param name the unique name of the node, must not be null
+     * @param x1 the first coordinate
+     * @param x2 the second coordinate
+     * @param x3 the third coordinate
+     * @return the node
+     */
+    public final Node addNode(String name, double x1, double x2, double x3) {
+        if (name == null) {
+            throw new IllegalArgumentException("The name of the node was null");
+        }
+        if (myNodeNames.containsKey(name)) {
+            throw new IllegalArgumentException("A node named " + name + " is already in the graph");
+        }
+        if (findNode(x1, x2, x3) != -1) {
+            throw new IllegalArgumentException("A node is already at (" + x1 + ", " + x2 + ", " + x3 + ")");
+        }
+        Node node = new Node(myNodes.size(), name, x1, x2, x3);
+        myNodes.add(node);
+        myNodeNames.put(name, node);
+        if (2 * myNodes.size() > myNodeTable.length) {
+            myNodeTable = new int[2 * myNodeTable.length];
+            for (Node n : myNodes) {
+                putNode(n);
+            }
+        } else {
+            putNode(node);
+        }
+        changed();
+        return node;
+    }
+
+    /**
+     * Adds a one way edge whose length is the Euclidean distance between the
+     * nodes
+     *
+     * @param from the node the edge leaves
+     * @param to the node the edge enters
+     */
+    public final void addEdge(Node from, Node to) {
+        addEdge(from, to, euclidean(from, to));
+    }
+
+    /**
+     * Adds a one way edge
+     *
+     * @param from the node the edge leaves
+     * @param to the node the edge enters
+     * @param length the length of the edge, must be &gt;= 0
+     */
+    public final void addEdge(Node from, Node to, double length) {
+        checkNode(from);
+        checkNode(to);
+        if (!(length >= 0.0) || Double.isInfinite(length)) {
+            throw new IllegalArgumentException("The length of the edge must be >= 0 and finite");
+        }
+        if (from == to) {
+            throw new IllegalArgumentException("An edge must connect two different nodes");
+        }
+        if (myNumEdges == myEdgeFrom.length) {
+            int n = 2 * myNumEdges;
+            myEdgeFrom = Arrays.copyOf(myEdgeFrom, n);
+            myEdgeTo = Arrays.copyOf(myEdgeTo, n);
+            myEdgeLength = Arrays.copyOf(myEdgeLength, n);
+        }
+        myEdgeFrom[myNumEdges] = from.getIndex();
+        myEdgeTo[myNumEdges] = to.getIndex();
+        myEdgeLength[myNumEdges] = length;
+        myNumEdges++;
+        if (length < euclidean(from, to) * (1.0 - 1.0e-12)) {
+            myEuclideanLowerBoundFlag = false;
+        }
+        changed();
+    }
+
+    /**
+     * Adds edges in both directions whose lengths are the Euclidean distance
+     * between the nodes
+     *
+     * @param n1 the first node
+     * @param n2 the second node
+     */
+    public final void addTwoWayEdge(Node n1, Node n2) {
+        addTwoWayEdge(n1, n2, euclidean(n1, n2));
+    }
+
+    /**
+     * Adds edges in both directions
+     *
+     * @param n1 the first node
+     * @param n2 the second node
+     * @param length the length of the edges, must be &gt;= 0
+     */
+    public final void addTwoWayEdge(Node n1, Node n2, double length) {
+        addEdge(n1, n2, length);
+        addEdge(n2, n1, length);
+    }
+
+    /**
+     * @return the number of nodes
+     */
+    public final int getNumberOfNodes() {
+        return myNodes.size();
+    }
+
+    /**
+     * @return the number of (one way) edges
+     */
+    public final int getNumberOfEdges() {
+        return myNumEdges;
+    }
+
+    /**
+     * @return an unmodifiable list of the nodes
+     */
+    public final List<Node> getNodes() {
+        return Collections.unmodifiableList(myNodes);
+    }
+
+    /**
+     * @param index the index of the node
+     * @return the node
+     */
+    public final Node getNode(int index) {
+        return myNodes.get(index);
+    }
+
+    /**
+     * @param name the name of the node
+     * @return the node or null if there is no node with the name
+     */
+    public final Node getNode(String name) {
+        return myNodeNames.get(name);
+    }
+
+    /**
+     * @param coordinate the coordinate
+     * @return the node at the coordinate or null if there is no node there
+     */
+    public final Node getNode(CoordinateIfc coordinate) {
+        if (coordinate instanceof Node) {
+            Node n = (Node) coordinate;
+            if ((n.getIndex() < myNodes.size()) && (myNodes.get(n.getIndex()) == n)) {
+                return n;
+            }
+        }
+        int i = findNode(coordinate.getX1(), coordinate.getX2(), coordinate.getX3());
+        return (i == -1) ? null : myNodes.get(i);
+    }
+
+    /**
+     * @return the path finder of the graph, which is used to compute the
+     * distances between nodes
+     */
+    public final GraphPathFinder getPathFinder() {
+        if (myPathFinder == null) {
+            myPathFinder = new GraphPathFinder(this);
+        }
+        return myPathFinder;
+    }
+
+    /**
+     * @return true if no edge is shorter than the Euclidean distance between
+     * its nodes
+     */
+    public final boolean isEuclideanLowerBound() {
+        return myEuclideanLowerBoundFlag;
+    }
+
+    /**
+     * The first node of the graph
+     *
+     * @return the first node
+     */
+    @Override
+    public CoordinateIfc getDefaultCoordinate() {
+        if (myNodes.isEmpty()) {
+            throw new IllegalStateException("The graph does not have any nodes");
+        }
+        return myNodes.get(0);
+    }
+
+    /**
+     * Returns the node at the coordinates. Throws an IllegalArgumentException
+     * if there is no node at the coordinates.
+     */
+    @Override
+    public CoordinateIfc getCoordinate(double x1, double x2, double x3) {
+        int i = findNode(x1, x2, x3);
+        if (i == -1) {
+            throw new IllegalArgumentException("The coordinate is not a node of this graph!");
+        }
+        return myNodes.get(i);
+    }
+
+    /**
+     * A coordinate is valid if it is the position of a node
+     */
+    @Override
+    public boolean isValid(CoordinateIfc coordinate) {
+        return findNode(coordinate.getX1(), coordinate.getX2(), coordinate.getX3()) != -1;
+    }
+
+    /**
+     * The length of the shortest path between the nodes at the coordinates.
+     * Throws a NoPathFoundException if there is no path.
+     */
+    @Override
+    public double distance(CoordinateIfc fromCoordinate, CoordinateIfc toCoordinate) {
+        return getPathFinder().getDistance(fromCoordinate, toCoordinate);
+    }
+
+    @Override
+    public boolean comparePositions(CoordinateIfc coordinate1, CoordinateIfc coordinate2) {
+        Node n1 = getNode(coordinate1);
+        return (n1 != null) && (n1 == getNode(coordinate2));
+    }
+
+    /**
+     * @return the number of changes made to the graph
+     */
+    final int getVersion() {
+        return myVersion;
+    }
+
+    /**
+     * @return the first position in getAdjacentNodes() of the edges leaving
+     * each node, with an extra entry marking the end
+     */
+    final int[] getAdjacencyStarts() {
+        buildAdjacency();
+        return myAdjStart;
+    }
+
+    /**
+     * @return the nodes entered by the edges, grouped by the node left
+     */
+    final int[] getAdjacentNodes() {
+        buildAdjacency();
+        return myAdjTarget;
+    }
+
+    /**
+     * @return the lengths of the edges, in the order of getAdjacentNodes()
+     */
+    final double[] getAdjacentLengths() {
+        buildAdjacency();
+        return myAdjLength;
+    }
+
+    private void buildAdjacency() {
+        if (myAdjStart != null) {
+            return;
+        }
+        int n = myNodes.size();
+        int[] start = new int[n + 1];
+        for (int e = 0; e < myNumEdges; e++) {
+            start[myEdgeFrom[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            start[i + 1] += start[i];
+        }
+        int[] next = Arrays.copyOf(start, n);
+        int[] target = new int[myNumEdges];
+        double[] length = new double[myNumEdges];
+        for (int e = 0; e < myNumEdges; e++) {
+            int k = next[myEdgeFrom[e]]++;
+            target[k] = myEdgeTo[e];
+            length[k] = myEdgeLength[e];
+        }
+        myAdjStart = start;
+        myAdjTarget = target;
+        myAdjLength = length;
+    }
+
+    private void changed() {
+        myVersion++;
+        myAdjStart = null;
+        myAdjTarget = null;
+        myAdjLength = null;
+    }
+
+    private void checkNode(Node node) {
+        if (node == null) {
+            throw new IllegalArgumentException("The node was null");
+        }
+        if ((node.getIndex() >= myNodes.size()) || (myNodes.get(node.getIndex()) != node)) {
+            throw new IllegalArgumentException("The node " + node.getName() + " is not in this graph");
+        }
+    }
+
+    private static double euclidean(CoordinateIfc c1, CoordinateIfc c2) {
+        double dx = c1.getX1() - c2.getX1();
+        double dy = c1.getX2() - c2.getX2();
+        double dz = c1.getX3() - c2.getX3();
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private static int hash(double x1, double x2, double x3) {
+        // +0.0 so that -0.0 and 0.0 hash the same
+        long h = Double.doubleToLongBits(x1 + 0.0);
+        h = h * 31 + Double.doubleToLongBits(x2 + 0.0);
+        h = h * 31 + Double.doubleToLongBits(x3 + 0.0);
+        h = h * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void putNode(Node node) {
+        int mask = myNodeTable.length - 1;
+        int i = hash(node.getX1(), node.getX2(), node.getX3()) & mask;
+        while (myNodeTable[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        myNodeTable[i] = node.getIndex() + 1;
+    }
+
+    /**
+     * @return the index of the node at the coordinates or -1
+     */
+    private int findNode(double x1, double x2, double x3) {
+        int mask = myNodeTable.length - 1;
+        for (int i = hash(x1, x2, x3) & mask;; i = (i + 1) & mask) {
+            int k = myNodeTable[i];
+            if (k == 0) {
+                return -1;
+            }
+            Node n = myNodes.get(k - 1);
+            if ((n.getX1() == x1) && (n.getX2() == x2) && (n.getX3() == x3)) {
+                return k - 1;
+            }
+        }
+    }
+
+}
@@ -17,6 +17,12 @@ package jsl.modeling.elements.spatial;
 
 import jsl.utilities.math.JSLMath;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * This class represents the distance between two coordinates using the Great
  * Circle Distance. (http://en.wikipedia.org/wiki/Great_circle_distance)
@@ -29,6 +35,21 @@ import jsl.utilities.math.JSLMath;
  * By convention North is considered positive latitude By convention West is
  * considered negative longitude
  *
+ * When the distance matrix option is turned on, the distances between all
+ * spatial elements registered with the model are precomputed and held in a
+ * dense n by n array. The sines and cosines of the latitudes of the elements
+ * are held in parallel arrays so that the trigonometry per pair is reduced
+ * to the longitude difference. The matrix is built in parallel, in blocks of
+ * rows, on the common fork-join pool and is updated incrementally (one row and
+ * one column) as elements are added, removed, or moved. Calls to distance()
+ * with the positions of registered elements then become array look ups. The
+ * matrix requires 8n^2 bytes and is intended for models with a moderate number
+ * of mostly stationary locations, e.g. customers and depots. Because the
+ * matrix is held in a single array, it can hold at most
+ * MAX_DISTANCE_MATRIX_SIZE (46340) elements, about 17 GB. Building the
+ * matrix for more elements, or adding an element to a full matrix, throws an
+ * IllegalStateException. The capacity grows by half as elements are added.
+ *
  */
 public class GreatCircleBasedSpatialModel extends SpatialModel {
 
@@ -72,6 +93,71 @@ public class GreatCircleBasedSpatialModel extends SpatialModel {
      */
     protected double myCircuityFactor = 1.0;
 
+    /**
+     * The number of rows of the distance matrix that are computed by one task
+     * when building the matrix in parallel
+     */
+    private static final int ROW_BLOCK_SIZE = 32;
+
+    /**
+     * Matrices with fewer elements than this are built on the calling thread
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    /**
+     * The initial capacity of the distance matrix
+     */
+    private static final int DEFAULT_MATRIX_CAPACITY = 16;
+
+    /**
+     * The largest number of elements that the distance matrix can hold, the
+     * largest n such that n*n does not exceed the maximum length of an array
+     */
+    public static final int MAX_DISTANCE_MATRIX_SIZE = 46340;
+
+    /**
+     * The precomputed distances, row major with row stride myMatrixCapacity,
+     * null if the distance matrix option is off
+     */
+    private double[] myDistances;
+
+    /**
+     * The number of elements held in the distance matrix
+     */
+    private int myMatrixSize;
+
+    /**
+     * The number of rows/columns allocated for the distance matrix
+     */
+    private int myMatrixCapacity;
+
+    /**
+     * The sine of the latitude, by matrix index
+     */
+    private double[] mySinLat;
+
+    /**
+     * The cosine of the latitude, by matrix index
+     */
+    private double[] myCosLat;
+
+    /**
+     * The longitude in radians, by matrix index
+     */
+    private double[] myLonRadians;
+
+    /**
+     * The positions of the elements, by matrix index
+     */
+    private CoordinateIfc[] myMatrixPositions;
+
+    /**
+     * Maps the position object of an element to its index in the matrix.
+     * The position of a spatial element is a single mutable object for the
+     * life of the element, so look up is by identity.
+     */
+    private Map<CoordinateIfc, Integer> myMatrixIndices;
+
     /**
      * Creates a spatial model that uses the great circle distance as the basis
      * for computing distance between two coordinates.
@@ -331,6 +417,16 @@ public class GreatCircleBasedSpatialModel extends SpatialModel {
 
     @Override
     public double distance(CoordinateIfc fromCoordinate, CoordinateIfc toCoordinate) {
+        if (myDistances != null) {
+            Integer i = myMatrixIndices.get(fromCoordinate);
+            if (i != null) {
+                Integer j = myMatrixIndices.get(toCoordinate);
+                if (j != null) {
+                    return myDistances[i * myMatrixCapacity + j];
+                }
+            }
+        }
+
         if (!isValid(fromCoordinate)) {
             throw new IllegalArgumentException("The from coordinate is not valid for this spatial model!");
         }
@@ -344,12 +440,248 @@ public class GreatCircleBasedSpatialModel extends SpatialModel {
         double lat2 = Math.toRadians(toCoordinate.getX1());
         double lon2 = Math.toRadians(toCoordinate.getX2());
 
-        double lonDiff = lon1 - lon2;
-        double cosLat2 = Math.cos(lat2);
-        double sinLonDiff = Math.sin(lonDiff);
+        double angDiff = angle(Math.sin(lat1), Math.cos(lat1), lon1,
+                Math.sin(lat2), Math.cos(lat2), lon2);
+
+        return (myCircuityFactor * getEarthRadius() * angDiff);
+
+    }
+
+    /**
+     * Computes the distances from the origin to each of the destinations. When
+     * the distance matrix option is on and both coordinates are positions of
+     * registered elements, the distance is read from the matrix; otherwise the
+     * trigonometry of the origin is computed once for all destinations.
+     *
+     * @param origin the origin, must be valid for the model
+     * @param destinations the destinations, must be valid for the model
+     * @param result the array to fill, must be at least as long as destinations
+     */
+    public final void distances(CoordinateIfc origin, CoordinateIfc[] destinations, double[] result) {
+        if (origin == null) {
+            throw new IllegalArgumentException("The origin was null");
+        }
+        if (destinations == null) {
+            throw new IllegalArgumentException("The destinations were null");
+        }
+        checkResultLength(result, destinations.length);
+        if (!isValid(origin)) {
+            throw new IllegalArgumentException("The origin is not valid for this spatial model!");
+        }
+        int row = -1;
+        if (myDistances != null) {
+            Integer i = myMatrixIndices.get(origin);
+            if (i != null) {
+                row = i * myMatrixCapacity;
+            }
+        }
+        double lat1 = Math.toRadians(origin.getX1());
+        double sinLat1 = Math.sin(lat1);
         double cosLat1 = Math.cos(lat1);
-        double sinLat2 = Math.sin(lat2);
+        double lon1 = Math.toRadians(origin.getX2());
+        double factor = myCircuityFactor * getEarthRadius();
+        for (int k = 0; k < destinations.length; k++) {
+            CoordinateIfc c = destinations[k];
+            if (row >= 0) {
+                Integer j = myMatrixIndices.get(c);
+                if (j != null) {
+                    result[k] = myDistances[row + j];
+                    continue;
+                }
+            }
+            if (!isValid(c)) {
+                throw new IllegalArgumentException("The destination at index " + k + " is not valid for this spatial model!");
+            }
+            double lat2 = Math.toRadians(c.getX1());
+            result[k] = factor * angle(sinLat1, cosLat1, lon1,
+                    Math.sin(lat2), Math.cos(lat2), Math.toRadians(c.getX2()));
+        }
+    }
+
+    /**
+     * Computes the distances from the origin to each of the destinations, where
+     * the destinations are given as parallel arrays of latitude and longitude,
+     * in degrees. No coordinate objects are needed or created and the matrix is
+     * not consulted.
+     *
+     * @param lat the latitude of the origin, in degrees
+     * @param lon the longitude of the origin, in degrees
+     * @param lats the latitudes of the destinations, in degrees
+     * @param lons the longitudes of the destinations, in degrees, same length
+     * as lats
+     * @param result the array to fill, must be at least as long as lats
+     */
+    public final void distances(double lat, double lon, double[] lats, double[] lons, double[] result) {
+        if ((Math.abs(lat) > 90.0) || (Math.abs(lon) > 180.0)) {
+            throw new IllegalArgumentException("The origin is not valid for this spatial model!");
+        }
+        if ((lats == null) || (lons == null)) {
+            throw new IllegalArgumentException("The destination arrays were null");
+        }
+        if (lats.length != lons.length) {
+            throw new IllegalArgumentException("The latitude and longitude arrays must have the same length");
+        }
+        checkResultLength(result, lats.length);
+        double lat1 = Math.toRadians(lat);
         double sinLat1 = Math.sin(lat1);
+        double cosLat1 = Math.cos(lat1);
+        double lon1 = Math.toRadians(lon);
+        double factor = myCircuityFactor * getEarthRadius();
+        for (int k = 0; k < lats.length; k++) {
+            if ((Math.abs(lats[k]) > 90.0) || (Math.abs(lons[k]) > 180.0)) {
+                throw new IllegalArgumentException("The destination at index " + k + " is not valid for this spatial model!");
+            }
+            double lat2 = Math.toRadians(lats[k]);
+            result[k] = factor * angle(sinLat1, cosLat1, lon1,
+                    Math.sin(lat2), Math.cos(lat2), Math.toRadians(lons[k]));
+        }
+    }
+
+    /**
+     * Copies the distances from the element with the given matrix index to the
+     * elements with the given matrix indices. Requires the distance matrix
+     * option to be on.
+     *
+     * @param origin the matrix index of the origin
+     * @param destinations the matrix indices of the destinations
+     * @param result the array to fill, must be at least as long as destinations
+     */
+    public final void distances(int origin, int[] destinations, double[] result) {
+        checkMatrixIndex(origin);
+        if (destinations == null) {
+            throw new IllegalArgumentException("The destinations were null");
+        }
+        checkResultLength(result, destinations.length);
+        int row = origin * myMatrixCapacity;
+        for (int k = 0; k < destinations.length; k++) {
+            int j = destinations[k];
+            if ((j < 0) || (j >= myMatrixSize)) {
+                throw new IllegalArgumentException("The destination index " + j + " is not in the distance matrix");
+            }
+            result[k] = myDistances[row + j];
+        }
+    }
+
+    /**
+     * Copies the row of the distance matrix for the element with the given
+     * matrix index, i.e. the distances to all elements in matrix index order.
+     * Requires the distance matrix option to be on.
+     *
+     * @param origin the matrix index of the origin
+     * @param result the array to fill, must be at least getDistanceMatrixSize()
+     * long
+     */
+    public final void distances(int origin, double[] result) {
+        checkMatrixIndex(origin);
+        checkResultLength(result, myMatrixSize);
+        System.arraycopy(myDistances, origin * myMatrixCapacity, result, 0, myMatrixSize);
+    }
+
+    /**
+     * Turns on or off the precomputed distance matrix for the spatial elements
+     * registered with this model. Turning the option on builds the matrix for
+     * the current elements; turning it off releases the matrix. The option
+     * cannot be turned on for more than MAX_DISTANCE_MATRIX_SIZE elements.
+     *
+     * @param flag true means use the matrix
+     */
+    public final void setDistanceMatrixOption(boolean flag) {
+        if (flag) {
+            if (myDistances == null) {
+                buildDistanceMatrix();
+            }
+        } else {
+            myDistances = null;
+            mySinLat = null;
+            myCosLat = null;
+            myLonRadians = null;
+            myMatrixPositions = null;
+            myMatrixIndices = null;
+            myMatrixSize = 0;
+            myMatrixCapacity = 0;
+        }
+    }
+
+    /**
+     *
+     * @return true if the distance matrix is in use
+     */
+    public final boolean getDistanceMatrixOption() {
+        return myDistances != null;
+    }
+
+    /**
+     *
+     * @return the number of elements in the distance matrix, 0 if the option
+     * is off
+     */
+    public final int getDistanceMatrixSize() {
+        return myMatrixSize;
+    }
+
+    /**
+     * The matrix index of an element may change when other elements are
+     * removed from the model
+     *
+     * @param element the element
+     * @return the index of the element in the distance matrix, or -1 if the
+     * option is off or the element is not in the matrix
+     */
+    public final int getDistanceMatrixIndex(SpatialElementIfc element) {
+        if ((myDistances == null) || (element == null)) {
+            return -1;
+        }
+        Integer i = myMatrixIndices.get(element.getPosition());
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * Requires the distance matrix option to be on.
+     *
+     * @param i the matrix index of the from element
+     * @param j the matrix index of the to element
+     * @return the distance from element i to element j
+     */
+    public final double getMatrixDistance(int i, int j) {
+        checkMatrixIndex(i);
+        checkMatrixIndex(j);
+        return myDistances[i * myMatrixCapacity + j];
+    }
+
+    @Override
+    protected void addSpatialElement(SpatialElement element) {
+        if (myDistances != null) {
+            addToMatrix(element.getPosition());
+        }
+        super.addSpatialElement(element);
+    }
+
+    @Override
+    protected void spatialElementRemoved(SpatialElementIfc element) {
+        if (myDistances != null) {
+            removeFromMatrix(element.getPosition());
+        }
+    }
+
+    @Override
+    protected void updatePosition() {
+        if (myDistances != null) {
+            Integer i = myMatrixIndices.get(getUpdatingSpatialElement().getPosition());
+            if (i != null) {
+                setTrigonometry(i, myMatrixPositions[i]);
+                computeRowAndColumn(i);
+            }
+        }
+    }
+
+    /**
+     * Computes the central angle between two points, the arguments are the
+     * sine and cosine of the latitudes and the longitudes in radians
+     */
+    private static double angle(double sinLat1, double cosLat1, double lon1,
+            double sinLat2, double cosLat2, double lon2) {
+        double lonDiff = lon1 - lon2;
+        double sinLonDiff = Math.sin(lonDiff);
         double cosLonDiff = Math.cos(lonDiff);
 
         double n1 = (cosLat2 * sinLonDiff);
@@ -357,10 +689,232 @@ public class GreatCircleBasedSpatialModel extends SpatialModel {
         double n = Math.sqrt(n1 * n1 + n2 * n2);
         double d = sinLat1 * sinLat2 + cosLat1 * cosLat2 * cosLonDiff;
 
-        double angDiff = Math.atan2(n, d);
+        return Math.atan2(n, d);
+    }
+
+    private static void checkResultLength(double[] result, int n) {
+        if (result == null) {
+            throw new IllegalArgumentException("The result array was null");
+        }
+        if (result.length < n) {
+            throw new IllegalArgumentException("The result array must have length >= " + n);
+        }
+    }
 
-        return (myCircuityFactor * getEarthRadius() * angDiff);
+    private void checkMatrixIndex(int i) {
+        if (myDistances == null) {
+            throw new IllegalStateException("The distance matrix option is not on");
+        }
+        if ((i < 0) || (i >= myMatrixSize)) {
+            throw new IllegalArgumentException("The index " + i + " is not in the distance matrix");
+        }
+    }
+
+    /**
+     * Builds the matrix for the currently registered elements
+     */
+    private void buildDistanceMatrix() {
+        int n = myElements.size();
+        checkMatrixSize(n);
+        myMatrixCapacity = Math.max(DEFAULT_MATRIX_CAPACITY, n);
+        allocateMatrix(myMatrixCapacity);
+        myMatrixIndices = new IdentityHashMap<>(Math.max(DEFAULT_MATRIX_CAPACITY, 2 * n));
+        myMatrixSize = 0;
+        for (SpatialElement e : myElements) {
+            CoordinateIfc c = e.getPosition();
+            myMatrixPositions[myMatrixSize] = c;
+            myMatrixIndices.put(c, myMatrixSize);
+            setTrigonometry(myMatrixSize, c);
+            myMatrixSize++;
+        }
+        computeRows(0, myMatrixSize);
+    }
+
+    /**
+     * Computes the rows [from, to) of the matrix, in parallel when the range
+     * is large enough
+     */
+    private void computeRows(int from, int to) {
+        RowBlockTask task = new RowBlockTask(myDistances, mySinLat, myCosLat, myLonRadians,
+                myMatrixSize, myMatrixCapacity, myCircuityFactor * getEarthRadius(), from, to);
+        if ((to - from) < PARALLEL_THRESHOLD) {
+            task.fillRows(from, to);
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    /**
+     * Computes the distances from and to the element with the given index
+     */
+    private void computeRowAndColumn(int i) {
+        double factor = myCircuityFactor * getEarthRadius();
+        int stride = myMatrixCapacity;
+        double s1 = mySinLat[i];
+        double c1 = myCosLat[i];
+        double l1 = myLonRadians[i];
+        int row = i * stride;
+        for (int j = 0; j < myMatrixSize; j++) {
+            myDistances[row + j] = factor * angle(s1, c1, l1, mySinLat[j], myCosLat[j], myLonRadians[j]);
+            myDistances[j * stride + i] = factor * angle(mySinLat[j], myCosLat[j], myLonRadians[j], s1, c1, l1);
+        }
+    }
 
+    private void setTrigonometry(int i, CoordinateIfc c) {
+        double lat = Math.toRadians(c.getX1());
+        mySinLat[i] = Math.sin(lat);
+        myCosLat[i] = Math.cos(lat);
+        myLonRadians[i] = Math.toRadians(c.getX2());
+    }
+
+    private static void checkMatrixSize(int n) {
+        if (n > MAX_DISTANCE_MATRIX_SIZE) {
+            throw new IllegalStateException("The distance matrix can hold at most "
+                    + MAX_DISTANCE_MATRIX_SIZE + " elements, " + n + " were needed");
+        }
+    }
+
+    private void allocateMatrix(int capacity) {
+        myDistances = new double[capacity * capacity];
+        mySinLat = new double[capacity];
+        myCosLat = new double[capacity];
+        myLonRadians = new double[capacity];
+        myMatrixPositions = new CoordinateIfc[capacity];
+    }
+
+    private void addToMatrix(CoordinateIfc c) {
+        if (myMatrixIndices.containsKey(c)) {
+            return;
+        }
+        if (myMatrixSize == myMatrixCapacity) {
+            growMatrix();
+        }
+        int i = myMatrixSize;
+        myMatrixPositions[i] = c;
+        myMatrixIndices.put(c, i);
+        setTrigonometry(i, c);
+        myMatrixSize++;
+        computeRowAndColumn(i);
+    }
+
+    /**
+     * Grows the capacity of the matrix by half, up to the maximum size,
+     * copying the existing rows
+     */
+    private void growMatrix() {
+        int oldCapacity = myMatrixCapacity;
+        checkMatrixSize(oldCapacity + 1);
+        double[] oldDistances = myDistances;
+        myMatrixCapacity = Math.min(MAX_DISTANCE_MATRIX_SIZE, oldCapacity + (oldCapacity >> 1));
+        myDistances = new double[myMatrixCapacity * myMatrixCapacity];
+        for (int i = 0; i < myMatrixSize; i++) {
+            System.arraycopy(oldDistances, i * oldCapacity, myDistances, i * myMatrixCapacity, myMatrixSize);
+        }
+        mySinLat = Arrays.copyOf(mySinLat, myMatrixCapacity);
+        myCosLat = Arrays.copyOf(myCosLat, myMatrixCapacity);
+        myLonRadians = Arrays.copyOf(myLonRadians, myMatrixCapacity);
+        myMatrixPositions = Arrays.copyOf(myMatrixPositions, myMatrixCapacity);
+    }
+
+    /**
+     * Removes the element by moving the last element of the matrix into its
+     * row and column
+     */
+    private void removeFromMatrix(CoordinateIfc c) {
+        Integer index = myMatrixIndices.remove(c);
+        if (index == null) {
+            return;
+        }
+        int i = index;
+        int last = myMatrixSize - 1;
+        if (i != last) {
+            int stride = myMatrixCapacity;
+            System.arraycopy(myDistances, last * stride, myDistances, i * stride, myMatrixSize);
+            for (int k = 0; k < myMatrixSize; k++) {
+                myDistances[k * stride + i] = myDistances[k * stride + last];
+            }
+            myDistances[i * stride + i] = 0.0;
+            mySinLat[i] = mySinLat[last];
+            myCosLat[i] = myCosLat[last];
+            myLonRadians[i] = myLonRadians[last];
+            myMatrixPositions[i] = myMatrixPositions[last];
+            myMatrixIndices.put(myMatrixPositions[i], i);
+        }
+        myMatrixPositions[last] = null;
+        myMatrixSize--;
+    }
+
+    /**
+     * Fills a range of rows of the distance matrix, splitting the range until
+     * it is no larger than ROW_BLOCK_SIZE. Each task writes only its own rows.
+     * The task holds the arrays of the matrix rather than the spatial model.
+     */
+    private static final class RowBlockTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] myMatrix;
+        private final double[] mySinLat;
+        private final double[] myCosLat;
+        private final double[] myLon;
+        private final int mySize;
+        private final int myStride;
+        private final double myFactor;
+        private final int myFrom;
+        private final int myTo;
+
+        RowBlockTask(double[] matrix, double[] sinLat, double[] cosLat, double[] lon,
+                     int size, int stride, double factor, int from, int to) {
+            myMatrix = matrix;
+            mySinLat = sinLat;
+            myCosLat = cosLat;
+            myLon = lon;
+            mySize = size;
+            myStride = stride;
+            myFactor = factor;
+            myFrom = from;
+            myTo = to;
+        }
+
+        @Override
+        protected void compute() {
+            if ((myTo - myFrom) <= ROW_BLOCK_SIZE) {
+                fillRows(myFrom, myTo);
+            } else {
+                int mid = (myFrom + myTo) >>> 1;
+                invokeAll(subTask(myFrom, mid), subTask(mid, myTo));
+            }
+        }
+
+        private RowBlockTask subTask(int from, int to) {
+            return new RowBlockTask(myMatrix, mySinLat, myCosLat, myLon, mySize, myStride, myFactor, from, to);
+        }
+
+        /**
+         * Fills the rows [from, to) of the matrix, in tiles of columns so that
+         * the trigonometry of the destinations stays in cache
+         */
+        private void fillRows(int from, int to) {
+            int n = mySize;
+            int stride = myStride;
+            double factor = myFactor;
+            double[] sinLat = mySinLat;
+            double[] cosLat = myCosLat;
+            double[] lon = myLon;
+            double[] m = myMatrix;
+            for (int cs = 0; cs < n; cs = cs + ROW_BLOCK_SIZE) {
+                int ce = Math.min(n, cs + ROW_BLOCK_SIZE);
+                for (int i = from; i < to; i++) {
+                    double s1 = sinLat[i];
+                    double c1 = cosLat[i];
+                    double l1 = lon[i];
+                    int row = i * stride;
+                    for (int j = cs; j < ce; j++) {
+                        m[row + j] = factor * angle(s1, c1, l1, sinLat[j], cosLat[j], lon[j]);
+                    }
+                }
+            }
+        }
     }
 
     @Override
@@ -401,6 +955,9 @@ public class GreatCircleBasedSpatialModel extends SpatialModel {
             throw new IllegalArgumentException("The earth radius must be > 0!");
         }
         myEarthRadius = radius;
+        if (myDistances != null) {
+            computeRows(0, myMatrixSize);
+        }
     }
 
     /**
@@ -421,6 +978,9 @@ public class GreatCircleBasedSpatialModel extends SpatialModel {
         }
 
         myCircuityFactor = circuityFactor;
+        if (myDistances != null) {
+            computeRows(0, myMatrixSize);
+        }
     }
 
     public static void main(String[] args) {
@@ -106,6 +106,18 @@ public class Path implements Iterable<CoordinateIfc> {
         return myPoints.add(point);
     }
 
+    /**
+     * Adds a point to the path when the distance from the previous point is
+     * already known, e.g. by a path finder, without checking the point
+     *
+     * @param point the point
+     * @param distance the distance from the previous point (or the origin)
+     */
+    final void add(CoordinateIfc point, double distance) {
+        myTotalDistance = myTotalDistance + distance;
+        myPoints.add(point);
+    }
+
     /**
      * Clears the underlying list, sets the origin to null and resets the length
      * of the path to zero
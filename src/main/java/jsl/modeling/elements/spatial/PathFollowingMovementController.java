@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.spatial;
+
+import jsl.modeling.ModelElement;
+
+/**
+ * Moves an AbstractMover along the path from its current position to its
+ * destination, one point of the path per movement, at the velocity of the
+ * controller. The path is requested from the PathFinder before each movement;
+ * a caching path finder such as GraphPathFinder makes this inexpensive. A
+ * NoPathFoundException is thrown if there is no path to the destination.
+ */
+public class PathFollowingMovementController extends AbstractMovementController {
+
+    /**
+     * Finds the paths
+     */
+    private final PathFinder myPathFinder;
+
+    /**
+     * Holds the current path, reused for each movement
+     */
+    private final Path myPath;
+
+    /**
+     * @param parent the parent model element
+     * @param graph the graph whose path finder is used
+     */
+    public PathFollowingMovementController(ModelElement parent, GraphSpatialModel graph) {
+        this(parent, graph, graph.getPathFinder(), null);
+    }
+
+    /**
+     * @param parent the parent model element
+     * @param spatialModel the spatial model of the movers
+     * @param pathFinder the path finder, must not be null
+     * @param name the name of the controller
+     */
+    public PathFollowingMovementController(ModelElement parent, SpatialModel spatialModel,
+            PathFinder pathFinder, String name) {
+        super(parent, name);
+        if (pathFinder == null) {
+            throw new IllegalArgumentException("The path finder was null");
+        }
+        myPathFinder = pathFinder;
+        myPath = new Path(spatialModel);
+    }
+
+    /**
+     * @return the path finder
+     */
+    public final PathFinder getPathFinder() {
+        return myPathFinder;
+    }
+
+    @Override
+    public void controlMovement(AbstractMover movingElement) {
+        myPathFinder.findPath(myPath, movingElement.getPosition(), movingElement.getDestination());
+        if (myPath.isEmpty()) {
+            throw new NoPathFoundException("There is no path for " + movingElement.getName()
+                    + " to its destination");
+        }
+        CoordinateIfc next = myPath.iterator().next();
+        myPath.clear();
+        movingElement.setMovement(getVelocity(), next);
+    }
+
+}
@@ -617,7 +617,30 @@ public class RectangularGridSpatialModel2D extends SpatialModel {
      */
     public final RectangularCell2D findCellWithMinimumElementsInNeighborhood(
             RectangularCell2D coreCell, boolean includeCore) {
-        return findCellWithMinimumElements(getMooreNeighborhoodAsList(coreCell, includeCore));
+        if (coreCell == null) {
+            throw new IllegalArgumentException("The core cell was null");
+        }
+        if (coreCell.getParentRectangularGrid2D() != this) {
+            throw new IllegalArgumentException("The core cell is not part of this grid.");
+        }
+        // scans the neighborhood in place, in the same order as the neighborhood list
+        int row = coreCell.getRowIndex();
+        int col = coreCell.getColumnIndex();
+        int min = Integer.MAX_VALUE;
+        RectangularCell2D minCell = null;
+        for (int i = row - 1; i <= row + 1; i++) {
+            for (int j = col - 1; j <= col + 1; j++) {
+                if (!includeCore && (i == row) && (j == col)) {
+                    continue;
+                }
+                RectangularCell2D cell = getCell(i, j);
+                if ((cell != null) && (cell.getNumSpatialElements() < min)) {
+                    min = cell.getNumSpatialElements();
+                    minCell = cell;
+                }
+            }
+        }
+        return minCell;
     }
 
     /**
@@ -629,7 +652,7 @@ public class RectangularGridSpatialModel2D extends SpatialModel {
      */
     public final RectangularCell2D findCellWithMinimumElementsInNeighborhood(
             RectangularCell2D coreCell) {
-        return findCellWithMinimumElements(getMooreNeighborhoodAsList(coreCell, false));
+        return findCellWithMinimumElementsInNeighborhood(coreCell, false);
     }
 
     /**
@@ -641,7 +664,7 @@ public class RectangularGridSpatialModel2D extends SpatialModel {
      */
     public final RectangularCell2D findCellWithMinimumElementsInNeighborhood(
             CoordinateIfc coordinate, boolean includeCore) {
-        return findCellWithMinimumElements(getMooreNeighborhoodAsList(coordinate, includeCore));
+        return findCellWithMinimumElementsInNeighborhood(coordinate.getX1(), coordinate.getX2(), includeCore);
     }
 
     /**
@@ -653,7 +676,7 @@ public class RectangularGridSpatialModel2D extends SpatialModel {
      */
     public final RectangularCell2D findCellWithMinimumElementsInNeighborhood(
             CoordinateIfc coordinate) {
-        return findCellWithMinimumElements(getMooreNeighborhoodAsList(coordinate, false));
+        return findCellWithMinimumElementsInNeighborhood(coordinate.getX1(), coordinate.getX2(), false);
     }
 
     /**
@@ -666,7 +689,7 @@ public class RectangularGridSpatialModel2D extends SpatialModel {
      */
     public final RectangularCell2D findCellWithMinimumElementsInNeighborhood(double x,
             double y, boolean includeCore) {
-        return findCellWithMinimumElements(getMooreNeighborhoodAsList(x, y, includeCore));
+        return findCellWithMinimumElementsInNeighborhood(getCell(x, y), includeCore);
     }
 
     /**
@@ -679,7 +702,7 @@ public class RectangularGridSpatialModel2D extends SpatialModel {
      */
     public final RectangularCell2D findCellWithMinimumElementsInNeighborhood(double x,
             double y) {
-        return findCellWithMinimumElements(getMooreNeighborhoodAsList(x, y, false));
+        return findCellWithMinimumElementsInNeighborhood(getCell(x, y), false);
     }
 
     /**
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.spatial;
+
+/**
+ * A collision detector that uses a SpatialHashIndex to find the first element
+ * touched by the moving element during its next movement. The moving element
+ * is treated as a disk of the given radius swept from its current position to
+ * the end of the movement, and the other elements are treated as points at
+ * their indexed positions. Thus, a collision with a moving element is
+ * detected only with respect to that element's position when the check is
+ * made.
+ */
+public class SpatialHashCollisionDetector implements CollisionDetectorIfc {
+
+    /**
+     * The index used to find the elements along the movement
+     */
+    private final SpatialHashIndex myIndex;
+
+    /**
+     * The distance at which elements are considered to collide
+     */
+    private double myRadius;
+
+    /**
+     * @param index the index of the moving element's spatial model, must not be null
+     * @param radius the distance at which elements collide, must be &gt;= 0
+     */
+    public SpatialHashCollisionDetector(SpatialHashIndex index, double radius) {
+        if (index == null) {
+            throw new IllegalArgumentException("The spatial index was null");
+        }
+        myIndex = index;
+        setRadius(radius);
+    }
+
+    /**
+     * @return the distance at which elements collide
+     */
+    public final double getRadius() {
+        return myRadius;
+    }
+
+    /**
+     * @param radius the distance at which elements collide, must be &gt;= 0
+     */
+    public final void setRadius(double radius) {
+        if (radius < 0.0) {
+            throw new IllegalArgumentException("The radius must be >= 0");
+        }
+        myRadius = radius;
+    }
+
+    @Override
+    public boolean checkForCollision(Collision collision) {
+        MoverIfc mover = collision.getMovingElement();
+        CoordinateIfc c = mover.getPosition();
+        double x1 = c.getX1();
+        double y1 = c.getX2();
+        double time = mover.getMovementTime();
+        // the future position is held by the mover, so copy it immediately
+        CoordinateIfc end = mover.getFuturePosition(time);
+        double x2 = end.getX1();
+        double y2 = end.getX2();
+        SpatialElement e = myIndex.findFirstAlongSegment(x1, y1, x2, y2, myRadius, mover);
+        if (e == null) {
+            return false;
+        }
+        double f = myIndex.getLastSegmentFraction();
+        int type = Collision.STATIONARY;
+        if ((e.getModelElement() instanceof MoverIfc)
+                && ((MoverIfc) e.getModelElement()).isMoving()) {
+            type = Collision.MOVING;
+        }
+        collision.setCollision(e, mover.getMovementStartTime() + f * time,
+                new Vector3D(x1 + f * (x2 - x1), y1 + f * (y2 - y1)), type);
+        return true;
+    }
+
+}
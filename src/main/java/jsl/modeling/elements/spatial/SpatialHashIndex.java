@@ -0,0 +1,842 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.spatial;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Observable;
+import java.util.Observer;
+
+/**
+ * A uniform grid (spatial hash) index over the (x1, x2) positions of the
+ * elements of a planar spatial model, e.g. Euclidean2DPlane or
+ * RectangularGridSpatialModel2D. The plane is divided into square cells of the
+ * given size and only the cells that hold elements are stored, in an open
+ * addressing hash table. Within a cell the elements are linked through int
+ * arrays so that moving an element between cells does not allocate.
+ * <p>
+ * The index observes its spatial model and is updated incrementally when
+ * elements are added, removed, or update their positions. Radius, k-nearest,
+ * and swept-segment queries do not allocate; results are placed in
+ * collections or arrays supplied by the client. Distances are Euclidean
+ * distances within the (x1, x2) plane.
+ * <p>
+ * The cell size should be about the typical query radius. Much smaller
+ * cells cause many empty cells to be visited, much larger cells cause many
+ * elements to be checked. A query never visits more cells than there are
+ * indexed elements; when it would, the elements are checked directly instead,
+ * so sparse elements far from each other do not make queries slow. The index
+ * is not thread safe.
+ */
+public class SpatialHashIndex implements Observer {
+
+    /**
+     * Marks an unused entry of the cell table
+     */
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /**
+     * The spatial model being indexed
+     */
+    private final SpatialModel mySpatialModel;
+
+    /**
+     * The width and height of the cells
+     */
+    private final double myCellSize;
+
+    /**
+     * 1/cell size
+     */
+    private final double myInvCellSize;
+
+    /**
+     * Maps an element to its slot within the element arrays
+     */
+    private final IdentityHashMap<SpatialElementIfc, Integer> mySlots;
+
+    /**
+     * The elements by slot, slots 0 to mySize-1 are used
+     */
+    private SpatialElement[] myElements;
+
+    /**
+     * The indexed x-coordinate of the element in the slot
+     */
+    private double[] myX;
+
+    /**
+     * The indexed y-coordinate of the element in the slot
+     */
+    private double[] myY;
+
+    /**
+     * The key of the cell holding the element in the slot
+     */
+    private long[] myCellKey;
+
+    /**
+     * The next slot in the same cell, -1 at the end
+     */
+    private int[] myNext;
+
+    /**
+     * The previous slot in the same cell, -1 at the start
+     */
+    private int[] myPrev;
+
+    /**
+     * The number of indexed elements
+     */
+    private int mySize;
+
+    /**
+     * The keys of the cell table, EMPTY if unused
+     */
+    private long[] myKeys;
+
+    /**
+     * The first slot of the elements in the cell, -1 if the cell is empty
+     */
+    private int[] myHeads;
+
+    /**
+     * The number of used entries in the cell table
+     */
+    private int myNumCells;
+
+    /**
+     * The number of entries in the cell table that hold elements
+     */
+    private int myNumOccupiedCells;
+
+    /**
+     * The bounds of the cell indices that held elements when the cell table
+     * was last rebuilt, widened as elements enter new cells. Queries are
+     * limited to these bounds.
+     */
+    private int myMinCx = Integer.MAX_VALUE, myMaxCx = Integer.MIN_VALUE,
+            myMinCy = Integer.MAX_VALUE, myMaxCy = Integer.MIN_VALUE;
+
+    /**
+     * Working arrays for the k-nearest query
+     */
+    private double[] myNearestDistances = new double[0];
+
+    /**
+     * Working array for the single nearest query
+     */
+    private final SpatialElement[] myNearest = new SpatialElement[1];
+
+    /**
+     * The fraction along the segment of the element found by the last call to
+     * findFirstAlongSegment()
+     */
+    private double myLastSegmentFraction = Double.NaN;
+
+    /**
+     * Creates an index for a rectangular grid using the larger of the grid's
+     * cell width and height as the cell size
+     *
+     * @param grid the grid to index, must not be null
+     */
+    public SpatialHashIndex(RectangularGridSpatialModel2D grid) {
+        this(grid, Math.max(grid.getCellWidth(), grid.getCellHeight()));
+    }
+
+    /**
+     * Creates an index for the spatial model. The elements already in the
+     * spatial model are indexed and the index starts observing the model.
+     *
+     * @param spatialModel the spatial model to index, must not be null
+     * @param cellSize the width and height of the cells, must be &gt; 0
+     */
+    public SpatialHashIndex(SpatialModel spatialModel, double cellSize) {
+        if (spatialModel == null) {
+            throw new IllegalArgumentException("The spatial model was null");
+        }
+        if (!(cellSize > 0.0) || Double.isInfinite(cellSize)) {
+            throw new IllegalArgumentException("The cell size must be > 0 and finite");
+        }
+        mySpatialModel = spatialModel;
+        myCellSize = cellSize;
+        myInvCellSize = 1.0 / cellSize;
+        mySlots = new IdentityHashMap<>();
+        int n = Math.max(16, spatialModel.myElements.size());
+        myElements = new SpatialElement[n];
+        myX = new double[n];
+        myY = new double[n];
+        myCellKey = new long[n];
+        myNext = new int[n];
+        myPrev = new int[n];
+        myKeys = new long[16];
+        Arrays.fill(myKeys, EMPTY);
+        myHeads = new int[16];
+        for (SpatialElement e : spatialModel.myElements) {
+            add(e);
+        }
+        spatialModel.addObserver(this);
+    }
+
+    /**
+     * Stops the index from observing its spatial model. The index can no
+     * longer be used after this call.
+     */
+    public final void detach() {
+        mySpatialModel.deleteObserver(this);
+    }
+
+    /**
+     * @return the indexed spatial model
+     */
+    public final SpatialModel getSpatialModel() {
+        return mySpatialModel;
+    }
+
+    /**
+     * @return the width and height of the cells
+     */
+    public final double getCellSize() {
+        return myCellSize;
+    }
+
+    /**
+     * @return the number of indexed elements
+     */
+    public final int size() {
+        return mySize;
+    }
+
+    /**
+     * @param element the element to check
+     * @return true if the element is indexed
+     */
+    public final boolean contains(SpatialElementIfc element) {
+        return mySlots.containsKey(element);
+    }
+
+    @Override
+    public void update(Observable o, Object arg) {
+        if (o != mySpatialModel) {
+            return;
+        }
+        int state = mySpatialModel.getObserverState();
+        SpatialElementIfc element = mySpatialModel.getUpdatingSpatialElement();
+        if (state == SpatialModel.UPDATED_POSITION) {
+            move(element);
+        } else if (state == SpatialModel.ADDED_ELEMENT) {
+            if (element instanceof SpatialElement) {
+                add((SpatialElement) element);
+            }
+        } else if (state == SpatialModel.REMOVED_ELEMENT) {
+            remove(element);
+        }
+    }
+
+    /**
+     * Finds the elements whose positions are within the distance of the point
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @param radius the distance, must be &gt;= 0
+     * @param exclude an element to leave out of the results, may be null
+     * @param result the elements found are added to this collection
+     * @return the number of elements found
+     */
+    public final int findWithinRadius(double x, double y, double radius,
+            SpatialElementIfc exclude, Collection<? super SpatialElement> result) {
+        if (radius < 0.0) {
+            throw new IllegalArgumentException("The radius must be >= 0");
+        }
+        if (mySize == 0) {
+            return 0;
+        }
+        double r2 = radius * radius;
+        int cxLo = Math.max(cell(x - radius), myMinCx);
+        int cxHi = Math.min(cell(x + radius), myMaxCx);
+        int cyLo = Math.max(cell(y - radius), myMinCy);
+        int cyHi = Math.min(cell(y + radius), myMaxCy);
+        int n = 0;
+        if (numCells(cxLo, cxHi, cyLo, cyHi) > mySize) {
+            // checking every element is cheaper than visiting the cells
+            for (int s = 0; s < mySize; s++) {
+                if (isWithin(s, x, y, r2, exclude)) {
+                    result.add(myElements[s]);
+                    n++;
+                }
+            }
+            return n;
+        }
+        for (int cx = cxLo; cx <= cxHi; cx++) {
+            for (int cy = cyLo; cy <= cyHi; cy++) {
+                for (int s = head(cx, cy); s != -1; s = myNext[s]) {
+                    if (isWithin(s, x, y, r2, exclude)) {
+                        result.add(myElements[s]);
+                        n++;
+                    }
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Finds the elements whose positions are within the distance of the
+     * element's position
+     *
+     * @param element the element, must not be null
+     * @param radius the distance, must be &gt;= 0
+     * @param result the elements found, other than the element, are added to
+     * this collection
+     * @return the number of elements found
+     */
+    public final int findWithinRadius(SpatialElementIfc element, double radius,
+            Collection<? super SpatialElement> result) {
+        CoordinateIfc c = element.getPosition();
+        return findWithinRadius(c.getX1(), c.getX2(), radius, element, result);
+    }
+
+    /**
+     * Finds the k elements nearest to the point. The elements are placed into
+     * the array from nearest to farthest.
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @param exclude an element to leave out of the results, may be null
+     * @param result the array to fill, its length is k
+     * @return the number of elements placed in the array, which is less than k
+     * only if fewer elements are indexed
+     */
+    public final int findNearest(double x, double y, SpatialElementIfc exclude,
+            SpatialElement[] result) {
+        int k = result.length;
+        if ((k == 0) || (mySize == 0)) {
+            return 0;
+        }
+        if (myNearestDistances.length < k) {
+            myNearestDistances = new double[k];
+        }
+        double[] dist = myNearestDistances;
+        int found = 0;
+        long c0x = cell(x);
+        long c0y = cell(y);
+        // the rings before the first that touches the occupied cells are empty
+        long d = Math.max(0, Math.max(Math.max(myMinCx - c0x, c0x - myMaxCx),
+                Math.max(myMinCy - c0y, c0y - myMaxCy)));
+        long dMax = Math.max(Math.max(c0x - myMinCx, myMaxCx - c0x),
+                Math.max(c0y - myMinCy, myMaxCy - c0y));
+        for (; d <= dMax; d++) {
+            int xLo = (int) Math.max(c0x - d, myMinCx);
+            int xHi = (int) Math.min(c0x + d, myMaxCx);
+            int yLo = (int) Math.max(c0y - d, myMinCy);
+            int yHi = (int) Math.min(c0y + d, myMaxCy);
+            // the rings so far fill the box, the ring before the first is outside the bounds
+            if (numCells(xLo, xHi, yLo, yHi) > mySize) {
+                // checking every element is cheaper than visiting the rings
+                return findNearestByScan(x, y, exclude, result);
+            }
+            for (int cx = xLo; cx <= xHi; cx++) {
+                for (int cy = yLo; cy <= yHi; cy++) {
+                    if ((cx != c0x - d) && (cx != c0x + d) && (cy != c0y - d) && (cy != c0y + d)) {
+                        // inside the ring, jump to its far side
+                        cy = (int) Math.min(c0y + d, yHi + 1L) - 1;
+                        continue;
+                    }
+                    for (int s = head(cx, cy); s != -1; s = myNext[s]) {
+                        if (!isExcluded(s, exclude)) {
+                            found = insertNearest(s, x, y, found, result);
+                        }
+                    }
+                }
+            }
+            // elements in later rings are at least d cells away
+            if (found == k) {
+                double bound = d * myCellSize;
+                if (dist[k - 1] <= bound * bound) {
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds the k nearest elements by checking every element
+     */
+    private int findNearestByScan(double x, double y, SpatialElementIfc exclude,
+            SpatialElement[] result) {
+        int found = 0;
+        for (int s = 0; s < mySize; s++) {
+            if (!isExcluded(s, exclude)) {
+                found = insertNearest(s, x, y, found, result);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Inserts the element in the slot into the results sorted by distance if
+     * it is nearer than the k-th nearest found so far
+     *
+     * @return the number of elements in the results
+     */
+    private int insertNearest(int s, double x, double y, int found, SpatialElement[] result) {
+        int k = result.length;
+        double[] dist = myNearestDistances;
+        double dx = myX[s] - x;
+        double dy = myY[s] - y;
+        double d2 = dx * dx + dy * dy;
+        if ((found == k) && (d2 >= dist[k - 1])) {
+            return found;
+        }
+        int i = (found < k) ? found++ : k - 1;
+        while ((i > 0) && (dist[i - 1] > d2)) {
+            dist[i] = dist[i - 1];
+            result[i] = result[i - 1];
+            i--;
+        }
+        dist[i] = d2;
+        result[i] = myElements[s];
+        return found;
+    }
+
+    /**
+     * Finds the element nearest to the point
+     *
+     * @param x the x-coordinate of the point
+     * @param y the y-coordinate of the point
+     * @param exclude an element to leave out of the search, may be null
+     * @return the nearest element or null if there are no elements
+     */
+    public final SpatialElement findNearest(double x, double y, SpatialElementIfc exclude) {
+        SpatialElement e = (findNearest(x, y, exclude, myNearest) == 0) ? null : myNearest[0];
+        myNearest[0] = null;
+        return e;
+    }
+
+    /**
+     * Finds the elements whose positions are within the distance of the line
+     * segment from (x1, y1) to (x2, y2), i.e. the elements touched by a disk of
+     * the given radius swept along the segment
+     *
+     * @param x1 the x-coordinate of the start of the segment
+     * @param y1 the y-coordinate of the start of the segment
+     * @param x2 the x-coordinate of the end of the segment
+     * @param y2 the y-coordinate of the end of the segment
+     * @param radius the distance, must be &gt;= 0
+     * @param exclude an element to leave out of the results, may be null
+     * @param result the elements found are added to this collection
+     * @return the number of elements found
+     */
+    public final int findAlongSegment(double x1, double y1, double x2, double y2,
+            double radius, SpatialElementIfc exclude, Collection<? super SpatialElement> result) {
+        return sweep(x1, y1, x2, y2, radius, exclude, result);
+    }
+
+    /**
+     * Finds the first element touched by a disk of the given radius swept
+     * along the line segment from (x1, y1) to (x2, y2). The fraction of the
+     * segment travelled when the element is touched is available from
+     * getLastSegmentFraction(); it is 0.0 if the element is within the radius
+     * of the start of the segment.
+     *
+     * @param x1 the x-coordinate of the start of the segment
+     * @param y1 the y-coordinate of the start of the segment
+     * @param x2 the x-coordinate of the end of the segment
+     * @param y2 the y-coordinate of the end of the segment
+     * @param radius the distance, must be &gt;= 0
+     * @param exclude an element to leave out of the search, may be null
+     * @return the first element touched or null if none
+     */
+    public final SpatialElement findFirstAlongSegment(double x1, double y1,
+            double x2, double y2, double radius, SpatialElementIfc exclude) {
+        int s = sweep(x1, y1, x2, y2, radius, exclude, null);
+        return (s == -1) ? null : myElements[s];
+    }
+
+    /**
+     * @return the fraction of the segment travelled to the element found by
+     * the last call to findFirstAlongSegment(), NaN if no element was found
+     */
+    public final double getLastSegmentFraction() {
+        return myLastSegmentFraction;
+    }
+
+    /**
+     * Visits the cells that may hold elements within the radius of the
+     * segment, or checks every element if there are fewer elements than
+     * cells. If result is null, returns the slot of the first element along
+     * the segment (or -1), otherwise adds the elements to the result and
+     * returns their number
+     */
+    private int sweep(double x1, double y1, double x2, double y2, double radius,
+            SpatialElementIfc exclude, Collection<? super SpatialElement> result) {
+        if (radius < 0.0) {
+            throw new IllegalArgumentException("The radius must be >= 0");
+        }
+        myLastSegmentFraction = Double.NaN;
+        int n = 0;
+        int first = -1;
+        double firstFraction = Double.POSITIVE_INFINITY;
+        if (mySize == 0) {
+            return (result == null) ? -1 : 0;
+        }
+        double sx = x2 - x1;
+        double sy = y2 - y1;
+        double len2 = sx * sx + sy * sy;
+        double r2 = radius * radius;
+        double xMin = Math.min(x1, x2);
+        double xMax = Math.max(x1, x2);
+        int cxLo = Math.max(cell(xMin - radius), myMinCx);
+        int cxHi = Math.min(cell(xMax + radius), myMaxCx);
+        // checking every element is cheaper than visiting more cells than elements
+        boolean scan = numCells(cxLo, cxHi, 0, 0) > mySize;
+        double cells = 0.0;
+        for (int cx = cxLo; (cx <= cxHi) && !scan; cx++) {
+            long rows = sweepRows(cx, x1, y1, x2, y2, radius);
+            cells = cells + numCells(cx, cx, (int) (rows >> 32), (int) rows);
+            scan = cells > mySize;
+        }
+        if (scan) {
+            for (int s = 0; s < mySize; s++) {
+                double f = sweepFraction(s, x1, y1, sx, sy, len2, r2);
+                if ((f < 0.0) || isExcluded(s, exclude)) {
+                    continue;
+                }
+                if (result != null) {
+                    result.add(myElements[s]);
+                    n++;
+                } else if (f < firstFraction) {
+                    firstFraction = f;
+                    first = s;
+                }
+            }
+        } else {
+            for (int cx = cxLo; cx <= cxHi; cx++) {
+                long rows = sweepRows(cx, x1, y1, x2, y2, radius);
+                int cyHi = (int) rows;
+                for (int cy = (int) (rows >> 32); cy <= cyHi; cy++) {
+                    for (int s = head(cx, cy); s != -1; s = myNext[s]) {
+                        double f = sweepFraction(s, x1, y1, sx, sy, len2, r2);
+                        if ((f < 0.0) || isExcluded(s, exclude)) {
+                            continue;
+                        }
+                        if (result != null) {
+                            result.add(myElements[s]);
+                            n++;
+                        } else if (f < firstFraction) {
+                            firstFraction = f;
+                            first = s;
+                        }
+                    }
+                }
+            }
+        }
+        if (result != null) {
+            return n;
+        }
+        if (first != -1) {
+            myLastSegmentFraction = firstFraction;
+        }
+        return first;
+    }
+
+    /**
+     * @return the lowest and highest rows, packed as a cell key, of the
+     * column's cells that may hold elements within the radius of the segment
+     */
+    private long sweepRows(int cx, double x1, double y1, double x2, double y2,
+            double radius) {
+        double sx = x2 - x1;
+        double sy = y2 - y1;
+        // the part of the segment that can reach the column
+        double xa = Math.max(Math.min(x1, x2), cx * myCellSize - radius);
+        double xb = Math.min(Math.max(x1, x2), (cx + 1) * myCellSize + radius);
+        double ya, yb;
+        if (sx == 0.0) {
+            ya = y1;
+            yb = y2;
+        } else {
+            ya = y1 + (xa - x1) * sy / sx;
+            yb = y1 + (xb - x1) * sy / sx;
+        }
+        int cyLo = Math.max(cell(Math.min(ya, yb) - radius), myMinCy);
+        int cyHi = Math.min(cell(Math.max(ya, yb) + radius), myMaxCy);
+        return key(cyLo, cyHi);
+    }
+
+    /**
+     * @return the fraction of the segment travelled when the disk first
+     * touches the element in the slot, or -1.0 if it is never touched
+     */
+    private double sweepFraction(int s, double x1, double y1, double sx, double sy,
+            double len2, double r2) {
+        double px = myX[s] - x1;
+        double py = myY[s] - y1;
+        if (len2 == 0.0) {
+            return (px * px + py * py > r2) ? -1.0 : 0.0;
+        }
+        // projection onto the line and squared distance from it
+        double t = (px * sx + py * sy) / len2;
+        double qx = px - t * sx;
+        double qy = py - t * sy;
+        double perp2 = qx * qx + qy * qy;
+        if (perp2 > r2) {
+            return -1.0;
+        }
+        double half = Math.sqrt((r2 - perp2) / len2);
+        if ((t - half > 1.0) || (t + half < 0.0)) {
+            return -1.0;
+        }
+        return Math.max(0.0, t - half);
+    }
+
+    private boolean isWithin(int s, double x, double y, double r2, SpatialElementIfc exclude) {
+        double dx = myX[s] - x;
+        double dy = myY[s] - y;
+        return (dx * dx + dy * dy <= r2) && !isExcluded(s, exclude);
+    }
+
+    /**
+     * @return the number of cells in the block of columns and rows, 0 if empty
+     */
+    private static double numCells(int cxLo, int cxHi, int cyLo, int cyHi) {
+        if ((cxHi < cxLo) || (cyHi < cyLo)) {
+            return 0.0;
+        }
+        return ((double) cxHi - cxLo + 1.0) * ((double) cyHi - cyLo + 1.0);
+    }
+
+    private boolean isExcluded(int s, SpatialElementIfc exclude) {
+        if (exclude == null) {
+            return false;
+        }
+        SpatialElement e = myElements[s];
+        return (e == exclude) || (e.getModelElement() == exclude);
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v * myInvCellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return (((long) cx) << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * @return the table index of the cell or -1 if the cell is not in the table
+     */
+    private int find(long key) {
+        int mask = myKeys.length - 1;
+        for (int i = hash(key, mask);; i = (i + 1) & mask) {
+            long k = myKeys[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private int head(int cx, int cy) {
+        int i = find(key(cx, cy));
+        return (i == -1) ? -1 : myHeads[i];
+    }
+
+    /**
+     * @return the table index of the cell, adding the cell if needed
+     */
+    private int findOrAdd(long key) {
+        int i = find(key);
+        if (i != -1) {
+            return i;
+        }
+        if (2 * (myNumCells + 1) > myKeys.length) {
+            rehash();
+        }
+        int mask = myKeys.length - 1;
+        i = hash(key, mask);
+        while (myKeys[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        myKeys[i] = key;
+        myHeads[i] = -1;
+        myNumCells++;
+        return i;
+    }
+
+    /**
+     * Rebuilds the cell table, dropping the empty cells
+     */
+    private void rehash() {
+        long[] keys = myKeys;
+        int[] heads = myHeads;
+        int used = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if ((keys[i] != EMPTY) && (heads[i] != -1)) {
+                used++;
+            }
+        }
+        int capacity = 16;
+        while (capacity < 4 * (used + 1)) {
+            capacity = capacity << 1;
+        }
+        myKeys = new long[capacity];
+        Arrays.fill(myKeys, EMPTY);
+        myHeads = new int[capacity];
+        myNumCells = 0;
+        // the bounds shrink to the cells that still hold elements
+        myMinCx = Integer.MAX_VALUE;
+        myMaxCx = Integer.MIN_VALUE;
+        myMinCy = Integer.MAX_VALUE;
+        myMaxCy = Integer.MIN_VALUE;
+        int mask = capacity - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if ((keys[i] != EMPTY) && (heads[i] != -1)) {
+                int j = hash(keys[i], mask);
+                while (myKeys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                myKeys[j] = keys[i];
+                myHeads[j] = heads[i];
+                myNumCells++;
+                widenBounds((int) (keys[i] >> 32), (int) keys[i]);
+            }
+        }
+        myNumOccupiedCells = myNumCells;
+    }
+
+    private void widenBounds(int cx, int cy) {
+        if (cx < myMinCx) {
+            myMinCx = cx;
+        }
+        if (cx > myMaxCx) {
+            myMaxCx = cx;
+        }
+        if (cy < myMinCy) {
+            myMinCy = cy;
+        }
+        if (cy > myMaxCy) {
+            myMaxCy = cy;
+        }
+    }
+
+    private void link(int s, double x, double y) {
+        int cx = cell(x);
+        int cy = cell(y);
+        widenBounds(cx, cy);
+        long key = key(cx, cy);
+        int i = findOrAdd(key);
+        int h = myHeads[i];
+        myNext[s] = h;
+        myPrev[s] = -1;
+        if (h != -1) {
+            myPrev[h] = s;
+        } else {
+            myNumOccupiedCells++;
+        }
+        myHeads[i] = s;
+        myCellKey[s] = key;
+    }
+
+    private void unlink(int s) {
+        int prev = myPrev[s];
+        int next = myNext[s];
+        if (prev != -1) {
+            myNext[prev] = next;
+        } else {
+            myHeads[find(myCellKey[s])] = next;
+        }
+        if (next != -1) {
+            myPrev[next] = prev;
+        } else if (prev == -1) {
+            myNumOccupiedCells--;
+            // drop the empty cells once they outnumber the occupied ones,
+            // which also shrinks the bounds left behind by moving elements
+            if (myNumCells - myNumOccupiedCells > myNumOccupiedCells + 16) {
+                rehash();
+            }
+        }
+    }
+
+    private void add(SpatialElement element) {
+        if (mySlots.containsKey(element)) {
+            return;
+        }
+        if (mySize == myElements.length) {
+            int n = mySize * 2;
+            myElements = Arrays.copyOf(myElements, n);
+            myX = Arrays.copyOf(myX, n);
+            myY = Arrays.copyOf(myY, n);
+            myCellKey = Arrays.copyOf(myCellKey, n);
+            myNext = Arrays.copyOf(myNext, n);
+            myPrev = Arrays.copyOf(myPrev, n);
+        }
+        int s = mySize++;
+        CoordinateIfc c = element.getPosition();
+        myElements[s] = element;
+        myX[s] = c.getX1();
+        myY[s] = c.getX2();
+        link(s, myX[s], myY[s]);
+        mySlots.put(element, s);
+    }
+
+    private void move(SpatialElementIfc element) {
+        Integer slot = mySlots.get(element);
+        if (slot == null) {
+            return;
+        }
+        int s = slot;
+        CoordinateIfc c = element.getPosition();
+        double x = c.getX1();
+        double y = c.getX2();
+        myX[s] = x;
+        myY[s] = y;
+        if (key(cell(x), cell(y)) != myCellKey[s]) {
+            unlink(s);
+            link(s, x, y);
+        }
+    }
+
+    private void remove(SpatialElementIfc element) {
+        Integer slot = mySlots.remove(element);
+        if (slot == null) {
+            return;
+        }
+        int s = slot;
+        unlink(s);
+        int last = --mySize;
+        if (s != last) {
+            // move the last slot into the freed slot
+            SpatialElement e = myElements[last];
+            unlink(last);
+            myElements[s] = e;
+            myX[s] = myX[last];
+            myY[s] = myY[last];
+            link(s, myX[s], myY[s]);
+            mySlots.put(e, s);
+        }
+        myElements[last] = null;
+    }
+
+}
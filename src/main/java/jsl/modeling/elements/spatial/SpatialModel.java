@@ -305,7 +305,8 @@ public abstract class SpatialModel extends Observable implements IdentityIfc {
 
     /**
      * Returns a reference to the most recent spatial element that notified the
-     * spatial model of an update change. Null if no such element. Subclasses
+     * spatial model of an update change, or that was added to or removed from
+     * the spatial model. Null if no such element. Subclasses
      * are responsible for setting this within the updatePosition() method This
      * method can be used by observers to ask the SpatialModel for the element
      * that updated its position.
@@ -382,6 +383,7 @@ public abstract class SpatialModel extends Observable implements IdentityIfc {
     protected void addSpatialElement(SpatialElement element) {
 //        System.out.println("In SpatialModel: addSpatialElement()");
         myElements.add(element);
+        setUpdatingElement(element);
         setObserverState(ADDED_ELEMENT);
         setChanged();
         notifyObservers();
@@ -412,6 +414,8 @@ public abstract class SpatialModel extends Observable implements IdentityIfc {
         boolean found = myElements.remove(element);
 
         if (found == true) {
+            spatialElementRemoved(element);
+            setUpdatingElement(element);
             setObserverState(REMOVED_ELEMENT);
             setChanged();
             notifyObservers();
@@ -420,6 +424,17 @@ public abstract class SpatialModel extends Observable implements IdentityIfc {
         return (found);
     }
 
+    /**
+     * Can be overridden by subclasses to provide behavior when a spatial
+     * element has been removed from the spatial model, prior to the
+     * notification of observers
+     *
+     * @param element the removed element
+     */
+    protected void spatialElementRemoved(SpatialElementIfc element) {
+
+    }
+
     /**
      * Should be implemented by subclasses to provide behavior when a spatial
      * element notifies that it has changed its position within the spatial
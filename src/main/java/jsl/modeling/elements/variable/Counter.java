@@ -399,6 +399,23 @@ public class Counter extends Aggregatable implements CounterActionIfc, DefaultRe
         }
     }
 
+    /**
+     * Sets the value of the counter to the final count of a replication that
+     * was executed by another copy of the model (e.g. by a ParallelReplicationRunner).
+     * Does not check the counter limit and does not notify any observers
+     * or counter actions. This should not be called while a replication is
+     * executing.
+     *
+     * @param value the final count of the replication, must be &gt;= 0
+     */
+    public final void replayCount(double value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("The counter's value must be >= 0");
+        }
+        myPrevValue = myValue;
+        myValue = value;
+    }
+
     /**
      * Sets the default reporting option. True means the response will appear on
      * default reports
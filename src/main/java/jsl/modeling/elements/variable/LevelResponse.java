@@ -243,6 +243,8 @@ public class LevelResponse extends SchedulingElement {
          */
         @Override
         public void action(JSLEvent evt) {
+            // the executed event may be reused by the executive's event pool
+            myObservationIntervalStartEvent = null;
             // clear any previous statistics prior to start of the interval
             warmUp();
             myIntervalStartedFlag = true;
@@ -259,6 +261,7 @@ public class LevelResponse extends SchedulingElement {
          */
         @Override
         public void action(JSLEvent evt) {
+            myObservationIntervalEndEvent = null;
             myIntervalEndedFlag = true;
         }
     }
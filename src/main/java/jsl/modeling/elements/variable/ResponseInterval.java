@@ -272,7 +272,7 @@ public class ResponseInterval extends SchedulingElement {
             data.myEmptyResponse = rv3;
         }
         myResponses.put(theResponse, data);
-        theResponse.addObserver(myObserver);
+        theResponse.addObserver(myObserver, REMOVED_FROM_MODEL);
         return rv;
     }
 
@@ -294,7 +294,7 @@ public class ResponseInterval extends SchedulingElement {
         IntervalData data = new IntervalData();
         data.myResponse = rv;
         myCounters.put(theCounter, data);
-        theCounter.addObserver(myObserver);
+        theCounter.addObserver(myObserver, REMOVED_FROM_MODEL);
         return rv;
     }
 
@@ -457,6 +457,8 @@ public class ResponseInterval extends SchedulingElement {
 
         @Override
         public void action(JSLEvent evt) {
+            // the executed event may be reused by the executive's event pool
+            myStartEvent = null;
             //System.out.println("In StartIntervalAction: action()");
             //System.out.println("Interval:" + getStringLabel());
             //System.out.println(getTime() + " > capturing response data at start of interval");
@@ -488,6 +490,7 @@ public class ResponseInterval extends SchedulingElement {
 
         @Override
         public void action(JSLEvent evt) {
+            myEndEvent = null;
             //System.out.println("In EndIntervalAction: action()");
             //System.out.println("Interval:" + getStringLabel());
             //System.out.println(getTime() + " > capturing response data at end of interval");
@@ -191,7 +191,7 @@ public class ResponseSchedule extends SchedulingElement {
 
 
     public final void cancelScheduleStart() {
-        if (isScheduled()) {
+        if (isScheduled() && (myStartEvent != null)) {
             myStartEvent.setCanceledFlag(true);
         }
     }
@@ -512,6 +512,8 @@ public class ResponseSchedule extends SchedulingElement {
         @Override
         public void action(JSLEvent evt) {
             //System.out.println(getTime() + " > starting the schedule");
+            // the executed event may be reused by the executive's event pool
+            myStartEvent = null;
             myCycleStartTime = getTime();
             for (ResponseScheduleItem item : myScheduleItems) {
                 item.scheduleResponseInterval();
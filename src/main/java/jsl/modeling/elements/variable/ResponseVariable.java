@@ -17,11 +17,14 @@ package jsl.modeling.elements.variable;
 
 import jsl.modeling.ExperimentGetIfc;
 import jsl.modeling.ModelElement;
+import jsl.utilities.statistic.QuantileSketch;
 import jsl.utilities.statistic.Statistic;
 import jsl.utilities.statistic.StatisticAccessorIfc;
 import jsl.utilities.statistic.WeightedStatistic;
 import jsl.utilities.statistic.WeightedStatisticIfc;
 
+import java.util.Objects;
+
 /**
  *
  */
@@ -71,6 +74,18 @@ public class ResponseVariable extends Variable implements
      */
     protected ResponseVariable myAcrossIntervalResponse;
 
+    /**
+     * The within replication quantile estimates, null unless quantile
+     * collection has been turned on
+     */
+    protected QuantileSketch myWithinRepQuantiles;
+
+    /**
+     * The within replication quantile sketches merged across the replications,
+     * null unless quantile collection has been turned on
+     */
+    protected QuantileSketch myAcrossRepQuantiles;
+
     /**
      * Time of last update interval
      */
@@ -223,6 +238,55 @@ public class ResponseVariable extends Variable implements
         }
     }
 
+    /**
+     * Turns on the estimation of the quantiles (e.g. the median, 95th and 99th
+     * percentiles) of the observations of the response using a QuantileSketch
+     * with the default compression. The memory used does not grow with the
+     * number of observations.
+     */
+    public final void turnOnQuantileCollection() {
+        turnOnQuantileCollection(QuantileSketch.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Turns on the estimation of the quantiles of the observations of the
+     * response. Within each replication the observations are summarized by a
+     * QuantileSketch. At the end of each replication the sketch is merged into
+     * a sketch that summarizes the observations from all replications.
+     *
+     * @param compression the compression of the sketches, larger values give
+     * more accurate estimates, must be at least 10
+     */
+    public final void turnOnQuantileCollection(double compression) {
+        if (myWithinRepQuantiles == null) {
+            myWithinRepQuantiles = new QuantileSketch(compression, getName());
+            myAcrossRepQuantiles = new QuantileSketch(compression, getName());
+        }
+    }
+
+    /**
+     * @return true if quantile collection has been turned on
+     */
+    public final boolean isQuantileCollectionOn() {
+        return myWithinRepQuantiles != null;
+    }
+
+    /**
+     * @return the quantile estimates for the current replication or null if
+     * quantile collection has not been turned on
+     */
+    public final QuantileSketch getWithinReplicationQuantileSketch() {
+        return myWithinRepQuantiles;
+    }
+
+    /**
+     * @return the quantile estimates over the observations of all the completed
+     * replications or null if quantile collection has not been turned on
+     */
+    public final QuantileSketch getAcrossReplicationQuantileSketch() {
+        return myAcrossRepQuantiles;
+    }
+
     /**
      * Turns on tracing to a file of the time interval response if and only if
      * time interval collection has been turned on
@@ -327,6 +391,38 @@ public class ResponseVariable extends Variable implements
         myWithinRepStats.reset();
     }
 
+    /**
+     * Replaces the within replication statistics with a copy of the supplied
+     * statistics. This allows the results of a replication that was executed
+     * by another copy of the model (e.g. by a ParallelReplicationRunner) to
+     * be replayed through this response. This should not be called while
+     * a replication is executing.
+     *
+     * @param stat the within replication statistics to copy, must not be null
+     */
+    public final void replayWithinReplicationStatistic(WeightedStatistic stat) {
+        Objects.requireNonNull(stat, "The supplied statistic was null");
+        myWithinRepStats = stat.newInstance();
+        myWithinRepStats.setName(getName());
+    }
+
+    /**
+     * Replaces the within replication quantile estimates with a copy of the
+     * supplied sketch. Similar to replayWithinReplicationStatistic(), this
+     * should not be called while a replication is executing. Quantile
+     * collection must have been turned on.
+     *
+     * @param sketch the sketch to copy, must not be null
+     */
+    public final void replayWithinReplicationQuantileSketch(QuantileSketch sketch) {
+        Objects.requireNonNull(sketch, "The supplied sketch was null");
+        if (myWithinRepQuantiles == null) {
+            throw new IllegalStateException("Quantile collection has not been turned on for " + getName());
+        }
+        myWithinRepQuantiles = sketch.newInstance();
+        myWithinRepQuantiles.setName(getName());
+    }
+
     @Override
     protected void removedFromModel() {
         super.removedFromModel();
@@ -334,6 +430,8 @@ public class ResponseVariable extends Variable implements
         myAcrossRepStats = null;
         myWithinIntervalStats = null;
         myAcrossIntervalResponse = null;
+        myWithinRepQuantiles = null;
+        myAcrossRepQuantiles = null;
     }
 
     @Override
@@ -352,6 +450,9 @@ public class ResponseVariable extends Variable implements
         if (myWithinIntervalStats != null) {
             myWithinIntervalStats.collect(getValue(), getWeight());
         }
+        if (myWithinRepQuantiles != null) {
+            myWithinRepQuantiles.collect(getValue(), getWeight());
+        }
     }
 
     @Override
@@ -400,6 +501,10 @@ public class ResponseVariable extends Variable implements
         if (myWithinIntervalStats != null) {
             myWithinIntervalStats.reset();
         }
+        if (myWithinRepQuantiles != null) {
+            myWithinRepQuantiles.reset();
+            myAcrossRepQuantiles.reset();
+        }
         myLastUpdateTime = 0.0;
         myTimeOfWarmUp = 0.0;
     }
@@ -411,6 +516,9 @@ public class ResponseVariable extends Variable implements
         if (myWithinIntervalStats != null) {
             myWithinIntervalStats.reset();
         }
+        if (myWithinRepQuantiles != null) {
+            myWithinRepQuantiles.reset();
+        }
         myLastUpdateTime = 0.0;
         myTimeOfWarmUp = 0.0;
     }
@@ -420,6 +528,9 @@ public class ResponseVariable extends Variable implements
         super.warmUp();
         myTimeOfWarmUp = getTime();
         myWithinRepStats.reset();
+        if (myWithinRepQuantiles != null) {
+            myWithinRepQuantiles.reset();
+        }
     }
 
     @Override
@@ -432,6 +543,9 @@ public class ResponseVariable extends Variable implements
                     myAcrossRepStats = new Statistic(getName());
                 }
                 myAcrossRepStats.collect(myWithinRepStats.getAverage());
+                if (myWithinRepQuantiles != null) {
+                    myAcrossRepQuantiles.merge(myWithinRepQuantiles);
+                }
             }
         }
     }
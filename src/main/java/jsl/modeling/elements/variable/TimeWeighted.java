@@ -183,6 +183,9 @@ public class TimeWeighted extends ResponseVariable {
         if (myWithinIntervalStats != null) {
             myWithinIntervalStats.collect(getPreviousValue(), getWeight());
         }
+        if (myWithinRepQuantiles != null) {
+            myWithinRepQuantiles.collect(getPreviousValue(), getWeight());
+        }
     }
 
     /**
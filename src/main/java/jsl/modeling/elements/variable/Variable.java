@@ -16,6 +16,7 @@
 package jsl.modeling.elements.variable;
 
 import java.io.File;
+import java.util.Arrays;
 import jsl.modeling.ModelElement;
 import jsl.observers.variable.*;
 import jsl.utilities.reporting.JSL;
@@ -92,6 +93,12 @@ public class Variable extends Aggregatable implements VariableIfc {
      */
     private boolean mySetValueUpdateObserversFlag = true;
 
+    /**
+     * The listeners called when the value changes, replaced (not modified)
+     * when a listener is added or removed
+     */
+    private VariableListenerIfc[] myVariableListeners = new VariableListenerIfc[0];
+
     /**
      * Creates a Variable with the given parent with initial value 0.0 over the
      * range [Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY]
@@ -276,10 +283,52 @@ public class Variable extends Aggregatable implements VariableIfc {
 //        System.out.println(getName() + " is notifying its update observers");
         if (mySetValueUpdateObserversFlag == true) {
             notifyUpdateObservers();
+            for (VariableListenerIfc listener : myVariableListeners) {
+                listener.valueChanged(this, myTimeOfChange, myPrevValue, myValue);
+            }
         }
 //        System.out.println(getName() + " is done setting its value");
     }
 
+    /**
+     * Adds a listener that is called whenever the value of the variable is
+     * set. This is cheaper than an observer of the UPDATE state.
+     *
+     * @param listener the listener, must not be null
+     * @return true if added, false if already added
+     */
+    public final boolean addVariableListener(VariableListenerIfc listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("The variable listener was null");
+        }
+        for (VariableListenerIfc l : myVariableListeners) {
+            if (l == listener) {
+                return false;
+            }
+        }
+        VariableListenerIfc[] listeners = Arrays.copyOf(myVariableListeners, myVariableListeners.length + 1);
+        listeners[myVariableListeners.length] = listener;
+        myVariableListeners = listeners;
+        return true;
+    }
+
+    /**
+     * @param listener the listener to remove
+     * @return true if removed
+     */
+    public final boolean removeVariableListener(VariableListenerIfc listener) {
+        for (int i = 0; i < myVariableListeners.length; i++) {
+            if (myVariableListeners[i] == listener) {
+                VariableListenerIfc[] listeners = new VariableListenerIfc[myVariableListeners.length - 1];
+                System.arraycopy(myVariableListeners, 0, listeners, 0, i);
+                System.arraycopy(myVariableListeners, i + 1, listeners, i, listeners.length - i);
+                myVariableListeners = listeners;
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Every Variable must implement the getValue method. By default this method
      * simply returns the value of the variable.
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.elements.variable;
+
+/**
+ * A VariableListenerIfc is called whenever the value of a Variable is set (with
+ * update notification on). It provides a typed alternative to observing the
+ * UPDATE state of the variable, without boxing or casting on each change.
+ */
+@FunctionalInterface
+public interface VariableListenerIfc {
+
+    /**
+     * @param variable      the variable that changed
+     * @param time          the time of the change
+     * @param previousValue the value prior to the change
+     * @param value         the new value
+     */
+    void valueChanged(Variable variable, double time, double previousValue, double value);
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.queue;
+
+import java.util.Arrays;
+
+/**
+ * Holds QObjects in order of insertion in a circular array, as in ArrayDeque.
+ * Adding and removing at either end are O(1). Removing a QObject from the
+ * interior leaves a hole that is skipped at the ends and squeezed out by the
+ * next positional access (get or indexOf) or when holes outnumber the
+ * QObjects, so removal is O(1) amortized.
+ *
+ * @param <T> the type of QObject held
+ */
+final class ArrayQObjectList<T extends QObject> extends QObjectList<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] myElements = new Object[INITIAL_CAPACITY];
+
+    /**
+     * The slot of the first QObject
+     */
+    private int myHead;
+
+    /**
+     * The number of slots from the head to the last QObject, including holes
+     */
+    private int mySpan;
+
+    /**
+     * The number of QObjects
+     */
+    private int mySize;
+
+    @Override
+    public int size() {
+        return mySize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if ((index < 0) || (index >= mySize)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mySize);
+        }
+        if (mySpan != mySize) {
+            compact();
+        }
+        return (T) myElements[(myHead + index) & (myElements.length - 1)];
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!contains(o)) {
+            return -1;
+        }
+        if (mySpan != mySize) {
+            compact();
+        }
+        return (((QObject) o).myQueueIndex - myHead) & (myElements.length - 1);
+    }
+
+    @Override
+    boolean holds(QObject qObject) {
+        int i = qObject.myQueueIndex;
+        return (i >= 0) && (i < myElements.length) && (myElements[i] == qObject);
+    }
+
+    @Override
+    void insert(T qObject) {
+        addLast(qObject);
+    }
+
+    /**
+     * @param qObject the QObject to add after the last
+     */
+    void addLast(T qObject) {
+        if (mySpan == myElements.length) {
+            // squeeze out the holes, or grow if less than half are holes
+            if (mySize > (myElements.length >>> 1)) {
+                rebuild(myElements.length << 1);
+            } else {
+                compact();
+            }
+        }
+        int slot = (myHead + mySpan) & (myElements.length - 1);
+        myElements[slot] = qObject;
+        qObject.myQueueIndex = slot;
+        mySpan++;
+        mySize++;
+        modCount++;
+    }
+
+    /**
+     * @return the first QObject or null if empty
+     */
+    @SuppressWarnings("unchecked")
+    T peekFirst() {
+        return mySize == 0 ? null : (T) myElements[myHead];
+    }
+
+    /**
+     * @return the last QObject or null if empty
+     */
+    @SuppressWarnings("unchecked")
+    T peekLast() {
+        return mySize == 0 ? null : (T) myElements[(myHead + mySpan - 1) & (myElements.length - 1)];
+    }
+
+    /**
+     * @return the first QObject, which is removed, or null if empty
+     */
+    T removeFirst() {
+        T qObject = peekFirst();
+        if (qObject != null) {
+            delete(qObject);
+        }
+        return qObject;
+    }
+
+    /**
+     * @return the last QObject, which is removed, or null if empty
+     */
+    T removeLast() {
+        T qObject = peekLast();
+        if (qObject != null) {
+            delete(qObject);
+        }
+        return qObject;
+    }
+
+    @Override
+    boolean delete(T qObject) {
+        if (!holds(qObject)) {
+            return false;
+        }
+        int mask = myElements.length - 1;
+        int slot = qObject.myQueueIndex;
+        myElements[slot] = null;
+        qObject.myQueueIndex = -1;
+        mySize--;
+        modCount++;
+        if (mySize == 0) {
+            myHead = 0;
+            mySpan = 0;
+        } else if (slot == myHead) {
+            // skip holes at the front
+            do {
+                myHead = (myHead + 1) & mask;
+                mySpan--;
+            } while (myElements[myHead] == null);
+        } else if (slot == ((myHead + mySpan - 1) & mask)) {
+            // skip holes at the back
+            do {
+                mySpan--;
+            } while (myElements[(myHead + mySpan - 1) & mask] == null);
+        } else if (mySpan - mySize > mySize) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Removes the QObject at the index by shifting the QObjects between it
+     * and the nearer end, so that no hole is left. Used when QObjects are
+     * removed by position, e.g. by the RANDOM discipline.
+     *
+     * @param index the index
+     * @return the QObject removed
+     */
+    @Override
+    T deleteAt(int index) {
+        T qObject = get(index);
+        if ((index == 0) || (index == mySize - 1)) {
+            delete(qObject);
+            return qObject;
+        }
+        int mask = myElements.length - 1;
+        if (index < (mySize >>> 1)) {
+            for (int j = index; j > 0; j--) {
+                move((myHead + j - 1) & mask, (myHead + j) & mask);
+            }
+            myElements[myHead] = null;
+            myHead = (myHead + 1) & mask;
+        } else {
+            for (int j = index; j < mySize - 1; j++) {
+                move((myHead + j + 1) & mask, (myHead + j) & mask);
+            }
+            myElements[(myHead + mySize - 1) & mask] = null;
+        }
+        qObject.myQueueIndex = -1;
+        mySpan--;
+        mySize--;
+        modCount++;
+        return qObject;
+    }
+
+    private void move(int from, int to) {
+        QObject qObject = (QObject) myElements[from];
+        myElements[to] = qObject;
+        qObject.myQueueIndex = to;
+    }
+
+    /**
+     * Squeezes out the holes, in place, keeping the QObjects in order
+     */
+    private void compact() {
+        int mask = myElements.length - 1;
+        int k = 0;
+        for (int j = 0; j < mySpan; j++) {
+            int from = (myHead + j) & mask;
+            if (myElements[from] != null) {
+                if (k != j) {
+                    move(from, (myHead + k) & mask);
+                    myElements[from] = null;
+                }
+                k++;
+            }
+        }
+        mySpan = mySize;
+    }
+
+    @Override
+    void deleteAll() {
+        int mask = myElements.length - 1;
+        for (int j = 0; j < mySpan; j++) {
+            QObject qObject = (QObject) myElements[(myHead + j) & mask];
+            if (qObject != null) {
+                qObject.myQueueIndex = -1;
+            }
+        }
+        Arrays.fill(myElements, null);
+        myHead = 0;
+        mySpan = 0;
+        mySize = 0;
+        modCount++;
+    }
+
+    /**
+     * Copies the QObjects in order, without holes, to the start of a new
+     * array and updates their positions
+     *
+     * @param capacity the capacity of the new array, a power of 2
+     */
+    private void rebuild(int capacity) {
+        Object[] elements = new Object[capacity];
+        int mask = myElements.length - 1;
+        int k = 0;
+        for (int j = 0; j < mySpan; j++) {
+            QObject qObject = (QObject) myElements[(myHead + j) & mask];
+            if (qObject != null) {
+                elements[k] = qObject;
+                qObject.myQueueIndex = k;
+                k++;
+            }
+        }
+        myElements = elements;
+        myHead = 0;
+        mySpan = mySize;
+    }
+}
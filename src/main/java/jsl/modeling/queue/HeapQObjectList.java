@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.queue;
+
+import java.util.Arrays;
+
+/**
+ * Holds QObjects in a binary heap ordered by QObject.compareTo(), i.e. by
+ * priority, then time entered queue, then id. Adding, removing the first, and
+ * removing an arbitrary QObject are O(log n), as is restoring the order after
+ * a priority change. Positional access (get, indexOf, iteration) presents the
+ * QObjects in ranked order using a sorted copy that is built on demand and
+ * kept until the heap changes.
+ *
+ * @param <T> the type of QObject held
+ */
+final class HeapQObjectList<T extends QObject> extends QObjectList<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private QObject[] myHeap = new QObject[INITIAL_CAPACITY];
+
+    private int mySize;
+
+    /**
+     * The QObjects in ranked order, null if the heap changed since it was made
+     */
+    private QObject[] mySorted;
+
+    @Override
+    public int size() {
+        return mySize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if ((index < 0) || (index >= mySize)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mySize);
+        }
+        if (index == 0) {
+            return (T) myHeap[0];
+        }
+        return (T) sorted()[index];
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!contains(o)) {
+            return -1;
+        }
+        return Arrays.binarySearch(sorted(), (QObject) o);
+    }
+
+    @Override
+    boolean holds(QObject qObject) {
+        int i = qObject.myQueueIndex;
+        return (i >= 0) && (i < mySize) && (myHeap[i] == qObject);
+    }
+
+    /**
+     * @return the first QObject in ranked order or null if empty
+     */
+    @SuppressWarnings("unchecked")
+    T peekFirst() {
+        return mySize == 0 ? null : (T) myHeap[0];
+    }
+
+    /**
+     * @return the first QObject in ranked order, which is removed, or null if
+     * empty
+     */
+    T removeFirst() {
+        T qObject = peekFirst();
+        if (qObject != null) {
+            removeAt(0);
+        }
+        return qObject;
+    }
+
+    @Override
+    void insert(T qObject) {
+        if (mySize == myHeap.length) {
+            myHeap = Arrays.copyOf(myHeap, mySize << 1);
+        }
+        myHeap[mySize] = qObject;
+        qObject.myQueueIndex = mySize;
+        mySize++;
+        siftUp(mySize - 1);
+        changed();
+    }
+
+    @Override
+    boolean delete(T qObject) {
+        if (!holds(qObject)) {
+            return false;
+        }
+        removeAt(qObject.myQueueIndex);
+        return true;
+    }
+
+    @Override
+    void priorityChanged(T qObject) {
+        if (holds(qObject)) {
+            int i = siftUp(qObject.myQueueIndex);
+            siftDown(i);
+            changed();
+        }
+    }
+
+    @Override
+    void deleteAll() {
+        for (int i = 0; i < mySize; i++) {
+            myHeap[i].myQueueIndex = -1;
+            myHeap[i] = null;
+        }
+        mySize = 0;
+        changed();
+    }
+
+    private void removeAt(int i) {
+        QObject removed = myHeap[i];
+        removed.myQueueIndex = -1;
+        mySize--;
+        QObject last = myHeap[mySize];
+        myHeap[mySize] = null;
+        if (i != mySize) {
+            myHeap[i] = last;
+            last.myQueueIndex = i;
+            siftUp(siftDown(i));
+        }
+        changed();
+    }
+
+    /**
+     * @param i the position of the QObject to move toward the root
+     * @return the final position
+     */
+    private int siftUp(int i) {
+        QObject q = myHeap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            QObject p = myHeap[parent];
+            if (q.compareTo(p) >= 0) {
+                break;
+            }
+            myHeap[i] = p;
+            p.myQueueIndex = i;
+            i = parent;
+        }
+        myHeap[i] = q;
+        q.myQueueIndex = i;
+        return i;
+    }
+
+    /**
+     * @param i the position of the QObject to move toward the leaves
+     * @return the final position
+     */
+    private int siftDown(int i) {
+        QObject q = myHeap[i];
+        int half = mySize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            QObject c = myHeap[child];
+            int right = child + 1;
+            if ((right < mySize) && (c.compareTo(myHeap[right]) > 0)) {
+                child = right;
+                c = myHeap[child];
+            }
+            if (q.compareTo(c) <= 0) {
+                break;
+            }
+            myHeap[i] = c;
+            c.myQueueIndex = i;
+            i = child;
+        }
+        myHeap[i] = q;
+        q.myQueueIndex = i;
+        return i;
+    }
+
+    private QObject[] sorted() {
+        if (mySorted == null) {
+            mySorted = Arrays.copyOf(myHeap, mySize);
+            Arrays.sort(mySorted);
+        }
+        return mySorted;
+    }
+
+    private void changed() {
+        mySorted = null;
+        modCount++;
+    }
+}
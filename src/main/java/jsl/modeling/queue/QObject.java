@@ -22,6 +22,7 @@ import jsl.modeling.StateAccessorIfc;
 import jsl.utilities.GetValueIfc;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * QObject can be used as a base class for objects that need to be placed in
@@ -34,9 +35,10 @@ public class QObject implements GetNameIfc, Comparable<QObject> {
 
     /**
      * incremented to give a running total of the number of model QObject
-     * created
+     * created. Atomic because QObjects may be created by simulations
+     * executing on different threads, and compareTo() relies on unique ids.
      */
-    private static long myCounter_;
+    private static final AtomicLong myCounter_ = new AtomicLong();
 
     /**
      * The id of the QObject, currently if the QObject is the ith QObject
@@ -74,6 +76,19 @@ public class QObject implements GetNameIfc, Comparable<QObject> {
      */
     private Object myAttachedObject;
 
+    /**
+     * The position of the QObject within the data structure of the queue that
+     * holds it, -1 if not queued. Maintained by the queue so that the QObject
+     * can be located without searching.
+     */
+    int myQueueIndex = -1;
+
+    /**
+     * True while the QObject is held by a QObjectPool waiting to be reused.
+     * Maintained by the pool so that a double release can be detected.
+     */
+    boolean myPooledFlag;
+
     /**
      * can be used to time stamp the qObject
      */
@@ -276,11 +291,12 @@ public class QObject implements GetNameIfc, Comparable<QObject> {
         if (time < 0){
             throw new IllegalArgumentException("The creation time must be > 0.0");
         }
-        myCounter_ = myCounter_ + 1;
-        myId = myCounter_;
+        myId = myCounter_.incrementAndGet();
         setName(name);
         myPriority = 1;
         setQueue(null);
+        myQueueIndex = -1;
+        myPooledFlag = false;
         myAttachedObject = null;
         myValue = null;
         myCreationTime = time;
@@ -293,15 +309,24 @@ public class QObject implements GetNameIfc, Comparable<QObject> {
 
     }
 
+    /**
+     * Releases the references held to the queue, the attached object, and the
+     * value object, but keeps the name and the state so that the QObject can
+     * be reused via initialize()
+     */
+    protected final void clearReferences() {
+        myAttachedObject = null;
+        myValue = null;
+        setQueue(null);
+    }
+
     /**
      * Used to make the QObject not have any references, e.g. to a Queue and to
      * an Object that was queued
      * <p>
      */
     protected void setNulls() {
-        myAttachedObject = null;
-        myValue = null;
-        setQueue(null);
+        clearReferences();
         myName = null;
         myQueuedState = null;
     }
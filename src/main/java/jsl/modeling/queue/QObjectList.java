@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.queue;
+
+import java.util.AbstractList;
+
+/**
+ * The data structure that holds the QObjects of a Queue. Each QObject records
+ * its position within the structure (QObject.myQueueIndex), so membership tests
+ * and removal of an arbitrary QObject do not require a search. As a List, the
+ * structure is read only and presents the QObjects in the order defined by
+ * the queue discipline.
+ *
+ * @param <T> the type of QObject held
+ */
+abstract class QObjectList<T extends QObject> extends AbstractList<T> {
+
+    /**
+     * Adds the QObject to the structure
+     *
+     * @param qObject the QObject, must not be held by any structure
+     */
+    abstract void insert(T qObject);
+
+    /**
+     * Removes the QObject from the structure
+     *
+     * @param qObject the QObject
+     * @return true if the QObject was held and removed
+     */
+    abstract boolean delete(T qObject);
+
+    /**
+     * Removes the QObject at the index in list order
+     *
+     * @param index the index
+     * @return the QObject removed
+     */
+    T deleteAt(int index) {
+        T qObject = get(index);
+        delete(qObject);
+        return qObject;
+    }
+
+    /**
+     * Removes all QObjects from the structure
+     */
+    abstract void deleteAll();
+
+    /**
+     * Called after the priority of a held QObject has changed
+     *
+     * @param qObject the QObject
+     */
+    void priorityChanged(T qObject) {
+    }
+
+    /**
+     * @param qObject the QObject
+     * @return true if the QObject is held by this structure
+     */
+    abstract boolean holds(QObject qObject);
+
+    @Override
+    public final boolean contains(Object o) {
+        return (o instanceof QObject) && holds((QObject) o);
+    }
+
+    @Override
+    public final int lastIndexOf(Object o) {
+        // a QObject can be held at most once
+        return indexOf(o);
+    }
+}
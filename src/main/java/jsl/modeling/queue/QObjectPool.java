@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.queue;
+
+import jsl.modeling.IllegalStateException;
+import jsl.modeling.ModelElement;
+import jsl.utilities.reporting.JSL;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * A QObjectPool creates plain QObjects and holds released QObjects so that
+ * they can be reused rather than created again. This is intended for station
+ * based models that route many QObjects through a network of stations. The
+ * last receiver of the network should release the QObject back to the pool,
+ * e.g. station.setNextReceiver(pool::release).
+ * <p>
+ * A released QObject is reset: its queue, attached object, and value object
+ * references are cleared. When it is reused, it is initialized as if newly
+ * created, i.e. it receives a new id, name, and creation time. Thus, clients
+ * must not keep or use a reference to a QObject after releasing it.
+ * <p>
+ * If the leak detection option is on, the pool tracks the QObjects that it
+ * created during each replication and at the end of the replication reports
+ * (via JSL.LOGGER) those that were never released.
+ */
+public class QObjectPool extends ModelElement {
+
+    /**
+     * Holds released QObjects for reuse
+     */
+    private final ArrayDeque<QObject> myPool;
+
+    /**
+     * The maximum number of QObjects held by the pool
+     */
+    private int myMaxPoolSize = 1024;
+
+    /**
+     * The number of QObjects created by the pool
+     */
+    private long myNumCreated;
+
+    /**
+     * The number of QObjects taken from the pool rather than created
+     */
+    private long myNumReused;
+
+    /**
+     * The QObjects created and not yet released during the current
+     * replication, null if leak detection is off
+     */
+    private Set<QObject> myLiveQObjects;
+
+    /**
+     * The number of QObjects that were not released by the end of the last
+     * replication, when leak detection is on
+     */
+    private int myNumLeaked;
+
+    /**
+     * @param parent the parent model element
+     */
+    public QObjectPool(ModelElement parent) {
+        this(parent, null);
+    }
+
+    /**
+     * @param parent the parent model element
+     * @param name the name of the pool
+     */
+    public QObjectPool(ModelElement parent, String name) {
+        super(parent, name);
+        myPool = new ArrayDeque<>();
+    }
+
+    /**
+     * @return a QObject with the creation time set to the current time
+     */
+    public final QObject acquire() {
+        return acquire(null);
+    }
+
+    /**
+     * @param name the name of the QObject
+     * @return a QObject with the creation time set to the current time
+     */
+    public final QObject acquire(String name) {
+        QObject qObj = myPool.poll();
+        if (qObj == null) {
+            qObj = new QObject(getTime(), name);
+            myNumCreated = myNumCreated + 1;
+        } else {
+            qObj.initialize(getTime(), name);
+            myNumReused = myNumReused + 1;
+        }
+        if (myLiveQObjects != null) {
+            myLiveQObjects.add(qObj);
+        }
+        return qObj;
+    }
+
+    /**
+     * Returns the QObject to the pool. The QObject must not be in a queue and
+     * must not have already been released. Only plain QObjects, i.e. not
+     * instances of subclasses of QObject, may be released, since the pool
+     * only creates plain QObjects.
+     *
+     * @param qObj the QObject to release, must not be null
+     */
+    public final void release(QObject qObj) {
+        if (qObj == null) {
+            throw new IllegalArgumentException("The supplied QObject was null");
+        }
+        if (qObj.getClass() != QObject.class) {
+            throw new IllegalArgumentException("The QObject " + qObj.getName() + " of type "
+                    + qObj.getClass().getName() + " was not a plain QObject and cannot be released to the pool "
+                    + getName());
+        }
+        if (qObj.myPooledFlag) {
+            throw new IllegalStateException("The QObject " + qObj.getName()
+                    + " was already released to the pool " + getName());
+        }
+        if (qObj.isQueued()) {
+            throw new IllegalStateException("Attempted to release the QObject "
+                    + qObj.getName() + " while it was in a queue");
+        }
+        if (myLiveQObjects != null) {
+            myLiveQObjects.remove(qObj);
+        }
+        qObj.clearReferences();
+        qObj.myPooledFlag = true;
+        if (myPool.size() < myMaxPoolSize) {
+            myPool.push(qObj);
+        }
+    }
+
+    /**
+     * @param size the maximum number of QObjects held by the pool, must be &gt; 0
+     */
+    public final void setMaximumPoolSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The maximum pool size must be > 0");
+        }
+        myMaxPoolSize = size;
+        while (myPool.size() > myMaxPoolSize) {
+            myPool.pop();
+        }
+    }
+
+    /**
+     * @return the maximum number of QObjects held by the pool
+     */
+    public final int getMaximumPoolSize() {
+        return myMaxPoolSize;
+    }
+
+    /**
+     * @return the number of QObjects currently held by the pool
+     */
+    public final int getPoolSize() {
+        return myPool.size();
+    }
+
+    /**
+     * @return the number of QObjects created by the pool since it was
+     * constructed
+     */
+    public final long getNumberCreated() {
+        return myNumCreated;
+    }
+
+    /**
+     * @return the number of QObjects taken from the pool since it was
+     * constructed
+     */
+    public final long getNumberReused() {
+        return myNumReused;
+    }
+
+    /**
+     * @param flag true means that QObjects not released by the end of each
+     * replication are reported
+     */
+    public final void setLeakDetectionOption(boolean flag) {
+        if (flag) {
+            if (myLiveQObjects == null) {
+                myLiveQObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+        } else {
+            myLiveQObjects = null;
+        }
+    }
+
+    /**
+     * @return true if QObjects not released by the end of each replication
+     * are reported
+     */
+    public final boolean getLeakDetectionOption() {
+        return myLiveQObjects != null;
+    }
+
+    /**
+     * @return the number of QObjects that were created but not released by the
+     * end of the last replication, 0 if leak detection is off
+     */
+    public final int getNumberLeaked() {
+        return myNumLeaked;
+    }
+
+    @Override
+    protected void initialize() {
+        myNumLeaked = 0;
+        if (myLiveQObjects != null) {
+            myLiveQObjects.clear();
+        }
+    }
+
+    @Override
+    protected void replicationEnded() {
+        if ((myLiveQObjects == null) || myLiveQObjects.isEmpty()) {
+            return;
+        }
+        myNumLeaked = myLiveQObjects.size();
+        JSL.LOGGER.warn("QObjectPool {}: {} QObjects were not released by the end of replication {}",
+                getName(), myNumLeaked, getCurrentReplicationNumber());
+        myLiveQObjects.clear();
+    }
+
+}
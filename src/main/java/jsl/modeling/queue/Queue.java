@@ -35,6 +35,15 @@ import java.util.function.Predicate;
  * priority last using the compareTo method of the QObject. Ties in priority
  * give preference to time of creation, then to order of creation.
  * RandomDiscipline causes the elements to be randomly selected (uniformly).
+ * <p>
+ * The FIFO, LIFO, and RANDOM disciplines hold the QObjects in a circular array
+ * in order of arrival. The RANKED discipline holds them in a binary heap, so
+ * that enqueue, removeNext(), and changePriority() are O(log n) rather than
+ * O(n). Each QObject records its position in the data structure, so contains()
+ * and remove(QObject) do not search the queue. Positional methods (peekAt(),
+ * indexOf(), remove(int), iteration) present the QObjects in the order of the
+ * discipline; for a RANKED queue this order is materialized when first needed
+ * after a change.
  *
  * @param <T>
  */
@@ -60,9 +69,51 @@ public class Queue<T extends QObject> extends ModelElement implements
     }
 
     /**
-     * The list of items in the queue.
+     * The items in the queue, held in the data structure used by the current
+     * discipline
+     */
+    private QObjectList<T> myList;
+
+    /**
+     * A read only view of the items in the queue that remains valid when the
+     * discipline, and thus the data structure, changes
      */
-    protected List<T> myList;
+    private final List<T> myView = new AbstractList<T>() {
+        @Override
+        public T get(int index) {
+            return myList.get(index);
+        }
+
+        @Override
+        public int size() {
+            return myList.size();
+        }
+
+        @Override
+        public ListIterator<T> listIterator(int index) {
+            return Collections.unmodifiableList(myList).listIterator(index);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return myList.contains(o);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return myList.indexOf(o);
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return myList.lastIndexOf(o);
+        }
+    };
 
     /**
      * The current QueueDiscipline for this Queue.
@@ -144,9 +195,9 @@ public class Queue<T extends QObject> extends ModelElement implements
      */
     public Queue(ModelElement parent, String name, Discipline discipline, boolean statOption) {
         super(parent, name);
-        myList = new LinkedList<>();
         setInitialDiscipline(discipline);
         myDiscipline = myInitialDiscipline;
+        myDiscipline.switchDiscipline();
         myCurDiscipline = discipline;
         if (statOption) {
             myResponses = new QueueResponse(this);
@@ -252,7 +303,7 @@ public class Queue<T extends QObject> extends ModelElement implements
     @Override
     protected void removedFromModel() {
         super.removedFromModel();
-        myList.clear();
+        myList.deleteAll();
         myList = null;
         myDiscipline = null;
         myInitialDiscipline = null;
@@ -276,7 +327,19 @@ public class Queue<T extends QObject> extends ModelElement implements
      * @return a unmodifiable view of the underlying list for the Queue
      */
     public final List<T> getUnmodifiableList() {
-        return Collections.unmodifiableList(myList);
+        return myView;
+    }
+
+    /**
+     * Allows subclasses to access the data structure holding the items in the
+     * order of the current discipline. The structure is read only, items must
+     * be added and removed via the methods of the queue, and it is replaced
+     * when the discipline changes.
+     *
+     * @return the data structure holding the items in the queue
+     */
+    protected final List<T> getList() {
+        return myList;
     }
 
     /**
@@ -642,8 +705,7 @@ public class Queue<T extends QObject> extends ModelElement implements
      */
     public final boolean remove(Predicate<T> condition, Collection<T> deletedItems, boolean waitStats) {
         boolean found = false;
-        for (int i = 0; i < myList.size(); i++) {
-            T qo = myList.get(i);
+        for (T qo : new ArrayList<>(myList)) {
             if (condition.test(qo)) {
                 found = true;
                 deletedItems.add(qo);
@@ -686,7 +748,7 @@ public class Queue<T extends QObject> extends ModelElement implements
             throw new IllegalArgumentException("The QObject qObj must be non-null");
         }
 
-        if (myList.remove(qObj)) {
+        if (myList.delete(qObj)) {
             if (waitStats) {
                 myStatus = Status.DEQUEUED;
             } else {
@@ -738,7 +800,7 @@ public class Queue<T extends QObject> extends ModelElement implements
      * @return the element previously at the specified position
      */
     public final T remove(int index, boolean waitStats) {
-        T qObj = myList.remove(index);
+        T qObj = myList.deleteAt(index);
         if (waitStats) {
             myStatus = Status.DEQUEUED;
         } else {
@@ -930,7 +992,7 @@ public class Queue<T extends QObject> extends ModelElement implements
         for (T qObj : myList) {
             qObj.exitQueue(getTime());
         }
-        myList.clear();
+        myList.deleteAll();
         myStatus = Queue.Status.IGNORE;
         notifyQueueListeners(null);
     }
@@ -1104,10 +1166,27 @@ public class Queue<T extends QObject> extends ModelElement implements
          * Provides a "hook" method to be called when switching from one
          * discipline to another The implementor should use this method to
          * ensure that the underlying queue is in a state that allows it to be
-         * managed by this queue discipline
+         * managed by this queue discipline, e.g. by moving the items into the
+         * data structure that the discipline uses with useList()
          * <p>
          */
-        protected void switchDiscipline() {
+        abstract protected void switchDiscipline();
+
+        /**
+         * Makes the supplied structure hold the items of the queue, in their
+         * current order
+         *
+         * @param list the data structure to use, empty
+         */
+        protected final void useList(QObjectList<T> list) {
+            if (myList != null) {
+                List<T> items = new ArrayList<>(myList);
+                myList.deleteAll();
+                for (T qObject : items) {
+                    list.insert(qObject);
+                }
+            }
+            myList = list;
         }
 
         /**
@@ -1133,99 +1212,71 @@ public class Queue<T extends QObject> extends ModelElement implements
 
     }
 
-    private class FIFODiscipline extends QueueDiscipline {
+    abstract private class ArrayDiscipline extends QueueDiscipline {
+
+        protected ArrayQObjectList<T> myArray;
 
         @Override
         protected void add(T qObject) {
-            myList.add(qObject);
+            myArray.addLast(qObject);
         }
 
         @Override
-        protected T peekNext() {
-            if (myList.isEmpty()) {
-                return null;
+        protected void switchDiscipline() {
+            if (myList instanceof ArrayQObjectList) {
+                myArray = (ArrayQObjectList<T>) myList;
+            } else {
+                myArray = new ArrayQObjectList<>();
+                useList(myArray);
             }
-            return myList.get(0);
+        }
+    }
+
+    private class FIFODiscipline extends ArrayDiscipline {
+
+        @Override
+        protected T peekNext() {
+            return myArray.peekFirst();
         }
 
         @Override
         protected T removeNext() {
-            if (myList.isEmpty()) {
-                return null;
-            }
-            return myList.remove(0);
+            return myArray.removeFirst();
         }
 
     }
 
-    private class LIFODiscipline extends QueueDiscipline {
-
-        @Override
-        protected void add(T qObject) {
-            myList.add(qObject);
-        }
+    private class LIFODiscipline extends ArrayDiscipline {
 
         @Override
         protected T peekNext() {
-            if (myList.isEmpty()) {
-                return null;
-            }
-            return myList.get(myList.size() - 1);
+            return myArray.peekLast();
         }
 
         @Override
         protected T removeNext() {
-            if (myList.isEmpty()) {
-                return null;
-            }
-            return myList.remove(myList.size() - 1);
+            return myArray.removeLast();
         }
 
     }
 
     private class RankedDiscipline extends QueueDiscipline {
 
+        protected HeapQObjectList<T> myHeap;
+
         @Override
         protected void add(T qObject) {
-
-            // nothing in queue, just add it, and return
-            if (myList.isEmpty()) {
-                myList.add(qObject);
-                return;
-            }
-
-            // might as well check for worse case, if larger than the largest then put it at the end and return
-            if (qObject.compareTo(myList.get(myList.size() - 1)) >= 0) {
-                myList.add(qObject);
-                return;
-            }
-
-            // now iterate through the list
-            for (ListIterator<T> i = myList.listIterator(); i.hasNext();) {
-                if (qObject.compareTo(i.next()) < 0) {
-                    // next() move the iterator forward, if it is < what was returned by next(), then it
-                    // must be inserted at the previous index
-                    myList.add(i.previousIndex(), qObject);
-                    return;
-                }
-            }
-
+            myHeap.insert(qObject);
         }
 
         @Override
         protected T peekNext() {
-            if (myList.isEmpty()) {
-                return null;
-            }
-            return myList.get(0);
+            return myHeap.peekFirst();
         }
 
         @Override
         protected T removeNext() {
-            if (myList.isEmpty()) {
-                return null;
-            }
-            return myList.remove(0);
+            return myHeap.removeFirst();
         }
 
         /**
@@ -1236,29 +1287,29 @@ public class Queue<T extends QObject> extends ModelElement implements
          */
         @Override
         protected void switchDiscipline() {
-            Collections.sort(myList);
+            if (myList instanceof HeapQObjectList) {
+                myHeap = (HeapQObjectList<T>) myList;
+            } else {
+                myHeap = new HeapQObjectList<>();
+                useList(myHeap);
+            }
         }
 
         @Override
         protected void changePriority(T qObject, int priority) {
             super.changePriority(qObject, priority);
-            Collections.sort(myList);
+            myHeap.priorityChanged(qObject);
         }
 
     }
 
-    private class RandomDiscipline extends QueueDiscipline implements RandomElementIfc {
+    private class RandomDiscipline extends ArrayDiscipline implements RandomElementIfc {
 
         private boolean myResetStartStreamOption = true;
         private boolean myResetNextSubStreamOption = true;
         private int myNext;
         private final RNStreamIfc myStream = JSLRandom.nextRNStream();
 
-        @Override
-        protected void add(T qObject) {
-            myList.add(qObject);
-        }
-
         @Override
         protected T peekNext() {
 
@@ -1271,7 +1322,7 @@ public class Queue<T extends QObject> extends ModelElement implements
             } else {
                 myNext = myStream.randInt(0, myList.size() - 1);
             }
-            return myList.get(myNext);// randomly pick it from the range available
+            return myArray.get(myNext);// randomly pick it from the range available
         }
 
         @Override
@@ -1283,7 +1334,7 @@ public class Queue<T extends QObject> extends ModelElement implements
 
             peekNext(); // sets the next randomly
 
-            return myList.remove(myNext); // now returns the next
+            return myArray.deleteAt(myNext); // now returns the next
         }
 
         @Override
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.resource;
+
+import java.util.List;
+
+/**
+ * Selects idle resource units in a round-robin fashion. The search for an
+ * idle unit starts after the unit that was last selected and wraps around
+ * to the beginning of the units. When used with a ResourcePool, the
+ * selection takes O(log n) time.
+ * <p>
+ * The rule remembers the position of the last selected unit, so an instance
+ * should not be shared between pools.
+ *
+ * @author rossetti
+ */
+public class CyclicResourceUnitSelectionRule implements ResourceUnitSelectionRuleIfc {
+
+    private int myLastPosition = -1;
+
+    @Override
+    public ResourceUnit selectAvailableResource(List<ResourceUnit> list) {
+        int n = list.size();
+        if (n == 0) {
+            return null;
+        }
+        int start = (myLastPosition + 1) % n;
+        for (int i = 0; i < n; i++) {
+            int p = (start + i) % n;
+            ResourceUnit ru = list.get(p);
+            if (ru.isIdle()) {
+                myLastPosition = p;
+                return ru;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ResourceUnit selectAvailableResource(ResourceUnitIndexIfc index) {
+        int n = index.getNumUnits();
+        if (n == 0) {
+            return null;
+        }
+        ResourceUnit ru = index.findNextIdle((myLastPosition + 1) % n);
+        if (ru != null) {
+            myLastPosition = index.getPosition(ru);
+        }
+        return ru;
+    }
+
+    /**
+     * Causes the next search to start with the first unit
+     */
+    public final void reset() {
+        myLastPosition = -1;
+    }
+}
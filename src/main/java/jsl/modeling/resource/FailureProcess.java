@@ -499,6 +499,8 @@ abstract public class FailureProcess extends SchedulingElement {
     }
 
     private void startEvent(JSLEvent event) {
+        // the executed event may be reused by the executive's event pool
+        myStartEvent = null;
         fail();
     }
 
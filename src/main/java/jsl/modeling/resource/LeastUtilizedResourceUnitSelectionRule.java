@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.resource;
+
+import java.util.List;
+
+/**
+ * Selects the idle resource unit that has been busy for the least amount of
+ * time. Ties are broken by the order of the units. When used with a ResourcePool,
+ * the selection takes O(log n) time.
+ *
+ * @author rossetti
+ */
+public class LeastUtilizedResourceUnitSelectionRule implements ResourceUnitSelectionRuleIfc {
+
+    @Override
+    public ResourceUnit selectAvailableResource(List<ResourceUnit> list) {
+        ResourceUnit selected = null;
+        double t = Double.POSITIVE_INFINITY;
+        for (ResourceUnit ru : list) {
+            if (ru.isIdle() && (ru.getTotalTimeBusy() < t)) {
+                t = ru.getTotalTimeBusy();
+                selected = ru;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public ResourceUnit selectAvailableResource(ResourceUnitIndexIfc index) {
+        return index.findLeastUtilizedIdle();
+    }
+}
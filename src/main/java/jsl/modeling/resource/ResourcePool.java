@@ -51,12 +51,19 @@ import java.util.*;
  * the average number active. The average number active is the number of units
  * minus the average number of inactive units and average number of failed units.
  * Thus, we assume that resources cannot be busy if they are failed or inactive.
+ * <p>
+ * The pool keeps an index of the states of its units that is updated when a unit
+ * notifies its update observers. Thus, the counts of the units in each state are
+ * available in constant time and idle units can be selected without scanning
+ * the units. The units in the pool must not have their update notification
+ * flag turned off.
  *
  * @author rossetti
  */
 public class ResourcePool extends ModelElement implements RandomElementIfc {
 
     protected final List<ResourceUnit> myResources;
+    private final ResourceUnitIndex myIndex;
     private ResourceUnitSelectionRuleIfc mySelectionRule;
     protected final ResourceUnitObserver myRUObserver;
     protected final TimeWeighted myNumBusy;
@@ -114,7 +121,8 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
                         boolean statOption, String name) {
         super(parent, name);
         myRUObserver = new ResourceUnitObserver();
-        myResources = new LinkedList<>();
+        myResources = new ArrayList<>();
+        myIndex = new ResourceUnitIndex();
         addAll(units);
         myNumBusy = new TimeWeighted(this, getName() + ":NumBusy");
         myNumIdle = new TimeWeighted(this, getName() + ":NumIdle");
@@ -194,52 +202,28 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
      * @return the number of currently idle units
      */
     public final int getNumIdle() {
-        int n = 0;
-        for (ResourceUnit ru : myResources) {
-            if (ru.isIdle()) {
-                n++;
-            }
-        }
-        return n;
+        return myIndex.getNumIdle();
     }
 
     /**
      * @return the number of currently busy units
      */
     public final int getNumBusy() {
-        int n = 0;
-        for (ResourceUnit ru : myResources) {
-            if (ru.isBusy()) {
-                n++;
-            }
-        }
-        return n;
+        return myIndex.getNumBusy();
     }
 
     /**
      * @return the number of currently failed units
      */
     public final int getNumFailed() {
-        int n = 0;
-        for (ResourceUnit ru : myResources) {
-            if (ru.isFailed()) {
-                n++;
-            }
-        }
-        return n;
+        return myIndex.getNumFailed();
     }
 
     /**
      * @return the number of currently inactive units
      */
     public final int getNumInactive() {
-        int n = 0;
-        for (ResourceUnit ru : myResources) {
-            if (ru.isInactive()) {
-                n++;
-            }
-        }
-        return n;
+        return myIndex.getNumInactive();
     }
 
     /**
@@ -328,7 +312,7 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
      * @return true if in the pool
      */
     public final boolean contains(ResourceUnit unit) {
-        return myResources.contains(unit);
+        return myIndex.contains(unit);
     }
 
     /**
@@ -338,6 +322,13 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
         return Collections.unmodifiableList(myResources);
     }
 
+    /**
+     * @return an indexed view of the states of the resource units
+     */
+    public final ResourceUnitIndexIfc getUnitIndex() {
+        return myIndex;
+    }
+
     /**
      * Tells all ResourceUnits in the pool that are not already using a Schedule
      * to use the supplied schedule
@@ -377,10 +368,11 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
         if (unit == null) {
             throw new IllegalArgumentException("The resource unit was null!");
         }
-        if (myResources.contains(unit)) {
+        if (myIndex.contains(unit)) {
             throw new IllegalArgumentException("The resource unit was already added!");
         }
         unit.addObserver(myRUObserver);
+        myIndex.add(unit);
         return myResources.add(unit);
     }
 
@@ -407,14 +399,9 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
      */
     public ResourceUnit selectResourceUnit() {
         if (mySelectionRule != null) {
-            return mySelectionRule.selectAvailableResource(myResources);
+            return mySelectionRule.selectAvailableResource(myIndex);
         }
-        for (ResourceUnit ru : myResources) {
-            if (ru.isIdle()) {
-                return ru;
-            }
-        }
-        return null;
+        return myIndex.findFirstIdle();
     }
 
     /**
@@ -423,8 +410,14 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
      * @return the selected resource unit or null
      */
     public ResourceUnit randomlySelectResourceUnit() {
-        List<ResourceUnit> list = findIdleResourceUnits();
-        return JSLRandom.randomlySelect(list, getRandomness());
+        int n = myIndex.getNumIdle();
+        if (n == 0) {
+            return null;
+        }
+        if (n == 1) {
+            return myIndex.getIdleUnit(0);
+        }
+        return myIndex.getIdleUnit(getRandomness().randInt(0, n - 1));
     }
 
     /**
@@ -441,11 +434,10 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
      * @return returns a list of idle resource units. It may be empty
      */
     public List<ResourceUnit> findIdleResourceUnits() {
-        List<ResourceUnit> list = new ArrayList<>();
-        for (ResourceUnit ru : myResources) {
-            if (ru.isIdle()) {
-                list.add(ru);
-            }
+        int n = myIndex.getNumIdle();
+        List<ResourceUnit> list = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            list.add(myIndex.getIdleUnit(k));
         }
         return list;
     }
@@ -454,12 +446,7 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
      * @return the first idle resource found or null
      */
     public ResourceUnit findFirstIdle() {
-        for (ResourceUnit ru : myResources) {
-            if (ru.isIdle()) {
-                return ru;
-            }
-        }
-        return null;
+        return myIndex.findFirstIdle();
     }
 
     @Override
@@ -602,10 +589,24 @@ public class ResourcePool extends ModelElement implements RandomElementIfc {
         protected void update(ModelElement m, Object arg) {
             super.update(m, arg);
             ResourceUnit ru = (ResourceUnit) m;
+            myIndex.update(ru);
             collectStateStatistics(ru);
             resourceUnitChanged(ru);
         }
 
+        @Override
+        protected void initialize(ModelElement m, Object arg) {
+            super.initialize(m, arg);
+            // re-keys the unit for the new replication
+            myIndex.update((ResourceUnit) m);
+        }
+
+        @Override
+        protected void warmUp(ModelElement m, Object arg) {
+            super.warmUp(m, arg);
+            myIndex.resetBusyTime((ResourceUnit) m);
+        }
+
     }
 
     /**
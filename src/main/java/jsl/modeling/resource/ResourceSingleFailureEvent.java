@@ -394,6 +394,8 @@ public class ResourceSingleFailureEvent extends SchedulingElement {
     }
 
     private void startEvent(JSLEvent event) {
+        // the executed event may be reused by the executive's event pool
+        myStartEvent = null;
         // scheduled when failure is to start
 //        System.out.printf("%f > starting the failure. %n", getTime());
 
@@ -407,6 +409,7 @@ public class ResourceSingleFailureEvent extends SchedulingElement {
     }
 
     private void endEvent(JSLEvent event) {
+        myEndEvent = null;
         // the end of the failure
 //        System.out.printf("%f > ending the failure. %n", getTime());
         failureEnded(event);
@@ -1305,7 +1305,7 @@ public class ResourceUnit extends SchedulingElement implements SeizeableIfc {
 
     /** Returns the current down time event if it has been scheduled
      *
-     * @return the event
+     * @return the event, null if the down time is not scheduled
      */
     protected final JSLEvent getCurrentDownTimeEvent(){
         return myCurrentDownTimeEvent;
@@ -1476,7 +1476,8 @@ public class ResourceUnit extends SchedulingElement implements SeizeableIfc {
      */
     protected void inactivateWhileInactive(InactivePeriodNotice notice) {
         myCurrentInactivePeriodNotice.cancel();
-        myCurrentInactivePeriodEvent.setCanceledFlag(true);
+        cancelScheduledEvent(myCurrentInactivePeriodEvent);
+        myCurrentInactivePeriodEvent = null;
         myCurrentInactivePeriodNotice = notice;
         myCurrentInactivePeriodNotice.activate();
         myCurrentInactivePeriodEvent = scheduleEvent(myEndInactivePeriodAction,
@@ -1538,15 +1539,25 @@ public class ResourceUnit extends SchedulingElement implements SeizeableIfc {
         preemptRequest();
     }
 
+    /**
+     * Cancels the event, removing it from the calendar if possible, provided that
+     * it is still scheduled
+     *
+     * @param event the event, may be null
+     */
+    private void cancelScheduledEvent(JSLEvent event) {
+        if ((event != null) && event.isScheduled()) {
+            cancelEvent(event);
+        }
+    }
+
     /**
      * Called from preemptCurrentRequest(). How to preempt a request that must
      * be canceled.
      */
     protected void preemptCancelableRequest() {
         myCurrentRequest.preempt(getTime());
-        if (myCurrentRequestEvent != null) {
-            myCurrentRequestEvent.setCanceledFlag(true);
-        }
+        cancelScheduledEvent(myCurrentRequestEvent);
         myCurrentRequestEvent = null;
         myCurrentRequest = null;
     }
@@ -1560,9 +1571,7 @@ public class ResourceUnit extends SchedulingElement implements SeizeableIfc {
         myPreemptedRequest = myCurrentRequest;
         myCurrentRequest.preempt(getTime());
         // cancel the event of current request
-        if (myCurrentRequestEvent != null) {
-            myCurrentRequestEvent.setCanceledFlag(true);
-        }
+        cancelScheduledEvent(myCurrentRequestEvent);
         myCurrentRequestEvent = null;
         myCurrentRequest = null;
     }
@@ -1728,9 +1737,8 @@ public class ResourceUnit extends SchedulingElement implements SeizeableIfc {
                         + "to release is not the current busy request of the resource.");
             }
             // must be current request, cancel the event
-            if (myCurrentRequestEvent != null) {
-                myCurrentRequestEvent.setCanceledFlag(true);
-            }
+            cancelScheduledEvent(myCurrentRequestEvent);
+            myCurrentRequestEvent = null;
             // act like request was completed naturally
             completeRequest(request);
         }
@@ -1746,9 +1754,7 @@ public class ResourceUnit extends SchedulingElement implements SeizeableIfc {
             } else {
 
                 // request is current request, cancel the event
-                if (myCurrentRequestEvent != null) {
-                    myCurrentRequestEvent.setCanceledFlag(true);
-                }
+                cancelScheduledEvent(myCurrentRequestEvent);
                 myCurrentRequestEvent = null;
                 myCurrentRequest = null;
                 // stopped working on current request, need to check for work
@@ -1870,6 +1876,10 @@ public class ResourceUnit extends SchedulingElement implements SeizeableIfc {
         public void action(JSLEvent evt) {
             //the request is finished with the resource
             //JSL.out.println(getTime() + " > ResourceUnit.EndRequestUsageAction.action(JSLEvent)");
+            // the executed event may be reused by the executive's event pool
+            if (evt == myCurrentRequestEvent) {
+                myCurrentRequestEvent = null;
+            }
             myCurrentState.completeRequest(myCurrentRequest);
         }
     }
@@ -1879,6 +1889,9 @@ public class ResourceUnit extends SchedulingElement implements SeizeableIfc {
         @Override
         public void action(JSLEvent evt) {
             // the failure notice has completed its downtime
+            if (evt == myCurrentDownTimeEvent) {
+                myCurrentDownTimeEvent = null;
+            }
             myCurrentState.endFailure(myCurrentFailureNotice);
         }
     }
@@ -1887,6 +1900,9 @@ public class ResourceUnit extends SchedulingElement implements SeizeableIfc {
 
         @Override
         public void action(JSLEvent evt) {
+            if (evt == myCurrentInactivePeriodEvent) {
+                myCurrentInactivePeriodEvent = null;
+            }
             myCurrentState.activate(myCurrentInactivePeriodNotice);
         }
 
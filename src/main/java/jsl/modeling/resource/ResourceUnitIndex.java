@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Tracks the states of a set of resource units incrementally. The index must be
+ * told when a unit may have changed state (update()) and when the busy time of a
+ * unit was reset (resetBusyTime()). The state recorded for each unit is compared
+ * to the unit's current state, so extra calls are harmless. An idle unit whose
+ * time entered idle or busy time no longer matches the recorded values, e.g.
+ * because it was initialized for a new replication, is re-keyed by update().
+ * <p>
+ * The idle units are held in three structures: a Fenwick tree over the positions
+ * for rank and cyclic searches, a linked list ordered by the time at which the
+ * units became idle, and a sorted set keyed by the busy time of the unit when it became idle.
+ */
+final class ResourceUnitIndex implements ResourceUnitIndexIfc {
+
+    private static final int IDLE = 0;
+    private static final int BUSY = 1;
+    private static final int FAILED = 2;
+    private static final int INACTIVE = 3;
+    private static final int OTHER = 4;
+
+    private final List<ResourceUnit> myUnits = new ArrayList<>();
+
+    private final List<ResourceUnit> myUnmodifiableUnits = Collections.unmodifiableList(myUnits);
+
+    private final Map<ResourceUnit, Integer> myPositions = new HashMap<>();
+
+    private final int[] myCounts = new int[5];
+
+    /**
+     * The recorded state of the unit at each position
+     */
+    private int[] myStates = new int[16];
+
+    /**
+     * Fenwick tree (1-based) over the idle indicators of the positions
+     */
+    private int[] myTree = new int[myStates.length + 1];
+
+    /**
+     * Links of the idle units ordered by the time at which they became idle
+     */
+    private int[] myPrev = new int[myStates.length];
+    private int[] myNext = new int[myStates.length];
+    private int myHead = -1;
+    private int myTail = -1;
+
+    /**
+     * The time at which the unit became idle
+     */
+    private double[] myIdleTimes = new double[myStates.length];
+
+    /**
+     * The busy time of the unit when it became idle
+     */
+    private double[] myBusyTimes = new double[myStates.length];
+
+    private final TreeSet<Integer> myByBusyTime = new TreeSet<>((a, b) -> {
+        int c = Double.compare(myBusyTimes[a], myBusyTimes[b]);
+        return (c != 0) ? c : Integer.compare(a, b);
+    });
+
+    /**
+     * @param unit the unit to add, must not be null or already added
+     */
+    void add(ResourceUnit unit) {
+        int p = myUnits.size();
+        if (p == myStates.length) {
+            grow();
+        }
+        myUnits.add(unit);
+        myPositions.put(unit, p);
+        myStates[p] = OTHER;
+        myCounts[OTHER]++;
+        update(unit);
+    }
+
+    /**
+     * @param unit the unit
+     * @return true if the unit is indexed
+     */
+    boolean contains(ResourceUnit unit) {
+        return myPositions.containsKey(unit);
+    }
+
+    /**
+     * Records the current state of the unit
+     *
+     * @param unit the unit, must be indexed
+     */
+    void update(ResourceUnit unit) {
+        int p = myPositions.get(unit);
+        int now = stateOf(unit);
+        int was = myStates[p];
+        if (now == was) {
+            if (now == IDLE) {
+                refreshIdle(p, unit);
+            }
+            return;
+        }
+        myCounts[was]--;
+        myCounts[now]++;
+        myStates[p] = now;
+        if (was == IDLE) {
+            removeIdle(p);
+        } else if (now == IDLE) {
+            addIdle(p, unit);
+        }
+    }
+
+    /**
+     * Called when the busy time of the unit has been reset, e.g. at the end of the
+     * warm up period, so that the unit is re-keyed if it is idle
+     *
+     * @param unit the unit, must be indexed
+     */
+    void resetBusyTime(ResourceUnit unit) {
+        int p = myPositions.get(unit);
+        if (myStates[p] == IDLE) {
+            myByBusyTime.remove(p);
+            myBusyTimes[p] = unit.getTotalTimeBusy();
+            myByBusyTime.add(p);
+        }
+    }
+
+    @Override
+    public List<ResourceUnit> getUnits() {
+        return myUnmodifiableUnits;
+    }
+
+    @Override
+    public int getNumUnits() {
+        return myUnits.size();
+    }
+
+    @Override
+    public int getNumIdle() {
+        return myCounts[IDLE];
+    }
+
+    @Override
+    public int getNumBusy() {
+        return myCounts[BUSY];
+    }
+
+    @Override
+    public int getNumFailed() {
+        return myCounts[FAILED];
+    }
+
+    @Override
+    public int getNumInactive() {
+        return myCounts[INACTIVE];
+    }
+
+    @Override
+    public int getPosition(ResourceUnit unit) {
+        Integer p = myPositions.get(unit);
+        return (p == null) ? -1 : p;
+    }
+
+    @Override
+    public ResourceUnit getUnit(int position) {
+        return myUnits.get(position);
+    }
+
+    @Override
+    public ResourceUnit getIdleUnit(int k) {
+        if ((k < 0) || (k >= getNumIdle())) {
+            throw new IndexOutOfBoundsException("k = " + k + ", number idle = " + getNumIdle());
+        }
+        return myUnits.get(select(k));
+    }
+
+    @Override
+    public ResourceUnit findNextIdle(int position) {
+        if ((position < 0) || (position > getNumUnits())) {
+            throw new IndexOutOfBoundsException("position = " + position + ", number of units = " + getNumUnits());
+        }
+        int n = getNumIdle();
+        if (n == 0) {
+            return null;
+        }
+        int k = prefixSum(position);
+        return myUnits.get(select(k < n ? k : 0));
+    }
+
+    @Override
+    public ResourceUnit findLongestIdle() {
+        return (myHead < 0) ? null : myUnits.get(myHead);
+    }
+
+    @Override
+    public ResourceUnit findLeastUtilizedIdle() {
+        return myByBusyTime.isEmpty() ? null : myUnits.get(myByBusyTime.first());
+    }
+
+    private static int stateOf(ResourceUnit unit) {
+        if (unit.isIdle()) {
+            return IDLE;
+        } else if (unit.isBusy()) {
+            return BUSY;
+        } else if (unit.isFailed()) {
+            return FAILED;
+        } else if (unit.isInactive()) {
+            return INACTIVE;
+        }
+        return OTHER;
+    }
+
+    private void addIdle(int p, ResourceUnit unit) {
+        treeAdd(p, 1);
+        link(p, unit.getTimeEnteredIdle());
+        myBusyTimes[p] = unit.getTotalTimeBusy();
+        myByBusyTime.add(p);
+    }
+
+    private void removeIdle(int p) {
+        treeAdd(p, -1);
+        unlink(p);
+        myByBusyTime.remove(p);
+    }
+
+    /**
+     * Re-keys an idle unit whose time entered idle or busy time has changed
+     * without a change of state, e.g. when the unit is initialized
+     */
+    private void refreshIdle(int p, ResourceUnit unit) {
+        double t = unit.getTimeEnteredIdle();
+        if (Double.compare(t, myIdleTimes[p]) != 0) {
+            unlink(p);
+            link(p, t);
+        }
+        double b = unit.getTotalTimeBusy();
+        if (Double.compare(b, myBusyTimes[p]) != 0) {
+            myByBusyTime.remove(p);
+            myBusyTimes[p] = b;
+            myByBusyTime.add(p);
+        }
+    }
+
+    /**
+     * Links the position into the idle list after all units that became idle
+     * at or before time t. Units normally become idle at the current time, so
+     * the tail is checked first. A unit that has not yet entered the idle state
+     * has a time of NaN, which Double.compare() orders after all times.
+     */
+    private void link(int p, double t) {
+        myIdleTimes[p] = t;
+        int q = -1;
+        if ((myTail >= 0) && (Double.compare(myIdleTimes[myTail], t) > 0)) {
+            q = myHead;
+            while (Double.compare(myIdleTimes[q], t) <= 0) {
+                q = myNext[q];
+            }
+        }
+        // insert p before q, or at the tail if q < 0
+        int prev = (q < 0) ? myTail : myPrev[q];
+        myPrev[p] = prev;
+        myNext[p] = q;
+        if (prev < 0) {
+            myHead = p;
+        } else {
+            myNext[prev] = p;
+        }
+        if (q < 0) {
+            myTail = p;
+        } else {
+            myPrev[q] = p;
+        }
+    }
+
+    private void unlink(int p) {
+        if (myPrev[p] < 0) {
+            myHead = myNext[p];
+        } else {
+            myNext[myPrev[p]] = myNext[p];
+        }
+        if (myNext[p] < 0) {
+            myTail = myPrev[p];
+        } else {
+            myPrev[myNext[p]] = myPrev[p];
+        }
+    }
+
+    private void grow() {
+        int n = 2 * myStates.length;
+        myStates = Arrays.copyOf(myStates, n);
+        myPrev = Arrays.copyOf(myPrev, n);
+        myNext = Arrays.copyOf(myNext, n);
+        myIdleTimes = Arrays.copyOf(myIdleTimes, n);
+        myBusyTimes = Arrays.copyOf(myBusyTimes, n);
+        myTree = new int[n + 1];
+        for (int p = 0; p < myUnits.size(); p++) {
+            if (myStates[p] == IDLE) {
+                treeAdd(p, 1);
+            }
+        }
+    }
+
+    /**
+     * @param p the position
+     * @param delta the change in the idle indicator at the position
+     */
+    private void treeAdd(int p, int delta) {
+        for (int i = p + 1; i < myTree.length; i += i & -i) {
+            myTree[i] += delta;
+        }
+    }
+
+    /**
+     * @param p the position
+     * @return the number of idle units in positions [0, p)
+     */
+    private int prefixSum(int p) {
+        int s = 0;
+        for (int i = p; i > 0; i -= i & -i) {
+            s += myTree[i];
+        }
+        return s;
+    }
+
+    /**
+     * @param k the rank, must be less than the number idle
+     * @return the position of the k-th idle unit
+     */
+    private int select(int k) {
+        int pos = 0;
+        int rem = k + 1;
+        for (int step = Integer.highestOneBit(myTree.length - 1); step > 0; step >>= 1) {
+            int next = pos + step;
+            if ((next < myTree.length) && (myTree[next] < rem)) {
+                pos = next;
+                rem -= myTree[next];
+            }
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.modeling.resource;
+
+import java.util.List;
+
+/**
+ * A read-only view of the units in a ResourcePool that is kept up to date
+ * as the units change state. The units have positions 0, 1, ..., n-1 in the
+ * order in which they were added to the pool. The counts are available in
+ * constant time and the idle units can be searched in O(log n) time, so
+ * that selection rules do not need to scan the units.
+ *
+ * @author rossetti
+ */
+public interface ResourceUnitIndexIfc {
+
+    /**
+     * @return an unmodifiable list of the units in position order
+     */
+    List<ResourceUnit> getUnits();
+
+    /**
+     * @return the number of units
+     */
+    int getNumUnits();
+
+    /**
+     * @return the number of idle units
+     */
+    int getNumIdle();
+
+    /**
+     * @return the number of busy units
+     */
+    int getNumBusy();
+
+    /**
+     * @return the number of failed units
+     */
+    int getNumFailed();
+
+    /**
+     * @return the number of inactive units
+     */
+    int getNumInactive();
+
+    /**
+     * @param unit the unit
+     * @return the position of the unit, or -1 if the unit is not indexed
+     */
+    int getPosition(ResourceUnit unit);
+
+    /**
+     * @param position the position, must be in [0, getNumUnits())
+     * @return the unit at the position
+     */
+    ResourceUnit getUnit(int position);
+
+    /**
+     * Returns the k-th idle unit in position order
+     *
+     * @param k the rank of the idle unit, must be in [0, getNumIdle())
+     * @return the idle unit
+     */
+    ResourceUnit getIdleUnit(int k);
+
+    /**
+     * @return the idle unit with the smallest position, or null if there are no idle units
+     */
+    default ResourceUnit findFirstIdle() {
+        return findNextIdle(0);
+    }
+
+    /**
+     * Finds the idle unit with the smallest position that is at or after the
+     * supplied position, wrapping around to position 0 if needed
+     *
+     * @param position the position to start the search, must be in [0, getNumUnits()]
+     * @return the idle unit found, or null if there are no idle units
+     */
+    ResourceUnit findNextIdle(int position);
+
+    /**
+     * @return the unit that has been idle the longest, or null if there are no idle units
+     */
+    ResourceUnit findLongestIdle();
+
+    /**
+     * Finds the idle unit that has been busy for the least amount of time. Since
+     * the units observe the same elapsed time, this is also the idle unit with the
+     * smallest utilization. Ties are broken by position.
+     *
+     * @return the least utilized idle unit, or null if there are no idle units
+     */
+    ResourceUnit findLeastUtilizedIdle();
+}
@@ -32,4 +32,16 @@ public interface ResourceUnitSelectionRuleIfc {
      * @return the selected ResourceUnit or null
      */
     public ResourceUnit selectAvailableResource(List<ResourceUnit> list);
+
+    /**
+     * Selects an available resource using the index of a ResourcePool. By default,
+     * the units of the index are supplied to selectAvailableResource(List). Rules
+     * that can use the index to avoid scanning the units should override this method.
+     *
+     * @param index the index of the units to select from
+     * @return the selected ResourceUnit or null
+     */
+    default ResourceUnit selectAvailableResource(ResourceUnitIndexIfc index) {
+        return selectAvailableResource(index.getUnits());
+    }
 }
@@ -16,6 +16,7 @@
 package jsl.observers;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**  The Java observer/observable pattern has a number of flaws.  This class
@@ -25,6 +26,12 @@ import java.util.List;
  *  have a class have an instance of ObservableComponent while implementing
  *  the ObservableIfc.  The notifyObservers() method can be used to notify
  *  attached observers whenever necessary.
+ *  <p>
+ *  An observer may be attached for only a set of states (integer constants
+ *  defined by the observable), in which case it is only notified via
+ *  notifyObservers(int, Object, Object) when the observable is in one of
+ *  those states. The isObserved() method allows an observable to skip the
+ *  notification (and any preparation for it) when no observer is interested.
  *
  * @author rossetti
  */
@@ -35,8 +42,47 @@ public class ObservableComponent implements ObservableIfc {
      */
     private final List<ObserverIfc> myObservers = new ArrayList<ObserverIfc>();
 
+    /** The states observed by each observer, null means all states
+     *
+     */
+    private final List<BitSet> myObserverStates = new ArrayList<BitSet>();
+
+    /** The union of the states of the observers that observe particular states
+     *
+     */
+    private final BitSet mySubscribedStates = new BitSet();
+
+    /** The number of observers that observe all states
+     *
+     */
+    private int myNumAllStateObservers;
+
     @Override
     public void addObserver(ObserverIfc observer) {
+        addObserver(observer, (BitSet) null);
+    }
+
+    /** Attaches an observer that will only be notified for the supplied states
+     *  when notified via notifyObservers(int, Object, Object)
+     *
+     * @param observer the observer to attach
+     * @param states the states to observe, if none then all states are observed
+     */
+    public void addObserver(ObserverIfc observer, int... states) {
+        BitSet set = null;
+        if ((states != null) && (states.length > 0)) {
+            set = new BitSet();
+            for (int state : states) {
+                if (state < 0) {
+                    throw new IllegalArgumentException("The observed state must be >= 0");
+                }
+                set.set(state);
+            }
+        }
+        addObserver(observer, set);
+    }
+
+    private void addObserver(ObserverIfc observer, BitSet states) {
         if (observer == null) {
             throw new IllegalArgumentException("Attempted to attach a null observer");
         }
@@ -45,6 +91,12 @@ public class ObservableComponent implements ObservableIfc {
         }
 
         myObservers.add(observer);
+        myObserverStates.add(states);
+        if (states == null) {
+            myNumAllStateObservers++;
+        } else {
+            mySubscribedStates.or(states);
+        }
     }
 
     @Override
@@ -52,12 +104,30 @@ public class ObservableComponent implements ObservableIfc {
         if (observer == null) {
             throw new IllegalArgumentException("Attempted to delete a null observer");
         }
-        myObservers.remove(observer);
+        int i = myObservers.indexOf(observer);
+        if (i < 0) {
+            return;
+        }
+        myObservers.remove(i);
+        BitSet states = myObserverStates.remove(i);
+        if (states == null) {
+            myNumAllStateObservers--;
+        } else {
+            mySubscribedStates.clear();
+            for (BitSet s : myObserverStates) {
+                if (s != null) {
+                    mySubscribedStates.or(s);
+                }
+            }
+        }
     }
 
     @Override
     public void deleteObservers() {
         myObservers.clear();
+        myObserverStates.clear();
+        mySubscribedStates.clear();
+        myNumAllStateObservers = 0;
     }
 
     @Override
@@ -70,7 +140,16 @@ public class ObservableComponent implements ObservableIfc {
         return myObservers.size();
     }
 
-    /** Notify the observers
+    /** Returns true if some observer observes the supplied state
+     *
+     * @param state the state
+     * @return true if notifying for the state would call an observer
+     */
+    public final boolean isObserved(int state) {
+        return (myNumAllStateObservers > 0) || ((state >= 0) && mySubscribedStates.get(state));
+    }
+
+    /** Notify the observers, regardless of the states they observe
      * 
      * @param theObserved
      * @param arg 
@@ -80,4 +159,22 @@ public class ObservableComponent implements ObservableIfc {
             o.update(theObserved, arg);
         }
     }
+
+    /** Notify the observers that observe the supplied state
+     *
+     * @param state the state of the observable
+     * @param theObserved the thing observed
+     * @param arg an object of info
+     */
+    public void notifyObservers(int state, Object theObserved, Object arg){
+        if (!isObserved(state)) {
+            return;
+        }
+        for (int i = 0; i < myObservers.size(); i++) {
+            BitSet states = myObserverStates.get(i);
+            if ((states == null) || states.get(state)) {
+                myObservers.get(i).update(theObserved, arg);
+            }
+        }
+    }
 }
@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.observers.scheduler;
+
+import jsl.modeling.EventListenerIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.ModelElement;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An EventProfiler aggregates, for each kind of event executed by an Executive,
+ * the number of events executed, the total and maximum wall clock time (in
+ * nanoseconds) spent executing the event's action, and the number of new events
+ * scheduled by the action. A kind of event is identified by the model element
+ * that scheduled the event, the class of its EventActionIfc, its name and its type.
+ * <p>
+ * Unlike the ExecutiveTraceReport, nothing is written per event. The profiler
+ * keeps a small record per kind of event, so that it can be left on for long
+ * runs. To reduce the cost of reading the clock, the timing can be sampled: with
+ * a sampling period of k, every k-th event is timed and the total time is
+ * estimated from the timed events, while the counts remain exact.
+ * <p>
+ * The results are available as a report sorted by total time via writeReport()
+ * and in the folded stack format used by flame graph tools via writeFoldedStacks(),
+ * where the stack of an event is the model element hierarchy of the scheduling
+ * element followed by the event action.
+ */
+public class EventProfiler {
+
+    private final Executive myExecutive;
+
+    private final Recorder myRecorder;
+
+    private final Map<Key, EventProfile> myProfiles;
+
+    /**
+     * Reused to look up the profile of each event without allocating
+     */
+    private final Key myProbe;
+
+    /**
+     * The size of the cache of recently used profiles
+     */
+    private static final int CACHE_SIZE = 8;
+
+    /**
+     * A small cache of recently used profiles, keyed by the identity of the
+     * event action, model element and name, which avoids hashing for the few
+     * kinds of events that dominate most models
+     */
+    private final Object[] myCacheActions = new Object[CACHE_SIZE];
+
+    private final ModelElement[] myCacheElements = new ModelElement[CACHE_SIZE];
+
+    private final String[] myCacheNames = new String[CACHE_SIZE];
+
+    private final int[] myCacheTypes = new int[CACHE_SIZE];
+
+    private final EventProfile[] myCacheProfiles = new EventProfile[CACHE_SIZE];
+
+    private int myCacheNext;
+
+    private int mySamplingPeriod = 1;
+
+    private int mySampleCounter;
+
+    private boolean myTimingFlag;
+
+    private long myStartTime;
+
+    private double myScheduledBefore;
+
+    private boolean myProfilingFlag;
+
+    /**
+     * @param executive the executive whose events are profiled, must not be null
+     */
+    public EventProfiler(Executive executive) {
+        Objects.requireNonNull(executive, "The executive was null");
+        myExecutive = executive;
+        myRecorder = new Recorder();
+        myProfiles = new HashMap<>();
+        myProbe = new Key();
+    }
+
+    /**
+     * Starts profiling the executive's events. The profiles accumulate
+     * until reset() is called.
+     */
+    public final void start() {
+        if (!myProfilingFlag) {
+            myExecutive.addEventListener(myRecorder);
+            myProfilingFlag = true;
+        }
+    }
+
+    /**
+     * Stops profiling the executive's events
+     */
+    public final void stop() {
+        if (myProfilingFlag) {
+            myExecutive.removeEventListener(myRecorder);
+            myProfilingFlag = false;
+        }
+    }
+
+    /**
+     * @return true if the profiler is attached to the executive
+     */
+    public final boolean isProfiling() {
+        return myProfilingFlag;
+    }
+
+    /**
+     * Clears all profiles
+     */
+    public final void reset() {
+        myProfiles.clear();
+        Arrays.fill(myCacheActions, null);
+        Arrays.fill(myCacheElements, null);
+        Arrays.fill(myCacheNames, null);
+        Arrays.fill(myCacheProfiles, null);
+        mySampleCounter = 0;
+    }
+
+    /**
+     * @return the number of events between timed events, 1 means every event is timed
+     */
+    public final int getSamplingPeriod() {
+        return mySamplingPeriod;
+    }
+
+    /**
+     * @param period the number of events between timed events, must be &gt; 0,
+     *               1 means every event is timed
+     */
+    public final void setSamplingPeriod(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The sampling period must be > 0");
+        }
+        mySamplingPeriod = period;
+        mySampleCounter = 0;
+    }
+
+    /**
+     * @return the profiles sorted by decreasing (estimated) total time
+     */
+    public final List<EventProfile> getProfiles() {
+        List<EventProfile> list = new ArrayList<>(myProfiles.values());
+        list.sort(Comparator.comparingDouble(EventProfile::getTotalNanos).reversed());
+        return list;
+    }
+
+    /**
+     * @return the total number of events executed while profiling
+     */
+    public final long getTotalCount() {
+        long n = 0;
+        for (EventProfile p : myProfiles.values()) {
+            n = n + p.myCount;
+        }
+        return n;
+    }
+
+    /**
+     * @return the estimated total time in nanoseconds spent executing events while profiling
+     */
+    public final double getTotalNanos() {
+        double t = 0.0;
+        for (EventProfile p : myProfiles.values()) {
+            t = t + p.getTotalNanos();
+        }
+        return t;
+    }
+
+    /**
+     * Writes a table of the profiles sorted by decreasing total time
+     *
+     * @param out the writer, must not be null
+     */
+    public final void writeReport(PrintWriter out) {
+        Objects.requireNonNull(out, "The PrintWriter was null");
+        double total = getTotalNanos();
+        out.printf("Event profile for executive %s: %d events, %.3f ms, sampling period = %d%n",
+                myExecutive.getName(), getTotalCount(), total / 1.0e6, mySamplingPeriod);
+        out.printf("%-30s %-40s %-25s %6s %12s %12s %8s %12s %12s %12s%n", "Model Element", "Event Action",
+                "Event Name", "Type", "Count", "Total (ms)", "% Time", "Mean (ns)", "Max (ns)", "Scheduled");
+        for (EventProfile p : getProfiles()) {
+            double pct = (total > 0.0) ? 100.0 * p.getTotalNanos() / total : 0.0;
+            out.printf("%-30s %-40s %-25s %6d %12d %12.3f %8.2f %12.1f %12d %12d%n", p.getModelElementName(),
+                    p.getEventActionName(), p.getEventName(), p.getEventType(), p.getCount(),
+                    p.getTotalNanos() / 1.0e6, pct, p.getMeanNanos(), p.getMaxNanos(), p.getNumberScheduled());
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes one line per profile in the folded stack format, e.g.
+     * "Model;Parent;Element;ActionClass:EventName 12345", where the value is
+     * the estimated total time in nanoseconds. The output can be given to flame
+     * graph tools such as flamegraph.pl or speedscope.
+     *
+     * @param out the writer, must not be null
+     */
+    public final void writeFoldedStacks(PrintWriter out) {
+        Objects.requireNonNull(out, "The PrintWriter was null");
+        for (EventProfile p : getProfiles()) {
+            StringBuilder sb = new StringBuilder();
+            for (String frame : p.myElementPath) {
+                sb.append(frame(frame)).append(';');
+            }
+            sb.append(frame(p.getEventActionName()));
+            sb.append(':').append(frame(p.getEventName()));
+            sb.append(' ').append(Math.round(p.getTotalNanos()));
+            out.println(sb.toString());
+        }
+        out.flush();
+    }
+
+    /**
+     * @return the report produced by writeReport() as a string
+     */
+    public final String getReport() {
+        StringWriter sw = new StringWriter();
+        writeReport(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    /**
+     * @return the output of writeFoldedStacks() as a string
+     */
+    public final String getFoldedStacks() {
+        StringWriter sw = new StringWriter();
+        writeFoldedStacks(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getReport();
+    }
+
+    /**
+     * Removes the characters that separate frames and values within the folded stack format
+     */
+    private static String frame(String name) {
+        return name.replace(';', '_').replace(' ', '_');
+    }
+
+    private EventProfile profile(JSLEvent event) {
+        Object action = event.getEventAction();
+        ModelElement m = event.getModelElement();
+        String name = event.getName();
+        int type = event.getType();
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            if ((myCacheActions[i] == action) && (myCacheElements[i] == m) && (myCacheNames[i] == name)
+                    && (myCacheTypes[i] == type) && (myCacheProfiles[i] != null)) {
+                return myCacheProfiles[i];
+            }
+        }
+        Class<?> c = (action == null) ? null : action.getClass();
+        myProbe.set(m, c, name, type);
+        EventProfile p = myProfiles.get(myProbe);
+        if (p == null) {
+            Key k = new Key();
+            k.set(m, c, name, type);
+            p = new EventProfile(m, c, name, type);
+            myProfiles.put(k, p);
+        }
+        myCacheActions[myCacheNext] = action;
+        myCacheElements[myCacheNext] = m;
+        myCacheNames[myCacheNext] = name;
+        myCacheTypes[myCacheNext] = type;
+        myCacheProfiles[myCacheNext] = p;
+        myCacheNext = (myCacheNext + 1) % CACHE_SIZE;
+        return p;
+    }
+
+    private class Recorder implements EventListenerIfc {
+
+        @Override
+        public void beforeEvent(double time, JSLEvent event) {
+            myScheduledBefore = myExecutive.getNumberEventsScheduled();
+            mySampleCounter++;
+            if (mySampleCounter >= mySamplingPeriod) {
+                mySampleCounter = 0;
+                myTimingFlag = true;
+                myStartTime = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void afterEvent(double time, JSLEvent event) {
+            long elapsed = 0;
+            boolean timed = myTimingFlag;
+            if (timed) {
+                elapsed = System.nanoTime() - myStartTime;
+                myTimingFlag = false;
+            }
+            EventProfile p = profile(event);
+            p.myCount++;
+            p.myScheduled = p.myScheduled + (long) (myExecutive.getNumberEventsScheduled() - myScheduledBefore);
+            if (timed) {
+                p.myTimedCount++;
+                p.myTimedNanos = p.myTimedNanos + elapsed;
+                if (elapsed > p.myMaxNanos) {
+                    p.myMaxNanos = elapsed;
+                }
+            }
+        }
+    }
+
+    /**
+     * Identifies a kind of event
+     */
+    private static final class Key {
+
+        private ModelElement myElement;
+
+        private Class<?> myActionClass;
+
+        private String myName;
+
+        private int myType;
+
+        private int myHash;
+
+        void set(ModelElement element, Class<?> actionClass, String name, int type) {
+            myElement = element;
+            myActionClass = actionClass;
+            myName = name;
+            myType = type;
+            int h = System.identityHashCode(element);
+            h = 31 * h + System.identityHashCode(actionClass);
+            h = 31 * h + ((name == null) ? 0 : name.hashCode());
+            myHash = 31 * h + type;
+        }
+
+        @Override
+        public int hashCode() {
+            return myHash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) obj;
+            return (myElement == k.myElement) && (myActionClass == k.myActionClass)
+                    && (myType == k.myType) && Objects.equals(myName, k.myName);
+        }
+    }
+
+    /**
+     * The aggregate statistics of a kind of event
+     */
+    public static final class EventProfile {
+
+        private final String myElementName;
+
+        private final List<String> myElementPath;
+
+        private final String myActionName;
+
+        private final String myEventName;
+
+        private final int myEventType;
+
+        private long myCount;
+
+        private long myTimedCount;
+
+        private long myTimedNanos;
+
+        private long myMaxNanos;
+
+        private long myScheduled;
+
+        private EventProfile(ModelElement element, Class<?> actionClass, String name, int type) {
+            Deque<String> path = new ArrayDeque<>();
+            ModelElement m = element;
+            while (m != null) {
+                path.addFirst(m.getName());
+                m = m.getParentModelElement();
+            }
+            myElementPath = Collections.unmodifiableList(new ArrayList<>(path));
+            myElementName = (element == null) ? "None" : element.getName();
+            myActionName = actionName(actionClass);
+            myEventName = (name == null) ? "Unnamed" : name;
+            myEventType = type;
+        }
+
+        private static String actionName(Class<?> c) {
+            if (c == null) {
+                return "None";
+            }
+            String s = c.getName();
+            int k = s.lastIndexOf('.');
+            if (k != -1) {
+                s = s.substring(k + 1);
+            }
+            // lambda classes have a generated suffix that differs between runs
+            int j = s.indexOf("$$Lambda");
+            if (j != -1) {
+                s = s.substring(0, j + "$$Lambda".length());
+            }
+            return s;
+        }
+
+        /**
+         * @return the name of the model element that scheduled the events
+         */
+        public String getModelElementName() {
+            return myElementName;
+        }
+
+        /**
+         * @return the names of the model elements from the model down to the
+         * model element that scheduled the events
+         */
+        public List<String> getModelElementPath() {
+            return myElementPath;
+        }
+
+        /**
+         * @return the simple class name of the events' EventActionIfc
+         */
+        public String getEventActionName() {
+            return myActionName;
+        }
+
+        /**
+         * @return the name of the events
+         */
+        public String getEventName() {
+            return myEventName;
+        }
+
+        /**
+         * @return the type of the events
+         */
+        public int getEventType() {
+            return myEventType;
+        }
+
+        /**
+         * @return the number of events executed
+         */
+        public long getCount() {
+            return myCount;
+        }
+
+        /**
+         * @return the number of events that were timed
+         */
+        public long getTimedCount() {
+            return myTimedCount;
+        }
+
+        /**
+         * @return the estimated total time in nanoseconds spent executing the events, this
+         * is exact when every event is timed
+         */
+        public double getTotalNanos() {
+            if (myTimedCount == 0) {
+                return 0.0;
+            }
+            return myTimedNanos * ((double) myCount / myTimedCount);
+        }
+
+        /**
+         * @return the average time in nanoseconds of the timed events
+         */
+        public double getMeanNanos() {
+            if (myTimedCount == 0) {
+                return Double.NaN;
+            }
+            return (double) myTimedNanos / myTimedCount;
+        }
+
+        /**
+         * @return the maximum time in nanoseconds of the timed events
+         */
+        public long getMaxNanos() {
+            return myMaxNanos;
+        }
+
+        /**
+         * @return the number of events scheduled by the actions of the events
+         */
+        public long getNumberScheduled() {
+            return myScheduled;
+        }
+
+        @Override
+        public String toString() {
+            return myElementName + ":" + myActionName + ":" + myEventName + ", count = " + myCount
+                    + ", total ns = " + getTotalNanos() + ", max ns = " + myMaxNanos
+                    + ", scheduled = " + myScheduled;
+        }
+    }
+}
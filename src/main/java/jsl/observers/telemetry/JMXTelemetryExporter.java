@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.observers.telemetry;
+
+import jsl.utilities.reporting.JSL;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Registers the telemetry of a simulation as an MXBean with the platform MBean
+ * server, so that it can be viewed with tools such as JConsole or VisualVM. The
+ * bean is registered under jsl.telemetry:type=Simulation,name=&lt;simulation name&gt;
+ * unless another name is supplied.
+ */
+public class JMXTelemetryExporter implements TelemetryExporterIfc {
+
+    /**
+     * The domain of the default object name
+     */
+    public static final String DOMAIN = "jsl.telemetry";
+
+    private final MBeanServer myServer;
+
+    private ObjectName myObjectName;
+
+    private SimulationTelemetry myTelemetry;
+
+    /**
+     * Uses the platform MBean server and the default object name
+     */
+    public JMXTelemetryExporter() {
+        this(ManagementFactory.getPlatformMBeanServer(), null);
+    }
+
+    /**
+     * @param server     the server to register with, must not be null
+     * @param objectName the name of the bean, null means the default object name
+     */
+    public JMXTelemetryExporter(MBeanServer server, ObjectName objectName) {
+        Objects.requireNonNull(server, "The MBean server was null");
+        myServer = server;
+        myObjectName = objectName;
+    }
+
+    /**
+     * @return the name the bean is (or was last) registered under, null if not yet started
+     */
+    public final ObjectName getObjectName() {
+        return myObjectName;
+    }
+
+    @Override
+    public void start(SimulationTelemetry telemetry) {
+        Objects.requireNonNull(telemetry, "The telemetry was null");
+        if (myTelemetry != null) {
+            throw new IllegalStateException("The exporter is already started");
+        }
+        try {
+            if (myObjectName == null) {
+                myObjectName = new ObjectName(DOMAIN + ":type=Simulation,name="
+                        + ObjectName.quote(telemetry.getSimulation().getName()));
+            }
+            myServer.registerMBean(new Bean(telemetry), myObjectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the telemetry MBean", e);
+        }
+        myTelemetry = telemetry;
+    }
+
+    @Override
+    public void stop() {
+        if (myTelemetry == null) {
+            return;
+        }
+        try {
+            myServer.unregisterMBean(myObjectName);
+        } catch (JMException e) {
+            JSL.LOGGER.warn("Could not unregister the telemetry MBean {}", myObjectName, e);
+        }
+        myTelemetry = null;
+    }
+
+    private static class Bean implements SimulationTelemetryMXBean {
+
+        private final SimulationTelemetry myTelemetry;
+
+        Bean(SimulationTelemetry telemetry) {
+            myTelemetry = telemetry;
+        }
+
+        @Override
+        public String getSimulationName() {
+            return myTelemetry.getSimulation().getName();
+        }
+
+        @Override
+        public long getEventsExecuted() {
+            return myTelemetry.snapshot().getEventsExecuted();
+        }
+
+        @Override
+        public double getEventsPerSecond() {
+            return myTelemetry.snapshot().getEventsPerSecond();
+        }
+
+        @Override
+        public int getCalendarSize() {
+            return myTelemetry.snapshot().getCalendarSize();
+        }
+
+        @Override
+        public double getSimulationTime() {
+            return myTelemetry.snapshot().getSimulationTime();
+        }
+
+        @Override
+        public double getTotalSimulatedTime() {
+            return myTelemetry.snapshot().getTotalSimulatedTime();
+        }
+
+        @Override
+        public double getSimulationToWallClockRatio() {
+            return myTelemetry.snapshot().getSimulationToWallClockRatio();
+        }
+
+        @Override
+        public int getReplicationNumber() {
+            return myTelemetry.snapshot().getReplicationNumber();
+        }
+
+        @Override
+        public int getNumberOfReplications() {
+            return myTelemetry.snapshot().getNumberOfReplications();
+        }
+
+        @Override
+        public double getReplicationProgress() {
+            return myTelemetry.snapshot().getReplicationProgress();
+        }
+
+        @Override
+        public Map<String, Long> getElementEventCounts() {
+            return myTelemetry.snapshot().getElementEventCounts();
+        }
+    }
+}
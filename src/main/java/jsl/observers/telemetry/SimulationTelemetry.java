@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.observers.telemetry;
+
+import jsl.modeling.EventListenerIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.Model;
+import jsl.modeling.ModelElement;
+import jsl.modeling.Simulation;
+import jsl.observers.ModelElementObserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A SimulationTelemetry publishes the progress of a running simulation so that it
+ * can be read from threads other than the simulation thread. The published metrics
+ * are the number of events executed (in total and by the model element that
+ * scheduled the event), the events executed per second of wall clock time, the
+ * size of the event calendar, the simulated time (within the current replication
+ * and in total) relative to the wall clock time, and the replication progress.
+ * <p>
+ * The counts are held in LongAdder instances and the gauges in atomic variables
+ * that are written with lazySet(), so the simulation thread never contends with
+ * readers. A consistent view of the metrics is obtained via snapshot().
+ * <p>
+ * The metrics are only recorded while at least one TelemetryExporterIfc is attached.
+ * Without an exporter, nothing is attached to the simulation's Executive or Model and
+ * the simulation runs exactly as if the telemetry did not exist.
+ */
+public class SimulationTelemetry {
+
+    /**
+     * The key used for events that were not scheduled by a model element of the model
+     */
+    public static final String UNATTRIBUTED = "Unattributed";
+
+    private final Simulation mySimulation;
+
+    private final List<TelemetryExporterIfc> myExporters;
+
+    private final Recorder myRecorder;
+
+    private final ProgressObserver myProgressObserver;
+
+    private final LongAdder myEventCount;
+
+    private final LongAdder myUnattributedCount;
+
+    /**
+     * The event counters indexed by the left pre-order traversal count of the
+     * model elements, replaced at the start of each experiment
+     */
+    private volatile LongAdder[] myElementCounts;
+
+    /**
+     * The names of the model elements, indexed like myElementCounts
+     */
+    private volatile String[] myElementNames;
+
+    /**
+     * The raw long bits of the current simulated time
+     */
+    private final AtomicLong mySimTime;
+
+    /**
+     * The raw long bits of the simulated time of the completed replications
+     */
+    private final AtomicLong myCompletedSimTime;
+
+    private final AtomicInteger myCalendarSize;
+
+    private final AtomicInteger myReplicationNumber;
+
+    private volatile int myNumReplications;
+
+    private volatile long myStartTime;
+
+    /**
+     * @param simulation the simulation to publish, must not be null
+     */
+    public SimulationTelemetry(Simulation simulation) {
+        Objects.requireNonNull(simulation, "The simulation was null");
+        mySimulation = simulation;
+        myExporters = new CopyOnWriteArrayList<>();
+        myRecorder = new Recorder();
+        myProgressObserver = new ProgressObserver();
+        myEventCount = new LongAdder();
+        myUnattributedCount = new LongAdder();
+        myElementCounts = new LongAdder[0];
+        myElementNames = new String[0];
+        mySimTime = new AtomicLong(Double.doubleToRawLongBits(0.0));
+        myCompletedSimTime = new AtomicLong(Double.doubleToRawLongBits(0.0));
+        myCalendarSize = new AtomicInteger();
+        myReplicationNumber = new AtomicInteger();
+        myStartTime = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the simulation being published
+     */
+    public final Simulation getSimulation() {
+        return mySimulation;
+    }
+
+    /**
+     * Attaches and starts the exporter. The first exporter causes the
+     * telemetry to start recording. Exporters should be added before the
+     * simulation is run, not from another thread while it is running.
+     *
+     * @param exporter the exporter, must not be null or already attached
+     */
+    public final synchronized void addExporter(TelemetryExporterIfc exporter) {
+        Objects.requireNonNull(exporter, "The telemetry exporter was null");
+        if (myExporters.contains(exporter)) {
+            throw new IllegalArgumentException("The supplied exporter is already attached");
+        }
+        if (myExporters.isEmpty()) {
+            startRecording();
+        }
+        myExporters.add(exporter);
+        exporter.start(this);
+    }
+
+    /**
+     * Stops and detaches the exporter. When the last exporter is removed,
+     * the telemetry stops recording.
+     *
+     * @param exporter the exporter to remove
+     * @return true if the exporter was attached
+     */
+    public final synchronized boolean removeExporter(TelemetryExporterIfc exporter) {
+        if (!myExporters.remove(exporter)) {
+            return false;
+        }
+        exporter.stop();
+        if (myExporters.isEmpty()) {
+            stopRecording();
+        }
+        return true;
+    }
+
+    /**
+     * Stops and detaches all exporters
+     */
+    public final synchronized void removeAllExporters() {
+        for (TelemetryExporterIfc e : new ArrayList<>(myExporters)) {
+            removeExporter(e);
+        }
+    }
+
+    /**
+     * @return an unmodifiable list of the attached exporters
+     */
+    public final List<TelemetryExporterIfc> getExporters() {
+        return Collections.unmodifiableList(myExporters);
+    }
+
+    /**
+     * @return true if the telemetry is recording, i.e. an exporter is attached
+     */
+    public final boolean isRecording() {
+        return !myExporters.isEmpty();
+    }
+
+    /**
+     * Captures the current values of the metrics. This may be called from any thread.
+     *
+     * @return the snapshot
+     */
+    public final TelemetrySnapshot snapshot() {
+        long now = System.currentTimeMillis();
+        LongAdder[] counts = myElementCounts;
+        String[] names = myElementNames;
+        Map<String, Long> elementCounts = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != null) {
+                elementCounts.put(names[i], counts[i].sum());
+            }
+        }
+        long unattributed = myUnattributedCount.sum();
+        if (unattributed > 0) {
+            elementCounts.put(UNATTRIBUTED, unattributed);
+        }
+        double simTime = Double.longBitsToDouble(mySimTime.get());
+        double completed = Double.longBitsToDouble(myCompletedSimTime.get());
+        return new TelemetrySnapshot(mySimulation.getName(), now, now - myStartTime, myEventCount.sum(),
+                myCalendarSize.get(), simTime, completed + simTime, myReplicationNumber.get(),
+                myNumReplications, elementCounts);
+    }
+
+    private void startRecording() {
+        reset();
+        mySimulation.getExecutive().addEventListener(myRecorder);
+        mySimulation.getModel().addObserver(myProgressObserver, ModelElement.BEFORE_EXPERIMENT,
+                ModelElement.BEFORE_REPLICATION, ModelElement.AFTER_REPLICATION);
+    }
+
+    private void stopRecording() {
+        mySimulation.getExecutive().removeEventListener(myRecorder);
+        mySimulation.getModel().deleteObserver(myProgressObserver);
+    }
+
+    /**
+     * Resets the metrics and indexes the model elements of the model
+     */
+    private void reset() {
+        myEventCount.reset();
+        myUnattributedCount.reset();
+        mySimTime.set(Double.doubleToRawLongBits(0.0));
+        myCompletedSimTime.set(Double.doubleToRawLongBits(0.0));
+        myCalendarSize.set(0);
+        myReplicationNumber.set(0);
+        myNumReplications = mySimulation.getNumberOfReplications();
+        Model model = mySimulation.getModel();
+        List<ModelElement> elements = model.getModelElements();
+        elements.add(model);
+        int max = 0;
+        for (ModelElement m : elements) {
+            max = Math.max(max, m.getLeftPreOrderTraversalCount());
+        }
+        LongAdder[] counts = new LongAdder[max + 1];
+        String[] names = new String[max + 1];
+        for (ModelElement m : elements) {
+            int i = m.getLeftPreOrderTraversalCount();
+            if (i > 0) {
+                counts[i] = new LongAdder();
+                names[i] = m.getName();
+            }
+        }
+        myElementNames = names;
+        myElementCounts = counts;
+        myStartTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Records each event on the simulation thread
+     */
+    private class Recorder implements EventListenerIfc {
+
+        @Override
+        public void afterEvent(double time, JSLEvent event) {
+            myEventCount.increment();
+            LongAdder[] counts = myElementCounts;
+            ModelElement m = event.getModelElement();
+            int i = (m == null) ? 0 : m.getLeftPreOrderTraversalCount();
+            if ((i > 0) && (i < counts.length) && (counts[i] != null)) {
+                counts[i].increment();
+            } else {
+                myUnattributedCount.increment();
+            }
+            mySimTime.lazySet(Double.doubleToRawLongBits(time));
+            myCalendarSize.lazySet(mySimulation.getExecutive().getCalendarSize());
+        }
+    }
+
+    /**
+     * Tracks the experiment and replication progress
+     */
+    private class ProgressObserver extends ModelElementObserver {
+
+        @Override
+        protected void beforeExperiment(ModelElement m, Object arg) {
+            super.beforeExperiment(m, arg);
+            reset();
+        }
+
+        @Override
+        protected void beforeReplication(ModelElement m, Object arg) {
+            mySimTime.lazySet(Double.doubleToRawLongBits(0.0));
+            myReplicationNumber.lazySet(mySimulation.getCurrentReplicationNumber());
+        }
+
+        @Override
+        protected void afterReplication(ModelElement m, Object arg) {
+            Executive e = mySimulation.getExecutive();
+            double completed = Double.longBitsToDouble(myCompletedSimTime.get()) + e.getTime();
+            myCompletedSimTime.lazySet(Double.doubleToRawLongBits(completed));
+            mySimTime.lazySet(Double.doubleToRawLongBits(0.0));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.observers.telemetry;
+
+import java.util.Map;
+
+/**
+ * The management interface of a simulation's telemetry, as registered by a
+ * JMXTelemetryExporter. Each attribute is read from a new snapshot.
+ */
+public interface SimulationTelemetryMXBean {
+
+    String getSimulationName();
+
+    long getEventsExecuted();
+
+    double getEventsPerSecond();
+
+    int getCalendarSize();
+
+    double getSimulationTime();
+
+    double getTotalSimulatedTime();
+
+    double getSimulationToWallClockRatio();
+
+    int getReplicationNumber();
+
+    int getNumberOfReplications();
+
+    double getReplicationProgress();
+
+    Map<String, Long> getElementEventCounts();
+}
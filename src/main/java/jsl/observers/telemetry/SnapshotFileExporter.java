@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.observers.telemetry;
+
+import jsl.utilities.reporting.JSL;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes snapshots of a simulation's telemetry to a file, either as
+ * CSV rows or as JSON lines (one JSON object per snapshot). The snapshots are
+ * taken by a daemon thread, so the simulation thread never waits on the file.
+ * A final snapshot is written when the exporter is stopped.
+ * <p>
+ * The CSV format has a fixed set of columns. The JSON format also includes the
+ * number of events executed by model element.
+ */
+public class SnapshotFileExporter implements TelemetryExporterIfc {
+
+    /**
+     * The format of the written snapshots
+     */
+    public enum Format {
+        CSV, JSON
+    }
+
+    /**
+     * The default time between snapshots in milliseconds
+     */
+    public static final long DEFAULT_PERIOD = 1000;
+
+    private final File myFile;
+
+    private final Format myFormat;
+
+    private final long myPeriod;
+
+    private PrintWriter myWriter;
+
+    private ScheduledExecutorService myService;
+
+    private SimulationTelemetry myTelemetry;
+
+    private TelemetrySnapshot myLastSnapshot;
+
+    private int myNumSnapshots;
+
+    /**
+     * Writes to a file named after the simulation in the jslOutput directory
+     * once every DEFAULT_PERIOD milliseconds
+     *
+     * @param name   the name of the file, without the extension
+     * @param format the format, must not be null
+     */
+    public SnapshotFileExporter(String name, Format format) {
+        this(JSL.makeFile(name, format == Format.CSV ? "csv" : "json"), format, DEFAULT_PERIOD);
+    }
+
+    /**
+     * @param file   the file to write, must not be null
+     * @param format the format, must not be null
+     * @param period the time between snapshots in milliseconds, must be &gt; 0
+     */
+    public SnapshotFileExporter(File file, Format format, long period) {
+        Objects.requireNonNull(file, "The file was null");
+        Objects.requireNonNull(format, "The format was null");
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period must be > 0");
+        }
+        myFile = file;
+        myFormat = format;
+        myPeriod = period;
+    }
+
+    /**
+     * @return the file that is written
+     */
+    public final File getFile() {
+        return myFile;
+    }
+
+    /**
+     * @return the format of the snapshots
+     */
+    public final Format getFormat() {
+        return myFormat;
+    }
+
+    /**
+     * @return the time between snapshots in milliseconds
+     */
+    public final long getPeriod() {
+        return myPeriod;
+    }
+
+    /**
+     * @return the number of snapshots written since the exporter was started
+     */
+    public final synchronized int getNumberOfSnapshots() {
+        return myNumSnapshots;
+    }
+
+    @Override
+    public synchronized void start(SimulationTelemetry telemetry) {
+        Objects.requireNonNull(telemetry, "The telemetry was null");
+        if (myTelemetry != null) {
+            throw new IllegalStateException("The exporter is already started");
+        }
+        myTelemetry = telemetry;
+        myWriter = JSL.makePrintWriter(myFile);
+        myLastSnapshot = null;
+        myNumSnapshots = 0;
+        if (myFormat == Format.CSV) {
+            myWriter.println("WallClockTime,ElapsedTime,Replication,NumReplications,EventsExecuted,"
+                    + "EventsPerSecond,IntervalEventsPerSecond,CalendarSize,SimulationTime,"
+                    + "TotalSimulatedTime,SimToWallRatio");
+        }
+        myService = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "JSL-Telemetry-" + telemetry.getSimulation().getName());
+            t.setDaemon(true);
+            return t;
+        });
+        myService.scheduleAtFixedRate(this::write, myPeriod, myPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService service;
+        synchronized (this) {
+            if (myTelemetry == null) {
+                return;
+            }
+            service = myService;
+        }
+        service.shutdown();
+        try {
+            service.awaitTermination(myPeriod, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            write();
+            myWriter.close();
+            myWriter = null;
+            myService = null;
+            myTelemetry = null;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the telemetry
+     */
+    private synchronized void write() {
+        if (myTelemetry == null) {
+            return;
+        }
+        TelemetrySnapshot s = myTelemetry.snapshot();
+        double rate = s.getEventsPerSecond();
+        if ((myLastSnapshot != null) && (s.getElapsedTime() > myLastSnapshot.getElapsedTime())
+                && (s.getEventsExecuted() >= myLastSnapshot.getEventsExecuted())) {
+            rate = (s.getEventsExecuted() - myLastSnapshot.getEventsExecuted())
+                    / ((s.getElapsedTime() - myLastSnapshot.getElapsedTime()) / 1000.0);
+        }
+        if (myFormat == Format.CSV) {
+            writeCSV(s, rate);
+        } else {
+            writeJSON(s, rate);
+        }
+        myWriter.flush();
+        myLastSnapshot = s;
+        myNumSnapshots++;
+    }
+
+    private void writeCSV(TelemetrySnapshot s, double rate) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(s.getWallClockTime()).append(",");
+        sb.append(s.getElapsedTime()).append(",");
+        sb.append(s.getReplicationNumber()).append(",");
+        sb.append(s.getNumberOfReplications()).append(",");
+        sb.append(s.getEventsExecuted()).append(",");
+        sb.append(s.getEventsPerSecond()).append(",");
+        sb.append(rate).append(",");
+        sb.append(s.getCalendarSize()).append(",");
+        sb.append(s.getSimulationTime()).append(",");
+        sb.append(s.getTotalSimulatedTime()).append(",");
+        sb.append(s.getSimulationToWallClockRatio());
+        myWriter.println(sb.toString());
+    }
+
+    private void writeJSON(TelemetrySnapshot s, double rate) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        appendJSON(sb, "simulation", s.getSimulationName()).append(",");
+        sb.append("\"wallClockTime\":").append(s.getWallClockTime()).append(",");
+        sb.append("\"elapsedTime\":").append(s.getElapsedTime()).append(",");
+        sb.append("\"replication\":").append(s.getReplicationNumber()).append(",");
+        sb.append("\"numReplications\":").append(s.getNumberOfReplications()).append(",");
+        sb.append("\"eventsExecuted\":").append(s.getEventsExecuted()).append(",");
+        sb.append("\"eventsPerSecond\":").append(toJSON(s.getEventsPerSecond())).append(",");
+        sb.append("\"intervalEventsPerSecond\":").append(toJSON(rate)).append(",");
+        sb.append("\"calendarSize\":").append(s.getCalendarSize()).append(",");
+        sb.append("\"simulationTime\":").append(toJSON(s.getSimulationTime())).append(",");
+        sb.append("\"totalSimulatedTime\":").append(toJSON(s.getTotalSimulatedTime())).append(",");
+        sb.append("\"simToWallRatio\":").append(toJSON(s.getSimulationToWallClockRatio())).append(",");
+        sb.append("\"elementEventCounts\":{");
+        boolean first = true;
+        for (Map.Entry<String, Long> e : s.getElementEventCounts().entrySet()) {
+            if (!first) {
+                sb.append(",");
+            }
+            appendString(sb, e.getKey()).append(":").append(e.getValue());
+            first = false;
+        }
+        sb.append("}}");
+        myWriter.println(sb.toString());
+    }
+
+    private static StringBuilder appendJSON(StringBuilder sb, String key, String value) {
+        return appendString(appendString(sb, key).append(":"), value);
+    }
+
+    private static StringBuilder appendString(StringBuilder sb, String str) {
+        sb.append('"');
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if ((c == '"') || (c == '\\')) {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"');
+    }
+
+    private static String toJSON(double x) {
+        if (Double.isNaN(x) || Double.isInfinite(x)) {
+            return "null";
+        }
+        return Double.toString(x);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.observers.telemetry;
+
+/**
+ * A TelemetryExporterIfc publishes the metrics of a SimulationTelemetry, e.g.
+ * via JMX or by periodically writing snapshots to a file. Exporters should read
+ * the metrics via SimulationTelemetry.snapshot() and must not block the
+ * simulation thread.
+ */
+public interface TelemetryExporterIfc {
+
+    /**
+     * Called when the exporter is added to the telemetry
+     *
+     * @param telemetry the telemetry to export
+     */
+    void start(SimulationTelemetry telemetry);
+
+    /**
+     * Called when the exporter is removed from the telemetry
+     */
+    void stop();
+}
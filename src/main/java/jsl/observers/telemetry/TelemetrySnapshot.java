@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.observers.telemetry;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable view of the metrics of a SimulationTelemetry at a point in wall clock time
+ */
+public final class TelemetrySnapshot {
+
+    private final String mySimulationName;
+
+    private final long myWallClockTime;
+
+    private final long myElapsedTime;
+
+    private final long myEventsExecuted;
+
+    private final int myCalendarSize;
+
+    private final double mySimulationTime;
+
+    private final double myTotalSimulatedTime;
+
+    private final int myReplicationNumber;
+
+    private final int myNumReplications;
+
+    private final Map<String, Long> myElementEventCounts;
+
+    TelemetrySnapshot(String simulationName, long wallClockTime, long elapsedTime, long eventsExecuted,
+                      int calendarSize, double simulationTime, double totalSimulatedTime,
+                      int replicationNumber, int numReplications, Map<String, Long> elementEventCounts) {
+        mySimulationName = simulationName;
+        myWallClockTime = wallClockTime;
+        myElapsedTime = elapsedTime;
+        myEventsExecuted = eventsExecuted;
+        myCalendarSize = calendarSize;
+        mySimulationTime = simulationTime;
+        myTotalSimulatedTime = totalSimulatedTime;
+        myReplicationNumber = replicationNumber;
+        myNumReplications = numReplications;
+        myElementEventCounts = Collections.unmodifiableMap(new LinkedHashMap<>(elementEventCounts));
+    }
+
+    /**
+     * @return the name of the simulation
+     */
+    public String getSimulationName() {
+        return mySimulationName;
+    }
+
+    /**
+     * @return the wall clock time of the snapshot in milliseconds since the epoch
+     */
+    public long getWallClockTime() {
+        return myWallClockTime;
+    }
+
+    /**
+     * @return the wall clock time since recording started (or the experiment
+     * started) in milliseconds
+     */
+    public long getElapsedTime() {
+        return myElapsedTime;
+    }
+
+    /**
+     * @return the number of events executed since recording started (or the experiment started)
+     */
+    public long getEventsExecuted() {
+        return myEventsExecuted;
+    }
+
+    /**
+     * @return the average number of events executed per second of wall clock time
+     */
+    public double getEventsPerSecond() {
+        if (myElapsedTime <= 0) {
+            return Double.NaN;
+        }
+        return myEventsExecuted / (myElapsedTime / 1000.0);
+    }
+
+    /**
+     * @return the number of events on the event calendar after the last executed event
+     */
+    public int getCalendarSize() {
+        return myCalendarSize;
+    }
+
+    /**
+     * @return the simulated time within the current replication
+     */
+    public double getSimulationTime() {
+        return mySimulationTime;
+    }
+
+    /**
+     * @return the simulated time over all replications, including the current one
+     */
+    public double getTotalSimulatedTime() {
+        return myTotalSimulatedTime;
+    }
+
+    /**
+     * @return the simulated time units executed per second of wall clock time
+     */
+    public double getSimulationToWallClockRatio() {
+        if (myElapsedTime <= 0) {
+            return Double.NaN;
+        }
+        return myTotalSimulatedTime / (myElapsedTime / 1000.0);
+    }
+
+    /**
+     * @return the number of the current (or last) replication
+     */
+    public int getReplicationNumber() {
+        return myReplicationNumber;
+    }
+
+    /**
+     * @return the number of replications of the experiment
+     */
+    public int getNumberOfReplications() {
+        return myNumReplications;
+    }
+
+    /**
+     * @return the fraction of the replications that have started, in [0,1]
+     */
+    public double getReplicationProgress() {
+        if (myNumReplications <= 0) {
+            return 0.0;
+        }
+        return Math.min(1.0, (double) myReplicationNumber / myNumReplications);
+    }
+
+    /**
+     * @return an unmodifiable map from the name of the model element that
+     * scheduled the events to the number of those events that were executed,
+     * in pre-order of the model element hierarchy
+     */
+    public Map<String, Long> getElementEventCounts() {
+        return myElementEventCounts;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Simulation: ").append(mySimulationName);
+        sb.append(", replication ").append(myReplicationNumber).append(" of ").append(myNumReplications);
+        sb.append(", events = ").append(myEventsExecuted);
+        sb.append(", events/sec = ").append(getEventsPerSecond());
+        sb.append(", calendar size = ").append(myCalendarSize);
+        sb.append(", simulated time = ").append(mySimulationTime);
+        sb.append(", sim/wall ratio = ").append(getSimulationToWallClockRatio());
+        return sb.toString();
+    }
+}
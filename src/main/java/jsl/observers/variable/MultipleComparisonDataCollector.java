@@ -66,7 +66,7 @@ public class MultipleComparisonDataCollector extends ModelElementObserver {
 
         myResponse = response;
 
-        myResponse.addObserver(this);
+        myResponse.addObserver(this, ModelElement.BEFORE_EXPERIMENT, ModelElement.AFTER_REPLICATION);
 
     }
 
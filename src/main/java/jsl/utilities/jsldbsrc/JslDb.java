@@ -16,6 +16,7 @@ import jsl.utilities.jsldbsrc.tables.BatchStat;
 import jsl.utilities.jsldbsrc.tables.BatchStatView;
 import jsl.utilities.jsldbsrc.tables.ModelElement;
 import jsl.utilities.jsldbsrc.tables.PwDiffWithinRepView;
+import jsl.utilities.jsldbsrc.tables.QuantileStat;
 import jsl.utilities.jsldbsrc.tables.SimulationRun;
 import jsl.utilities.jsldbsrc.tables.WithinRepCounterStat;
 import jsl.utilities.jsldbsrc.tables.WithinRepCounterView;
@@ -78,6 +79,11 @@ public class JslDb extends SchemaImpl {
      */
     public final PwDiffWithinRepView PW_DIFF_WITHIN_REP_VIEW = jsl.utilities.jsldbsrc.tables.PwDiffWithinRepView.PW_DIFF_WITHIN_REP_VIEW;
 
+    /**
+     * The table <code>JSL_DB.QUANTILE_STAT</code>.
+     */
+    public final QuantileStat QUANTILE_STAT = jsl.utilities.jsldbsrc.tables.QuantileStat.QUANTILE_STAT;
+
     /**
      * The table <code>JSL_DB.SIMULATION_RUN</code>.
      */
@@ -139,6 +145,7 @@ public class JslDb extends SchemaImpl {
             BatchStatView.BATCH_STAT_VIEW,
             ModelElement.MODEL_ELEMENT,
             PwDiffWithinRepView.PW_DIFF_WITHIN_REP_VIEW,
+            QuantileStat.QUANTILE_STAT,
             SimulationRun.SIMULATION_RUN,
             WithinRepCounterStat.WITHIN_REP_COUNTER_STAT,
             WithinRepCounterView.WITHIN_REP_COUNTER_VIEW,
@@ -9,12 +9,14 @@ import javax.annotation.Generated;
 import jsl.utilities.jsldbsrc.tables.AcrossRepStat;
 import jsl.utilities.jsldbsrc.tables.BatchStat;
 import jsl.utilities.jsldbsrc.tables.ModelElement;
+import jsl.utilities.jsldbsrc.tables.QuantileStat;
 import jsl.utilities.jsldbsrc.tables.SimulationRun;
 import jsl.utilities.jsldbsrc.tables.WithinRepCounterStat;
 import jsl.utilities.jsldbsrc.tables.WithinRepStat;
 import jsl.utilities.jsldbsrc.tables.records.AcrossRepStatRecord;
 import jsl.utilities.jsldbsrc.tables.records.BatchStatRecord;
 import jsl.utilities.jsldbsrc.tables.records.ModelElementRecord;
+import jsl.utilities.jsldbsrc.tables.records.QuantileStatRecord;
 import jsl.utilities.jsldbsrc.tables.records.SimulationRunRecord;
 import jsl.utilities.jsldbsrc.tables.records.WithinRepCounterStatRecord;
 import jsl.utilities.jsldbsrc.tables.records.WithinRepStatRecord;
@@ -45,6 +47,7 @@ public class Keys {
 
     public static final Identity<AcrossRepStatRecord, Integer> IDENTITY_ACROSS_REP_STAT = Identities0.IDENTITY_ACROSS_REP_STAT;
     public static final Identity<BatchStatRecord, Integer> IDENTITY_BATCH_STAT = Identities0.IDENTITY_BATCH_STAT;
+    public static final Identity<QuantileStatRecord, Integer> IDENTITY_QUANTILE_STAT = Identities0.IDENTITY_QUANTILE_STAT;
     public static final Identity<SimulationRunRecord, Integer> IDENTITY_SIMULATION_RUN = Identities0.IDENTITY_SIMULATION_RUN;
     public static final Identity<WithinRepCounterStatRecord, Integer> IDENTITY_WITHIN_REP_COUNTER_STAT = Identities0.IDENTITY_WITHIN_REP_COUNTER_STAT;
     public static final Identity<WithinRepStatRecord, Integer> IDENTITY_WITHIN_REP_STAT = Identities0.IDENTITY_WITHIN_REP_STAT;
@@ -57,6 +60,7 @@ public class Keys {
     public static final UniqueKey<BatchStatRecord> SQL190425121448540 = UniqueKeys0.SQL190425121448540;
     public static final UniqueKey<ModelElementRecord> ME_PRIM_KY = UniqueKeys0.ME_PRIM_KY;
     public static final UniqueKey<ModelElementRecord> ME_NAME_UNIQUE = UniqueKeys0.ME_NAME_UNIQUE;
+    public static final UniqueKey<QuantileStatRecord> QS_PRIM_KY = UniqueKeys0.QS_PRIM_KY;
     public static final UniqueKey<SimulationRunRecord> SQL190425121448230 = UniqueKeys0.SQL190425121448230;
     public static final UniqueKey<SimulationRunRecord> SR_NAME_EXP_UNIQUE = UniqueKeys0.SR_NAME_EXP_UNIQUE;
     public static final UniqueKey<WithinRepCounterStatRecord> SQL190425121448490 = UniqueKeys0.SQL190425121448490;
@@ -73,6 +77,8 @@ public class Keys {
     public static final ForeignKey<BatchStatRecord, ModelElementRecord> BS_MODEL_ELEMENT_FK = ForeignKeys0.BS_MODEL_ELEMENT_FK;
     public static final ForeignKey<BatchStatRecord, SimulationRunRecord> BS_SIMRUN_FK = ForeignKeys0.BS_SIMRUN_FK;
     public static final ForeignKey<ModelElementRecord, SimulationRunRecord> ME_SIMRUN_FK = ForeignKeys0.ME_SIMRUN_FK;
+    public static final ForeignKey<QuantileStatRecord, ModelElementRecord> QS_MODEL_ELEMENT_FK = ForeignKeys0.QS_MODEL_ELEMENT_FK;
+    public static final ForeignKey<QuantileStatRecord, SimulationRunRecord> QS_SIMRUN_FK = ForeignKeys0.QS_SIMRUN_FK;
     public static final ForeignKey<WithinRepCounterStatRecord, ModelElementRecord> WRCS_MODEL_ELEMENT_FK = ForeignKeys0.WRCS_MODEL_ELEMENT_FK;
     public static final ForeignKey<WithinRepCounterStatRecord, SimulationRunRecord> WRCS_SIMRUN_FK = ForeignKeys0.WRCS_SIMRUN_FK;
     public static final ForeignKey<WithinRepStatRecord, ModelElementRecord> WRS_MODEL_ELEMENT_FK = ForeignKeys0.WRS_MODEL_ELEMENT_FK;
@@ -85,6 +91,7 @@ public class Keys {
     private static class Identities0 extends AbstractKeys {
         public static Identity<AcrossRepStatRecord, Integer> IDENTITY_ACROSS_REP_STAT = createIdentity(AcrossRepStat.ACROSS_REP_STAT, AcrossRepStat.ACROSS_REP_STAT.ID);
         public static Identity<BatchStatRecord, Integer> IDENTITY_BATCH_STAT = createIdentity(BatchStat.BATCH_STAT, BatchStat.BATCH_STAT.ID);
+        public static Identity<QuantileStatRecord, Integer> IDENTITY_QUANTILE_STAT = createIdentity(QuantileStat.QUANTILE_STAT, QuantileStat.QUANTILE_STAT.ID);
         public static Identity<SimulationRunRecord, Integer> IDENTITY_SIMULATION_RUN = createIdentity(SimulationRun.SIMULATION_RUN, SimulationRun.SIMULATION_RUN.ID);
         public static Identity<WithinRepCounterStatRecord, Integer> IDENTITY_WITHIN_REP_COUNTER_STAT = createIdentity(WithinRepCounterStat.WITHIN_REP_COUNTER_STAT, WithinRepCounterStat.WITHIN_REP_COUNTER_STAT.ID);
         public static Identity<WithinRepStatRecord, Integer> IDENTITY_WITHIN_REP_STAT = createIdentity(WithinRepStat.WITHIN_REP_STAT, WithinRepStat.WITHIN_REP_STAT.ID);
@@ -95,6 +102,7 @@ public class Keys {
         public static final UniqueKey<BatchStatRecord> SQL190425121448540 = createUniqueKey(BatchStat.BATCH_STAT, "SQL190425121448540", BatchStat.BATCH_STAT.ID);
         public static final UniqueKey<ModelElementRecord> ME_PRIM_KY = createUniqueKey(ModelElement.MODEL_ELEMENT, "ME_PRIM_KY", ModelElement.MODEL_ELEMENT.SIM_RUN_ID_FK, ModelElement.MODEL_ELEMENT.ELEMENT_ID);
         public static final UniqueKey<ModelElementRecord> ME_NAME_UNIQUE = createUniqueKey(ModelElement.MODEL_ELEMENT, "ME_NAME_UNIQUE", ModelElement.MODEL_ELEMENT.SIM_RUN_ID_FK, ModelElement.MODEL_ELEMENT.ELEMENT_NAME);
+        public static final UniqueKey<QuantileStatRecord> QS_PRIM_KY = createUniqueKey(QuantileStat.QUANTILE_STAT, "QS_PRIM_KY", QuantileStat.QUANTILE_STAT.ID);
         public static final UniqueKey<SimulationRunRecord> SQL190425121448230 = createUniqueKey(SimulationRun.SIMULATION_RUN, "SQL190425121448230", SimulationRun.SIMULATION_RUN.ID);
         public static final UniqueKey<SimulationRunRecord> SR_NAME_EXP_UNIQUE = createUniqueKey(SimulationRun.SIMULATION_RUN, "SR_NAME_EXP_UNIQUE", SimulationRun.SIMULATION_RUN.SIM_NAME, SimulationRun.SIMULATION_RUN.EXP_NAME);
         public static final UniqueKey<WithinRepCounterStatRecord> SQL190425121448490 = createUniqueKey(WithinRepCounterStat.WITHIN_REP_COUNTER_STAT, "SQL190425121448490", WithinRepCounterStat.WITHIN_REP_COUNTER_STAT.ID);
@@ -109,6 +117,8 @@ public class Keys {
         public static final ForeignKey<BatchStatRecord, ModelElementRecord> BS_MODEL_ELEMENT_FK = createForeignKey(jsl.utilities.jsldbsrc.Keys.ME_PRIM_KY, BatchStat.BATCH_STAT, "BS_MODEL_ELEMENT_FK", BatchStat.BATCH_STAT.SIM_RUN_ID_FK, BatchStat.BATCH_STAT.ELEMENT_ID_FK);
         public static final ForeignKey<BatchStatRecord, SimulationRunRecord> BS_SIMRUN_FK = createForeignKey(jsl.utilities.jsldbsrc.Keys.SQL190425121448230, BatchStat.BATCH_STAT, "BS_SIMRUN_FK", BatchStat.BATCH_STAT.SIM_RUN_ID_FK);
         public static final ForeignKey<ModelElementRecord, SimulationRunRecord> ME_SIMRUN_FK = createForeignKey(jsl.utilities.jsldbsrc.Keys.SQL190425121448230, ModelElement.MODEL_ELEMENT, "ME_SIMRUN_FK", ModelElement.MODEL_ELEMENT.SIM_RUN_ID_FK);
+        public static final ForeignKey<QuantileStatRecord, ModelElementRecord> QS_MODEL_ELEMENT_FK = createForeignKey(jsl.utilities.jsldbsrc.Keys.ME_PRIM_KY, QuantileStat.QUANTILE_STAT, "QS_MODEL_ELEMENT_FK", QuantileStat.QUANTILE_STAT.SIM_RUN_ID_FK, QuantileStat.QUANTILE_STAT.ELEMENT_ID_FK);
+        public static final ForeignKey<QuantileStatRecord, SimulationRunRecord> QS_SIMRUN_FK = createForeignKey(jsl.utilities.jsldbsrc.Keys.SQL190425121448230, QuantileStat.QUANTILE_STAT, "QS_SIMRUN_FK", QuantileStat.QUANTILE_STAT.SIM_RUN_ID_FK);
         public static final ForeignKey<WithinRepCounterStatRecord, ModelElementRecord> WRCS_MODEL_ELEMENT_FK = createForeignKey(jsl.utilities.jsldbsrc.Keys.ME_PRIM_KY, WithinRepCounterStat.WITHIN_REP_COUNTER_STAT, "WRCS_MODEL_ELEMENT_FK", WithinRepCounterStat.WITHIN_REP_COUNTER_STAT.SIM_RUN_ID_FK, WithinRepCounterStat.WITHIN_REP_COUNTER_STAT.ELEMENT_ID_FK);
         public static final ForeignKey<WithinRepCounterStatRecord, SimulationRunRecord> WRCS_SIMRUN_FK = createForeignKey(jsl.utilities.jsldbsrc.Keys.SQL190425121448230, WithinRepCounterStat.WITHIN_REP_COUNTER_STAT, "WRCS_SIMRUN_FK", WithinRepCounterStat.WITHIN_REP_COUNTER_STAT.SIM_RUN_ID_FK);
         public static final ForeignKey<WithinRepStatRecord, ModelElementRecord> WRS_MODEL_ELEMENT_FK = createForeignKey(jsl.utilities.jsldbsrc.Keys.ME_PRIM_KY, WithinRepStat.WITHIN_REP_STAT, "WRS_MODEL_ELEMENT_FK", WithinRepStat.WITHIN_REP_STAT.SIM_RUN_ID_FK, WithinRepStat.WITHIN_REP_STAT.ELEMENT_ID_FK);
@@ -12,6 +12,7 @@ import jsl.utilities.jsldbsrc.tables.BatchStat;
 import jsl.utilities.jsldbsrc.tables.BatchStatView;
 import jsl.utilities.jsldbsrc.tables.ModelElement;
 import jsl.utilities.jsldbsrc.tables.PwDiffWithinRepView;
+import jsl.utilities.jsldbsrc.tables.QuantileStat;
 import jsl.utilities.jsldbsrc.tables.SimulationRun;
 import jsl.utilities.jsldbsrc.tables.WithinRepCounterStat;
 import jsl.utilities.jsldbsrc.tables.WithinRepCounterView;
@@ -63,6 +64,11 @@ public class Tables {
      */
     public static final PwDiffWithinRepView PW_DIFF_WITHIN_REP_VIEW = jsl.utilities.jsldbsrc.tables.PwDiffWithinRepView.PW_DIFF_WITHIN_REP_VIEW;
 
+    /**
+     * The table <code>JSL_DB.QUANTILE_STAT</code>.
+     */
+    public static final QuantileStat QUANTILE_STAT = jsl.utilities.jsldbsrc.tables.QuantileStat.QUANTILE_STAT;
+
     /**
      * The table <code>JSL_DB.SIMULATION_RUN</code>.
      */
@@ -471,6 +471,51 @@ public class Binomial extends Distribution implements DiscreteDistributionIfc, L
         return sum;
     }
 
+    /** Computes the CDF at 0, 1, ..., n in one pass. Element j of the
+     *  returned array is equal to recursiveCDF(j, n, p)
+     *
+     * @param n num of trials
+     * @param p prob of success
+     * @return the CDF values for 0, 1, ..., n
+     */
+    public static double[] recursiveCDFTable(int n, double p) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("The number of trials must be > 0");
+        }
+
+        if ((p <= 0.0) || (p >= 1.0)) {
+            throw new IllegalArgumentException("Success Probability must be in (0,1)");
+        }
+
+        double[] cdf = new double[n + 1];
+        double q = 1.0 - p;
+        double lnq = Math.log(q);
+        double f = n * lnq;
+        if (f <= JSLMath.getSmallestExponentialArgument()) {
+            cdf[0] = 0.0;
+        } else {
+            cdf[0] = Math.exp(f);
+        }
+
+        double lnp = Math.log(p);
+        double c = lnp - lnq;
+        double sum = Math.exp(f);
+
+        for (int i = 1; i < n; i++) {
+            f = c + Math.log(n - i + 1.0) - Math.log(i) + f;
+            if (f >= JSLMath.getLargestExponentialArgument()) {
+                throw new IllegalArgumentException("Term overflow due to input parameters");
+            }
+            if (f > JSLMath.getSmallestExponentialArgument()) {
+                sum = sum + Math.exp(f);
+            }
+            cdf[i] = sum;
+        }
+        cdf[n] = 1.0;
+
+        return cdf;
+    }
+
     /** Allows static computation of prob mass function
      *  assumes that distribution's range is {0,1, ..., n}
      *  Uses the recursive logarithmic algorithm
@@ -326,6 +326,42 @@ public class Poisson extends Distribution implements DiscreteDistributionIfc, Lo
         return sum;
     }
 
+    /** Computes the cdf at 0, 1, ..., j in one pass. Element i of the
+     *  returned array is equal to recursiveCDF(i, mean)
+     *
+     * @param j the largest value to evaluate, must be &gt;= 0
+     * @param mean the mean
+     * @return the CDF values for 0, 1, ..., j
+     */
+    public static double[] recursiveCDFTable(int j, double mean) {
+        if ((mean <= 0.0)) {
+            throw new IllegalArgumentException("Mean must be > 0)");
+        }
+
+        if (j < 0) {
+            throw new IllegalArgumentException("The largest value must be >= 0");
+        }
+
+        double[] cdf = new double[j + 1];
+        double lnp = -mean;
+        double lnmu = Math.log(mean);
+        double sum = 0.0;
+        if (lnp > JSLMath.getSmallestExponentialArgument()) {
+            sum = Math.exp(lnp);
+        }
+        cdf[0] = sum;
+
+        for (int i = 1; i <= j; i++) {
+            lnp = lnmu - Math.log(i) + lnp;
+            if (lnp > JSLMath.getSmallestExponentialArgument()) {
+                sum = sum + Math.exp(lnp);
+            }
+            cdf[i] = sum;
+        }
+
+        return cdf;
+    }
+
     /** Allows static computation of prob mass function
      *  assumes that distribution's range is {0,1, ...}
      *  Uses the recursive logarithmic algorithm
@@ -883,6 +883,68 @@ public class RNStreamFactory extends Identity {
             //    else return this.U01();
         }
 
+        /**
+         * Fills len positions of the supplied array, starting at off, with the
+         * same values that len calls to randU01() would return. Without increased
+         * precision, the recursion is run in a single loop over local copies of
+         * the state. The range checks of randU01() are not needed in that case
+         * because the combined generator only produces values within
+         * [norm, 1 - norm], where norm = 1/(m1 + 1).
+         *
+         * @param values the array to fill, must not be null
+         * @param off    the index of the first position to fill
+         * @param len    the number of positions to fill
+         */
+        @Override
+        public final void randU01(double[] values, int off, int len) {
+            RNStreamIfc.checkBulkArguments(values, off, len);
+            if (len == 0) {
+                return;
+            }
+            final int end = off + len;
+            if (prec53) {
+                for (int i = off; i < end; i++) {
+                    values[i] = randU01();
+                }
+                return;
+            }
+            final boolean a = anti;
+            double s0 = Cg[0], s1 = Cg[1], s2 = Cg[2];
+            double s3 = Cg[3], s4 = Cg[4], s5 = Cg[5];
+            for (int i = off; i < end; i++) {
+                /* Component 1 */
+                double p1 = a12 * s1 - a13n * s0;
+                int k = (int) (p1 / m1);
+                p1 -= k * m1;
+                if (p1 < 0.0) {
+                    p1 += m1;
+                }
+                s0 = s1;
+                s1 = s2;
+                s2 = p1;
+                /* Component 2 */
+                double p2 = a21 * s5 - a23n * s3;
+                k = (int) (p2 / m2);
+                p2 -= k * m2;
+                if (p2 < 0.0) {
+                    p2 += m2;
+                }
+                s3 = s4;
+                s4 = s5;
+                s5 = p2;
+                /* Combination */
+                double u = ((p1 > p2) ? (p1 - p2) * norm : (p1 - p2 + m1) * norm);
+                values[i] = a ? (1 - u) : u;
+            }
+            Cg[0] = s0;
+            Cg[1] = s1;
+            Cg[2] = s2;
+            Cg[3] = s3;
+            Cg[4] = s4;
+            Cg[5] = s5;
+            myPrevU = values[end - 1];
+        }
+
         /**
          * The previous U(0,1) generated (returned) by randU01()
          *
@@ -34,4 +34,52 @@ public interface RNStreamIfc extends RandU01Ifc, RNStreamControlIfc,
      * @return The integer pseudo random number
      */
     int randInt(int i, int j);
+
+    /**
+     * Fills len positions of the supplied array, starting at off, with
+     * U(0,1) pseudo-random numbers from this stream. The values are the same
+     * as those that would be returned by len consecutive calls to randU01(),
+     * and getPrevU01() returns the last value filled. Implementations may
+     * override this method to generate the values in a tighter loop.
+     *
+     * @param values the array to fill, must not be null
+     * @param off    the index of the first position to fill
+     * @param len    the number of positions to fill
+     */
+    default void randU01(double[] values, int off, int len) {
+        checkBulkArguments(values, off, len);
+        for (int i = off; i < off + len; i++) {
+            values[i] = randU01();
+        }
+    }
+
+    /**
+     * Fills the supplied array with U(0,1) pseudo-random numbers from this
+     * stream. Same as randU01(values, 0, values.length)
+     *
+     * @param values the array to fill, must not be null
+     */
+    default void randU01(double[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("The supplied array was null");
+        }
+        randU01(values, 0, values.length);
+    }
+
+    /**
+     * Checks the arguments of the bulk generation methods
+     *
+     * @param values the array to fill, must not be null
+     * @param off    the index of the first position to fill
+     * @param len    the number of positions to fill
+     */
+    static void checkBulkArguments(double[] values, int off, int len) {
+        if (values == null) {
+            throw new IllegalArgumentException("The supplied array was null");
+        }
+        if ((off < 0) || (len < 0) || (len > values.length - off)) {
+            throw new IndexOutOfBoundsException("off = " + off + ", len = " + len
+                    + ", array length = " + values.length);
+        }
+    }
 }
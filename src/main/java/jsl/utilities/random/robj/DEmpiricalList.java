@@ -16,6 +16,7 @@
 package jsl.utilities.random.robj;
 
 import jsl.utilities.random.rng.RNStreamIfc;
+import jsl.utilities.random.rvariable.GuideTable;
 import jsl.utilities.random.rvariable.JSLRandom;
 
 import java.util.*;
@@ -28,10 +29,21 @@ public class DEmpiricalList<T> implements RElementIfc<T> {
 
     protected final RNStreamIfc myRNG;
 
+    private final GuideTable myGuideTable;
+
     public DEmpiricalList(List<T> elements, double[] cdf) {
         this(elements, cdf, JSLRandom.nextRNStream());
     }
 
+    /**
+     *
+     * @param elements the elements to select from, must have at least as many
+     * elements as the cdf has probabilities; elements past the length of the
+     * cdf are never selected
+     * @param cdf the cumulative probabilities of selecting the elements, must be
+     * a valid cdf
+     * @param rng the stream to use, must not be null
+     */
     public DEmpiricalList(List<T> elements, double[] cdf, RNStreamIfc rng) {
         Objects.requireNonNull(rng, "The RNStreamIfc was null");
         if (elements == null) {
@@ -43,8 +55,12 @@ public class DEmpiricalList<T> implements RElementIfc<T> {
         if (elements.size() < cdf.length) {
             throw new IllegalArgumentException("The number of objects was less than the number of probabilities.");
         }
+        if (!JSLRandom.isValidCDF(cdf)) {
+            throw new IllegalArgumentException("The supplied cdf was not valid");
+        }
         myElements = new ArrayList<T>(elements);
         myCDF = Arrays.copyOf(cdf, cdf.length);
+        myGuideTable = new GuideTable(myCDF);
         myRNG = rng;
 
     }
@@ -59,7 +75,10 @@ public class DEmpiricalList<T> implements RElementIfc<T> {
 
     @Override
     public T getRandomElement() {
-        return JSLRandom.randomlySelect(myElements, myCDF, myRNG);
+        if (myCDF.length == 1) {
+            return myElements.get(0);
+        }
+        return myElements.get(myGuideTable.index(myRNG.randU01()));
     }
 
     @Override
@@ -84,6 +84,63 @@ abstract public class AbstractRVariable implements RVariableIfc, IdentityIfc {
         return x;
     }
 
+    /**
+     * Fills the supplied array with randomly generated values. The values
+     * are generated by generate(double[], int, int)
+     *
+     * @param values the array to fill
+     */
+    @Override
+    public void sample(double[] values) {
+        if (values == null) {
+            throw new IllegalArgumentException("The supplied array was null");
+        }
+        sample(values, 0, values.length);
+    }
+
+    @Override
+    public double[] sample(int sampleSize) {
+        double[] x = new double[sampleSize];
+        sample(x, 0, sampleSize);
+        return (x);
+    }
+
+    /**
+     * Fills len positions of the supplied array, starting at off, with
+     * randomly generated values. The previous value is set to the last value
+     * generated.
+     *
+     * @param values the array to fill, must not be null
+     * @param off    the index of the first position to fill
+     * @param len    the number of positions to fill
+     */
+    public final void sample(double[] values, int off, int len) {
+        RNStreamIfc.checkBulkArguments(values, off, len);
+        if (len == 0) {
+            return;
+        }
+        generate(values, off, len);
+        setPreviousValue(values[off + len - 1]);
+    }
+
+    /**
+     * Generates len values into the supplied array starting at off. By
+     * default, generate() is called for each position. Sub-classes that
+     * transform a single U(0,1) into a variate can override this method
+     * to draw the uniforms in bulk using RNStreamIfc.randU01(double[], int, int).
+     * The values must be the same as those generated by len calls to generate().
+     * The arguments have already been checked.
+     *
+     * @param values the array to fill
+     * @param off    the index of the first position to fill
+     * @param len    the number of positions to fill
+     */
+    protected void generate(double[] values, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            values[i] = generate();
+        }
+    }
+
     @Override
     public final double getValue(){
         return sample();
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.utilities.random.rvariable;
+
+/**
+ * An alias table (Walker's alias method, built with Vose's algorithm) for
+ * sampling an index from a discrete distribution in constant time. A single
+ * U(0,1) is used for each sample: it selects a cell and the fractional part
+ * decides between the cell and its alias.
+ * <p>
+ * The mapping from U(0,1) to the index is not monotone. Variates generated
+ * with an alias table are correctly distributed, but antithetic streams do not
+ * induce negative correlation and common random numbers do not keep the
+ * variates of two systems ordered. Use a GuideTable when that matters.
+ *
+ * @author rossetti
+ */
+public final class AliasTable {
+
+    private final double[] myProb;
+
+    private final int[] myAlias;
+
+    /**
+     * @param pmf the probabilities, must not be null or empty, must be
+     *            non-negative and must have a positive sum. The probabilities are
+     *            normalized by their sum.
+     */
+    public AliasTable(double[] pmf) {
+        if (pmf == null) {
+            throw new IllegalArgumentException("The supplied probabilities were null");
+        }
+        if (pmf.length == 0) {
+            throw new IllegalArgumentException("The supplied probabilities were empty");
+        }
+        double sum = 0.0;
+        for (double p : pmf) {
+            if (!(p >= 0.0) || Double.isInfinite(p)) {
+                throw new IllegalArgumentException("The probabilities must be finite and >= 0");
+            }
+            sum = sum + p;
+        }
+        if (sum <= 0.0) {
+            throw new IllegalArgumentException("The probabilities must have a positive sum");
+        }
+        int n = pmf.length;
+        myProb = new double[n];
+        myAlias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int ns = 0;
+        int nl = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = pmf[i] * n / sum;
+            if (scaled[i] < 1.0) {
+                small[ns++] = i;
+            } else {
+                large[nl++] = i;
+            }
+        }
+        while ((ns > 0) && (nl > 0)) {
+            int s = small[--ns];
+            int l = large[--nl];
+            myProb[s] = scaled[s];
+            myAlias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) {
+                small[ns++] = l;
+            } else {
+                large[nl++] = l;
+            }
+        }
+        // what remains is 1.0 up to round off
+        while (nl > 0) {
+            int l = large[--nl];
+            myProb[l] = 1.0;
+            myAlias[l] = l;
+        }
+        while (ns > 0) {
+            int s = small[--ns];
+            myProb[s] = 1.0;
+            myAlias[s] = s;
+        }
+    }
+
+    /**
+     * Makes an alias table from cumulative probabilities
+     *
+     * @param cdf the cumulative probabilities, must be a valid CDF
+     * @return the alias table
+     */
+    public static AliasTable fromCDF(double[] cdf) {
+        if (!JSLRandom.isValidCDF(cdf)) {
+            throw new IllegalArgumentException("The supplied cdf was not valid");
+        }
+        double[] pmf = new double[cdf.length];
+        double prev = 0.0;
+        for (int i = 0; i < cdf.length; i++) {
+            pmf[i] = cdf[i] - prev;
+            prev = cdf[i];
+        }
+        return new AliasTable(pmf);
+    }
+
+    /**
+     * @return the number of points in the distribution
+     */
+    public int size() {
+        return myProb.length;
+    }
+
+    /**
+     * @param u a value in [0,1)
+     * @return the sampled index
+     */
+    public int index(double u) {
+        if ((u < 0.0) || (u >= 1.0)) {
+            throw new IllegalArgumentException("The value must be in [0,1), was " + u);
+        }
+        double x = u * myProb.length;
+        int i = (int) x;
+        return (x - i < myProb[i]) ? i : myAlias[i];
+    }
+}
@@ -16,17 +16,29 @@
 
 package jsl.utilities.random.rvariable;
 
+import jsl.utilities.random.distributions.Binomial;
 import jsl.utilities.random.rng.RNStreamIfc;
 
 /**
  *  Binomial(probability of success, number of trials)
+ *  <p>
+ *  Unless the number of trials is very large, the CDF is tabulated when the
+ *  random variable is created, and values are generated by inversion using
+ *  a guide table.
  */
 public final class BinomialRV extends AbstractRVariable {
 
+    /**
+     * The CDF is not tabulated if the number of trials is at least this large
+     */
+    private static final int MAX_TABLE_SIZE = 10000;
+
     private double myProbSuccess;
 
     private int myNumTrials;
 
+    private final GuideTable myTable;
+
     public BinomialRV(double prob, int numTrials){
         this(prob, numTrials, JSLRandom.nextRNStream());
     }
@@ -45,6 +57,11 @@ public final class BinomialRV extends AbstractRVariable {
         }
         myProbSuccess = prob;
         myNumTrials = numTrials;
+        if ((prob > 0.0) && (prob < 1.0) && (numTrials < MAX_TABLE_SIZE)) {
+            myTable = new GuideTable(Binomial.recursiveCDFTable(numTrials, prob));
+        } else {
+            myTable = null;
+        }
     }
 
     /**
@@ -80,8 +97,10 @@ public final class BinomialRV extends AbstractRVariable {
 
     @Override
     protected final double generate() {
-        double v = JSLRandom.rBinomial(myProbSuccess, myNumTrials, myRNStream);
-        return v;
+        if (myTable == null) {
+            return JSLRandom.rBinomial(myProbSuccess, myNumTrials, myRNStream);
+        }
+        return myTable.index(myRNStream.randU01());
     }
 
     /**
@@ -26,11 +26,21 @@ import java.util.Arrays;
  *  must have valid probability elements and last element equal to 1.
  *  Every element must be greater than or equal to the previous element in the CDF array.
  *  That is, monotonically increasing.
+ *  <p>
+ *  Values are generated by inversion using a guide table, which takes constant
+ *  expected time and returns the same values as a sequential search of the CDF.
+ *  Optionally, an alias table can be used instead. The alias method
+ *  does not preserve the monotone mapping from the underlying U(0,1) to the
+ *  values, so inversion is still used whenever the stream's antithetic option is on.
+ *  Do not use the alias method when the value sequences of different systems must
+ *  stay synchronized through common random numbers.
  */
 public final class DEmpiricalRV extends AbstractRVariable {
 
     private final double[] myValues;
     private final double[] myCDF;
+    private final GuideTable myGuideTable;
+    private final AliasTable myAliasTable;
 
     /**
      * Randomly selects from the array using the supplied cdf
@@ -64,6 +74,20 @@ public final class DEmpiricalRV extends AbstractRVariable {
      * @param rng the source of randomness
      */
     public DEmpiricalRV(double[] values, double[] cdf, RNStreamIfc rng){
+        this(values, cdf, rng, false);
+    }
+
+    /**
+     * Randomly selects from the array using the supplied cdf
+     *
+     * @param values array to select from
+     * @param cdf the cumulative probability associated with each element of
+     * array
+     * @param rng the source of randomness
+     * @param aliasMethod true means values are generated with an alias table when the
+     *                    antithetic option is off
+     */
+    public DEmpiricalRV(double[] values, double[] cdf, RNStreamIfc rng, boolean aliasMethod){
         super(rng);
         if (rng == null) {
             throw new IllegalArgumentException("The supplied RngIfc was null");
@@ -82,6 +106,8 @@ public final class DEmpiricalRV extends AbstractRVariable {
         }
         myValues = Arrays.copyOf(values, values.length);
         myCDF = Arrays.copyOf(cdf, cdf.length);
+        myGuideTable = new GuideTable(myCDF);
+        myAliasTable = aliasMethod ? AliasTable.fromCDF(myCDF) : null;
     }
 
     /**
@@ -90,7 +116,15 @@ public final class DEmpiricalRV extends AbstractRVariable {
      * @return a new instance with same parameter value
      */
     public final DEmpiricalRV newInstance(RNStreamIfc rng){
-        return new DEmpiricalRV(this.myValues, this.myCDF, rng);
+        return new DEmpiricalRV(this.myValues, this.myCDF, rng, isAliasMethod());
+    }
+
+    /**
+     *
+     * @return true if values are generated with an alias table when the antithetic option is off
+     */
+    public final boolean isAliasMethod(){
+        return myAliasTable != null;
     }
 
     /**
@@ -122,14 +156,11 @@ public final class DEmpiricalRV extends AbstractRVariable {
         if (myCDF.length == 1) {
             return myValues[0];
         }
-        int i = 0;
-        double value = myValues[i];
         double u = myRNStream.randU01();
-        while (myCDF[i] <= u) {
-            i = i + 1;
-            value = myValues[i];
+        if ((myAliasTable != null) && !myRNStream.getAntitheticOption()) {
+            return myValues[myAliasTable.index(u)];
         }
-        return value;
+        return myValues[myGuideTable.index(u)];
     }
 
     /**
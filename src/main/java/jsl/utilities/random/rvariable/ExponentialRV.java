@@ -92,6 +92,14 @@ public final class ExponentialRV extends AbstractRVariable {
         return v;
     }
 
+    @Override
+    protected final void generate(double[] values, int off, int len) {
+        myRNStream.randU01(values, off, len);
+        for (int i = off; i < off + len; i++) {
+            values[i] = -mean * Math.log(1.0 - values[i]);
+        }
+    }
+
     /**
      * The key is "mean" with default value 1.0
      *
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.utilities.random.rvariable;
+
+import java.util.Arrays;
+
+/**
+ * A guide table (indexed search) for inverting a discrete CDF in constant
+ * expected time. The unit interval is divided into as many equal cells as
+ * there are points in the CDF, and for each cell the table holds the first
+ * index whose cumulative probability exceeds the start of the cell. A search
+ * for u begins at the guide entry for the cell containing u, so on average
+ * fewer than two comparisons are needed. Because this is inversion, the index
+ * returned is the same as the one a sequential search of the CDF would find.
+ * This preserves the monotone mapping from U(0,1) to the variate that is
+ * needed for antithetic variates and common random numbers.
+ * <p>
+ * The CDF may be truncated (last element less than 1.0). In that case
+ * index() returns -1 for u at or above the last element, and the caller is
+ * expected to handle the tail.
+ *
+ * @author rossetti
+ */
+public final class GuideTable {
+
+    private final double[] myCDF;
+
+    private final int[] myGuide;
+
+    /**
+     * @param cdf the cumulative probabilities, must not be null or empty, must
+     *            be non-decreasing, and must be non-negative. Elements above 1.0
+     *            (e.g. from round off) are allowed and behave like 1.0
+     */
+    public GuideTable(double[] cdf) {
+        if (cdf == null) {
+            throw new IllegalArgumentException("The supplied cdf was null");
+        }
+        if (cdf.length == 0) {
+            throw new IllegalArgumentException("The supplied cdf was empty");
+        }
+        double prev = 0.0;
+        for (double p : cdf) {
+            if (!(p >= prev)) {
+                throw new IllegalArgumentException("The supplied cdf was not valid");
+            }
+            prev = p;
+        }
+        myCDF = Arrays.copyOf(cdf, cdf.length);
+        int n = myCDF.length;
+        myGuide = new int[n];
+        int i = 0;
+        for (int j = 0; j < n; j++) {
+            double t = (double) j / n;
+            while ((i < n) && (myCDF[i] <= t)) {
+                i++;
+            }
+            myGuide[j] = i;
+        }
+    }
+
+    /**
+     * @return the number of points in the CDF
+     */
+    public int size() {
+        return myCDF.length;
+    }
+
+    /**
+     * @return a copy of the CDF used by the table
+     */
+    public double[] getCDF() {
+        return Arrays.copyOf(myCDF, myCDF.length);
+    }
+
+    /**
+     * Returns the smallest index i such that u &lt; cdf[i]
+     *
+     * @param u a value in [0,1)
+     * @return the index, or -1 if u is at or above the last element of the CDF
+     */
+    public int index(double u) {
+        if ((u < 0.0) || (u >= 1.0)) {
+            throw new IllegalArgumentException("The value must be in [0,1), was " + u);
+        }
+        int n = myCDF.length;
+        int i = myGuide[(int) (u * n)];
+        while ((i < n) && (myCDF[i] <= u)) {
+            i++;
+        }
+        return (i < n) ? i : -1;
+    }
+}
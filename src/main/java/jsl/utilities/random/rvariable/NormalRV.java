@@ -16,6 +16,7 @@
 
 package jsl.utilities.random.rvariable;
 
+import jsl.utilities.random.distributions.Normal;
 import jsl.utilities.random.rng.RNStreamIfc;
 
 /**
@@ -102,6 +103,15 @@ public final class NormalRV extends AbstractRVariable {
         return v;
     }
 
+    @Override
+    protected final void generate(double[] values, int off, int len) {
+        myRNStream.randU01(values, off, len);
+        double stdDev = Math.sqrt(myVar);
+        for (int i = off; i < off + len; i++) {
+            values[i] = Normal.stdNormalInvCDF(values[i]) * stdDev + myMean;
+        }
+    }
+
     /**
      * The keys are "mean" with default value 0.0 and "variance" with
      * default value 1.0
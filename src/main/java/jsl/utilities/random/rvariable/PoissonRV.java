@@ -16,15 +16,28 @@
 
 package jsl.utilities.random.rvariable;
 
+import jsl.utilities.random.distributions.Poisson;
 import jsl.utilities.random.rng.RNStreamIfc;
 
 /**
  *  Poisson(mean) random variable
+ *  <p>
+ *  Unless the mean is very large, the CDF is tabulated out to about 10 standard
+ *  deviations above the mean when the random variable is created, and values are
+ *  generated by inversion using a guide table. Draws beyond the end of the table
+ *  use Poisson.poissonInvCDF().
  */
 public final class PoissonRV extends AbstractRVariable {
 
+    /**
+     * The CDF is not tabulated if the table would have more elements than this
+     */
+    private static final int MAX_TABLE_SIZE = 10000;
+
     private final double mean;
 
+    private final GuideTable myTable;
+
     public PoissonRV(double mean){
         this(mean, JSLRandom.nextRNStream());
     }
@@ -39,6 +52,12 @@ public final class PoissonRV extends AbstractRVariable {
             throw new IllegalArgumentException("Poisson mean must be > 0.0");
         }
         this.mean = mean;
+        double upper = Math.ceil(mean + 10.0 * Math.sqrt(mean) + 10.0);
+        if (upper < MAX_TABLE_SIZE) {
+            myTable = new GuideTable(Poisson.recursiveCDFTable((int) upper, mean));
+        } else {
+            myTable = null;
+        }
     }
 
     /**
@@ -67,8 +86,15 @@ public final class PoissonRV extends AbstractRVariable {
 
     @Override
     protected final double generate() {
-        double v = JSLRandom.rPoisson(mean, myRNStream);
-        return v;
+        if (myTable == null) {
+            return JSLRandom.rPoisson(mean, myRNStream);
+        }
+        double u = myRNStream.randU01();
+        int i = myTable.index(u);
+        if (i < 0) {
+            return Poisson.poissonInvCDF(u, mean);
+        }
+        return i;
     }
 
     /**
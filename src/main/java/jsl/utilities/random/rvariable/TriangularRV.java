@@ -95,6 +95,28 @@ public final class TriangularRV extends AbstractRVariable {
         return v;
     }
 
+    @Override
+    protected final void generate(double[] values, int off, int len) {
+        myRNStream.randU01(values, off, len);
+        double range = myMax - myMin;
+        double c = (myMode - myMin) / range;
+        for (int i = off; i < off + len; i++) {
+            // the invCDF for a triang(0,c,1), as in JSLRandom.rTriangular()
+            double p = values[i];
+            double x;
+            if (c == 0.0) {
+                x = 1.0 - Math.sqrt(1 - p);
+            } else if (c == 1.0) {
+                x = Math.sqrt(p);
+            } else if (p < c) {
+                x = Math.sqrt(c * p);
+            } else {
+                x = 1.0 - Math.sqrt((1.0 - c) * (1.0 - p));
+            }
+            values[i] = myMin + range * x;
+        }
+    }
+
     /**
      * The keys are "min" with default value 0.0 and "mode" with
      * default value 0.5, and "max" with default value 1.0
@@ -84,6 +84,15 @@ public final class UniformRV extends AbstractRVariable {
         return v;
     }
 
+    @Override
+    protected final void generate(double[] values, int off, int len) {
+        myRNStream.randU01(values, off, len);
+        double range = max - min;
+        for (int i = off; i < off + len; i++) {
+            values[i] = min + range * values[i];
+        }
+    }
+
     /**
      * The keys are "min" with default value 0.0 and "max" with default value 1.0
      *
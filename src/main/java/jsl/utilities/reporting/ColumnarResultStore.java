@@ -0,0 +1,828 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.utilities.reporting;
+
+import jsl.modeling.ModelElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.Counter;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.jsldbsrc.tables.records.*;
+import jsl.utilities.statistic.MultipleComparisonAnalyzer;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.WeightedStatisticIfc;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static jsl.utilities.jsldbsrc.Tables.*;
+
+/**
+ * An append-only store of within replication statistics that keeps each statistic field
+ * in its own file (column). This is an alternative to the JSL_DB schema of a JSLDatabase
+ * for sweeps over many experiments, where the values of a response for an experiment can
+ * be read back as a double[] directly from memory mapped columns without any parsing.
+ * <p>
+ * The store is a directory holding:
+ * <ul>
+ * <li>catalog.txt - a tab delimited, append-only text file holding the experiments,
+ * the model elements of each experiment, and the dictionary of response names</li>
+ * <li>one file per column named COLUMN.col. The integer columns EXP, ELEMENT_ID, NAME, REP_NUM
+ * and KIND hold 4 byte values and the statistic columns (see Column) hold 8 byte values,
+ * all little endian. Row i of the store is at offset i*width within each column.</li>
+ * </ul>
+ * The NAME column holds the dictionary code of the response name. The KIND column indicates
+ * whether the row came from a response variable or a counter. For counters, only the
+ * LAST_VALUE column is filled in; the other statistic columns are NaN. A missing value is NaN.
+ * <p>
+ * Rows are buffered and written when flush() is called or the buffer fills. If a write
+ * is interrupted, the columns are truncated to the last complete row when the store is
+ * opened. Each column file may hold at most Integer.MAX_VALUE bytes.
+ * <p>
+ * The rows of each experiment and response are indexed in memory as they are appended,
+ * so reading the values of a response does not scan the other rows. The index is
+ * rebuilt from the EXP and NAME columns when the store is opened.
+ * <p>
+ * Use a ColumnarResultStoreObserver to collect the results of a simulation. The methods
+ * exportTo() and importFrom() copy experiments to and from a JSLDatabase so that the
+ * existing database reporting can be used. The store is not thread safe.
+ */
+public class ColumnarResultStore implements AutoCloseable {
+
+    /**
+     * The statistic columns of the store
+     */
+    public enum Column {
+        STAT_COUNT, AVERAGE, MINIMUM, MAXIMUM, WEIGHTED_SUM, SUM_OF_WEIGHTS, WEIGHTED_SSQ,
+        LAST_VALUE, LAST_WEIGHT
+    }
+
+    /**
+     * The kind of element that a row came from
+     */
+    public enum Kind {
+        RESPONSE, COUNTER
+    }
+
+    private static final String FORMAT = "JSLColumnarResultStore\t1";
+
+    private static final String CATALOG = "catalog.txt";
+
+    private static final String[] INT_COLUMNS = {"EXP", "ELEMENT_ID", "NAME", "REP_NUM", "KIND"};
+
+    private static final int EXP = 0;
+    private static final int ELEMENT_ID = 1;
+    private static final int NAME = 2;
+    private static final int REP_NUM = 3;
+    private static final int KIND = 4;
+
+    private static final int NUM_INT = INT_COLUMNS.length;
+
+    private static final int NUM_COLUMNS = NUM_INT + Column.values().length;
+
+    private static final int BUFFER_ROWS = 4096;
+
+    private final Path myDirectory;
+    private final Path myCatalog;
+    private final FileChannel[] myChannels = new FileChannel[NUM_COLUMNS];
+    private final ByteBuffer[] myBuffers = new ByteBuffer[NUM_COLUMNS];
+    private final ByteBuffer[] myMaps = new ByteBuffer[NUM_COLUMNS];
+    private int myNumRows;
+    private int myNumBufferedRows;
+    private int myNumMappedRows = -1;
+    private final List<String> myPendingCatalogLines = new ArrayList<>();
+    private final List<Experiment> myExperiments = new ArrayList<>();
+    private final Map<String, Experiment> myExperimentsByKey = new HashMap<>();
+    private final List<String> myNames = new ArrayList<>();
+    private final Map<String, Integer> myNameCodes = new HashMap<>();
+    private Experiment myCurrentExperiment;
+    private boolean myClosedFlag;
+
+    /**
+     * Opens the store in the directory, creating the directory and an empty store
+     * if they do not exist
+     *
+     * @param directory the directory of the store, must not be null
+     */
+    public ColumnarResultStore(Path directory) {
+        Objects.requireNonNull(directory, "The directory was null");
+        myDirectory = directory;
+        myCatalog = directory.resolve(CATALOG);
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(myCatalog)) {
+                readCatalog();
+            } else {
+                Files.write(myCatalog, Collections.singletonList(FORMAT), StandardCharsets.UTF_8);
+            }
+            long rows = Integer.MAX_VALUE;
+            for (int c = 0; c < NUM_COLUMNS; c++) {
+                myChannels[c] = FileChannel.open(directory.resolve(columnName(c) + ".col"),
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                rows = Math.min(rows, myChannels[c].size() / width(c));
+                myBuffers[c] = ByteBuffer.allocate(BUFFER_ROWS * width(c)).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            myNumRows = (int) rows;
+            for (int c = 0; c < NUM_COLUMNS; c++) {
+                long size = (long) myNumRows * width(c);
+                myChannels[c].truncate(size);
+                myChannels[c].position(size);
+            }
+            indexRows();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Unable to open the columnar result store " + directory, e);
+        }
+    }
+
+    /**
+     * @return the directory holding the store
+     */
+    public final Path getDirectory() {
+        return myDirectory;
+    }
+
+    /**
+     * @return the number of rows in the store, including buffered rows
+     */
+    public final int getNumberOfRows() {
+        return myNumRows + myNumBufferedRows;
+    }
+
+    /**
+     * @return the names of the experiments in the store in the order added
+     */
+    public final List<String> getExperimentNames() {
+        List<String> list = new ArrayList<>();
+        for (Experiment e : myExperiments) {
+            list.add(e.myExpName);
+        }
+        return list;
+    }
+
+    /**
+     * @return the names of the responses in the store
+     */
+    public final List<String> getResponseNames() {
+        return Collections.unmodifiableList(myNames);
+    }
+
+    /**
+     * @param simName the simulation name
+     * @param expName the experiment name
+     * @return true if the store has an experiment with the names
+     */
+    public final boolean containsExperiment(String simName, String expName) {
+        return myExperimentsByKey.containsKey(key(simName, expName));
+    }
+
+    /**
+     * Adds an experiment for the simulation. The response variables and counters of the
+     * simulation's model are recorded as the elements of the experiment. The experiment
+     * becomes the current experiment for appendReplication().
+     *
+     * @param simulation the simulation, must not be null and must not have an experiment
+     *                   with the same simulation and experiment name in the store
+     */
+    public void addExperiment(Simulation simulation) {
+        Objects.requireNonNull(simulation, "The simulation was null");
+        List<ModelElement> elements = new ArrayList<>();
+        elements.addAll(simulation.getModel().getResponseVariables());
+        elements.addAll(simulation.getModel().getCounters());
+        Experiment e = newExperiment(simulation.getName(), simulation.getModel().getName(),
+                simulation.getExperimentName());
+        for (ModelElement me : elements) {
+            ModelElement p = me.getParentModelElement();
+            e.addElement(new Element(me.getId(), me.getName(), me.getClass().getSimpleName(),
+                    p == null ? null : p.getId(), p == null ? null : p.getName(),
+                    me.getLeftPreOrderTraversalCount(), me.getRightPreOrderTraversalCount()));
+        }
+        myCurrentExperiment = e;
+    }
+
+    /**
+     * Appends the within replication statistics of the response variables and counters
+     * of the simulation for the current replication to the current experiment
+     *
+     * @param simulation the simulation, must not be null
+     */
+    public void appendReplication(Simulation simulation) {
+        Objects.requireNonNull(simulation, "The simulation was null");
+        if (myCurrentExperiment == null) {
+            throw new IllegalStateException("There is no current experiment. Call addExperiment() first.");
+        }
+        int repNum = simulation.getCurrentReplicationNumber();
+        for (ResponseVariable rv : simulation.getModel().getResponseVariables()) {
+            append(myCurrentExperiment, rv.getId(), rv.getName(), repNum, rv.getWithinReplicationStatistic());
+        }
+        for (Counter c : simulation.getModel().getCounters()) {
+            append(myCurrentExperiment, c.getId(), c.getName(), repNum, c.getValue());
+        }
+    }
+
+    /**
+     * Writes any buffered rows to the column files
+     */
+    public void flush() {
+        checkOpen();
+        try {
+            if (!myPendingCatalogLines.isEmpty()) {
+                Files.write(myCatalog, myPendingCatalogLines, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+                myPendingCatalogLines.clear();
+            }
+            if (myNumBufferedRows == 0) {
+                return;
+            }
+            for (int c = 0; c < NUM_COLUMNS; c++) {
+                ByteBuffer b = myBuffers[c];
+                b.flip();
+                while (b.hasRemaining()) {
+                    myChannels[c].write(b);
+                }
+                b.clear();
+            }
+            myNumRows = myNumRows + myNumBufferedRows;
+            myNumBufferedRows = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write to the columnar result store " + myDirectory, e);
+        }
+    }
+
+    /**
+     * Flushes the store and closes the column files
+     */
+    @Override
+    public void close() {
+        if (myClosedFlag) {
+            return;
+        }
+        try {
+            if (myChannels[NUM_COLUMNS - 1] != null) {
+                flush();
+            }
+        } finally {
+            myClosedFlag = true;
+            for (FileChannel fc : myChannels) {
+                if (fc != null) {
+                    try {
+                        fc.close();
+                    } catch (IOException e) {
+                        JSL.LOGGER.warn("Unable to close a column of {}", myDirectory, e);
+                    }
+                }
+            }
+            Arrays.fill(myMaps, null);
+        }
+    }
+
+    /**
+     * The within replication values of the response, i.e. the average for response
+     * variables and the last value for counters, in the order of the replications.
+     * This is the same as the VALUE of the WITHIN_REP_VIEW of a JSLDatabase.
+     *
+     * @param expName      the experiment name, must identify a unique experiment
+     * @param responseName the response name
+     * @return the values, empty if the experiment does not have the response
+     */
+    public final double[] getValues(String expName, String responseName) {
+        return select(findExperiment(expName), responseName, null);
+    }
+
+    /**
+     * @param expName      the experiment name, must identify a unique experiment
+     * @param responseName the response name
+     * @param column       the column to read
+     * @return the values of the column for the response in the order of the replications,
+     * empty if the experiment does not have the response
+     */
+    public final double[] getValues(String expName, String responseName, Column column) {
+        Objects.requireNonNull(column, "The column was null");
+        return select(findExperiment(expName), responseName, column);
+    }
+
+    /**
+     * @param expNames     the names of the experiments, each must identify a unique experiment
+     * @param responseName the response name
+     * @return a map with key experiment name and value the within replication values of the response
+     */
+    public final Map<String, double[]> getValuesForExperiments(Set<String> expNames, String responseName) {
+        Objects.requireNonNull(expNames, "The set of experiment names was null");
+        Map<String, double[]> map = new LinkedHashMap<>();
+        for (String expName : expNames) {
+            map.put(expName, getValues(expName, responseName));
+        }
+        return map;
+    }
+
+    /**
+     * @param expNames     the names of the experiments, each must identify a unique experiment
+     * @param responseName the response name
+     * @return the analyzer for comparing the response across the experiments
+     */
+    public final MultipleComparisonAnalyzer getMultipleComparisonAnalyzerFor(Set<String> expNames,
+                                                                             String responseName) {
+        MultipleComparisonAnalyzer mca = new MultipleComparisonAnalyzer(getValuesForExperiments(expNames, responseName));
+        mca.setName(responseName);
+        return mca;
+    }
+
+    /**
+     * @param expName      the experiment name, must identify a unique experiment
+     * @param responseName the response name
+     * @return the across replication statistic of the within replication values
+     */
+    public final Statistic getAcrossRepStatistic(String expName, String responseName) {
+        return new Statistic(responseName, getValues(expName, responseName));
+    }
+
+    /**
+     * Copies the experiments of the store into the database, including the across
+     * replication statistics computed from the within replication values
+     *
+     * @param db the database, must not be null and must not have simulation runs
+     *           with the same simulation and experiment names as the store
+     */
+    public void exportTo(JSLDatabase db) {
+        Objects.requireNonNull(db, "The database was null");
+        flush();
+        for (Experiment e : myExperiments) {
+            if (db.simulationRunRecordExists(e.mySimName, e.myExpName)) {
+                throw new DataAccessException("A simulation run record already exists with the name "
+                        + e.mySimName + " and experiment name " + e.myExpName);
+            }
+        }
+        DSLContext create = db.getDatabase().getDSLContext();
+        for (Experiment e : myExperiments) {
+            int[] rows = rows(e, null);
+            int numReps = 1;
+            for (int row : rows) {
+                numReps = Math.max(numReps, intAt(REP_NUM, row));
+            }
+            SimulationRunRecord run = create.newRecord(SIMULATION_RUN);
+            run.setSimName(e.mySimName);
+            run.setModelName(e.myModelName);
+            run.setExpName(e.myExpName);
+            run.setNumReps(numReps);
+            run.setLastRep(numReps);
+            run.setHasMoreReps(false);
+            run.store();
+            Integer simId = run.getId();
+            List<ModelElementRecord> elements = new ArrayList<>();
+            for (Element me : e.myElements.values()) {
+                ModelElementRecord r = create.newRecord(MODEL_ELEMENT);
+                r.setSimRunIdFk(simId);
+                r.setElementId(me.myId);
+                r.setElementName(me.myName);
+                r.setClassName(me.myClassName);
+                r.setParentIdFk(me.myParentId);
+                r.setParentName(me.myParentName);
+                r.setLeftCount(me.myLeftCount);
+                r.setRightCount(me.myRightCount);
+                elements.add(r);
+            }
+            create.batchStore(elements).execute();
+            List<WithinRepStatRecord> responses = new ArrayList<>();
+            List<WithinRepCounterStatRecord> counters = new ArrayList<>();
+            Map<Integer, Statistic> across = new LinkedHashMap<>();
+            for (int row : rows) {
+                int id = intAt(ELEMENT_ID, row);
+                String name = myNames.get(intAt(NAME, row));
+                if (intAt(KIND, row) == Kind.COUNTER.ordinal()) {
+                    WithinRepCounterStatRecord r = create.newRecord(WITHIN_REP_COUNTER_STAT);
+                    r.setElementIdFk(id);
+                    r.setSimRunIdFk(simId);
+                    r.setRepNum(intAt(REP_NUM, row));
+                    r.setStatName(name);
+                    r.setLastValue(value(Column.LAST_VALUE, row));
+                    counters.add(r);
+                } else {
+                    WithinRepStatRecord r = create.newRecord(WITHIN_REP_STAT);
+                    r.setElementIdFk(id);
+                    r.setSimRunIdFk(simId);
+                    r.setRepNum(intAt(REP_NUM, row));
+                    r.setStatName(name);
+                    r.setStatCount(value(Column.STAT_COUNT, row));
+                    r.setAverage(value(Column.AVERAGE, row));
+                    r.setMinimum(value(Column.MINIMUM, row));
+                    r.setMaximum(value(Column.MAXIMUM, row));
+                    r.setWeightedSum(value(Column.WEIGHTED_SUM, row));
+                    r.setSumOfWeights(value(Column.SUM_OF_WEIGHTS, row));
+                    r.setWeightedSsq(value(Column.WEIGHTED_SSQ, row));
+                    r.setLastValue(value(Column.LAST_VALUE, row));
+                    r.setLastWeight(value(Column.LAST_WEIGHT, row));
+                    responses.add(r);
+                }
+                across.computeIfAbsent(id, k -> new Statistic(name)).collect(valueAt(row));
+            }
+            create.batchStore(responses).execute();
+            create.batchStore(counters).execute();
+            List<AcrossRepStatRecord> records = new ArrayList<>();
+            for (Map.Entry<Integer, Statistic> entry : across.entrySet()) {
+                records.add(db.newAcrossRepStatRecord(entry.getKey(), simId, entry.getValue()));
+            }
+            create.batchStore(records).execute();
+        }
+    }
+
+    /**
+     * Appends the within replication statistics of the simulation runs of the database
+     * to the store. Simulation runs that are already in the store are skipped.
+     *
+     * @param db the database, must not be null
+     */
+    public void importFrom(JSLDatabase db) {
+        Objects.requireNonNull(db, "The database was null");
+        Map<Integer, Experiment> bySimId = new HashMap<>();
+        for (SimulationRunRecord run : db.getSimulationRunRecords()) {
+            if (!containsExperiment(run.getSimName(), run.getExpName())) {
+                bySimId.put(run.getId(), newExperiment(run.getSimName(), run.getModelName(), run.getExpName()));
+            }
+        }
+        if (bySimId.isEmpty()) {
+            return;
+        }
+        for (ModelElementRecord r : db.getModelElementRecords()) {
+            Experiment e = bySimId.get(r.getSimRunIdFk());
+            if (e != null) {
+                e.addElement(new Element(r.getElementId(), r.getElementName(), r.getClassName(),
+                        r.getParentIdFk(), r.getParentName(), r.getLeftCount(), r.getRightCount()));
+            }
+        }
+        for (WithinRepStatRecord r : db.getWithinRepStatRecords()) {
+            Experiment e = bySimId.get(r.getSimRunIdFk());
+            if (e != null) {
+                startRow(e, r.getElementIdFk(), r.getStatName(), r.getRepNum(), Kind.RESPONSE);
+                putDouble(Column.STAT_COUNT, r.getStatCount());
+                putDouble(Column.AVERAGE, r.getAverage());
+                putDouble(Column.MINIMUM, r.getMinimum());
+                putDouble(Column.MAXIMUM, r.getMaximum());
+                putDouble(Column.WEIGHTED_SUM, r.getWeightedSum());
+                putDouble(Column.SUM_OF_WEIGHTS, r.getSumOfWeights());
+                putDouble(Column.WEIGHTED_SSQ, r.getWeightedSsq());
+                putDouble(Column.LAST_VALUE, r.getLastValue());
+                putDouble(Column.LAST_WEIGHT, r.getLastWeight());
+                endRow();
+            }
+        }
+        for (WithinRepCounterStatRecord r : db.getWithinRepCounterStatRecords()) {
+            Experiment e = bySimId.get(r.getSimRunIdFk());
+            if (e != null) {
+                append(e, r.getElementIdFk(), r.getStatName(), r.getRepNum(),
+                        r.getLastValue() == null ? Double.NaN : r.getLastValue());
+            }
+        }
+        flush();
+    }
+
+    private void append(Experiment e, int elementId, String name, int repNum, WeightedStatisticIfc s) {
+        startRow(e, elementId, name, repNum, Kind.RESPONSE);
+        putDouble(Column.STAT_COUNT, s.getCount());
+        putDouble(Column.AVERAGE, s.getAverage());
+        putDouble(Column.MINIMUM, s.getMin());
+        putDouble(Column.MAXIMUM, s.getMax());
+        putDouble(Column.WEIGHTED_SUM, s.getWeightedSum());
+        putDouble(Column.SUM_OF_WEIGHTS, s.getSumOfWeights());
+        putDouble(Column.WEIGHTED_SSQ, s.getWeightedSumOfSquares());
+        putDouble(Column.LAST_VALUE, s.getLastValue());
+        putDouble(Column.LAST_WEIGHT, s.getLastWeight());
+        endRow();
+    }
+
+    private void append(Experiment e, int elementId, String name, int repNum, double value) {
+        startRow(e, elementId, name, repNum, Kind.COUNTER);
+        for (Column c : Column.values()) {
+            putDouble(c, c == Column.LAST_VALUE ? value : Double.NaN);
+        }
+        endRow();
+    }
+
+    private void startRow(Experiment e, int elementId, String name, int repNum, Kind kind) {
+        checkOpen();
+        if (myNumBufferedRows == BUFFER_ROWS) {
+            flush();
+        }
+        if ((long) getNumberOfRows() + 1 > Integer.MAX_VALUE / Double.BYTES) {
+            throw new IllegalStateException("The columnar result store is full");
+        }
+        int code = nameCode(name);
+        e.addRow(getNumberOfRows(), code);
+        myBuffers[EXP].putInt(e.myCode);
+        myBuffers[ELEMENT_ID].putInt(elementId);
+        myBuffers[NAME].putInt(code);
+        myBuffers[REP_NUM].putInt(repNum);
+        myBuffers[KIND].putInt(kind.ordinal());
+    }
+
+    private void endRow() {
+        myNumBufferedRows++;
+    }
+
+    private void putDouble(Column c, Double x) {
+        myBuffers[NUM_INT + c.ordinal()].putDouble(x == null ? Double.NaN : x);
+    }
+
+    private void putDouble(Column c, double x) {
+        myBuffers[NUM_INT + c.ordinal()].putDouble(x);
+    }
+
+    private Experiment newExperiment(String simName, String modelName, String expName) {
+        checkOpen();
+        String key = key(simName, expName);
+        if (myExperimentsByKey.containsKey(key)) {
+            throw new IllegalArgumentException("The store already has an experiment with simulation name "
+                    + simName + " and experiment name " + expName);
+        }
+        Experiment e = new Experiment(myExperiments.size(), simName, modelName, expName);
+        myExperiments.add(e);
+        myExperimentsByKey.put(key, e);
+        myPendingCatalogLines.add(line("E", e.myCode, simName, modelName, expName));
+        return e;
+    }
+
+    private int nameCode(String name) {
+        Integer code = myNameCodes.get(name);
+        if (code == null) {
+            code = myNames.size();
+            myNames.add(name);
+            myNameCodes.put(name, code);
+            myPendingCatalogLines.add(line("N", code, name));
+        }
+        return code;
+    }
+
+    private Experiment findExperiment(String expName) {
+        Experiment found = null;
+        for (Experiment e : myExperiments) {
+            if (e.myExpName.equals(expName)) {
+                if (found != null) {
+                    throw new IllegalArgumentException("There were multiple experiments with the experiment name: " + expName);
+                }
+                found = e;
+            }
+        }
+        if (found == null) {
+            throw new IllegalArgumentException("There were no experiments with the experiment name: " + expName);
+        }
+        return found;
+    }
+
+    /**
+     * @param e            the experiment
+     * @param responseName the name, null means all rows of the experiment
+     * @return the selected rows in the order that they were added
+     */
+    private int[] rows(Experiment e, String responseName) {
+        RowList rows = e.myRows;
+        if (responseName != null) {
+            Integer code = myNameCodes.get(responseName);
+            rows = (code == null) ? null : e.myRowsByName.get(code);
+            if (rows == null) {
+                return new int[0];
+            }
+        }
+        map();
+        return rows.toArray();
+    }
+
+    private double[] select(Experiment e, String responseName, Column column) {
+        Objects.requireNonNull(responseName, "The response name was null");
+        int[] rows = rows(e, responseName);
+        double[] values = new double[rows.length];
+        for (int k = 0; k < rows.length; k++) {
+            values[k] = (column == null) ? valueAt(rows[k]) : doubleAt(column, rows[k]);
+        }
+        return values;
+    }
+
+    private double valueAt(int row) {
+        Column c = (intAt(KIND, row) == Kind.COUNTER.ordinal()) ? Column.LAST_VALUE : Column.AVERAGE;
+        return doubleAt(c, row);
+    }
+
+    private Double value(Column c, int row) {
+        double x = doubleAt(c, row);
+        return (Double.isNaN(x) || Double.isInfinite(x)) ? null : x;
+    }
+
+    private int intAt(int c, int row) {
+        return myMaps[c].getInt(row * Integer.BYTES);
+    }
+
+    private double doubleAt(Column c, int row) {
+        return myMaps[NUM_INT + c.ordinal()].getDouble(row * Double.BYTES);
+    }
+
+    /**
+     * Flushes the buffered rows and maps the column files if the number of rows has changed
+     */
+    private void map() {
+        flush();
+        if (myNumMappedRows == myNumRows) {
+            return;
+        }
+        try {
+            for (int c = 0; c < NUM_COLUMNS; c++) {
+                myMaps[c] = myChannels[c].map(FileChannel.MapMode.READ_ONLY, 0, (long) myNumRows * width(c))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map the columnar result store " + myDirectory, e);
+        }
+        myNumMappedRows = myNumRows;
+    }
+
+    /**
+     * Builds the row index of the experiments from the EXP and NAME columns
+     */
+    private void indexRows() throws IOException {
+        if (myNumRows == 0) {
+            return;
+        }
+        map();
+        for (int i = 0; i < myNumRows; i++) {
+            int code = intAt(EXP, i);
+            if ((code < 0) || (code >= myExperiments.size())) {
+                throw new IOException("Row " + i + " of " + myDirectory
+                        + " refers to an unknown experiment " + code);
+            }
+            myExperiments.get(code).addRow(i, intAt(NAME, i));
+        }
+    }
+
+    private void readCatalog() throws IOException {
+        List<String> lines = Files.readAllLines(myCatalog, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(FORMAT)) {
+            throw new IOException("The file " + myCatalog + " is not a columnar result store catalog");
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] f = line.split("\t", -1);
+            for (int i = 0; i < f.length; i++) {
+                f[i] = unescape(f[i]);
+            }
+            switch (f[0]) {
+                case "E":
+                    Experiment e = new Experiment(Integer.parseInt(f[1]), f[2], f[3], f[4]);
+                    myExperiments.add(e);
+                    myExperimentsByKey.put(key(e.mySimName, e.myExpName), e);
+                    break;
+                case "M":
+                    myExperiments.get(Integer.parseInt(f[1])).myElements.put(Integer.parseInt(f[2]),
+                            new Element(Integer.parseInt(f[2]), f[3], f[4],
+                                    f[5].isEmpty() ? null : Integer.parseInt(f[5]), f[6].isEmpty() ? null : f[6],
+                                    Integer.parseInt(f[7]), Integer.parseInt(f[8])));
+                    break;
+                case "N":
+                    myNameCodes.put(f[2], myNames.size());
+                    myNames.add(f[2]);
+                    break;
+                default:
+                    throw new IOException("Unknown catalog entry: " + line);
+            }
+        }
+    }
+
+    private void checkOpen() {
+        if (myClosedFlag) {
+            throw new IllegalStateException("The columnar result store has been closed");
+        }
+    }
+
+    private static String columnName(int c) {
+        return c < NUM_INT ? INT_COLUMNS[c] : Column.values()[c - NUM_INT].name();
+    }
+
+    private static int width(int c) {
+        return c < NUM_INT ? Integer.BYTES : Double.BYTES;
+    }
+
+    private static String key(String simName, String expName) {
+        return simName + "\t" + expName;
+    }
+
+    private static String line(String type, Object... fields) {
+        StringBuilder sb = new StringBuilder(type);
+        for (Object f : fields) {
+            sb.append('\t');
+            sb.append(f == null ? "" : escape(f.toString()));
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0) {
+            return s;
+        }
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if ((ch == '\\') && (i + 1 < s.length())) {
+                char next = s.charAt(++i);
+                sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    private final class Experiment {
+
+        private final int myCode;
+        private final String mySimName;
+        private final String myModelName;
+        private final String myExpName;
+        private final Map<Integer, Element> myElements = new LinkedHashMap<>();
+        private final RowList myRows = new RowList();
+        private final Map<Integer, RowList> myRowsByName = new HashMap<>();
+
+        private Experiment(int code, String simName, String modelName, String expName) {
+            myCode = code;
+            mySimName = simName;
+            myModelName = modelName;
+            myExpName = expName;
+        }
+
+        private void addElement(Element e) {
+            if (myElements.putIfAbsent(e.myId, e) == null) {
+                myPendingCatalogLines.add(line("M", myCode, e.myId, e.myName, e.myClassName,
+                        e.myParentId, e.myParentName, e.myLeftCount, e.myRightCount));
+            }
+        }
+
+        private void addRow(int row, int nameCode) {
+            myRows.add(row);
+            myRowsByName.computeIfAbsent(nameCode, k -> new RowList()).add(row);
+        }
+    }
+
+    /**
+     * The rows of an experiment or response in the order that they were added
+     */
+    private static final class RowList {
+
+        private int[] myRows = new int[16];
+        private int mySize;
+
+        private void add(int row) {
+            if (mySize == myRows.length) {
+                myRows = Arrays.copyOf(myRows, 2 * mySize);
+            }
+            myRows[mySize++] = row;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(myRows, mySize);
+        }
+    }
+
+    private static final class Element {
+
+        private final int myId;
+        private final String myName;
+        private final String myClassName;
+        private final Integer myParentId;
+        private final String myParentName;
+        private final int myLeftCount;
+        private final int myRightCount;
+
+        private Element(int id, String name, String className, Integer parentId, String parentName,
+                        int leftCount, int rightCount) {
+            myId = id;
+            myName = name;
+            myClassName = className;
+            myParentId = parentId;
+            myParentName = parentName;
+            myLeftCount = leftCount;
+            myRightCount = rightCount;
+        }
+    }
+}
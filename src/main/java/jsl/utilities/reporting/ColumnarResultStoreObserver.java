@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.utilities.reporting;
+
+import jsl.modeling.ModelElement;
+import jsl.modeling.Simulation;
+import jsl.observers.ModelElementObserver;
+
+import java.util.Objects;
+
+/**
+ * Collects the within replication statistics of a simulation into a ColumnarResultStore.
+ * An experiment is added to the store before each experiment, the statistics are appended
+ * after each replication, and the store is flushed after the experiment.
+ */
+public class ColumnarResultStoreObserver {
+
+    private final ColumnarResultStore myStore;
+    private final Simulation mySim;
+    private final StoreObserver myObserver;
+
+    /**
+     * @param store the store to collect data into, must not be null
+     * @param sim   the simulation to collect data from, must not be null
+     */
+    public ColumnarResultStoreObserver(ColumnarResultStore store, Simulation sim) {
+        Objects.requireNonNull(store, "The columnar result store cannot be null");
+        Objects.requireNonNull(sim, "The JSL simulation cannot be null");
+        myStore = store;
+        mySim = sim;
+        myObserver = new StoreObserver();
+        mySim.getModel().addObserver(myObserver, ModelElement.BEFORE_EXPERIMENT,
+                ModelElement.AFTER_REPLICATION, ModelElement.AFTER_EXPERIMENT);
+    }
+
+    /**
+     * @return the underlying store
+     */
+    public final ColumnarResultStore getColumnarResultStore() {
+        return myStore;
+    }
+
+    /**
+     * @return the underlying simulation being observed.
+     */
+    public final Simulation getSimulation() {
+        return mySim;
+    }
+
+    /**
+     * Tells the observer to stop observing the Simulation Model
+     */
+    public final void stopObserving() {
+        mySim.getModel().deleteObserver(myObserver);
+    }
+
+    /**
+     * If the observer is not already observing the simulation model, then
+     * it will start observing
+     */
+    public final void startObserving() {
+        if (!mySim.getModel().contains(myObserver)) {
+            mySim.getModel().addObserver(myObserver, ModelElement.BEFORE_EXPERIMENT,
+                    ModelElement.AFTER_REPLICATION, ModelElement.AFTER_EXPERIMENT);
+        }
+    }
+
+    protected class StoreObserver extends ModelElementObserver {
+
+        @Override
+        protected void beforeExperiment(ModelElement m, Object arg) {
+            super.beforeExperiment(m, arg);
+            myStore.addExperiment(mySim);
+        }
+
+        @Override
+        protected void afterReplication(ModelElement m, Object arg) {
+            super.afterReplication(m, arg);
+            myStore.appendReplication(mySim);
+        }
+
+        @Override
+        protected void afterExperiment(ModelElement m, Object arg) {
+            super.afterExperiment(m, arg);
+            myStore.flush();
+        }
+    }
+}
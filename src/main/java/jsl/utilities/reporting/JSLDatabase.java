@@ -36,6 +36,7 @@ import org.jooq.DSLContext;
 import org.jooq.Record12;
 import org.jooq.Result;
 import org.jooq.SQLDialect;
+import org.jooq.UpdatableRecord;
 import org.jooq.conf.RenderNameStyle;
 import org.jooq.exception.DataAccessException;
 //import tech.tablesaw.api.Table;
@@ -68,6 +69,11 @@ import static org.jooq.impl.DSL.*;
  * in the schema. If a schema called getJSLSchemaName() already exists in the database, then the
  * assumption is that the schema is appropriately configured to hold JSL related
  * database artifacts.  The default schema of the database is set to getJSLSchemaName().
+ * <p>
+ * By default, the statistics are written to the database on the thread running the simulation
+ * at the end of each replication. If the asynchronous write option is turned on, the statistical
+ * records are written by a JSLDatabaseWriter on a background thread. The records are always
+ * flushed to the database at the end of the experiment and before any data is cleared.
  */
 public class JSLDatabase {
 
@@ -76,7 +82,7 @@ public class JSLDatabase {
     public final static Path dbDir;
     public final static Path dbScriptsDir;
 
-    private static final List<String> JSLTableNames = Arrays.asList("batch_stat", "within_rep_counter_stat",
+    private static final List<String> JSLTableNames = Arrays.asList("quantile_stat", "batch_stat", "within_rep_counter_stat",
             "across_rep_stat", "within_rep_stat", "model_element", "simulation_run");
 
     private static final List<String> JSLViewNames = Arrays.asList("within_rep_response_view",
@@ -106,6 +112,7 @@ public class JSLDatabase {
     private final DatabaseIfc myDb;
     protected SimulationRunRecord myCurrentSimRunRecord;
     private SimulationDatabaseObserver mySimulationObserver;
+    private JSLDatabaseWriter myWriter;
 
     /**
      * Creates an instance of a JSLDatabase. Assumes that a schema called getJSLSchemaName() exists
@@ -361,6 +368,7 @@ public class JSLDatabase {
         List<Counter> counters = simulation.getModel().getCounters();
         insertWithinRepResponses(rvs);
         insertWithinRepCounters(counters);
+        insertWithinRepQuantiles(rvs);
         Optional<StatisticalBatchingElement> sbe = simulation.getStatisticalBatchingElement();
         if (sbe.isPresent()) {
             // insert the statistics from the batching
@@ -380,6 +388,64 @@ public class JSLDatabase {
         List<Counter> counters = simulation.getModel().getCounters();
         insertAcrossRepResponses(rvs);
         insertAcrossRepResponsesForCounters(counters);
+        insertAcrossRepQuantiles(rvs);
+        flush();
+    }
+
+    /**
+     * @return true if the statistical records are written on a background thread
+     */
+    public final boolean getAsynchronousWriteOption() {
+        return myWriter != null;
+    }
+
+    /**
+     * Turning the option on causes the statistical records to be written by a
+     * JSLDatabaseWriter on a background thread. The methods that read from the
+     * database first wait for any submitted records to be written. Turning the option
+     * off writes any submitted records and then stops the background thread.
+     *
+     * @param flag true means write the statistical records on a background thread
+     */
+    public final void setAsynchronousWriteOption(boolean flag) {
+        if (flag && (myWriter == null)) {
+            myWriter = new JSLDatabaseWriter(myDb.getDSLContext());
+        } else if (!flag && (myWriter != null)) {
+            JSLDatabaseWriter writer = myWriter;
+            myWriter = null;
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * @return the writer if the asynchronous write option is on, which can be used
+     * to check the queue depth and transaction times
+     */
+    public final Optional<JSLDatabaseWriter> getAsynchronousWriter() {
+        return Optional.ofNullable(myWriter);
+    }
+
+    /**
+     * Waits until any statistical records submitted to the background writer have
+     * been written. Does nothing if the asynchronous write option is off.
+     */
+    public final void flush() {
+        if (myWriter != null) {
+            myWriter.flush();
+        }
+    }
+
+    /**
+     * Writes the records, either immediately or via the background writer
+     *
+     * @param records the records to write
+     */
+    protected void storeRecords(List<? extends UpdatableRecord<?>> records) {
+        if (myWriter != null) {
+            myWriter.submit(records);
+        } else {
+            myDb.getDSLContext().batchStore(records).execute();
+        }
     }
 
     /**
@@ -481,7 +547,7 @@ public class JSLDatabase {
                 records.add(withinRepStatRecord);
             }
         }
-        myDb.getDSLContext().batchStore(records).execute();
+        storeRecords(records);
     }
 
     /**
@@ -547,7 +613,7 @@ public class JSLDatabase {
                 records.add(statRecord);
             }
         }
-        myDb.getDSLContext().batchStore(records).execute();
+        storeRecords(records);
     }
 
     /**
@@ -589,7 +655,7 @@ public class JSLDatabase {
                 records.add(statRecord);
             }
         }
-        myDb.getDSLContext().batchStore(records).execute();
+        storeRecords(records);
     }
 
     /**
@@ -609,7 +675,7 @@ public class JSLDatabase {
                 records.add(statRecord);
             }
         }
-        myDb.getDSLContext().batchStore(records).execute();
+        storeRecords(records);
     }
 
     /**
@@ -628,11 +694,27 @@ public class JSLDatabase {
         if (modelElement == null) {
             throw new IllegalArgumentException("The model element was null.");
         }
+        return newAcrossRepStatRecord(modelElement.getId(), simId, s);
+    }
+
+    /**
+     * Creates an AcrossRepStatRecord for the model element with the supplied id
+     *
+     * @param elementId the id of the model element
+     * @param simId     the id of the simulation run
+     * @param s         that statistics to insert
+     * @return the created record
+     */
+    protected AcrossRepStatRecord newAcrossRepStatRecord(int elementId, Integer simId,
+                                                         StatisticAccessorIfc s) {
+        if (simId == null) {
+            throw new IllegalArgumentException("Ther simulation id was null");
+        }
         if (s == null) {
             throw new IllegalArgumentException("There supplied StatisticAccessorIfc was null");
         }
         AcrossRepStatRecord r = myDb.getDSLContext().newRecord(ACROSS_REP_STAT);
-        r.setElementIdFk(modelElement.getId());
+        r.setElementIdFk(elementId);
         r.setSimRunIdFk(simId);
         r.setStatName(s.getName());
 
@@ -699,6 +781,97 @@ public class JSLDatabase {
         return r;
     }
 
+    /**
+     * Inserts within replication quantiles for the supplied response variables. Only
+     * those response variables that have quantile collection turned on are inserted.
+     *
+     * @param responses the list of ResponseVariables to insert for, must not be null
+     */
+    protected void insertWithinRepQuantiles(List<ResponseVariable> responses) {
+        if (responses == null) {
+            throw new IllegalArgumentException("The list was null");
+        }
+        List<QuantileStatRecord> records = new ArrayList<>();
+        for (ResponseVariable rv : responses) {
+            if (rv.isQuantileCollectionOn()) {
+                QuantileStatRecord statRecord = newQuantileStatRecord(rv, myCurrentSimRunRecord.getId(),
+                        rv.getExperiment().getCurrentReplicationNumber(),
+                        rv.getWithinReplicationQuantileSketch());
+                if (statRecord != null) {
+                    records.add(statRecord);
+                }
+            }
+        }
+        storeRecords(records);
+    }
+
+    /**
+     * Inserts across replication quantiles for the supplied response variables. Only
+     * those response variables that have quantile collection turned on are inserted.
+     * The replication number of the inserted records is null.
+     *
+     * @param responses the list of ResponseVariables to insert for, must not be null
+     */
+    protected void insertAcrossRepQuantiles(List<ResponseVariable> responses) {
+        if (responses == null) {
+            throw new IllegalArgumentException("The response variable list was null");
+        }
+        List<QuantileStatRecord> records = new ArrayList<>();
+        for (ResponseVariable rv : responses) {
+            if (rv.isQuantileCollectionOn()) {
+                QuantileStatRecord statRecord = newQuantileStatRecord(rv, myCurrentSimRunRecord.getId(),
+                        null, rv.getAcrossReplicationQuantileSketch());
+                if (statRecord != null) {
+                    records.add(statRecord);
+                }
+            }
+        }
+        storeRecords(records);
+    }
+
+    /**
+     * Creates a QuantileStatRecord
+     *
+     * @param rv     the response variable, must not be null
+     * @param simId  the id of the simulation run
+     * @param repNum the replication number, null for across replication quantiles
+     * @param s      the sketch holding the quantiles to insert
+     * @return the created record
+     */
+    protected QuantileStatRecord newQuantileStatRecord(ResponseVariable rv, Integer simId, Integer repNum,
+                                                       QuantileSketch s) {
+        if (simId == null) {
+            throw new IllegalArgumentException("Ther simulation id was null");
+        }
+        if (rv == null) {
+            throw new IllegalArgumentException("The model element was null.");
+        }
+        if (s == null) {
+            throw new IllegalArgumentException("There supplied QuantileSketch was null");
+        }
+        QuantileStatRecord r = myDb.getDSLContext().newRecord(QUANTILE_STAT);
+        r.setElementIdFk(rv.getId());
+        r.setSimRunIdFk(simId);
+        r.setRepNum(repNum);
+        r.setStatName(s.getName());
+        if (!Double.isNaN(s.getCount()) && !Double.isInfinite(s.getCount())) {
+            r.setStatCount(s.getCount());
+        }
+        double p50 = s.getMedian();
+        if (!Double.isNaN(p50) && !Double.isInfinite(p50)) {
+            r.setP50(p50);
+        }
+        double p95 = s.get95thPercentile();
+        if (!Double.isNaN(p95) && !Double.isInfinite(p95)) {
+            r.setP95(p95);
+        }
+        double p99 = s.get99thPercentile();
+        if (!Double.isNaN(p99) && !Double.isInfinite(p99)) {
+            r.setP99(p99);
+        }
+        return r;
+    }
+
     /**
      * Inserts batch statistics for the supplied map of response variables
      *
@@ -717,7 +890,7 @@ public class JSLDatabase {
                 records.add(batchStatRecord);
             }
         }
-        myDb.getDSLContext().batchStore(records).execute();
+        storeRecords(records);
     }
 
     /**
@@ -738,7 +911,7 @@ public class JSLDatabase {
                 records.add(batchStatRecord);
             }
         }
-        myDb.getDSLContext().batchStore(records).execute();
+        storeRecords(records);
     }
 
     /**
@@ -872,6 +1045,7 @@ public class JSLDatabase {
      * Clears all data from the JSL database. Keeps the database structure.
      */
     public final void clearAllData() {
+        flush();
         DSLContext create = myDb.getDSLContext();
         create.delete(BATCH_STAT).execute();
         create.delete(WITHIN_REP_COUNTER_STAT).execute();
@@ -905,6 +1079,7 @@ public class JSLDatabase {
      * @param expName the experiment name for the simulation
      */
     public final void deleteSimulationRunRecord(String simName, String expName) {
+        flush();
         DSLContext create = myDb.getDSLContext();
         SimulationRunRecord simulationRunRecord = create.selectFrom(SIMULATION_RUN)
                 .where(SIMULATION_RUN.SIM_NAME.eq(simName)
@@ -926,6 +1101,7 @@ public class JSLDatabase {
      * @return the record or null
      */
     public final SimulationRunRecord getSimulationRunRecord(String simName, String expName) {
+        flush();
         DSLContext create = myDb.getDSLContext();
         SimulationRunRecord simulationRunRecord = create.selectFrom(SIMULATION_RUN)
                 .where(SIMULATION_RUN.SIM_NAME.eq(simName)
@@ -945,6 +1121,7 @@ public class JSLDatabase {
      * @return true if the record exits
      */
     public final boolean simulationRunRecordExists(String simName, String expName) {
+        flush();
         DSLContext create = myDb.getDSLContext();
         SimulationRunRecord simulationRunRecord = create.selectFrom(SIMULATION_RUN)
                 .where(SIMULATION_RUN.SIM_NAME.eq(simName)
@@ -958,6 +1135,7 @@ public class JSLDatabase {
      * @return the record or null
      */
     public final SimulationRunRecord getSimulationRunRecord(Integer simId) {
+        flush();
         SimulationRunRecord simulationRunRecord = myDb.getDSLContext()
                 .selectFrom(SIMULATION_RUN).where(SIMULATION_RUN.ID.eq(simId)).fetchOne();
         return simulationRunRecord;
@@ -967,6 +1145,7 @@ public class JSLDatabase {
      * @return the simulation run records as a jooq Result
      */
     public final Result<SimulationRunRecord> getSimulationRunRecords() {
+        flush();
         Result<SimulationRunRecord> simRecords = myDb.getDSLContext()
                 .selectFrom(SIMULATION_RUN).orderBy(SIMULATION_RUN.ID,
                         SIMULATION_RUN.SIM_NAME,
@@ -981,6 +1160,7 @@ public class JSLDatabase {
      * @return the model element records as a jooq Result
      */
     public final Result<ModelElementRecord> getModelElementRecords() {
+        flush();
         Result<ModelElementRecord> modelElementRecords = myDb.getDSLContext()
                 .selectFrom(MODEL_ELEMENT).orderBy(MODEL_ELEMENT.ELEMENT_ID).fetch();
         return modelElementRecords;
@@ -991,6 +1171,7 @@ public class JSLDatabase {
      * @return a BiMap linking model element records with corresponding ModelElements
      */
     public final BiMap<ModelElementRecord, ModelElement> getModelElementRecordBiMap(Model model) {
+        flush();
         Objects.requireNonNull(model, "The model was null");
         BiMap<ModelElementRecord, ModelElement> biMap = HashBiMap.create();
         Result<ModelElementRecord> elementRecords = getModelElementRecords();
@@ -1007,6 +1188,7 @@ public class JSLDatabase {
      * @return the within replication statistics as a jooq Result
      */
     public final Result<WithinRepStatRecord> getWithinRepStatRecords() {
+        flush();
         Result<WithinRepStatRecord> withinRepStatRecords = myDb.getDSLContext()
                 .selectFrom(WITHIN_REP_STAT)
                 .orderBy(WITHIN_REP_STAT.SIM_RUN_ID_FK,
@@ -1016,10 +1198,24 @@ public class JSLDatabase {
         return withinRepStatRecords;
     }
 
+    /**
+     * @return the within replication counter statistics as a jooq Result
+     */
+    public final Result<WithinRepCounterStatRecord> getWithinRepCounterStatRecords() {
+        flush();
+        return myDb.getDSLContext()
+                .selectFrom(WITHIN_REP_COUNTER_STAT)
+                .orderBy(WITHIN_REP_COUNTER_STAT.SIM_RUN_ID_FK,
+                        WITHIN_REP_COUNTER_STAT.ID,
+                        WITHIN_REP_COUNTER_STAT.ELEMENT_ID_FK,
+                        WITHIN_REP_COUNTER_STAT.REP_NUM).fetch();
+    }
+
     /**
      * @return the within replication statistics as a JDBC ResultSet
      */
     public final ResultSet getWithinRepStatRecordsAsResultSet() {
+        flush();
         ResultSet resultSet = getWithinRepStatRecords().intoResultSet();
         return resultSet;
     }
@@ -1028,6 +1224,7 @@ public class JSLDatabase {
      * @return a jooq Result of across replication statistics for all simulation runs
      */
     public final Result<AcrossRepStatRecord> getAcrossRepStatRecords() {
+        flush();
         Result<AcrossRepStatRecord> acrossRepStatRecords = myDb.getDSLContext()
                 .selectFrom(ACROSS_REP_STAT)
                 .orderBy(ACROSS_REP_STAT.SIM_RUN_ID_FK,
@@ -1041,6 +1238,7 @@ public class JSLDatabase {
      * @return the across replication statistics as a JDBC ResultSet
      */
     public final ResultSet getAcrossRepStatRecordsAsResultSet() {
+        flush();
         return getAcrossRepStatRecords().intoResultSet();
     }
 
@@ -1048,6 +1246,7 @@ public class JSLDatabase {
      * @return a jooq Result of batch statistics
      */
     public final Result<BatchStatRecord> getBatchStatRecords() {
+        flush();
         Result<BatchStatRecord> batchStatRecords = myDb.getDSLContext()
                 .selectFrom(BATCH_STAT)
                 .orderBy(BATCH_STAT.SIM_RUN_ID_FK,
@@ -1061,15 +1260,38 @@ public class JSLDatabase {
      * @return the batch statistics as a JDBC ResultSet
      */
     public final ResultSet getBatchStatRecordsAsResultSet() {
+        flush();
         return getBatchStatRecords().intoResultSet();
     }
 
+    /**
+     * @return a jooq Result of quantile statistics
+     */
+    public final Result<QuantileStatRecord> getQuantileStatRecords() {
+        flush();
+        Result<QuantileStatRecord> quantileStatRecords = myDb.getDSLContext()
+                .selectFrom(QUANTILE_STAT)
+                .orderBy(QUANTILE_STAT.SIM_RUN_ID_FK,
+                        QUANTILE_STAT.ELEMENT_ID_FK,
+                        QUANTILE_STAT.REP_NUM).fetch();
+        return quantileStatRecords;
+    }
+
+    /**
+     * @return the quantile statistics as a JDBC ResultSet
+     */
+    public final ResultSet getQuantileStatRecordsAsResultSet() {
+        flush();
+        return getQuantileStatRecords().intoResultSet();
+    }
+
     /**
      * Within replication view of that simulation response results
      *
      * @return a jooq Result holding (simid, exp_name, element_name, stat_name, rep_num, average)
      */
     public final Result<WithinRepResponseViewRecord> getWithinRepResponseViewRecords() {
+        flush();
         Result<WithinRepResponseViewRecord> fetch = myDb.getDSLContext()
                 .selectFrom(WITHIN_REP_RESPONSE_VIEW)
                 .orderBy(WITHIN_REP_RESPONSE_VIEW.SIM_RUN_ID_FK,
@@ -1085,6 +1307,7 @@ public class JSLDatabase {
      * @return a jooq Result holding (simid, exp_name, element_name, stat_name, rep_num, last_value)
      */
     public final Result<WithinRepCounterViewRecord> getWithinRepCounterViewRecords() {
+        flush();
         Result<WithinRepCounterViewRecord> fetch = myDb.getDSLContext()
                 .selectFrom(WITHIN_REP_COUNTER_VIEW)
                 .orderBy(WITHIN_REP_COUNTER_VIEW.SIM_RUN_ID_FK,
@@ -1100,6 +1323,7 @@ public class JSLDatabase {
      * @return a jooq Result holding (simid, exp_name, element_name, stat_name, stat_count, average, std_dev)
      */
     public final Result<AcrossRepViewRecord> getAcrossRepViewRecords() {
+        flush();
         Result<AcrossRepViewRecord> fetch = myDb.getDSLContext()
                 .selectFrom(ACROSS_REP_VIEW)
                 .orderBy(ACROSS_REP_VIEW.SIM_RUN_ID_FK,
@@ -1112,6 +1336,7 @@ public class JSLDatabase {
      * @return A JDBC ResultSet of the across replication view records.
      */
     public final ResultSet getAcrossRepViewRecordsAsResultSet() {
+        flush();
         return getAcrossRepViewRecords().intoResultSet();
     }
 
@@ -1121,6 +1346,7 @@ public class JSLDatabase {
      * @return a jooq Result holding (simid, exp_name, element_name, stat_name, stat_count, average, std_dev)
      */
     public final Result<BatchStatViewRecord> getBatchStatViewRecords() {
+        flush();
         Result<BatchStatViewRecord> fetch = myDb.getDSLContext()
                 .selectFrom(BATCH_STAT_VIEW)
                 .orderBy(BATCH_STAT_VIEW.SIM_RUN_ID_FK,
@@ -1138,6 +1364,7 @@ public class JSLDatabase {
      * @return a jooq Result holding (simid, exp_name, stat_name, rep_num, value)
      */
     public final Result<WithinRepViewRecord> getWithinRepViewRecords() {
+        flush();
         Result<WithinRepViewRecord> fetch = myDb.getDSLContext()
                 .selectFrom(WITHIN_REP_VIEW)
                 .orderBy(WITHIN_REP_VIEW.SIM_RUN_ID_FK,
@@ -1157,6 +1384,7 @@ public class JSLDatabase {
      * @return the jooq Result holding the records
      */
     public Result<PwDiffWithinRepViewRecord> getPairWiseWithinRepViewRecords() {
+        flush();
         Result<PwDiffWithinRepViewRecord> fetch = myDb.getDSLContext()
                 .selectFrom(PW_DIFF_WITHIN_REP_VIEW)
                 .orderBy(PW_DIFF_WITHIN_REP_VIEW.SIM_NAME,
@@ -1174,6 +1402,7 @@ public class JSLDatabase {
      */
     public Result<Record12<String, String, String, String, String, BigDecimal, BigDecimal, BigDecimal, BigDecimal,
             BigDecimal, BigDecimal, Integer>> getPairWiseAcrossRepRecords() {
+        flush();
         Result<Record12<String, String, String, String, String, BigDecimal, BigDecimal, BigDecimal, BigDecimal,
                 BigDecimal, BigDecimal, Integer>> fetch = myDb.getDSLContext()
                 .select(PW_DIFF_WITHIN_REP_VIEW.SIM_NAME,
@@ -1205,6 +1434,7 @@ public class JSLDatabase {
      * @return the ResultSet
      */
     public ResultSet getPairWiseAcrossRepRecordsAsResultSet() {
+        flush();
         return getPairWiseAcrossRepRecords().intoResultSet();
     }
 
@@ -1212,6 +1442,7 @@ public class JSLDatabase {
      * @return the within replication view records as a JDBC ResultSet
      */
     public final ResultSet getWithinRepViewRecordsAsResultSet() {
+        flush();
         return getWithinRepViewRecords().intoResultSet();
     }
 
@@ -1219,6 +1450,7 @@ public class JSLDatabase {
      * @return a map with key sim run id holding the within replication view records by simulation run id
      */
     public final Map<Integer, WithinRepViewRecord> getWithinRepViewRecordsBySimulationRunId() {
+        flush();
         Map<Integer, WithinRepViewRecord> map = getWithinRepViewRecords()
                 .intoMap(WITHIN_REP_VIEW.SIM_RUN_ID_FK);
         return map;
@@ -1228,6 +1460,7 @@ public class JSLDatabase {
      * @return a map with key sim run id holding the across replication view records
      */
     public final Map<Integer, AcrossRepViewRecord> getAcrossRepViewRecordsBySimulationRunId() {
+        flush();
         Map<Integer, AcrossRepViewRecord> map = getAcrossRepViewRecords().intoMap(ACROSS_REP_VIEW.SIM_RUN_ID_FK);
         return map;
     }
@@ -1239,6 +1472,7 @@ public class JSLDatabase {
      * @return the across replication statistics as a Statistic
      */
     public final Statistic getAcrossRepStatistic(Integer simId, String responseName) {
+        flush();
         List<Double> list = myDb.getDSLContext()
                 .select(WITHIN_REP_VIEW.VALUE)
                 .from(WITHIN_REP_VIEW)
@@ -1258,6 +1492,7 @@ public class JSLDatabase {
      * @return a Map with key as simulation id and replication value in the array
      */
     public final Map<Integer, double[]> getWithRepViewValuesAsMap(String responseName) {
+        flush();
         Map<Integer, List<Double>> rMap = myDb.getDSLContext()
                 .selectFrom(WITHIN_REP_VIEW)
                 .where(WITHIN_REP_VIEW.STAT_NAME.eq(responseName))
@@ -1287,6 +1522,7 @@ public class JSLDatabase {
      */
     public final MultipleComparisonAnalyzer getMultipleComparisonAnalyzerFor(Set<String> expNames,
                                                                              String responseName) {
+        flush();
         Map<String, double[]> map = getWithinRepViewValuesAsMapForExperiments(expNames, responseName);
         MultipleComparisonAnalyzer mca = new MultipleComparisonAnalyzer(map);
         mca.setName(responseName);
@@ -1307,6 +1543,7 @@ public class JSLDatabase {
      */
     public final Map<String, double[]> getWithinRepViewValuesAsMapForExperiments(Set<String> expNames,
                                                                                  String responseName) {
+        flush();
         Objects.requireNonNull(expNames, "The set of experiment names was null");
         Map<String, double[]> responseMap = new LinkedHashMap<>();
         if (expNames.isEmpty()) {
@@ -1505,6 +1742,7 @@ public class JSLDatabase {
      * @param out the PrintWriter to write to
      */
     public void writeAllTablesAsText(PrintWriter out) {
+        flush();
         myDb.writeAllTablesAsText(getJSLSchemaName(), out);
     }
 
@@ -1516,6 +1754,7 @@ public class JSLDatabase {
      * @throws IOException a checked exception
      */
     public void writeAllTablesAsCSV() throws IOException {
+        flush();
         myDb.writeAllTablesAsCSV(getJSLSchemaName(), JSL.ExcelDir);
     }
 
@@ -1528,6 +1767,7 @@ public class JSLDatabase {
      * @throws IOException a checked exception
      */
     public void writeAllTablesAsCSV(Path pathToOutPutDirectory) throws IOException {
+        flush();
         myDb.writeAllTablesAsCSV(getJSLSchemaName(), pathToOutPutDirectory);
     }
 
@@ -1535,6 +1775,7 @@ public class JSLDatabase {
      * Writes all the tables to an Excel workbook,  uses JSL.ExcelDir for the directory
      */
     public void writeDbToExcelWorkbook() throws IOException {
+        flush();
         myDb.writeDbToExcelWorkbook(getJSLSchemaName(), JSL.ExcelDir);
     }
 
@@ -1544,6 +1785,7 @@ public class JSLDatabase {
      * @param wbDirectory directory of the workbook, if null uses the working directory
      */
     public void writeDbToExcelWorkbook(Path wbDirectory) throws IOException {
+        flush();
         myDb.writeDbToExcelWorkbook(getJSLSchemaName(), wbDirectory);
     }
 
@@ -1553,6 +1795,7 @@ public class JSLDatabase {
      * @param wbName name of the workbook, if null uses name of database
      */
     public void writeDbToExcelWorkbook(String wbName) throws IOException {
+        flush();
         myDb.writeDbToExcelWorkbook(getJSLSchemaName(), wbName, JSL.ExcelDir);
     }
 
@@ -1563,6 +1806,7 @@ public class JSLDatabase {
      * @param wbDirectory directory of the workbook, if null uses the working directory
      */
     public void writeDbToExcelWorkbook(String wbName, Path wbDirectory) throws IOException {
+        flush();
         myDb.writeDbToExcelWorkbook(getJSLSchemaName(), wbName, wbDirectory);
     }
 
@@ -50,7 +50,8 @@ public class JSLDatabaseObserver {
         myDb = db;
         mySim = sim;
         myObserver = new SimulationDatabaseObserver();
-        mySim.getModel().addObserver(myObserver);
+        mySim.getModel().addObserver(myObserver, ModelElement.BEFORE_EXPERIMENT,
+                ModelElement.AFTER_REPLICATION, ModelElement.AFTER_EXPERIMENT);
     }
 
     /**
@@ -100,7 +101,8 @@ public class JSLDatabaseObserver {
      */
     public final void startObserving(){
         if (!mySim.getModel().contains(myObserver)){
-            mySim.getModel().addObserver(myObserver);
+            mySim.getModel().addObserver(myObserver, ModelElement.BEFORE_EXPERIMENT,
+                    ModelElement.AFTER_REPLICATION, ModelElement.AFTER_EXPERIMENT);
         }
     }
 
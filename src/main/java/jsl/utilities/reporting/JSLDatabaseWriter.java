@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.utilities.reporting;
+
+import jsl.utilities.statistic.Statistic;
+import org.jooq.DSLContext;
+import org.jooq.Table;
+import org.jooq.TableRecord;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes records to a database on a background thread so that the thread running
+ * the simulation does not wait on the database. The records must be completely
+ * filled in before they are submitted, i.e. they are snapshots of the statistics.
+ * <p>
+ * Submitted lists of records are placed in a bounded queue. If the queue is full,
+ * submit() blocks until the writer catches up. The writer takes as many lists from
+ * the queue as will fit within the batch size and inserts them within one
+ * transaction, using a JDBC batch for each table. Thus, the records of many
+ * replications may be written by a single transaction.
+ * <p>
+ * If a transaction fails, the failure is logged and the next call to submit() or
+ * flush() throws a DataAccessException. The records of the failed transaction are
+ * not written.
+ */
+public class JSLDatabaseWriter {
+
+    /**
+     * The default number of lists of records that may wait in the queue
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    /**
+     * The default maximum number of records per transaction. A single submitted list
+     * that is larger than the batch size is still written in one transaction.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+
+    private static final List<TableRecord<?>> STOP = new ArrayList<>(0);
+
+    private final DSLContext myDSLContext;
+    private final BlockingQueue<List<? extends TableRecord<?>>> myQueue;
+    private final int myBatchSize;
+    private final Thread myThread;
+    private final Object myLock = new Object();
+
+    // the following are guarded by myLock
+    private long myNumSubmitted;
+    private long myNumProcessed;
+    private long myNumRecordsWritten;
+    private long myNumTimesBlocked;
+    private int myMaxQueueDepth;
+    private final Statistic myTransactionTimes;
+    private final Statistic myQueueDepths;
+    private DataAccessException myFailure;
+    private boolean myShutDownFlag;
+
+    /**
+     * Uses the default queue capacity and batch size
+     *
+     * @param dslContext the context to write through, must not be null
+     */
+    public JSLDatabaseWriter(DSLContext dslContext) {
+        this(dslContext, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param dslContext    the context to write through, must not be null
+     * @param queueCapacity the number of submitted lists that may wait to be written, must be &gt; 0
+     * @param batchSize     the maximum number of records per transaction, must be &gt; 0
+     */
+    public JSLDatabaseWriter(DSLContext dslContext, int queueCapacity, int batchSize) {
+        Objects.requireNonNull(dslContext, "The DSLContext was null");
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("The queue capacity must be > 0");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be > 0");
+        }
+        myDSLContext = dslContext;
+        myQueue = new ArrayBlockingQueue<>(queueCapacity);
+        myBatchSize = batchSize;
+        myTransactionTimes = new Statistic("Transaction Time (ms)");
+        myQueueDepths = new Statistic("Queue Depth");
+        myThread = new Thread(this::run, "JSLDatabaseWriter");
+        myThread.setDaemon(true);
+        myThread.start();
+    }
+
+    /**
+     * Places the records in the queue to be written. Blocks if the queue is full.
+     *
+     * @param records the records to write, must not be null
+     */
+    public void submit(List<? extends TableRecord<?>> records) {
+        Objects.requireNonNull(records, "The list of records was null");
+        checkFailure();
+        if (records.isEmpty()) {
+            return;
+        }
+        synchronized (myLock) {
+            if (myShutDownFlag) {
+                throw new IllegalStateException("The writer has been shut down");
+            }
+            myNumSubmitted++;
+            int depth = myQueue.size();
+            myQueueDepths.collect(depth);
+            if (depth >= myMaxQueueDepth) {
+                myMaxQueueDepth = depth + 1;
+            }
+        }
+        if (!myQueue.offer(records)) {
+            synchronized (myLock) {
+                myNumTimesBlocked++;
+            }
+            try {
+                myQueue.put(records);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                synchronized (myLock) {
+                    myNumSubmitted--;
+                    myLock.notifyAll();
+                }
+                throw new IllegalStateException("Interrupted while waiting to submit records", e);
+            }
+        }
+    }
+
+    /**
+     * Waits until all submitted records have been written
+     */
+    public void flush() {
+        synchronized (myLock) {
+            while (myNumProcessed < myNumSubmitted) {
+                try {
+                    myLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for records to be written", e);
+                }
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * Writes any submitted records and then stops the background thread. The
+     * writer cannot be used after it has been shut down.
+     */
+    public void shutdown() {
+        synchronized (myLock) {
+            if (myShutDownFlag) {
+                return;
+            }
+            myShutDownFlag = true;
+        }
+        try {
+            myQueue.put(STOP);
+            myThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while shutting down the writer", e);
+        }
+        checkFailure();
+    }
+
+    /**
+     * @return true if shutdown() has been called
+     */
+    public final boolean isShutDown() {
+        synchronized (myLock) {
+            return myShutDownFlag;
+        }
+    }
+
+    /**
+     * @return the number of lists of records currently waiting in the queue
+     */
+    public final int getQueueDepth() {
+        int n = myQueue.size();
+        return (n > 0) && myQueue.contains(STOP) ? n - 1 : n;
+    }
+
+    /**
+     * @return the maximum number of lists of records that have waited in the queue
+     */
+    public final int getMaxQueueDepth() {
+        synchronized (myLock) {
+            return myMaxQueueDepth;
+        }
+    }
+
+    /**
+     * @return the number of times that submit() had to wait for space in the queue
+     */
+    public final long getNumberOfTimesBlocked() {
+        synchronized (myLock) {
+            return myNumTimesBlocked;
+        }
+    }
+
+    /**
+     * @return the number of records that have been written
+     */
+    public final long getNumberOfRecordsWritten() {
+        synchronized (myLock) {
+            return myNumRecordsWritten;
+        }
+    }
+
+    /**
+     * @return a copy of the statistics on the queue depth observed at each submission
+     */
+    public final Statistic getQueueDepthStatistic() {
+        synchronized (myLock) {
+            return myQueueDepths.newInstance();
+        }
+    }
+
+    /**
+     * @return a copy of the statistics on the time, in milliseconds, taken by each
+     * transaction. The count is the number of transactions.
+     */
+    public final Statistic getTransactionTimeStatistic() {
+        synchronized (myLock) {
+            return myTransactionTimes.newInstance();
+        }
+    }
+
+    private void checkFailure() {
+        synchronized (myLock) {
+            if (myFailure != null) {
+                DataAccessException e = myFailure;
+                myFailure = null;
+                throw new DataAccessException("The database writer failed to write records", e);
+            }
+        }
+    }
+
+    private void run() {
+        boolean stop = false;
+        List<List<? extends TableRecord<?>>> batch = new ArrayList<>();
+        while (!stop) {
+            batch.clear();
+            try {
+                List<? extends TableRecord<?>> records = myQueue.take();
+                if (records == STOP) {
+                    break;
+                }
+                batch.add(records);
+                int n = records.size();
+                while (n < myBatchSize) {
+                    records = myQueue.peek();
+                    if ((records == null) || (n + records.size() > myBatchSize)) {
+                        break;
+                    }
+                    myQueue.poll();
+                    if (records == STOP) {
+                        stop = true;
+                        break;
+                    }
+                    batch.add(records);
+                    n = n + records.size();
+                }
+            } catch (InterruptedException e) {
+                // only shutdown() stops the writer
+                continue;
+            }
+            write(batch);
+        }
+    }
+
+    private void write(List<List<? extends TableRecord<?>>> batch) {
+        Map<Table<?>, List<TableRecord<?>>> byTable = new LinkedHashMap<>();
+        int n = 0;
+        for (List<? extends TableRecord<?>> records : batch) {
+            for (TableRecord<?> r : records) {
+                byTable.computeIfAbsent(r.getTable(), t -> new ArrayList<>()).add(r);
+                n++;
+            }
+        }
+        long start = System.nanoTime();
+        DataAccessException failure = null;
+        try {
+            myDSLContext.transaction(configuration -> {
+                DSLContext create = DSL.using(configuration);
+                for (List<TableRecord<?>> records : byTable.values()) {
+                    create.batchInsert(records).execute();
+                }
+            });
+        } catch (RuntimeException e) {
+            JSL.LOGGER.error("The JSLDatabaseWriter failed to write {} records", n, e);
+            failure = (e instanceof DataAccessException) ? (DataAccessException) e :
+                    new DataAccessException("The database writer failed to write records", e);
+        }
+        double millis = (System.nanoTime() - start) / 1.0E6;
+        synchronized (myLock) {
+            if (failure == null) {
+                myNumRecordsWritten = myNumRecordsWritten + n;
+                myTransactionTimes.collect(millis);
+            } else if (myFailure == null) {
+                myFailure = failure;
+            }
+            myNumProcessed = myNumProcessed + batch.size();
+            myLock.notifyAll();
+        }
+    }
+}
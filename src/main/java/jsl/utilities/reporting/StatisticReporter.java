@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Formatter;
 import java.util.List;
+import jsl.utilities.statistic.QuantileEstimatorIfc;
 import jsl.utilities.statistic.StatisticAccessorIfc;
 
 /**
@@ -39,6 +40,10 @@ public class StatisticReporter {
 
     public final String DEFAULT_HEADER_FORMAT = "%-40s \t %12s \t %12s \t %12s %n";
 
+    public final String QUANTILE_ROW_FORMAT = "%-40s \t %12d \t %12.4f \t %12.4f \t %12.4f %n";
+
+    public final String QUANTILE_HEADER_FORMAT = "%-40s \t %12s \t %12s \t %12s \t %12s %n";
+
     private List<StatisticAccessorIfc> myStats;
 
     public final StringBuilder myRowFormat;
@@ -293,6 +298,54 @@ public class StatisticReporter {
         return sb;
     }
 
+    /**
+     * Gets the quantile summary report with no title. Only the statistics
+     * that estimate quantiles (i.e. that implement QuantileEstimatorIfc, such as
+     * QuantileSketch) appear on the report.
+     *
+     * @return the StringBuilder
+     */
+    public StringBuilder getQuantileSummaryReport() {
+        return getQuantileSummaryReport(null);
+    }
+
+    /**
+     * Gets the quantile summary report. The median, 95th and 99th
+     * percentiles are reported for the statistics that estimate quantiles
+     * (i.e. that implement QuantileEstimatorIfc, such as QuantileSketch).
+     *
+     * @param title an optional title for the report
+     * @return the StringBuilder
+     */
+    public StringBuilder getQuantileSummaryReport(String title) {
+        StringBuilder sb = new StringBuilder();
+        Formatter formatter = new Formatter(sb);
+        if (getReportLabelFlag()) {
+            if (myReportTitle != null) {
+                formatter.format("%s %n", myReportTitle);
+            }
+            formatter.format("Quantile Summary Report%n%n");
+        }
+        if (getTimeDateFlag()) {
+            formatter.format("%tc%n%n", Calendar.getInstance().getTimeInMillis());
+        }
+        if (title != null) {
+            formatter.format("%s %n", title);
+        }
+        formatter.format(QUANTILE_HEADER_FORMAT, "Name", "Count", "P50", "P95", "P99");
+        formatter.format("%s %n", myHline);
+        for (StatisticAccessorIfc stat : myStats) {
+            if (stat instanceof QuantileEstimatorIfc) {
+                QuantileEstimatorIfc q = (QuantileEstimatorIfc) stat;
+                int n = (int) stat.getCount();
+                formatter.format(QUANTILE_ROW_FORMAT, stat.getName(), n, q.getMedian(),
+                        q.get95thPercentile(), q.get99thPercentile());
+            }
+        }
+        formatter.format("%s %n", myHline);
+        return sb;
+    }
+
     /**
      * Gets statistics as LaTeX tabular. Each StringBuilder in the list
      * represents a tabular with a maximum number of rows = 60
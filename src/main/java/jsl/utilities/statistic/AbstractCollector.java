@@ -287,6 +287,21 @@ public abstract class AbstractCollector implements CollectorIfc, SaveDataIfc {
         myWeights[mySaveCount - 1] = w;
     }
 
+    /**
+     * Used when merging collectors. If this collector is saving data, the
+     * data saved by the other collector is appended to the saved data.
+     *
+     * @param other the collector whose saved data should be appended
+     */
+    protected void appendSavedData(AbstractCollector other) {
+        if (!getSaveDataOption() || (other.myData == null)) {
+            return;
+        }
+        for (int i = 0; i < other.mySaveCount; i++) {
+            saveData(other.myData[i], other.myWeights[i]);
+        }
+    }
+
     @Override
     public void setSaveDataArraySizeIncrement(int n) {
         if (n <= 0) {
@@ -15,6 +15,10 @@
  */
 package jsl.utilities.statistic;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * This class automates the batching of observations that may be dependent. It
  * computes the batch means of the batches and reports statistics across the
@@ -286,6 +290,186 @@ public class BatchStatistic extends AbstractStatistic {
         return newInstance(this);
     }
 
+    /**
+     * Merges the observations summarized by the supplied batch statistic into
+     * this batch statistic, as if the observations of other had been collected
+     * by this statistic after its own observations. The statistics must have
+     * the same minimum number of batches, minimum batch size, and maximum
+     * number of batches multiple.
+     * <p>
+     * The batch means of other (and its partial batch) are presented to this
+     * statistic in order and are batched, and re-batched, using the same rules
+     * as collect(). The total number of observations, missing count, last
+     * value, and saved data are combined exactly. The resulting batch means
+     * are the same as those from sequential collection (for unit weights) when
+     * the batches of other line up with the batch boundaries of this
+     * statistic, for example when this statistic is empty, or when both
+     * statistics have the same current batch size and this statistic has no
+     * partially filled batch. If a batch of other would straddle a batch
+     * boundary of this statistic, the straddling batch is split and each part
+     * is represented by the batch mean of other.
+     *
+     * @param other the batch statistic to merge, must not be null
+     */
+    public final void merge(BatchStatistic other) {
+        if (other == null) {
+            throw new IllegalArgumentException("The batch statistic to merge was null");
+        }
+        if ((myMinNumBatches != other.myMinNumBatches) || (myMinBatchSize != other.myMinBatchSize)
+                || (myMaxNumBatchesMultiple != other.myMaxNumBatchesMultiple)) {
+            throw new IllegalArgumentException("The batch statistics must have the same batching parameters to be merged");
+        }
+        if (other == this) {
+            other = newInstance(other);
+        }
+        myNumMissing = myNumMissing + other.myNumMissing;
+        if (other.myTotNumObs == 0.0) {
+            return;
+        }
+        appendSavedData(other);
+        if (myTotNumObs == 0.0) {
+            // nothing to line up with, take over the batches of other
+            System.arraycopy(other.bm, 1, bm, 1, other.myNumBatches);
+            myNumBatches = other.myNumBatches;
+            myNumRebatches = other.myNumRebatches;
+            myCurrentBatchSize = other.myCurrentBatchSize;
+            myStatistic.merge(other.myStatistic);
+            myBMStatistic.merge(other.myBMStatistic);
+        } else {
+            double s = other.myCurrentBatchSize;
+            for (int i = 1; i <= other.myNumBatches; i++) {
+                collectPartialBatch(constantStatistic(other.bm[i], s));
+            }
+            if (other.myStatistic.getCount() > 0.0) {
+                collectPartialBatch(other.myStatistic);
+            }
+        }
+        myTotNumObs = myTotNumObs + other.myTotNumObs;
+        myValue = other.myValue;
+        myWeight = other.myWeight;
+    }
+
+    /**
+     * Adds the observations summarized by the chunk to the current batch,
+     * completing batches as they fill up.
+     *
+     * @param chunk summarizes consecutive observations
+     */
+    private void collectPartialBatch(Statistic chunk) {
+        double room = myCurrentBatchSize - myStatistic.getCount();
+        if (chunk.getCount() <= room) {
+            myStatistic.merge(chunk);
+            if (myStatistic.getCount() == myCurrentBatchSize) {
+                collectBatch();
+            }
+            return;
+        }
+        double mean = chunk.getWeightedAverage();
+        double remaining = chunk.getCount();
+        while (remaining > 0.0) {
+            double take = Math.min(myCurrentBatchSize - myStatistic.getCount(), remaining);
+            myStatistic.merge(constantStatistic(mean, take));
+            remaining = remaining - take;
+            if (myStatistic.getCount() == myCurrentBatchSize) {
+                collectBatch();
+            }
+        }
+    }
+
+    /**
+     * @param x the value
+     * @param n the number of observations
+     * @return a statistic as if x had been observed n times with unit weight
+     */
+    private static Statistic constantStatistic(double x, double n) {
+        Statistic s = new Statistic();
+        s.num = n;
+        s.sumw = n;
+        s.wsum = n * x;
+        s.wsumsq = n * x * x;
+        s.myJsum = x * n * (n + 1.0) / 2.0;
+        s.sumxx = (n - 1.0) * x * x;
+        s.firstx = x;
+        s.min = x;
+        s.max = x;
+        s.myValue = x;
+        s.myWeight = 1.0;
+        s.moments[0] = n;
+        s.moments[1] = x;
+        return s;
+    }
+
+    /**
+     * Writes the state of this batch statistic in a compact binary form.
+     * Saved data is not written.
+     *
+     * @param out the output to write to, must not be null
+     * @throws IOException if the underlying output throws
+     */
+    public final void writeTo(DataOutput out) throws IOException {
+        StatisticSerializer.writeHeader(out, StatisticSerializer.BATCH_STATISTIC);
+        StatisticSerializer.writeName(out, myName);
+        out.writeInt(myMinNumBatches);
+        out.writeInt(myMinBatchSize);
+        out.writeInt(myMaxNumBatchesMultiple);
+        out.writeDouble(myNumMissing);
+        out.writeDouble(myTotNumObs);
+        out.writeDouble(myValue);
+        out.writeDouble(myWeight);
+        out.writeInt(myNumRebatches);
+        out.writeInt(myCurrentBatchSize);
+        out.writeInt(myNumBatches);
+        for (int i = 1; i <= myNumBatches; i++) {
+            out.writeDouble(bm[i]);
+        }
+        myStatistic.writeTo(out);
+        myBMStatistic.writeTo(out);
+    }
+
+    /**
+     * Reads a batch statistic that was written by writeTo()
+     *
+     * @param in the input to read from, must not be null
+     * @return the batch statistic
+     * @throws IOException if the input does not hold a serialized BatchStatistic
+     */
+    public static BatchStatistic readFrom(DataInput in) throws IOException {
+        StatisticSerializer.readHeader(in, StatisticSerializer.BATCH_STATISTIC);
+        String name = StatisticSerializer.readName(in);
+        int minNumBatches = in.readInt();
+        int minBatchSize = in.readInt();
+        int maxNBMultiple = in.readInt();
+        BatchStatistic b = new BatchStatistic(minNumBatches, minBatchSize, maxNBMultiple, name);
+        b.myNumMissing = in.readDouble();
+        b.myTotNumObs = in.readDouble();
+        b.myValue = in.readDouble();
+        b.myWeight = in.readDouble();
+        b.myNumRebatches = in.readInt();
+        b.myCurrentBatchSize = in.readInt();
+        b.myNumBatches = in.readInt();
+        for (int i = 1; i <= b.myNumBatches; i++) {
+            b.bm[i] = in.readDouble();
+        }
+        b.myStatistic = Statistic.readFrom(in);
+        b.myBMStatistic = Statistic.readFrom(in);
+        return b;
+    }
+
+    /**
+     * @return the state of this batch statistic in the form written by writeTo()
+     */
+    public final byte[] toByteArray() {
+        return StatisticSerializer.toByteArray(this::writeTo);
+    }
+
+    /**
+     * @param bytes bytes produced by toByteArray()
+     * @return the batch statistic held in the bytes
+     */
+    public static BatchStatistic fromByteArray(byte[] bytes) {
+        return StatisticSerializer.fromByteArray(bytes, BatchStatistic::readFrom);
+    }
+
     /**
      * Returns the minimum number of Batches that are needed
      *
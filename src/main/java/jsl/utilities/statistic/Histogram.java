@@ -15,6 +15,10 @@
  */
 package jsl.utilities.statistic;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import jsl.utilities.random.distributions.Exponential;
 import jsl.utilities.math.*;
 import jsl.utilities.random.rvariable.ExponentialRV;
@@ -254,6 +258,109 @@ public class Histogram extends AbstractStatistic {
         clearSavedData();
     }
 
+    /**
+     * Merges the tabulation of the supplied histogram into this histogram.
+     * The histograms must have the same bin definitions. The bin counts,
+     * underflow and overflow counts are added and the statistics on the
+     * tabulated values are merged.
+     *
+     * @param other the histogram to merge into this histogram, must not be null
+     */
+    public void merge(Histogram other) {
+        if (other == null) {
+            throw new IllegalArgumentException("The histogram to merge was null");
+        }
+        if ((myNumBins != other.myNumBins) || (myFirstBinLL != other.myFirstBinLL)
+                || (myBinWidth != other.myBinWidth)) {
+            throw new IllegalArgumentException("The histograms must have the same bins to be merged");
+        }
+        if (other == this) {
+            other = other.newInstance();
+        }
+        myNumMissing = myNumMissing + other.myNumMissing;
+        myUnderFlowCount = myUnderFlowCount + other.myUnderFlowCount;
+        myOverFlowCount = myOverFlowCount + other.myOverFlowCount;
+        for (int i = 0; i < myCountData.length; i++) {
+            myCountData[i] = myCountData[i] + other.myCountData[i];
+        }
+        myStatistic.merge(other.myStatistic);
+        appendSavedData(other);
+    }
+
+    /**
+     * @return a copy of this histogram, saved data is not copied
+     */
+    public Histogram newInstance() {
+        Histogram h = new Histogram(myFirstBinLL, myNumBins, myBinWidth, myName);
+        h.myNumMissing = myNumMissing;
+        h.myUnderFlowCount = myUnderFlowCount;
+        h.myOverFlowCount = myOverFlowCount;
+        System.arraycopy(myCountData, 0, h.myCountData, 0, myCountData.length);
+        h.myStatistic = myStatistic.newInstance();
+        return h;
+    }
+
+    /**
+     * Writes the state of this histogram in a compact binary form. Saved data
+     * is not written.
+     *
+     * @param out the output to write to, must not be null
+     * @throws IOException if the underlying output throws
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        StatisticSerializer.writeHeader(out, StatisticSerializer.HISTOGRAM);
+        StatisticSerializer.writeName(out, myName);
+        out.writeDouble(myFirstBinLL);
+        out.writeInt(myNumBins);
+        out.writeDouble(myBinWidth);
+        out.writeDouble(myNumMissing);
+        out.writeDouble(myUnderFlowCount);
+        out.writeDouble(myOverFlowCount);
+        for (double c : myCountData) {
+            out.writeDouble(c);
+        }
+        myStatistic.writeTo(out);
+    }
+
+    /**
+     * Reads a histogram that was written by writeTo()
+     *
+     * @param in the input to read from, must not be null
+     * @return the histogram
+     * @throws IOException if the input does not hold a serialized Histogram
+     */
+    public static Histogram readFrom(DataInput in) throws IOException {
+        StatisticSerializer.readHeader(in, StatisticSerializer.HISTOGRAM);
+        String name = StatisticSerializer.readName(in);
+        double firstBinLL = in.readDouble();
+        int numBins = in.readInt();
+        double binWidth = in.readDouble();
+        Histogram h = new Histogram(firstBinLL, numBins, binWidth, name);
+        h.myNumMissing = in.readDouble();
+        h.myUnderFlowCount = in.readDouble();
+        h.myOverFlowCount = in.readDouble();
+        for (int i = 0; i < numBins; i++) {
+            h.myCountData[i] = in.readDouble();
+        }
+        h.myStatistic = Statistic.readFrom(in);
+        return h;
+    }
+
+    /**
+     * @return the state of this histogram in the form written by writeTo()
+     */
+    public final byte[] toByteArray() {
+        return StatisticSerializer.toByteArray(this::writeTo);
+    }
+
+    /**
+     * @param bytes bytes produced by toByteArray()
+     * @return the histogram held in the bytes
+     */
+    public static Histogram fromByteArray(byte[] bytes) {
+        return StatisticSerializer.fromByteArray(bytes, Histogram::readFrom);
+    }
+
     /** Bins are numbered starting at 1 through the number of bins
      *
      * @return int	the number of the bin where x is located
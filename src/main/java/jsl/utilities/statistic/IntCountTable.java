@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.utilities.statistic;
+
+import java.util.Arrays;
+
+/**
+ * Counts the occurrences of int values without allocating per value. While the
+ * range of the values is at most MAX_DENSE_RANGE, the counts are held in an
+ * array indexed by the value minus an offset. If the range becomes larger, the
+ * counts are moved to an open addressing hash table with linear probing. A count
+ * of zero marks an unused slot, so only positive counts are held.
+ */
+final class IntCountTable {
+
+    /**
+     * The largest range of values that is held in a dense array
+     */
+    static final int MAX_DENSE_RANGE = 1 << 16;
+
+    private static final int INITIAL_DENSE_SIZE = 16;
+
+    private static final int INITIAL_HASH_SIZE = 64;
+
+    /**
+     * The dense counts, null until the first value is added or if hashed
+     */
+    private int[] myDense;
+
+    /**
+     * The value held at index 0 of the dense counts
+     */
+    private int myOffset;
+
+    /**
+     * The keys of the hash table, null unless hashed
+     */
+    private int[] myKeys;
+
+    /**
+     * The counts of the hash table, 0 marks an unused slot
+     */
+    private int[] myCounts;
+
+    /**
+     * The number of distinct values with positive counts
+     */
+    private int mySize;
+
+    /**
+     * @return the number of distinct values with positive counts
+     */
+    int size() {
+        return mySize;
+    }
+
+    /**
+     * @return true if no values are counted
+     */
+    boolean isEmpty() {
+        return mySize == 0;
+    }
+
+    /**
+     * Removes all counts, keeping the allocated storage
+     */
+    void clear() {
+        if (myDense != null) {
+            Arrays.fill(myDense, 0);
+        }
+        if (myCounts != null) {
+            Arrays.fill(myCounts, 0);
+        }
+        mySize = 0;
+    }
+
+    /**
+     * @param value the value to count
+     */
+    void increment(int value) {
+        if (myDense != null) {
+            long i = (long) value - myOffset;
+            if ((i >= 0) && (i < myDense.length)) {
+                if (myDense[(int) i] == 0) {
+                    mySize++;
+                }
+                myDense[(int) i]++;
+                return;
+            }
+        }
+        add(value, 1);
+    }
+
+    /**
+     * @param value the value
+     * @param count the count to add to the value's count, must be &gt; 0
+     */
+    void add(int value, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("The count must be > 0");
+        }
+        if (myKeys == null) {
+            if (ensureDense(value)) {
+                int i = (int) ((long) value - myOffset);
+                if (myDense[i] == 0) {
+                    mySize++;
+                }
+                myDense[i] = myDense[i] + count;
+                return;
+            }
+        }
+        int mask = myKeys.length - 1;
+        int i = hash(value) & mask;
+        while (myCounts[i] != 0) {
+            if (myKeys[i] == value) {
+                myCounts[i] = myCounts[i] + count;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        myKeys[i] = value;
+        myCounts[i] = count;
+        mySize++;
+        if (2 * mySize > myKeys.length) {
+            rehash(2 * myKeys.length);
+        }
+    }
+
+    /**
+     * @param value the value
+     * @return the count of the value, 0 if not counted
+     */
+    int get(int value) {
+        if (myDense != null) {
+            long i = (long) value - myOffset;
+            if ((i >= 0) && (i < myDense.length)) {
+                return myDense[(int) i];
+            }
+            return 0;
+        }
+        if (myKeys == null) {
+            return 0;
+        }
+        int mask = myKeys.length - 1;
+        int i = hash(value) & mask;
+        while (myCounts[i] != 0) {
+            if (myKeys[i] == value) {
+                return myCounts[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Multiplies every count by the factor
+     *
+     * @param factor the factor, must be &gt; 0
+     */
+    void scale(int factor) {
+        int[] c = (myDense != null) ? myDense : myCounts;
+        if (c == null) {
+            return;
+        }
+        for (int i = 0; i < c.length; i++) {
+            c[i] = c[i] * factor;
+        }
+    }
+
+    /**
+     * @return the values with positive counts in increasing order
+     */
+    int[] values() {
+        int[] v = new int[mySize];
+        int k = 0;
+        if (myDense != null) {
+            for (int i = 0; i < myDense.length; i++) {
+                if (myDense[i] != 0) {
+                    v[k] = myOffset + i;
+                    k++;
+                }
+            }
+        } else if (myKeys != null) {
+            for (int i = 0; i < myKeys.length; i++) {
+                if (myCounts[i] != 0) {
+                    v[k] = myKeys[i];
+                    k++;
+                }
+            }
+            Arrays.sort(v);
+        }
+        return v;
+    }
+
+    /**
+     * Makes the dense array cover the value if the range allows it, otherwise
+     * moves the counts to the hash table
+     *
+     * @param value the value to cover
+     * @return true if the dense array covers the value
+     */
+    private boolean ensureDense(int value) {
+        if (myDense == null) {
+            myDense = new int[INITIAL_DENSE_SIZE];
+            myOffset = (int) Math.max(Integer.MIN_VALUE,
+                    Math.min((long) value - INITIAL_DENSE_SIZE / 2, (long) Integer.MAX_VALUE - INITIAL_DENSE_SIZE + 1));
+            return true;
+        }
+        long first = myOffset;
+        long last = first + myDense.length - 1;
+        if ((value >= first) && (value <= last)) {
+            return true;
+        }
+        long low = Math.min(first, value);
+        long high = Math.max(last, value);
+        if (high - low + 1 > MAX_DENSE_RANGE) {
+            rehash(INITIAL_HASH_SIZE);
+            return false;
+        }
+        long length = Math.min(Math.max(high - low + 1, 2L * myDense.length), MAX_DENSE_RANGE);
+        long offset = (value < first) ? high - length + 1 : low;
+        offset = Math.max(Integer.MIN_VALUE, Math.min(offset, (long) Integer.MAX_VALUE - length + 1));
+        int[] dense = new int[(int) length];
+        System.arraycopy(myDense, 0, dense, (int) (first - offset), myDense.length);
+        myDense = dense;
+        myOffset = (int) offset;
+        return true;
+    }
+
+    /**
+     * Moves the counts into a hash table of the given capacity (or larger)
+     *
+     * @param capacity a power of 2
+     */
+    private void rehash(int capacity) {
+        while (2 * mySize > capacity) {
+            capacity = 2 * capacity;
+        }
+        int[] oldKeys = myKeys;
+        int[] oldCounts = myCounts;
+        int[] dense = myDense;
+        myKeys = new int[capacity];
+        myCounts = new int[capacity];
+        myDense = null;
+        mySize = 0;
+        if (dense != null) {
+            for (int i = 0; i < dense.length; i++) {
+                if (dense[i] != 0) {
+                    add(myOffset + i, dense[i]);
+                }
+            }
+        }
+        if (oldKeys != null) {
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] != 0) {
+                    add(oldKeys[i], oldCounts[i]);
+                }
+            }
+        }
+    }
+
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -20,6 +20,9 @@
  */
 package jsl.utilities.statistic;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 
 import jsl.utilities.random.distributions.DEmpiricalCDF;
@@ -29,8 +32,9 @@ import jsl.utilities.random.distributions.DEmpiricalCDF;
  * the integers presented to it via the collect() method
  * Every value presented is interpreted as an integer
  * For every value presented a count is maintained.
- * There could be space/time performance issues if
- * the number of different values presented is large.
+ * The counts are held in an array indexed by value while the range of the
+ * values is small and in a primitive int keyed hash table otherwise, so
+ * collecting a value does not allocate.
  * <p>
  * This class can be useful for tabulating a
  * discrete histogram over the values (integers) presented.
@@ -40,20 +44,15 @@ import jsl.utilities.random.distributions.DEmpiricalCDF;
 public class IntegerFrequency {
 
     /**
-     * A Cell represents a value, count pairing
+     * Holds the count of each value
      */
-    protected Map<Cell, Cell> myCells;
+    private final IntCountTable myCells;
 
     /**
      * Collects statistical information
      */
     protected Statistic myStatistic;
 
-    /**
-     * Used as a temporary cell during tabulation
-     */
-    protected Cell myTemp;
-
     /**
      * The smallest value allowed.  Any
      * values &lt; to this value will be counted
@@ -118,8 +117,7 @@ public class IntegerFrequency {
         myLowerLimit = lowerLimit;
         myUpperLimit = upperLimit;
         myStatistic = new Statistic(name);
-        myTemp = new Cell();
-        myCells = new HashMap<Cell, Cell>();
+        myCells = new IntCountTable();
 
     }
 
@@ -162,15 +160,7 @@ public class IntegerFrequency {
         if (i > myUpperLimit) {
             myOverFlowCount = myOverFlowCount + 1;
         }
-        // myLowerLimit <= x <= myUpperLimit
-        myTemp.myValue = i;
-        Cell c = myCells.get(myTemp);
-        if (c == null) {
-            c = new Cell(i);
-            myCells.put(c, c);
-        } else {
-            c.myCount = c.myCount + 1;
-        }
+        myCells.increment(i);
     }
 
     /**
@@ -202,6 +192,95 @@ public class IntegerFrequency {
         myCells.clear();
     }
 
+    /**
+     * Merges the tabulation of the supplied frequency into this frequency.
+     * The frequencies must have the same lower and upper limits. The counts
+     * of each value, the underflow and overflow counts are added and the
+     * statistics on the values are merged.
+     *
+     * @param other the frequency to merge into this frequency, must not be null
+     */
+    public void merge(IntegerFrequency other) {
+        Objects.requireNonNull(other, "The frequency to merge was null");
+        if ((myLowerLimit != other.myLowerLimit) || (myUpperLimit != other.myUpperLimit)) {
+            throw new IllegalArgumentException("The frequencies must have the same limits to be merged");
+        }
+        if (other == this) {
+            myCells.scale(2);
+            myUnderFlowCount = 2 * myUnderFlowCount;
+            myOverFlowCount = 2 * myOverFlowCount;
+            myStatistic.merge(myStatistic);
+            return;
+        }
+        myUnderFlowCount = myUnderFlowCount + other.myUnderFlowCount;
+        myOverFlowCount = myOverFlowCount + other.myOverFlowCount;
+        for (int v : other.myCells.values()) {
+            myCells.add(v, other.myCells.get(v));
+        }
+        myStatistic.merge(other.myStatistic);
+    }
+
+    /**
+     * Writes the state of this frequency in a compact binary form. The values
+     * and their counts are written in increasing order of the values.
+     *
+     * @param out the output to write to, must not be null
+     * @throws IOException if the underlying output throws
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        StatisticSerializer.writeHeader(out, StatisticSerializer.INTEGER_FREQUENCY);
+        StatisticSerializer.writeName(out, myName);
+        out.writeInt(myLowerLimit);
+        out.writeInt(myUpperLimit);
+        out.writeInt(myUnderFlowCount);
+        out.writeInt(myOverFlowCount);
+        out.writeInt(myCells.size());
+        for (int v : myCells.values()) {
+            out.writeInt(v);
+            out.writeInt(myCells.get(v));
+        }
+        myStatistic.writeTo(out);
+    }
+
+    /**
+     * Reads a frequency that was written by writeTo()
+     *
+     * @param in the input to read from, must not be null
+     * @return the frequency
+     * @throws IOException if the input does not hold a serialized IntegerFrequency
+     */
+    public static IntegerFrequency readFrom(DataInput in) throws IOException {
+        StatisticSerializer.readHeader(in, StatisticSerializer.INTEGER_FREQUENCY);
+        String name = StatisticSerializer.readName(in);
+        int lowerLimit = in.readInt();
+        int upperLimit = in.readInt();
+        IntegerFrequency f = new IntegerFrequency(lowerLimit, upperLimit, name);
+        f.myUnderFlowCount = in.readInt();
+        f.myOverFlowCount = in.readInt();
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            int value = in.readInt();
+            f.myCells.add(value, in.readInt());
+        }
+        f.myStatistic = Statistic.readFrom(in);
+        return f;
+    }
+
+    /**
+     * @return the state of this frequency in the form written by writeTo()
+     */
+    public final byte[] toByteArray() {
+        return StatisticSerializer.toByteArray(this::writeTo);
+    }
+
+    /**
+     * @param bytes bytes produced by toByteArray()
+     * @return the frequency held in the bytes
+     */
+    public static IntegerFrequency fromByteArray(byte[] bytes) {
+        return StatisticSerializer.fromByteArray(bytes, IntegerFrequency::readFrom);
+    }
+
     /**
      * The number of observations that fell below the first bin's lower limit
      *
@@ -227,17 +306,7 @@ public class IntegerFrequency {
      * @return the array of values observed or an empty array
      */
     public final int[] getValues() {
-        if (myCells.isEmpty()) {
-            return new int[0];
-        }
-        SortedSet<Cell> cellSet = getCells();
-        int[] v = new int[myCells.size()];
-        int i = 0;
-        for (Cell c : cellSet) {
-            v[i] = c.myValue;
-            i++;
-        }
-        return v;
+        return myCells.values();
     }
 
     /**
@@ -247,17 +316,7 @@ public class IntegerFrequency {
      * @return the array of frequencies observed or an empty array
      */
     public final int[] getFrequencies() {
-        if (myCells.isEmpty()) {
-            return new int[0];
-        }
-        SortedSet<Cell> cellSet = getCells();
-        int[] v = new int[myCells.size()];
-        int i = 0;
-        for (Cell c : cellSet) {
-            v[i] = c.myCount;
-            i++;
-        }
-        return v;
+        return getFrequencies(myCells.values());
     }
 
     /**
@@ -267,15 +326,11 @@ public class IntegerFrequency {
      * @return the array of proportions observed or an empty array
      */
     public final double[] getProportions() {
-        if (myCells.isEmpty()) {
-            return new double[0];
-        }
-        SortedSet<Cell> cellSet = getCells();
-        double[] v = new double[myCells.size()];
-        int i = 0;
-        for (Cell c : cellSet) {
-            v[i] = c.myProportion;
-            i++;
+        int[] f = getFrequencies();
+        double n = getTotalCount();
+        double[] v = new double[f.length];
+        for (int i = 0; i < f.length; i++) {
+            v[i] = f[i] / n;
         }
         return v;
     }
@@ -287,14 +342,10 @@ public class IntegerFrequency {
      * @return the cumulative frequency
      */
     public final int getCumulativeFrequency(int i) {
-        if (myCells.isEmpty()) {
-            return 0;
-        }
-        SortedSet<Cell> cellSet = getCells();
         int sum = 0;
-        for (Cell c : cellSet) {
-            if (c.myValue <= i) {
-                sum = sum + c.myCount;
+        for (int v : myCells.values()) {
+            if (v <= i) {
+                sum = sum + myCells.get(v);
             } else {
                 break;
             }
@@ -410,13 +461,7 @@ public class IntegerFrequency {
      * @return the frequency
      */
     public final int getFrequency(int x) {
-        myTemp.myValue = x;
-        Cell c = myCells.get(myTemp);
-        if (c == null) {
-            return 0;
-        } else {
-            return c.myCount;
-        }
+        return myCells.get(x);
     }
 
     /**
@@ -427,13 +472,12 @@ public class IntegerFrequency {
      * @return the proportion
      */
     public final double getProportion(int x) {
-        myTemp.myValue = x;
-        Cell c = myCells.get(myTemp);
-        if (c == null) {
+        int c = myCells.get(x);
+        if (c == 0) {
             return 0;
         } else {
             double n = getTotalCount();
-            return c.myCount / n;
+            return c / n;
         }
     }
 
@@ -485,14 +529,46 @@ public class IntegerFrequency {
      */
     protected final SortedSet<Cell> getCells() {
         SortedSet<Cell> cellSet = new TreeSet<Cell>();
-        for (Cell c : myCells.keySet()) {
-            double n = getTotalCount();
+        double n = getTotalCount();
+        for (int v : myCells.values()) {
+            Cell c = new Cell(v);
+            c.myCount = myCells.get(v);
             c.myProportion = c.myCount / n;
             cellSet.add(c);
         }
         return (cellSet);
     }
 
+    /**
+     * Returns a cell holding the current count of the value. Changing the
+     * returned cell does not change the tabulation.
+     *
+     * @param value the value
+     * @return the cell or null if the value has not been tabulated
+     */
+    protected final Cell getCell(int value) {
+        int count = myCells.get(value);
+        if (count == 0) {
+            return null;
+        }
+        Cell c = new Cell(value);
+        c.myCount = count;
+        c.myProportion = count / (double) getTotalCount();
+        return c;
+    }
+
+    /**
+     * Adds to the count of the value without collecting the value into
+     * the statistics or the underflow and overflow counts. This allows
+     * subclasses to adjust the tabulation directly.
+     *
+     * @param value the value
+     * @param count the amount to add to the count, must be &gt; 0
+     */
+    protected final void addToCount(int value, int count) {
+        myCells.add(value, count);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
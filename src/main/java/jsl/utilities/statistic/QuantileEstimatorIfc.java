@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.utilities.statistic;
+
+/**
+ * An estimator of the quantiles of the distribution of the observations that
+ * it has seen.
+ */
+public interface QuantileEstimatorIfc {
+
+    /**
+     * Returns an estimate of the p-th quantile, i.e. the value x such that
+     * approximately a fraction p of the observations are less than or equal
+     * to x.
+     *
+     * @param p the probability, must be in [0, 1]
+     * @return the estimated quantile or Double.NaN if no observations
+     */
+    double getQuantile(double p);
+
+    /**
+     * @return the estimated median (50th percentile)
+     */
+    default double getMedian() {
+        return getQuantile(0.5);
+    }
+
+    /**
+     * @return the estimated 95th percentile
+     */
+    default double get95thPercentile() {
+        return getQuantile(0.95);
+    }
+
+    /**
+     * @return the estimated 99th percentile
+     */
+    default double get99thPercentile() {
+        return getQuantile(0.99);
+    }
+}
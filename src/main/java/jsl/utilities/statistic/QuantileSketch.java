@@ -0,0 +1,655 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.utilities.statistic;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A QuantileSketch estimates the quantiles of the observations presented to
+ * it using a bounded amount of memory. The sketch is a merging t-digest
+ * (Dunning and Ertl): observations are buffered and periodically merged into a
+ * sorted list of centroids (mean, weight). The size of the centroids is
+ * limited by a scale function so that centroids near the tails of the
+ * distribution are small, which keeps the estimates of extreme quantiles
+ * (e.g. the 99th percentile) accurate. The number of centroids is bounded by
+ * the compression parameter, independent of the number of observations.
+ * <p>
+ * Weighted observations are supported; an observation with a weight that is
+ * not positive carries no mass and does not change the quantile estimates.
+ * Sketches can be merged, e.g. to combine the sketches of several replications
+ * or of several processes, and written to a compact binary form.
+ * <p>
+ * Summary statistics on all of the observations are also collected, so that a
+ * QuantileSketch can be used wherever a StatisticAccessorIfc is expected.
+ */
+public class QuantileSketch extends AbstractStatistic implements QuantileEstimatorIfc {
+
+    /**
+     * The default compression. The number of centroids is bounded by about
+     * the compression. Larger values give more accurate estimates.
+     */
+    public static final double DEFAULT_COMPRESSION = 200.0;
+
+    /**
+     * Controls the number of centroids
+     */
+    protected final double myCompression;
+
+    /**
+     * The means of the centroids, sorted
+     */
+    protected double[] myMeans;
+
+    /**
+     * The weights of the centroids
+     */
+    protected double[] myWeights;
+
+    /**
+     * The number of centroids
+     */
+    protected int myNumCentroids;
+
+    /**
+     * The total weight held in the centroids
+     */
+    protected double myCentroidWeight;
+
+    /**
+     * Observations that have not yet been merged into the centroids
+     */
+    protected final double[] myBufferValues;
+
+    /**
+     * The weights of the buffered observations
+     */
+    protected final double[] myBufferWeights;
+
+    /**
+     * The number of buffered observations
+     */
+    protected int myBufferSize;
+
+    /**
+     * The smallest observation with positive weight
+     */
+    protected double myMin;
+
+    /**
+     * The largest observation with positive weight
+     */
+    protected double myMax;
+
+    /**
+     * Collects statistical information
+     */
+    protected Statistic myStatistic;
+
+    /**
+     * Creates a sketch with the default compression
+     */
+    public QuantileSketch() {
+        this(DEFAULT_COMPRESSION, null);
+    }
+
+    /**
+     * Creates a sketch with the default compression
+     *
+     * @param name the name of the sketch
+     */
+    public QuantileSketch(String name) {
+        this(DEFAULT_COMPRESSION, name);
+    }
+
+    /**
+     * @param compression the compression, must be at least 10
+     * @param name the name of the sketch
+     */
+    public QuantileSketch(double compression, String name) {
+        super(name);
+        if (compression < 10.0) {
+            throw new IllegalArgumentException("The compression must be >= 10");
+        }
+        myCompression = compression;
+        int capacity = 2 * (int) Math.ceil(compression) + 10;
+        myMeans = new double[capacity];
+        myWeights = new double[capacity];
+        myBufferValues = new double[5 * (int) Math.ceil(compression)];
+        myBufferWeights = new double[myBufferValues.length];
+        myStatistic = new Statistic(name);
+        reset();
+    }
+
+    /**
+     * @return the compression of the sketch
+     */
+    public final double getCompression() {
+        return myCompression;
+    }
+
+    /**
+     * @return the number of centroids used to represent the observations
+     */
+    public final int getNumberOfCentroids() {
+        compress();
+        return myNumCentroids;
+    }
+
+    @Override
+    public boolean collect(double x, double weight) {
+        if (isTurnedOff()) {
+            return false;
+        }
+        if (Double.isNaN(x) || Double.isInfinite(x)) {
+            myNumMissing++;
+            return true;
+        }
+        if (getSaveDataOption()) {
+            saveData(x, weight);
+        }
+        myStatistic.collect(x, weight);
+        if (weight > 0.0) {
+            add(x, weight);
+        }
+        return true;
+    }
+
+    @Override
+    public void reset() {
+        myNumMissing = 0.0;
+        myStatistic.reset();
+        myNumCentroids = 0;
+        myCentroidWeight = 0.0;
+        myBufferSize = 0;
+        myMin = Double.POSITIVE_INFINITY;
+        myMax = Double.NEGATIVE_INFINITY;
+        clearSavedData();
+    }
+
+    /**
+     * Merges the observations summarized by the supplied sketch into this
+     * sketch. The compression of this sketch is used for the result. The
+     * supplied sketch is not changed.
+     *
+     * @param other the sketch to merge, must not be null
+     */
+    public void merge(QuantileSketch other) {
+        if (other == null) {
+            throw new IllegalArgumentException("The sketch to merge was null");
+        }
+        if (other == this) {
+            other = newInstance();
+        }
+        myNumMissing = myNumMissing + other.myNumMissing;
+        myStatistic.merge(other.myStatistic);
+        appendSavedData(other);
+        for (int i = 0; i < other.myNumCentroids; i++) {
+            add(other.myMeans[i], other.myWeights[i]);
+        }
+        for (int i = 0; i < other.myBufferSize; i++) {
+            add(other.myBufferValues[i], other.myBufferWeights[i]);
+        }
+        if (other.myMin < myMin) {
+            myMin = other.myMin;
+        }
+        if (other.myMax > myMax) {
+            myMax = other.myMax;
+        }
+    }
+
+    /**
+     * @return a copy of this sketch, saved data is not copied
+     */
+    public QuantileSketch newInstance() {
+        QuantileSketch s = new QuantileSketch(myCompression, myName);
+        s.myNumMissing = myNumMissing;
+        s.myStatistic = myStatistic.newInstance();
+        compress();
+        s.myMeans = Arrays.copyOf(myMeans, myMeans.length);
+        s.myWeights = Arrays.copyOf(myWeights, myWeights.length);
+        s.myNumCentroids = myNumCentroids;
+        s.myCentroidWeight = myCentroidWeight;
+        s.myMin = myMin;
+        s.myMax = myMax;
+        return s;
+    }
+
+    @Override
+    public double getQuantile(double p) {
+        if ((p < 0.0) || (p > 1.0)) {
+            throw new IllegalArgumentException("The probability must be in [0,1]");
+        }
+        compress();
+        if (myNumCentroids == 0) {
+            return Double.NaN;
+        }
+        if (myNumCentroids == 1) {
+            return myMeans[0];
+        }
+        double index = p * myCentroidWeight;
+        // left tail, between the minimum and the center of the first centroid
+        double half = myWeights[0] / 2.0;
+        if (index <= half) {
+            return myMin + (myMeans[0] - myMin) * index / half;
+        }
+        double cum = half;
+        for (int i = 0; i < myNumCentroids - 1; i++) {
+            double dw = (myWeights[i] + myWeights[i + 1]) / 2.0;
+            if (cum + dw >= index) {
+                return myMeans[i] + (myMeans[i + 1] - myMeans[i]) * (index - cum) / dw;
+            }
+            cum = cum + dw;
+        }
+        // right tail, between the center of the last centroid and the maximum
+        int last = myNumCentroids - 1;
+        half = myWeights[last] / 2.0;
+        double z = Math.min(index - cum, half);
+        return myMeans[last] + (myMax - myMeans[last]) * z / half;
+    }
+
+    /**
+     * Returns estimates for each of the supplied probabilities
+     *
+     * @param p the probabilities, each must be in [0,1]
+     * @return the estimated quantiles
+     */
+    public final double[] getQuantiles(double... p) {
+        double[] q = new double[p.length];
+        for (int i = 0; i < p.length; i++) {
+            q[i] = getQuantile(p[i]);
+        }
+        return q;
+    }
+
+    /**
+     * Writes the state of this sketch in a compact binary form. Saved data is
+     * not written.
+     *
+     * @param out the output to write to, must not be null
+     * @throws IOException if the underlying output throws
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        compress();
+        StatisticSerializer.writeHeader(out, StatisticSerializer.QUANTILE_SKETCH);
+        StatisticSerializer.writeName(out, myName);
+        out.writeDouble(myCompression);
+        out.writeDouble(myNumMissing);
+        out.writeDouble(myMin);
+        out.writeDouble(myMax);
+        out.writeInt(myNumCentroids);
+        for (int i = 0; i < myNumCentroids; i++) {
+            out.writeDouble(myMeans[i]);
+            out.writeDouble(myWeights[i]);
+        }
+        myStatistic.writeTo(out);
+    }
+
+    /**
+     * Reads a sketch that was written by writeTo()
+     *
+     * @param in the input to read from, must not be null
+     * @return the sketch
+     * @throws IOException if the input does not hold a serialized QuantileSketch
+     */
+    public static QuantileSketch readFrom(DataInput in) throws IOException {
+        StatisticSerializer.readHeader(in, StatisticSerializer.QUANTILE_SKETCH);
+        String name = StatisticSerializer.readName(in);
+        QuantileSketch s = new QuantileSketch(in.readDouble(), name);
+        s.myNumMissing = in.readDouble();
+        s.myMin = in.readDouble();
+        s.myMax = in.readDouble();
+        int n = in.readInt();
+        s.ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            s.myMeans[i] = in.readDouble();
+            s.myWeights[i] = in.readDouble();
+            s.myCentroidWeight = s.myCentroidWeight + s.myWeights[i];
+        }
+        s.myNumCentroids = n;
+        s.myStatistic = Statistic.readFrom(in);
+        return s;
+    }
+
+    /**
+     * @return the state of this sketch in the form written by writeTo()
+     */
+    public final byte[] toByteArray() {
+        return StatisticSerializer.toByteArray(this::writeTo);
+    }
+
+    /**
+     * @param bytes bytes produced by toByteArray()
+     * @return the sketch held in the bytes
+     */
+    public static QuantileSketch fromByteArray(byte[] bytes) {
+        return StatisticSerializer.fromByteArray(bytes, QuantileSketch::readFrom);
+    }
+
+    /**
+     * Adds a point with positive weight to the buffer, merging the buffer
+     * into the centroids when it is full
+     */
+    private void add(double x, double w) {
+        if (myBufferSize == myBufferValues.length) {
+            compress();
+        }
+        myBufferValues[myBufferSize] = x;
+        myBufferWeights[myBufferSize] = w;
+        myBufferSize++;
+        if (x < myMin) {
+            myMin = x;
+        }
+        if (x > myMax) {
+            myMax = x;
+        }
+    }
+
+    /**
+     * Merges the buffered observations into the centroids. The buffer and the
+     * centroids are both in sorted order, so they are merged as two sorted
+     * runs and adjacent points are combined while the resulting centroid
+     * stays within the size allowed by the scale function.
+     */
+    private void compress() {
+        if (myBufferSize == 0) {
+            return;
+        }
+        sort(myBufferValues, myBufferWeights, 0, myBufferSize - 1);
+        double total = myCentroidWeight;
+        for (int i = 0; i < myBufferSize; i++) {
+            total = total + myBufferWeights[i];
+        }
+        double[] means = new double[myMeans.length];
+        double[] weights = new double[myWeights.length];
+        int n = 0;
+        double wSoFar = 0.0;
+        double qLimit = 0.0;
+        double z = normalizer(total);
+        int i = 0;
+        int j = 0;
+        while ((i < myNumCentroids) || (j < myBufferSize)) {
+            double x;
+            double w;
+            if ((j >= myBufferSize) || ((i < myNumCentroids) && (myMeans[i] <= myBufferValues[j]))) {
+                x = myMeans[i];
+                w = myWeights[i];
+                i++;
+            } else {
+                x = myBufferValues[j];
+                w = myBufferWeights[j];
+                j++;
+            }
+            if ((n > 0) && (wSoFar + weights[n - 1] + w <= qLimit)) {
+                // absorb the point into the last centroid
+                weights[n - 1] = weights[n - 1] + w;
+                means[n - 1] = means[n - 1] + (x - means[n - 1]) * w / weights[n - 1];
+            } else {
+                if (n > 0) {
+                    wSoFar = wSoFar + weights[n - 1];
+                }
+                if (n == means.length) {
+                    means = Arrays.copyOf(means, 2 * n);
+                    weights = Arrays.copyOf(weights, 2 * n);
+                }
+                means[n] = x;
+                weights[n] = w;
+                n++;
+                qLimit = total * quantileOf(scaleOf(wSoFar / total, z) + 1.0, z);
+            }
+        }
+        myMeans = means;
+        myWeights = weights;
+        myNumCentroids = n;
+        myCentroidWeight = total;
+        myBufferSize = 0;
+    }
+
+    /**
+     * The k2 scale function of the t-digest. The normalizer depends on the
+     * total weight so that the number of centroids stays bounded by about the
+     * compression.
+     */
+    private double scaleOf(double q, double normalizer) {
+        return normalizer * Math.log(q / (1.0 - q));
+    }
+
+    /**
+     * The inverse of the k2 scale function
+     */
+    private double quantileOf(double k, double normalizer) {
+        return 1.0 / (1.0 + Math.exp(-k / normalizer));
+    }
+
+    /**
+     * @param total the total weight
+     * @return the normalizer for the k2 scale function
+     */
+    private double normalizer(double total) {
+        return myCompression / (4.0 * Math.log(Math.max(total / myCompression, 1.0)) + 24.0);
+    }
+
+    private void ensureCapacity(int n) {
+        if (n > myMeans.length) {
+            myMeans = Arrays.copyOf(myMeans, n);
+            myWeights = Arrays.copyOf(myWeights, n);
+        }
+    }
+
+    /**
+     * Sorts the values, carrying the weights along
+     */
+    private static void sort(double[] x, double[] w, int lo, int hi) {
+        while (hi - lo > 16) {
+            double pivot = x[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (x[i] < pivot) {
+                    i++;
+                }
+                while (x[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(x, w, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            // recurse on the smaller part, loop on the larger
+            if (j - lo < hi - i) {
+                sort(x, w, lo, j);
+                lo = i;
+            } else {
+                sort(x, w, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; (j > lo) && (x[j - 1] > x[j]); j--) {
+                swap(x, w, j, j - 1);
+            }
+        }
+    }
+
+    private static void swap(double[] x, double[] w, int i, int j) {
+        double t = x[i];
+        x[i] = x[j];
+        x[j] = t;
+        t = w[i];
+        w[i] = w[j];
+        w[j] = t;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("QuantileSketch: ").append(getName());
+        sb.append(System.lineSeparator());
+        sb.append("-------------------------------------");
+        sb.append(System.lineSeparator());
+        sb.append("Compression = ").append(myCompression);
+        sb.append(System.lineSeparator());
+        sb.append("Number of centroids = ").append(getNumberOfCentroids());
+        sb.append(System.lineSeparator());
+        sb.append("Median = ").append(getMedian());
+        sb.append(System.lineSeparator());
+        sb.append("95th percentile = ").append(get95thPercentile());
+        sb.append(System.lineSeparator());
+        sb.append("99th percentile = ").append(get99thPercentile());
+        sb.append(System.lineSeparator());
+        sb.append("-------------------------------------");
+        sb.append(System.lineSeparator());
+        sb.append(myStatistic);
+        return sb.toString();
+    }
+
+    @Override
+    public final double getAverage() {
+        return myStatistic.getAverage();
+    }
+
+    @Override
+    public void setConfidenceLevel(double level) {
+        super.setConfidenceLevel(level);
+        myStatistic.setConfidenceLevel(level);
+    }
+
+    @Override
+    public final double getConfidenceLevel() {
+        return myStatistic.getConfidenceLevel();
+    }
+
+    @Override
+    public final double getCount() {
+        return myStatistic.getCount();
+    }
+
+    @Override
+    public final double getDeviationSumOfSquares() {
+        return myStatistic.getDeviationSumOfSquares();
+    }
+
+    @Override
+    public double getHalfWidth(double alpha) {
+        return myStatistic.getHalfWidth(alpha);
+    }
+
+    @Override
+    public final double getKurtosis() {
+        return myStatistic.getKurtosis();
+    }
+
+    @Override
+    public final double getLag1Correlation() {
+        return myStatistic.getLag1Correlation();
+    }
+
+    @Override
+    public final double getLag1Covariance() {
+        return myStatistic.getLag1Covariance();
+    }
+
+    @Override
+    public final double getLastValue() {
+        return myStatistic.getLastValue();
+    }
+
+    @Override
+    public final double getLastWeight() {
+        return myStatistic.getLastWeight();
+    }
+
+    @Override
+    public final double getMax() {
+        return myStatistic.getMax();
+    }
+
+    @Override
+    public final double getMin() {
+        return myStatistic.getMin();
+    }
+
+    /**
+     * @return the observation index weighted sum
+     */
+    public final double getObsWeightedSum() {
+        return myStatistic.getObsWeightedSum();
+    }
+
+    @Override
+    public final double getSkewness() {
+        return myStatistic.getSkewness();
+    }
+
+    @Override
+    public final double getStandardDeviation() {
+        return myStatistic.getStandardDeviation();
+    }
+
+    @Override
+    public final double getStandardError() {
+        return myStatistic.getStandardError();
+    }
+
+    @Override
+    public final double getSum() {
+        return myStatistic.getSum();
+    }
+
+    @Override
+    public final double getSumOfWeights() {
+        return myStatistic.getSumOfWeights();
+    }
+
+    @Override
+    public final double getVariance() {
+        return myStatistic.getVariance();
+    }
+
+    @Override
+    public final double getVonNeumannLag1TestStatistic() {
+        return myStatistic.getVonNeumannLag1TestStatistic();
+    }
+
+    @Override
+    public final double getVonNeumannLag1TestStatisticPValue() {
+        return myStatistic.getVonNeumannLag1TestStatisticPValue();
+    }
+
+    @Override
+    public final double getWeightedAverage() {
+        return myStatistic.getWeightedAverage();
+    }
+
+    @Override
+    public final double getWeightedSum() {
+        return myStatistic.getWeightedSum();
+    }
+
+    @Override
+    public final double getWeightedSumOfSquares() {
+        return myStatistic.getWeightedSumOfSquares();
+    }
+
+    @Override
+    public final int getLeadingDigitRule(double a) {
+        return myStatistic.getLeadingDigitRule(a);
+    }
+}
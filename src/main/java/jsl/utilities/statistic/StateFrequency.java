@@ -31,7 +31,10 @@ public class StateFrequency implements IdentityIfc {
 
     private final int[][] myTransCnts;
 
-    private final Set<State> myStates;
+    /**
+     * The states, indexed by state number
+     */
+    private final State[] myStates;
 
     private int myLastValue;
 
@@ -46,9 +49,9 @@ public class StateFrequency implements IdentityIfc {
             throw new IllegalArgumentException("The number of states must be > 1");
         }
         myIdentity = new Identity();
-        myStates = new LinkedHashSet<>();
+        myStates = new State[numStates];
         for (int i=0; i< numStates; i++){
-            myStates.add(new State(i));
+            myStates[i] = new State(i);
         }
         myFreq = new IntegerFrequency(0, numStates - 1, getName());
         myTransCnts = new int[numStates][numStates];
@@ -59,7 +62,7 @@ public class StateFrequency implements IdentityIfc {
      * @return a copy of the list of states
      */
     public final List<State> getStates(){
-        return new ArrayList<>(myStates);
+        return new ArrayList<>(Arrays.asList(myStates));
     }
 
     /**
@@ -115,8 +118,11 @@ public class StateFrequency implements IdentityIfc {
      *              it is not tabulated (i.e. it is ignored)
      */
     public void collect(State state){
-        if (myStates.contains(state)){
-            int newValue = state.getNumber();
+        if (state == null) {
+            return;
+        }
+        int newValue = state.getNumber();
+        if ((newValue >= 0) && (newValue < myStates.length) && (myStates[newValue] == state)){
             if (myFreq.getTotalCount() > 0){
                 // there was a previous value collected, update the transition counts
                 myTransCnts[myLastValue][newValue]++;
@@ -127,14 +133,36 @@ public class StateFrequency implements IdentityIfc {
         }
     }
 
+    /**
+     * Merges the tabulation of the supplied state frequency into this state
+     * frequency, e.g. to combine the tabulations of different replications.
+     * The state frequencies must have the same number of states. The state
+     * counts and the transition counts are added. A transition from the last
+     * state of this frequency to the first state of the other is not counted.
+     *
+     * @param other the state frequency to merge into this one, must not be null
+     */
+    public void merge(StateFrequency other) {
+        Objects.requireNonNull(other, "The state frequency to merge was null");
+        if (myStates.length != other.myStates.length) {
+            throw new IllegalArgumentException("The state frequencies must have the same number of states to be merged");
+        }
+        for (int i = 0; i < myTransCnts.length; i++) {
+            for (int j = 0; j < myTransCnts[i].length; j++) {
+                myTransCnts[i][j] = myTransCnts[i][j] + other.myTransCnts[i][j];
+            }
+        }
+        myFreq.merge(other.myFreq);
+    }
+
     /**
      *
      * @return an array of the count of state transitions from state i to state j
      */
     public final int[][] getTransitionCounts(){
-        int[][] cnt = new int[myStates.size()][myStates.size()];
-        for(int i=0;i<myStates.size();i++){
-            for(int j=0;j<myStates.size();j++){
+        int[][] cnt = new int[myStates.length][myStates.length];
+        for(int i=0;i<myStates.length;i++){
+            for(int j=0;j<myStates.length;j++){
                 cnt[i][j] = myTransCnts[i][j];
             }
         }
@@ -146,16 +174,16 @@ public class StateFrequency implements IdentityIfc {
      * @return an array of the proportion of state transitions from state i to state j
      */
     public final double[][] getTransitionProportions(){
-        double[][] p = new double[myStates.size()][myStates.size()];
+        double[][] p = new double[myStates.length][myStates.length];
         double total = myFreq.getTotalCount();
         if (total >=1) {
-            for (int i = 0; i < myStates.size(); i++) {
+            for (int i = 0; i < myStates.length; i++) {
                 double sum = 0.0;
-                for (int j = 0; j < myStates.size(); j++) {
+                for (int j = 0; j < myStates.length; j++) {
                     sum = sum + myTransCnts[i][j];
                 }
                 if (sum >=1){
-                    for (int j = 0; j < myStates.size(); j++) {
+                    for (int j = 0; j < myStates.length; j++) {
                         p[i][j] = myTransCnts[i][j]/sum;
                     }
                 }
@@ -15,6 +15,9 @@
  */
 package jsl.utilities.statistic;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Arrays;
 import java.util.Date;
@@ -266,6 +269,160 @@ public class Statistic extends AbstractStatistic {
         return (s);
     }
 
+    /**
+     * Merges the observations summarized by the supplied statistic into this
+     * statistic. After the merge, this statistic reports the same summary
+     * (count, moments, min, max, weighted sums, lag-1 sums) as if the
+     * observations collected by other had been collected by this statistic
+     * after its own observations. The moments are combined using the pairwise
+     * update of Chan, Golub, and LeVeque (extended to the 3rd and 4th
+     * moments by Pebay), so the result does not depend on how the data was
+     * partitioned, up to floating point rounding.
+     * <p>
+     * If this statistic is saving data and other has saved data, the saved
+     * data of other is appended. The collection rule and confidence level of
+     * this statistic are unchanged.
+     *
+     * @param other the statistic to merge into this statistic, must not be null
+     */
+    public final void merge(Statistic other) {
+        if (other == null) {
+            throw new IllegalArgumentException("The statistic to merge was null");
+        }
+        if (other == this) {
+            other = other.newInstance();
+        }
+        myNumMissing = myNumMissing + other.myNumMissing;
+        double nb = other.moments[0];
+        if (nb == 0.0) {
+            return;
+        }
+        double na = moments[0];
+        appendSavedData(other);
+        if (na == 0.0) {
+            firstx = other.firstx;
+            sumxx = other.sumxx;
+            myJsum = other.myJsum;
+            System.arraycopy(other.moments, 0, moments, 0, moments.length);
+        } else {
+            double n = na + nb;
+            double delta = other.moments[1] - moments[1];
+            double d2 = delta * delta;
+            double m2a = moments[2] * na;
+            double m3a = moments[3] * na;
+            double m4a = moments[4] * na;
+            double m2b = other.moments[2] * nb;
+            double m3b = other.moments[3] * nb;
+            double m4b = other.moments[4] * nb;
+            double nab = na * nb;
+            double m4 = m4a + m4b + d2 * d2 * nab * (na * na - nab + nb * nb) / (n * n * n)
+                    + 6.0 * d2 * (na * na * m2b + nb * nb * m2a) / (n * n)
+                    + 4.0 * delta * (na * m3b - nb * m3a) / n;
+            double m3 = m3a + m3b + d2 * delta * nab * (na - nb) / (n * n)
+                    + 3.0 * delta * (na * m2b - nb * m2a) / n;
+            double m2 = m2a + m2b + d2 * nab / n;
+            // the index weighted sum of the observations of other shift by na
+            myJsum = myJsum + other.myJsum + na * other.getSum();
+            // the last value of this and the first of other become adjacent
+            sumxx = sumxx + other.sumxx + myValue * other.firstx;
+            moments[0] = n;
+            moments[1] = moments[1] + delta * nb / n;
+            moments[2] = m2 / n;
+            moments[3] = m3 / n;
+            moments[4] = m4 / n;
+        }
+        num = num + other.num;
+        sumw = sumw + other.sumw;
+        wsum = wsum + other.wsum;
+        wsumsq = wsumsq + other.wsumsq;
+        if (other.min < min) {
+            min = other.min;
+        }
+        if (other.max > max) {
+            max = other.max;
+        }
+        myValue = other.myValue;
+        myWeight = other.myWeight;
+    }
+
+    /**
+     * Writes the state of this statistic in a compact binary form. Saved data
+     * is not written.
+     *
+     * @param out the output to write to, must not be null
+     * @throws IOException if the underlying output throws
+     */
+    public final void writeTo(DataOutput out) throws IOException {
+        StatisticSerializer.writeHeader(out, StatisticSerializer.STATISTIC);
+        StatisticSerializer.writeName(out, myName);
+        out.writeDouble(myNumMissing);
+        out.writeDouble(myConfidenceLevel);
+        out.writeByte(myCollectionRule.ordinal());
+        out.writeDouble(myDesiredHalfWidth);
+        out.writeDouble(myRelativePrecision);
+        out.writeDouble(num);
+        out.writeDouble(sumw);
+        out.writeDouble(wsum);
+        out.writeDouble(wsumsq);
+        out.writeDouble(myJsum);
+        out.writeDouble(sumxx);
+        out.writeDouble(firstx);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeDouble(myValue);
+        out.writeDouble(myWeight);
+        for (double m : moments) {
+            out.writeDouble(m);
+        }
+    }
+
+    /**
+     * Reads a statistic that was written by writeTo()
+     *
+     * @param in the input to read from, must not be null
+     * @return the statistic
+     * @throws IOException if the input does not hold a serialized Statistic
+     */
+    public static Statistic readFrom(DataInput in) throws IOException {
+        StatisticSerializer.readHeader(in, StatisticSerializer.STATISTIC);
+        Statistic s = new Statistic(StatisticSerializer.readName(in));
+        s.myNumMissing = in.readDouble();
+        s.myConfidenceLevel = in.readDouble();
+        s.myCollectionRule = CollectionRule.values()[in.readByte()];
+        s.myDesiredHalfWidth = in.readDouble();
+        s.myRelativePrecision = in.readDouble();
+        s.num = in.readDouble();
+        s.sumw = in.readDouble();
+        s.wsum = in.readDouble();
+        s.wsumsq = in.readDouble();
+        s.myJsum = in.readDouble();
+        s.sumxx = in.readDouble();
+        s.firstx = in.readDouble();
+        s.min = in.readDouble();
+        s.max = in.readDouble();
+        s.myValue = in.readDouble();
+        s.myWeight = in.readDouble();
+        for (int i = 0; i < s.moments.length; i++) {
+            s.moments[i] = in.readDouble();
+        }
+        return s;
+    }
+
+    /**
+     * @return the state of this statistic in the form written by writeTo()
+     */
+    public final byte[] toByteArray() {
+        return StatisticSerializer.toByteArray(this::writeTo);
+    }
+
+    /**
+     * @param bytes bytes produced by toByteArray()
+     * @return the statistic held in the bytes
+     */
+    public static Statistic fromByteArray(byte[] bytes) {
+        return StatisticSerializer.fromByteArray(bytes, Statistic::readFrom);
+    }
+
     /**
      * Returns the index associated with the minimum element in the array For
      * ties, this returns the first found
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package jsl.utilities.statistic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Package level support for the compact binary form of the mergeable
+ * collectors. Each serialized collector starts with a one byte type code and
+ * a one byte format version so that a reader can reject data that was
+ * written for a different collector or by an incompatible version.
+ */
+final class StatisticSerializer {
+
+    /**
+     * the current format version
+     */
+    static final byte VERSION = 1;
+
+    static final byte STATISTIC = 1;
+
+    static final byte WEIGHTED_STATISTIC = 2;
+
+    static final byte BATCH_STATISTIC = 3;
+
+    static final byte HISTOGRAM = 4;
+
+    static final byte INTEGER_FREQUENCY = 5;
+
+    static final byte QUANTILE_SKETCH = 6;
+
+    /**
+     * Writes the state of a collector to a DataOutput
+     */
+    interface WriterIfc {
+
+        void write(DataOutput out) throws IOException;
+    }
+
+    /**
+     * Reads the state of a collector from a DataInput
+     *
+     * @param <T> the type of collector
+     */
+    interface ReaderIfc<T> {
+
+        T read(DataInput in) throws IOException;
+    }
+
+    private StatisticSerializer() {
+    }
+
+    static void writeHeader(DataOutput out, byte type) throws IOException {
+        out.writeByte(type);
+        out.writeByte(VERSION);
+    }
+
+    static void readHeader(DataInput in, byte type) throws IOException {
+        byte t = in.readByte();
+        if (t != type) {
+            throw new IOException("Expected a serialized collector of type " + type + " but found type " + t);
+        }
+        byte v = in.readByte();
+        if (v != VERSION) {
+            throw new IOException("Unsupported serialization version " + v);
+        }
+    }
+
+    static void writeName(DataOutput out, String name) throws IOException {
+        out.writeBoolean(name != null);
+        if (name != null) {
+            out.writeUTF(name);
+        }
+    }
+
+    static String readName(DataInput in) throws IOException {
+        if (in.readBoolean()) {
+            return in.readUTF();
+        }
+        return null;
+    }
+
+    static byte[] toByteArray(WriterIfc writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static <T> T fromByteArray(byte[] bytes, ReaderIfc<T> reader) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("The byte array was null");
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return reader.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
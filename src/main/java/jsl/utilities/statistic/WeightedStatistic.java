@@ -15,6 +15,10 @@
  */
 package jsl.utilities.statistic;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Collects basic weighted statistical summary
  *
@@ -193,6 +197,99 @@ public class WeightedStatistic extends AbstractCollector implements WeightedStat
         return (s);
     }
 
+    /**
+     * Merges the observations summarized by the supplied statistic into this
+     * statistic. The weighted sums are additive, so the result is the same as
+     * if the observations of other had been collected by this statistic after
+     * its own observations. If this statistic is saving data, the saved data
+     * of other is appended.
+     *
+     * @param other the statistic to merge into this statistic, must not be null
+     */
+    public final void merge(WeightedStatistic other) {
+        if (other == null) {
+            throw new IllegalArgumentException("The statistic to merge was null");
+        }
+        if (other == this) {
+            other = other.newInstance();
+        }
+        myNumMissing = myNumMissing + other.myNumMissing;
+        if (other.num == 0.0) {
+            return;
+        }
+        appendSavedData(other);
+        num = num + other.num;
+        sumw = sumw + other.sumw;
+        wsum = wsum + other.wsum;
+        wsumsq = wsumsq + other.wsumsq;
+        if (other.min < min) {
+            min = other.min;
+        }
+        if (other.max > max) {
+            max = other.max;
+        }
+        myValue = other.myValue;
+        myWeight = other.myWeight;
+    }
+
+    /**
+     * Writes the state of this statistic in a compact binary form. Saved data
+     * is not written.
+     *
+     * @param out the output to write to, must not be null
+     * @throws IOException if the underlying output throws
+     */
+    public final void writeTo(DataOutput out) throws IOException {
+        StatisticSerializer.writeHeader(out, StatisticSerializer.WEIGHTED_STATISTIC);
+        StatisticSerializer.writeName(out, myName);
+        out.writeDouble(myNumMissing);
+        out.writeDouble(num);
+        out.writeDouble(sumw);
+        out.writeDouble(wsum);
+        out.writeDouble(wsumsq);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeDouble(myValue);
+        out.writeDouble(myWeight);
+    }
+
+    /**
+     * Reads a statistic that was written by writeTo()
+     *
+     * @param in the input to read from, must not be null
+     * @return the statistic
+     * @throws IOException if the input does not hold a serialized WeightedStatistic
+     */
+    public static WeightedStatistic readFrom(DataInput in) throws IOException {
+        StatisticSerializer.readHeader(in, StatisticSerializer.WEIGHTED_STATISTIC);
+        WeightedStatistic s = new WeightedStatistic(StatisticSerializer.readName(in));
+        s.myNumMissing = in.readDouble();
+        s.num = in.readDouble();
+        s.sumw = in.readDouble();
+        s.wsum = in.readDouble();
+        s.wsumsq = in.readDouble();
+        s.min = in.readDouble();
+        s.max = in.readDouble();
+        s.myValue = in.readDouble();
+        s.myWeight = in.readDouble();
+        return s;
+    }
+
+    /**
+     * @return the state of this statistic in the form written by writeTo()
+     */
+    public final byte[] toByteArray() {
+        return StatisticSerializer.toByteArray(this::writeTo);
+    }
+
+    /**
+     * @param bytes bytes produced by toByteArray()
+     * @return the statistic held in the bytes
+     */
+    public static WeightedStatistic fromByteArray(byte[] bytes) {
+        return StatisticSerializer.fromByteArray(bytes, WeightedStatistic::readFrom);
+    }
+
     /* (non-Javadoc)
      * @see jsl.utilities.statistic.AbstractCollector#reset()
      */
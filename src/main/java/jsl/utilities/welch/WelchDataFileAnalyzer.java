@@ -31,7 +31,11 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.function.DoubleConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -62,6 +66,13 @@ import jsl.utilities.statistic.BatchStatistic;
  * can be used by the observer to determine the value, observation number,
  * and replication of the observation after notification.
  *
+ * The methods that process all of the observations (e.g. getWelchAverages(),
+ * batchWelchAverages(), and the methods that write the Welch plot data) compute
+ * the Welch averages in one sequential pass over memory mapped portions of the
+ * data file. At most MAX_MAPPED_OBS observations of each replication are mapped
+ * at a time, so files larger than the available memory can be analyzed. These
+ * methods do not notify observers of the individual observations.
+ *
  * @author rossetti
  */
 public class WelchDataFileAnalyzer implements ObservableIfc {
@@ -70,6 +81,12 @@ public class WelchDataFileAnalyzer implements ObservableIfc {
 
     public static final int MIN_BATCH_SIZE = 10;
 
+    /**
+     * The maximum number of observations of a replication that are mapped into
+     * memory at one time when processing all of the observations
+     */
+    public static final int MAX_MAPPED_OBS = 1 << 20;
+
     protected File myDataFile;
 
     protected File myMetaDataFile;
@@ -228,13 +245,21 @@ public class WelchDataFileAnalyzer implements ObservableIfc {
         if (out == null) {
             throw new IllegalArgumentException("The DataOutputStream was null");
         }
-        long n = Math.min(numObs, myMinObsCount);
         Statistic s = new Statistic();
-        for (long i = 1; i <= n; i++) {
-            double x = getAcrossReplicationAverage(i);
+        IOException[] ex = new IOException[1];
+        processWelchAverages(1, numObs, x -> {
             s.collect(x);
-            out.writeDouble(x);
-            out.writeDouble(s.getAverage());
+            if (ex[0] == null) {
+                try {
+                    out.writeDouble(x);
+                    out.writeDouble(s.getAverage());
+                } catch (IOException e) {
+                    ex[0] = e;
+                }
+            }
+        });
+        if (ex[0] != null) {
+            throw ex[0];
         }
         out.flush();
         out.close();
@@ -292,15 +317,13 @@ public class WelchDataFileAnalyzer implements ObservableIfc {
         if (out == null) {
             throw new IllegalArgumentException("The PrintWriter was null");
         }
-        long n = Math.min(numObs, myMinObsCount);
         Statistic s = new Statistic();
-        for (long i = 1; i <= n; i++) {
-            double x = getAcrossReplicationAverage(i);
+        processWelchAverages(1, numObs, x -> {
             s.collect(x);
             out.print(x);
             out.print(",");
             out.println(s.getAverage());
-        }
+        });
         out.flush();
         out.close();
     }
@@ -321,9 +344,29 @@ public class WelchDataFileAnalyzer implements ObservableIfc {
             n = Math.toIntExact(myMinObsCount);
         }
         double[] x = new double[n];
-        for (int i = 1; i <= n; i++) {
-            x[i - 1] = getAcrossReplicationAverage(i);
-        }
+        int[] k = new int[1];
+        processWelchAverages(1, n, v -> x[k[0]++] = v);
+        return x;
+    }
+
+    /**
+     * Returns an array of the cumulative averages of the Welch averages. Since the
+     * number of observations in the file may be very large, this may have memory
+     * implications.
+     *
+     * @param numObs the number of observations to get
+     * @return the array of data
+     * @throws IOException if there was a problem accessing the file
+     */
+    public double[] getCumulativeWelchAverages(int numObs) throws IOException {
+        int n = (int) Math.min(numObs, myMinObsCount);
+        double[] x = new double[n];
+        int[] k = new int[1];
+        Statistic s = new Statistic();
+        processWelchAverages(1, n, v -> {
+            s.collect(v);
+            x[k[0]++] = s.getAverage();
+        });
         return x;
     }
 
@@ -414,12 +457,61 @@ public class WelchDataFileAnalyzer implements ObservableIfc {
         }
         int k = deletePt + 1;
         BatchStatistic b = new BatchStatistic(minNumBatches, minBatchSize, maxNBMultiple);
-        for (long i = k; i <= myMinObsCount; i++) {
-            b.collect(getAcrossReplicationAverage(i));
-        }
+        processWelchAverages(k, myMinObsCount, b::collect);
         return b;
     }
 
+    /**
+     * Computes the across replication average for the observations first through
+     * last in one pass over the data file and supplies them in order to the
+     * consumer. The averages are the same as those from getAcrossReplicationAverage().
+     * At most MAX_MAPPED_OBS observations of each replication are mapped at a time.
+     *
+     * @param first the first observation, starting at 1
+     * @param last the last observation, limited to getMinNumObservationsInReplications()
+     * @param consumer receives the averages
+     * @throws IOException if there was a problem accessing the file
+     */
+    protected void processWelchAverages(long first, long last, DoubleConsumer consumer) throws IOException {
+        first = Math.max(first, 1);
+        last = Math.min(last, myMinObsCount);
+        if (first > last) {
+            return;
+        }
+        int r = myObsCounts.length;
+        long[] start = new long[r];
+        for (int j = 1; j < r; j++) {
+            start[j] = start[j - 1] + myObsCounts[j - 1];
+        }
+        int size = (int) Math.min(MAX_MAPPED_OBS, last - first + 1);
+        double[] avg = new double[size];
+        int[] cnt = new int[size];
+        double[] buf = new double[size];
+        try (FileChannel fc = FileChannel.open(myDataFile.toPath(), StandardOpenOption.READ)) {
+            for (long a = first; a <= last; a = a + size) {
+                int m = (int) Math.min(size, last - a + 1);
+                Arrays.fill(avg, 0, m, 0.0);
+                Arrays.fill(cnt, 0, m, 0);
+                for (int j = 0; j < r; j++) {
+                    MappedByteBuffer mb = fc.map(FileChannel.MapMode.READ_ONLY,
+                            (start[j] + a - 1) * NUMBYTES, (long) m * NUMBYTES);
+                    mb.asDoubleBuffer().get(buf, 0, m);
+                    for (int k = 0; k < m; k++) {
+                        double x = buf[k];
+                        if (!Double.isNaN(x) && !Double.isInfinite(x)) {
+                            // same running average as Statistic
+                            int c = ++cnt[k];
+                            avg[k] = avg[k] - (avg[k] - x) / c;
+                        }
+                    }
+                }
+                for (int k = 0; k < m; k++) {
+                    consumer.accept(cnt[k] == 0 ? Double.NaN : avg[k]);
+                }
+            }
+        }
+    }
+
     /**
      * Gets an array of the partial sum process for the provided data Based on
      * page 2575 Chapter 102 Nelson Handbook of Industrial Engineering,
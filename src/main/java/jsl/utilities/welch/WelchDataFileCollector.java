@@ -21,10 +21,12 @@
  */
 package jsl.utilities.welch;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.logging.Level;
@@ -40,8 +42,12 @@ import jsl.utilities.statistic.Statistic;
  * Makes files related to Welch Data Analysis.
  *
  * The "wdf" extension is used to indicate a Welch Data File, which is a
- * RandomAccessFile containing each observation for each replication of the
+ * binary file containing each observation for each replication of the
  * simulation run. The observations are written sequentially using writeDouble()
+ * through a buffered stream. Thus, the file is an array of 8 byte (big endian)
+ * doubles holding the observations of the first replication, followed by the
+ * observations of the second replication, etc. This layout allows the
+ * WelchDataFileAnalyzer to memory map the observations of each replication.
  *
  * The "wdfmd" extension is used to indicate a text file holding the meta data
  * for the Welch plot analysis. This includes the number of observations in each
@@ -59,7 +65,12 @@ public class WelchDataFileCollector extends ModelElementObserver {
     
     protected File myMetaDataFile;
     
-    protected RandomAccessFile myData;//TODO does not have to be RandomAccessFile
+    protected DataOutputStream myData;
+
+    /**
+     * The size of the buffer used when writing the observations
+     */
+    public static final int BUFFER_SIZE = 1 << 16;
 
     protected PrintWriter myMetaData;
 
@@ -108,9 +119,9 @@ public class WelchDataFileCollector extends ModelElementObserver {
         myMetaDataFile = JSL.makeFile(directory, name, "wdfmd");
         myMetaData = JSL.makePrintWriter(myMetaDataFile);
         try {
-            myData = new RandomAccessFile(myDataFile, "rw");
+            myData = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(myDataFile), BUFFER_SIZE));
         } catch (IOException ex) {
-            String str = "Problem creating RandomAccessFile for " + myDataFile.getAbsolutePath();
+            String str = "Problem creating the data file " + myDataFile.getAbsolutePath();
             LOGGER.error(str, ex);
         }
     }
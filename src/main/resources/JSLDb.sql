@@ -206,6 +206,34 @@ ALTER TABLE JSL_DB.BATCH_STAT
 
 CREATE INDEX BS_ME_FK_INDEX ON JSL_DB.BATCH_STAT(SIM_RUN_ID_FK, ELEMENT_ID_FK);
 
+-- QUANTILE_STAT represents estimated quantiles for each simulation response that has
+-- quantile collection turned on. A row with a REP_NUM holds the estimates for that
+-- replication. The row with a null REP_NUM holds the estimates over the observations
+-- from all of the replications within the experiment.
+CREATE TABLE JSL_DB.QUANTILE_STAT (
+	ID INTEGER NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1),
+	ELEMENT_ID_FK INTEGER NOT NULL,
+	SIM_RUN_ID_FK INTEGER NOT NULL,
+	REP_NUM INTEGER CHECK (REP_NUM >=1),
+	STAT_NAME VARCHAR(510),
+	STAT_COUNT DOUBLE PRECISION CHECK (STAT_COUNT >=0),
+	P50 DOUBLE PRECISION,
+	P95 DOUBLE PRECISION,
+	P99 DOUBLE PRECISION
+);
+
+ALTER TABLE JSL_DB.QUANTILE_STAT
+  ADD CONSTRAINT QS_PRIM_KY PRIMARY KEY (ID);
+
+ALTER TABLE JSL_DB.QUANTILE_STAT
+	ADD CONSTRAINT QS_SIMRUN_FK FOREIGN KEY (SIM_RUN_ID_FK) REFERENCES JSL_DB.SIMULATION_RUN (ID) ON DELETE CASCADE;
+
+ALTER TABLE JSL_DB.QUANTILE_STAT
+  ADD CONSTRAINT QS_MODEL_ELEMENT_FK FOREIGN KEY (SIM_RUN_ID_FK, ELEMENT_ID_FK)
+  REFERENCES JSL_DB.MODEL_ELEMENT (SIM_RUN_ID_FK, ELEMENT_ID) ON DELETE CASCADE;
+
+CREATE INDEX QS_ME_FK_INDEX ON JSL_DB.QUANTILE_STAT(SIM_RUN_ID_FK, ELEMENT_ID_FK);
+
 -- WITHIN_REP_RESPONSE_VIEW represents a reduced view of within replication statistics containing only the average for the replication
 CREATE VIEW JSL_DB.WITHIN_REP_RESPONSE_VIEW (SIM_RUN_ID_FK, EXP_NAME, STAT_NAME, REP_NUM, AVERAGE)
 AS (SELECT JSL_DB.WITHIN_REP_STAT.SIM_RUN_ID_FK, EXP_NAME, STAT_NAME, REP_NUM, AVERAGE
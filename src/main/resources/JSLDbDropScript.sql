@@ -1,3 +1,4 @@
+drop table jsl_db.quantile_stat;
 drop table jsl_db.batch_stat;
 drop table jsl_db.within_rep_counter_stat;
 drop table jsl_db.across_rep_stat;
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.misc;
+
+import ex.models.DriveThroughPharmacy;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.reporting.ColumnarResultStore;
+import jsl.utilities.reporting.JSLDatabase;
+import jsl.utilities.random.rng.RNStreamProvider;
+import jsl.utilities.random.rng.RNStreamProviderIfc;
+import jsl.utilities.random.rvariable.JSLRandom;
+import jsl.utilities.reporting.ColumnarResultStoreObserver;
+import jsl.utilities.statistic.Statistic;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the columnar result store reads back what a simulation wrote
+ */
+public class ColumnarResultStoreTest {
+
+    private Path myDir;
+
+    private RNStreamProviderIfc myProvider;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        myDir = Files.createTempDirectory("columnarStore");
+        // use separate streams so that other tests see the same streams
+        myProvider = JSLRandom.getRNStreamProvider();
+        JSLRandom.setRNStreamProvider(new RNStreamProvider());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        JSLRandom.setRNStreamProvider(myProvider);
+        try (Stream<Path> paths = Files.walk(myDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private Statistic run(ColumnarResultStore store, String expName, int numServers) {
+        Simulation sim = new Simulation("Columnar");
+        sim.setExperimentName(expName);
+        DriveThroughPharmacy dtp = new DriveThroughPharmacy(sim.getModel(), numServers);
+        sim.setNumberOfReplications(5);
+        sim.setLengthOfReplication(1000.0);
+        new ColumnarResultStoreObserver(store, sim);
+        sim.run();
+        ResponseVariable rv = dtp.getSystemTimeResponse();
+        return (Statistic) rv.getAcrossReplicationStatistic();
+    }
+
+    @Test
+    public void writeAndRead() {
+        Statistic one;
+        Statistic two;
+        try (ColumnarResultStore store = new ColumnarResultStore(myDir)) {
+            one = run(store, "One", 1);
+            two = run(store, "Two", 2);
+            assertEquals(Arrays.asList("One", "Two"), store.getExperimentNames());
+            Statistic s = store.getAcrossRepStatistic("One", "System Time");
+            assertEquals(5, s.getCount());
+            assertEquals(one.getAverage(), s.getAverage(), 1.0E-12);
+            assertEquals(5, store.getValues("Two", "System Time", ColumnarResultStore.Column.STAT_COUNT).length);
+            assertEquals(0, store.getValues("Two", "No Such Response").length);
+            assertThrows(IllegalArgumentException.class, () -> store.getValues("Three", "System Time"));
+        }
+        // reopen and read again
+        try (ColumnarResultStore store = new ColumnarResultStore(myDir)) {
+            Map<String, double[]> map = store.getValuesForExperiments(
+                    new LinkedHashSet<>(Arrays.asList("One", "Two")), "System Time");
+            assertEquals(two.getAverage(), new Statistic(map.get("Two")).getAverage(), 1.0E-12);
+            assertEquals(one.getAverage(), new Statistic(map.get("One")).getAverage(), 1.0E-12);
+        }
+    }
+
+    @Test
+    public void partialRowIsDiscarded() throws IOException {
+        int rows;
+        try (ColumnarResultStore store = new ColumnarResultStore(myDir)) {
+            run(store, "One", 1);
+            rows = store.getNumberOfRows();
+        }
+        try (FileChannel fc = FileChannel.open(myDir.resolve("AVERAGE.col"), StandardOpenOption.APPEND)) {
+            fc.write(ByteBuffer.allocate(Double.BYTES));
+        }
+        try (ColumnarResultStore store = new ColumnarResultStore(myDir)) {
+            assertEquals(rows, store.getNumberOfRows());
+            assertEquals(5, store.getValues("One", "System Time").length);
+        }
+    }
+
+    @Test
+    public void exportAndImportRoundTrip() {
+        Set<String> expNames = new LinkedHashSet<>(Arrays.asList("One", "Two"));
+        JSLDatabase db = JSLDatabase.createEmbeddedDerbyJSLDatabase("ColumnarRoundTrip", myDir.resolve("db"));
+        Path copyDir = myDir.resolve("copy");
+        try (ColumnarResultStore store = new ColumnarResultStore(myDir.resolve("store"))) {
+            run(store, "One", 1);
+            run(store, "Two", 2);
+            store.exportTo(db);
+            assertEquals(2, db.getSimulationRunRecords().size());
+            for (String response : Arrays.asList("System Time", "Num Served")) {
+                Map<String, double[]> fromStore = store.getValuesForExperiments(expNames, response);
+                Map<String, double[]> fromDb = db.getWithinRepViewValuesAsMapForExperiments(expNames, response);
+                for (String expName : expNames) {
+                    assertArrayEquals(fromStore.get(expName), fromDb.get(expName), 1.0E-12);
+                }
+            }
+            // the experiments are already in the database
+            assertThrows(DataAccessException.class, () -> store.exportTo(db));
+            try (ColumnarResultStore copy = new ColumnarResultStore(copyDir)) {
+                copy.importFrom(db);
+                assertEquals(Arrays.asList("One", "Two"), copy.getExperimentNames());
+                assertEquals(store.getNumberOfRows(), copy.getNumberOfRows());
+                for (String expName : expNames) {
+                    for (String response : store.getResponseNames()) {
+                        assertArrayEquals(store.getValues(expName, response),
+                                copy.getValues(expName, response), 1.0E-12);
+                        assertArrayEquals(store.getValues(expName, response, ColumnarResultStore.Column.STAT_COUNT),
+                                copy.getValues(expName, response, ColumnarResultStore.Column.STAT_COUNT), 1.0E-12);
+                    }
+                }
+                // importing again skips the experiments that are already in the store
+                copy.importFrom(db);
+                assertEquals(store.getNumberOfRows(), copy.getNumberOfRows());
+            }
+        }
+        // the index is rebuilt when the store is reopened
+        try (ColumnarResultStore copy = new ColumnarResultStore(copyDir)) {
+            assertEquals(5, copy.getValues("Two", "Num Served").length);
+            assertEquals(0, copy.getValues("Two", "No Such Response").length);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.misc;
+
+import jsl.modeling.State;
+import jsl.utilities.statistic.IntegerFrequency;
+import jsl.utilities.statistic.StateFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares IntegerFrequency with a reference tabulation for small and large
+ * ranges of values, and checks the merging of state frequencies
+ */
+public class IntegerFrequencyTest {
+
+    private void assertSameTabulation(int bound, int offset) {
+        Random r = new Random(bound);
+        IntegerFrequency f = new IntegerFrequency();
+        Map<Integer, Integer> ref = new TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int x = offset + r.nextInt(bound) - bound / 2;
+            f.collect(x);
+            ref.merge(x, 1, Integer::sum);
+        }
+        int[] values = new int[ref.size()];
+        int[] counts = new int[ref.size()];
+        int k = 0;
+        for (Map.Entry<Integer, Integer> e : ref.entrySet()) {
+            values[k] = e.getKey();
+            counts[k] = e.getValue();
+            k++;
+        }
+        assertArrayEquals(values, f.getValues());
+        assertArrayEquals(counts, f.getFrequencies());
+        assertEquals(ref.size(), f.getNumberOfCells());
+        assertEquals(0, f.getFrequency(offset + bound));
+        assertEquals(ref.getOrDefault(offset, 0).intValue(), f.getFrequency(offset));
+
+        IntegerFrequency copy = IntegerFrequency.fromByteArray(f.toByteArray());
+        assertArrayEquals(f.getValueFrequencies(), copy.getValueFrequencies());
+        f.reset();
+        assertEquals(0, f.getNumberOfCells());
+        assertEquals(0, f.getValues().length);
+    }
+
+    @Test
+    public void smallRange() {
+        assertSameTabulation(50, 0);
+        assertSameTabulation(50, Integer.MAX_VALUE - 30);
+        assertSameTabulation(50, Integer.MIN_VALUE + 30);
+    }
+
+    @Test
+    public void largeRange() {
+        assertSameTabulation(1 << 20, 0);
+        assertSameTabulation(Integer.MAX_VALUE, 0);
+    }
+
+    @Test
+    public void mergeStateFrequencies() {
+        StateFrequency all = new StateFrequency(3);
+        StateFrequency a = new StateFrequency(3);
+        StateFrequency b = new StateFrequency(3);
+        List<State> allStates = all.getStates();
+        List<State> aStates = a.getStates();
+        List<State> bStates = b.getStates();
+        int[] path = {0, 1, 1, 2, 0, 2, 2, 1, 0, 0};
+        for (int i = 0; i < path.length; i++) {
+            all.collect(allStates.get(path[i]));
+            if (i < 5) {
+                a.collect(aStates.get(path[i]));
+            } else {
+                b.collect(bStates.get(path[i]));
+            }
+        }
+        a.merge(b);
+        assertArrayEquals(new int[]{4, 3, 3}, a.getFrequencies());
+        assertArrayEquals(all.getFrequencies(), a.getFrequencies());
+        assertEquals(all.getTotalCount(), a.getTotalCount());
+        // the transition from the state at index 4 to the state at index 5 is not counted
+        int[][] expected = all.getTransitionCounts();
+        expected[path[4]][path[5]]--;
+        int[][] t = a.getTransitionCounts();
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(expected[i], t[i]);
+        }
+        assertEquals(path.length - 2, t[0][0] + t[0][1] + t[0][2] + t[1][0] + t[1][1] + t[1][2]
+                + t[2][0] + t[2][1] + t[2][2]);
+    }
+
+    /**
+     * Counts each collected value twice via the protected accessors
+     */
+    private static class DoubleCounting extends IntegerFrequency {
+
+        @Override
+        public void collect(int i) {
+            super.collect(i);
+            addToCount(i, 1);
+        }
+
+        int countOf(int i) {
+            Cell c = getCell(i);
+            return c == null ? 0 : c.getCount();
+        }
+    }
+
+    @Test
+    public void subclassAccess() {
+        DoubleCounting f = new DoubleCounting();
+        f.collect(3);
+        f.collect(3);
+        f.collect(-7);
+        assertEquals(4, f.countOf(3));
+        assertEquals(2, f.getFrequency(-7));
+        assertEquals(0, f.countOf(5));
+        assertEquals(3, (int) f.getStatistic().getCount());
+    }
+}
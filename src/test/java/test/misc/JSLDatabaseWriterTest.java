@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.misc;
+
+import ex.models.DriveThroughPharmacy;
+import jsl.modeling.Simulation;
+import jsl.utilities.jsldbsrc.tables.records.SimulationRunRecord;
+import jsl.utilities.jsldbsrc.tables.records.WithinRepStatRecord;
+import jsl.utilities.random.rng.RNStreamProvider;
+import jsl.utilities.random.rng.RNStreamProviderIfc;
+import jsl.utilities.random.rvariable.JSLRandom;
+import jsl.utilities.reporting.JSLDatabase;
+import jsl.utilities.reporting.JSLDatabaseWriter;
+import org.jooq.Result;
+import org.jooq.UpdatableRecord;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static jsl.utilities.jsldbsrc.Tables.SIMULATION_RUN;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that records written through the JSLDatabaseWriter match those written
+ * directly, and that flushing, shutting down and failures behave as documented
+ */
+public class JSLDatabaseWriterTest {
+
+    private Path myDir;
+
+    private RNStreamProviderIfc myProvider;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        myDir = Files.createTempDirectory("jslDbWriter");
+        myProvider = JSLRandom.getRNStreamProvider();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        JSLRandom.setRNStreamProvider(myProvider);
+        try (Stream<Path> paths = Files.walk(myDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    /**
+     * Exposes storeRecords() so that records can be submitted without running a simulation
+     */
+    private static class TestDatabase extends JSLDatabase {
+
+        TestDatabase(JSLDatabase db) {
+            super(db.getDatabase());
+        }
+
+        void store(List<? extends UpdatableRecord<?>> records) {
+            storeRecords(records);
+        }
+    }
+
+    private static SimulationRunRecord makeRun(JSLDatabase db, String simName, int numReps) {
+        SimulationRunRecord r = db.getDatabase().getDSLContext().newRecord(SIMULATION_RUN);
+        r.setSimName(simName);
+        r.setModelName("Model");
+        r.setExpName("Exp");
+        r.setNumReps(numReps);
+        return r;
+    }
+
+    private static List<String> simNames(JSLDatabase db) {
+        List<String> names = new ArrayList<>();
+        for (SimulationRunRecord r : db.getSimulationRunRecords()) {
+            names.add(r.getSimName());
+        }
+        return names;
+    }
+
+    private List<Double> run(boolean async) {
+        // use the same streams for each run
+        JSLRandom.setRNStreamProvider(new RNStreamProvider());
+        JSLDatabase db = JSLDatabase.createEmbeddedDerbyJSLDatabase(async ? "AsyncDb" : "SyncDb", myDir);
+        db.setAsynchronousWriteOption(async);
+        Simulation sim = new Simulation("WriterTest");
+        new DriveThroughPharmacy(sim.getModel(), 1);
+        sim.setNumberOfReplications(5);
+        sim.setLengthOfReplication(1000.0);
+        sim.createJSLDatabaseObserver(db);
+        sim.run();
+        if (async) {
+            assertTrue(db.getAsynchronousWriter().isPresent());
+            assertTrue(db.getAsynchronousWriter().get().getNumberOfRecordsWritten() > 0);
+        }
+        List<Double> averages = new ArrayList<>();
+        Result<WithinRepStatRecord> records = db.getWithinRepStatRecords();
+        for (WithinRepStatRecord r : records) {
+            averages.add(r.getAverage());
+        }
+        db.setAsynchronousWriteOption(false);
+        assertFalse(db.getAsynchronousWriter().isPresent());
+        return averages;
+    }
+
+    @Test
+    public void asynchronousMatchesSynchronous() {
+        List<Double> sync = run(false);
+        List<Double> async = run(true);
+        assertFalse(sync.isEmpty());
+        assertEquals(sync, async);
+    }
+
+    @Test
+    public void recordsAreWrittenInSubmissionOrder() {
+        JSLDatabase db = JSLDatabase.createEmbeddedDerbyJSLDatabase("OrderDb", myDir);
+        // a small queue and batch size cause submit() to block and lists to be batched
+        JSLDatabaseWriter writer = new JSLDatabaseWriter(db.getDatabase().getDSLContext(), 2, 3);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String name = "Run " + i;
+            expected.add(name);
+            writer.submit(Collections.singletonList(makeRun(db, name, 1)));
+        }
+        writer.flush();
+        assertEquals(0, writer.getQueueDepth());
+        assertEquals(20, writer.getNumberOfRecordsWritten());
+        assertTrue(writer.getMaxQueueDepth() >= 1);
+        assertEquals(expected, simNames(db));
+        writer.shutdown();
+    }
+
+    @Test
+    public void readsFlushPendingRecords() {
+        TestDatabase db = new TestDatabase(JSLDatabase.createEmbeddedDerbyJSLDatabase("FlushDb", myDir));
+        db.setAsynchronousWriteOption(true);
+        List<SimulationRunRecord> records = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            records.add(makeRun(db, "Run " + i, 1));
+        }
+        db.store(records);
+        // no explicit flush, the read must see the submitted records
+        assertEquals(50, db.getSimulationRunRecords().size());
+        assertTrue(db.simulationRunRecordExists("Run 49", "Exp"));
+        db.setAsynchronousWriteOption(false);
+    }
+
+    @Test
+    public void shutdownWritesPendingRecords() {
+        JSLDatabase db = JSLDatabase.createEmbeddedDerbyJSLDatabase("ShutdownDb", myDir);
+        JSLDatabaseWriter writer = new JSLDatabaseWriter(db.getDatabase().getDSLContext());
+        for (int i = 0; i < 10; i++) {
+            writer.submit(Collections.singletonList(makeRun(db, "Run " + i, 1)));
+        }
+        writer.shutdown();
+        assertTrue(writer.isShutDown());
+        assertEquals(10, writer.getNumberOfRecordsWritten());
+        assertEquals(10, db.getSimulationRunRecords().size());
+        assertThrows(IllegalStateException.class,
+                () -> writer.submit(Collections.singletonList(makeRun(db, "Late", 1))));
+        // a second shutdown does nothing
+        writer.shutdown();
+    }
+
+    @Test
+    public void turningOffTheOptionWritesPendingRecords() {
+        TestDatabase db = new TestDatabase(JSLDatabase.createEmbeddedDerbyJSLDatabase("OptionDb", myDir));
+        db.setAsynchronousWriteOption(true);
+        JSLDatabaseWriter writer = db.getAsynchronousWriter().get();
+        db.store(Collections.singletonList(makeRun(db, "Run", 1)));
+        db.setAsynchronousWriteOption(false);
+        assertTrue(writer.isShutDown());
+        assertFalse(db.getAsynchronousWriteOption());
+        assertEquals(1, db.getSimulationRunRecords().size());
+    }
+
+    @Test
+    public void failureIsReportedByFlush() {
+        JSLDatabase db = JSLDatabase.createEmbeddedDerbyJSLDatabase("FailureDb", myDir);
+        // a batch size of 1 places each list in its own transaction
+        JSLDatabaseWriter writer = new JSLDatabaseWriter(db.getDatabase().getDSLContext(), 10, 1);
+        writer.submit(Collections.singletonList(makeRun(db, "Good 1", 1)));
+        // violates the check on the number of replications
+        writer.submit(Collections.singletonList(makeRun(db, "Bad", 0)));
+        writer.submit(Collections.singletonList(makeRun(db, "Good 2", 1)));
+        assertThrows(DataAccessException.class, writer::flush);
+        // the failure is reported once
+        writer.flush();
+        assertEquals(2, writer.getNumberOfRecordsWritten());
+        List<String> names = simNames(db);
+        assertEquals(2, names.size());
+        assertFalse(names.contains("Bad"));
+        writer.shutdown();
+    }
+
+    @Test
+    public void failureIsReportedByShutdown() {
+        JSLDatabase db = JSLDatabase.createEmbeddedDerbyJSLDatabase("ShutdownFailureDb", myDir);
+        JSLDatabaseWriter writer = new JSLDatabaseWriter(db.getDatabase().getDSLContext(), 10, 1);
+        writer.submit(Collections.singletonList(makeRun(db, "Same", 1)));
+        // violates the unique simulation and experiment name constraint
+        writer.submit(Collections.singletonList(makeRun(db, "Same", 1)));
+        assertThrows(DataAccessException.class, writer::shutdown);
+        assertEquals(1, db.getSimulationRunRecords().size());
+    }
+}
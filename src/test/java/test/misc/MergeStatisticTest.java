@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.misc;
+
+import jsl.utilities.random.rvariable.ExponentialRV;
+import jsl.utilities.statistic.BatchStatistic;
+import jsl.utilities.statistic.Histogram;
+import jsl.utilities.statistic.IntegerFrequency;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.statistic.WeightedStatistic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MergeStatisticTest {
+
+    private static final double TOL = 1.0e-9;
+
+    private double[] data;
+
+    @BeforeEach
+    void setUp() {
+        ExponentialRV e = new ExponentialRV(10.0, 1);
+        data = new double[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = e.sample();
+        }
+    }
+
+    private void assertSameSummary(Statistic expected, Statistic actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getAverage(), actual.getAverage(), TOL);
+        assertEquals(expected.getVariance(), actual.getVariance(), TOL * expected.getVariance());
+        assertEquals(expected.get3rdCentralMoment(), actual.get3rdCentralMoment(),
+                TOL * Math.abs(expected.get3rdCentralMoment()));
+        assertEquals(expected.get4thCentralMoment(), actual.get4thCentralMoment(),
+                TOL * expected.get4thCentralMoment());
+        assertEquals(expected.getMin(), actual.getMin());
+        assertEquals(expected.getMax(), actual.getMax());
+        assertEquals(expected.getLastValue(), actual.getLastValue());
+        assertEquals(expected.getWeightedSum(), actual.getWeightedSum(), TOL * expected.getWeightedSum());
+        assertEquals(expected.getLag1Covariance(), actual.getLag1Covariance(),
+                TOL * Math.abs(expected.getLag1Covariance()));
+        assertEquals(expected.getVonNeumannLag1TestStatistic(), actual.getVonNeumannLag1TestStatistic(), 1.0e-6);
+    }
+
+    @Test
+    void statisticTreeMerge() {
+        Statistic all = new Statistic(data);
+        // reduce four uneven partitions in a tree
+        int[] cuts = {0, 1, 2500, 7001, data.length};
+        Statistic[] parts = new Statistic[cuts.length - 1];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new Statistic(Arrays.copyOfRange(data, cuts[i], cuts[i + 1]));
+        }
+        parts[0].merge(parts[1]);
+        parts[2].merge(parts[3]);
+        parts[0].merge(parts[2]);
+        assertSameSummary(all, parts[0]);
+        Statistic empty = new Statistic();
+        empty.merge(all);
+        assertSameSummary(all, empty);
+    }
+
+    @Test
+    void statisticSerialization() {
+        Statistic s = new Statistic("s", data);
+        s.setConfidenceLevel(0.99);
+        Statistic r = Statistic.fromByteArray(s.toByteArray());
+        assertEquals("s", r.getName());
+        assertEquals(0.99, r.getConfidenceLevel());
+        assertArrayEquals(s.getStatistics(), r.getStatistics());
+        assertThrows(RuntimeException.class, () -> WeightedStatistic.fromByteArray(s.toByteArray()));
+    }
+
+    @Test
+    void weightedStatisticMerge() {
+        WeightedStatistic all = WeightedStatistic.collectStatistics(data);
+        WeightedStatistic a = WeightedStatistic.collectStatistics(Arrays.copyOfRange(data, 0, 3000));
+        WeightedStatistic b = WeightedStatistic.collectStatistics(Arrays.copyOfRange(data, 3000, data.length));
+        a.merge(WeightedStatistic.fromByteArray(b.toByteArray()));
+        assertEquals(all.getCount(), a.getCount());
+        assertEquals(all.getAverage(), a.getAverage(), TOL);
+        assertEquals(all.getWeightedSumOfSquares(), a.getWeightedSumOfSquares(), TOL * all.getWeightedSumOfSquares());
+        assertEquals(all.getMax(), a.getMax());
+    }
+
+    @Test
+    void batchStatisticMerge() {
+        BatchStatistic all = new BatchStatistic(data);
+        // 2560 observations end on a batch boundary without a partial batch
+        BatchStatistic a = new BatchStatistic(Arrays.copyOfRange(data, 0, 2560));
+        BatchStatistic b = new BatchStatistic(Arrays.copyOfRange(data, 2560, data.length));
+        a.merge(BatchStatistic.fromByteArray(b.toByteArray()));
+        assertEquals(all.getCount(), a.getCount());
+        assertEquals(all.getTotalNumberOfObservations(), a.getTotalNumberOfObservations());
+        assertArrayEquals(all.getBatchMeanArrayCopy(), a.getBatchMeanArrayCopy(), TOL);
+        assertEquals(all.getAverage(), a.getAverage(), TOL);
+    }
+
+    @Test
+    void histogramMerge() {
+        Histogram all = new Histogram(0.0, 20, 2.0, data);
+        Histogram a = new Histogram(0.0, 20, 2.0, Arrays.copyOfRange(data, 0, 4000));
+        Histogram b = new Histogram(0.0, 20, 2.0, Arrays.copyOfRange(data, 4000, data.length));
+        a.merge(Histogram.fromByteArray(b.toByteArray()));
+        for (int i = 1; i <= 20; i++) {
+            assertEquals(all.getBinCount(i), a.getBinCount(i));
+        }
+        assertEquals(all.getOverFlowCount(), a.getOverFlowCount());
+        assertEquals(all.getAverage(), a.getAverage(), TOL);
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new Histogram(0.0, 10, 2.0)));
+    }
+
+    @Test
+    void integerFrequencyMerge() {
+        IntegerFrequency all = new IntegerFrequency();
+        all.collect(data);
+        IntegerFrequency a = new IntegerFrequency();
+        a.collect(Arrays.copyOfRange(data, 0, 5000));
+        IntegerFrequency b = new IntegerFrequency();
+        b.collect(Arrays.copyOfRange(data, 5000, data.length));
+        a.merge(IntegerFrequency.fromByteArray(b.toByteArray()));
+        assertArrayEquals(all.getValues(), a.getValues());
+        assertArrayEquals(all.getFrequencies(), a.getFrequencies());
+        assertEquals(all.getStatistic().getAverage(), a.getStatistic().getAverage(), TOL);
+    }
+}
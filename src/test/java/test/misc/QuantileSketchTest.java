@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.misc;
+
+import jsl.modeling.ModelElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.random.rvariable.ExponentialRV;
+import jsl.utilities.statistic.QuantileSketch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuantileSketchTest {
+
+    private double[] data;
+
+    @BeforeEach
+    void setUp() {
+        ExponentialRV e = new ExponentialRV(10.0, 1);
+        data = new double[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = e.sample();
+        }
+    }
+
+    private static double exactQuantile(double[] sorted, double p) {
+        return sorted[(int) Math.ceil(p * sorted.length) - 1];
+    }
+
+    private static void assertRelativelyClose(double expected, double actual, double relTol) {
+        assertEquals(expected, actual, relTol * Math.abs(expected),
+                "expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void quantilesAreAccurate() {
+        QuantileSketch q = new QuantileSketch();
+        q.collect(data);
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        assertEquals(data.length, q.getCount());
+        assertEquals(sorted[0], q.getQuantile(0.0));
+        assertEquals(sorted[sorted.length - 1], q.getQuantile(1.0));
+        assertRelativelyClose(exactQuantile(sorted, 0.5), q.getMedian(), 0.01);
+        assertRelativelyClose(exactQuantile(sorted, 0.95), q.get95thPercentile(), 0.01);
+        assertRelativelyClose(exactQuantile(sorted, 0.99), q.get99thPercentile(), 0.01);
+        assertTrue(q.getNumberOfCentroids() <= 2 * q.getCompression());
+    }
+
+    @Test
+    void mergeMatchesSingleSketch() {
+        QuantileSketch all = new QuantileSketch();
+        all.collect(data);
+        QuantileSketch merged = new QuantileSketch();
+        int chunk = data.length / 10;
+        for (int i = 0; i < 10; i++) {
+            QuantileSketch part = new QuantileSketch();
+            part.collect(Arrays.copyOfRange(data, i * chunk, (i + 1) * chunk));
+            merged.merge(part);
+        }
+        assertEquals(all.getCount(), merged.getCount());
+        assertEquals(all.getMin(), merged.getMin());
+        assertEquals(all.getMax(), merged.getMax());
+        assertRelativelyClose(all.getMedian(), merged.getMedian(), 0.01);
+        assertRelativelyClose(all.get99thPercentile(), merged.get99thPercentile(), 0.01);
+    }
+
+    @Test
+    void serializationRoundTrip() {
+        QuantileSketch q = new QuantileSketch(100.0, "sketch");
+        q.collect(data);
+        QuantileSketch copy = QuantileSketch.fromByteArray(q.toByteArray());
+        assertEquals(q.getName(), copy.getName());
+        assertEquals(q.getCompression(), copy.getCompression());
+        assertEquals(q.getCount(), copy.getCount());
+        assertEquals(q.getAverage(), copy.getAverage());
+        double[] p = {0.01, 0.25, 0.5, 0.75, 0.99};
+        assertEquals(Arrays.toString(q.getQuantiles(p)), Arrays.toString(copy.getQuantiles(p)));
+    }
+
+    @Test
+    void responseVariableCollectsQuantiles() {
+        Simulation sim = new Simulation("QuantileSketchTest");
+        sim.setNumberOfReplications(3);
+        ResponseVariable rv = new ResponseVariable(sim.getModel(), "rv");
+        assertNull(rv.getAcrossReplicationQuantileSketch());
+        rv.turnOnQuantileCollection();
+        ExponentialRV e = new ExponentialRV(10.0, 2);
+        new ModelElement(sim.getModel(), "generator") {
+            @Override
+            protected void initialize() {
+                for (int i = 0; i < 1000; i++) {
+                    rv.setValue(e.sample());
+                }
+            }
+        };
+        sim.run();
+        QuantileSketch across = rv.getAcrossReplicationQuantileSketch();
+        assertNotNull(across);
+        assertEquals(3000, across.getCount());
+        assertEquals(3.0, rv.getAcrossReplicationStatistic().getCount());
+        assertEquals(1000, rv.getWithinReplicationQuantileSketch().getCount());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.misc;
+
+import jsl.utilities.statistic.BatchStatistic;
+import jsl.utilities.statistic.Statistic;
+import jsl.utilities.welch.WelchDataFileAnalyzer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the single pass Welch averages match the averages computed one
+ * observation at a time by getAcrossReplicationAverage()
+ */
+public class WelchDataFileAnalyzerTest {
+
+    private static final long[] COUNTS = {500, 437, 520, 480};
+
+    private Path myDir;
+
+    private WelchDataFileAnalyzer myAnalyzer;
+
+    private int myNumNotifications;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        myDir = Files.createTempDirectory("welch");
+        File data = myDir.resolve("test.wdf").toFile();
+        File meta = myDir.resolve("test.wdfmd").toFile();
+        Random r = new Random(7);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(data)));
+             PrintWriter pw = new PrintWriter(meta)) {
+            pw.println(COUNTS.length);
+            for (long n : COUNTS) {
+                Statistic s = new Statistic();
+                for (long i = 1; i <= n; i++) {
+                    // a warm up trend with noise and an occasional missing value
+                    double x = (i % 97 == 0) ? Double.NaN : 10.0 * (1.0 - Math.exp(-i / 50.0)) + r.nextGaussian();
+                    out.writeDouble(x);
+                    s.collect(x);
+                }
+                pw.print(n);
+                pw.print(",");
+                pw.print(1.0);
+                pw.print(",");
+                pw.println(s.getAverage());
+            }
+        }
+        myAnalyzer = new WelchDataFileAnalyzer(data, meta);
+        myAnalyzer.addObserver((o, arg) -> myNumNotifications++);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(myDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private double[] multiPassAverages() throws IOException {
+        int n = (int) myAnalyzer.getMinNumObservationsInReplications();
+        double[] x = new double[n];
+        for (int i = 1; i <= n; i++) {
+            x[i - 1] = myAnalyzer.getAcrossReplicationAverage(i);
+        }
+        return x;
+    }
+
+    @Test
+    public void welchAveragesMatchMultiPass() throws IOException {
+        double[] expected = multiPassAverages();
+        assertEquals(437, expected.length);
+        assertArrayEquals(expected, myAnalyzer.getWelchAverages(Integer.MAX_VALUE));
+        double[] first = new double[100];
+        System.arraycopy(expected, 0, first, 0, first.length);
+        assertArrayEquals(first, myAnalyzer.getWelchAverages(100));
+        Statistic s = new Statistic();
+        double[] cumulative = new double[expected.length];
+        for (int i = 0; i < expected.length; i++) {
+            s.collect(expected[i]);
+            cumulative[i] = s.getAverage();
+        }
+        assertArrayEquals(cumulative, myAnalyzer.getCumulativeWelchAverages(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void batchWelchAveragesMatchMultiPass() throws IOException {
+        int deletePt = 50;
+        double[] averages = multiPassAverages();
+        BatchStatistic expected = new BatchStatistic(10, 5, 2);
+        for (int i = deletePt; i < averages.length; i++) {
+            expected.collect(averages[i]);
+        }
+        BatchStatistic b = myAnalyzer.batchWelchAverages(deletePt, 10, 5, 2);
+        assertEquals(expected.getCount(), b.getCount());
+        assertEquals(expected.getAverage(), b.getAverage());
+        assertEquals(expected.getTotalNumberOfObservations(), b.getTotalNumberOfObservations());
+        assertArrayEquals(expected.getBatchMeanArrayCopy(), b.getBatchMeanArrayCopy());
+    }
+
+    @Test
+    public void singlePassDoesNotNotifyObservers() throws IOException {
+        myAnalyzer.getAcrossReplicationAverage(1);
+        // reading a row notifies the observers once per replication
+        assertEquals(COUNTS.length, myNumNotifications);
+        myNumNotifications = 0;
+        myAnalyzer.getWelchAverages(Integer.MAX_VALUE);
+        myAnalyzer.getCumulativeWelchAverages(Integer.MAX_VALUE);
+        myAnalyzer.batchWelchAverages();
+        assertEquals(0, myNumNotifications);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.calendar.CalendarIfc;
+import jsl.calendar.CalendarQueueEventCalendar;
+import jsl.calendar.PriorityQueueEventCalendar;
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.Model;
+import jsl.modeling.Simulation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the calendar queue executes events in the same order as the
+ * default calendar
+ */
+public class CalendarQueueEventCalendarTest {
+
+    Model m;
+
+    @BeforeEach
+    public void setUp() {
+        Simulation s = new Simulation();
+        m = s.getModel();
+    }
+
+    @Test
+    public void sameOrderAsPriorityQueue() {
+        List<String> expected = runEvents(new PriorityQueueEventCalendar());
+        CalendarQueueEventCalendar cq = new CalendarQueueEventCalendar();
+        List<String> actual = runEvents(cq);
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual);
+        assertTrue(cq.getNumberOfResizes() > 0);
+        assertTrue(cq.isEmpty());
+    }
+
+    @Test
+    public void peekAndRemove() {
+        CalendarQueueEventCalendar cq = new CalendarQueueEventCalendar(0.001);
+        Executive e = new Executive(cq);
+        EventActionIfc a = evt -> {};
+        e.initialize();
+        e.scheduleEvent(a, 1000.0, "late", 1, null, m);
+        e.scheduleEvent(a, 5.0, "middle", 1, null, m);
+        e.scheduleEvent(a, 5.0, "middle first", 0, null, m);
+        assertEquals("middle first", cq.peekNext().getName());
+        assertEquals("middle first", cq.nextEvent().getName());
+        assertEquals("middle", cq.nextEvent().getName());
+        assertEquals("late", cq.peekNext().getName());
+        assertEquals("late", cq.nextEvent().getName());
+        assertTrue(cq.nextEvent() == null);
+    }
+
+    /**
+     * Executes a mix of events with many ties in time and priority and with
+     * bursts of events that cause the calendar to grow and shrink
+     *
+     * @param c the calendar to use
+     * @return the names of the events in the order executed
+     */
+    private List<String> runEvents(CalendarIfc c) {
+        Executive e = new Executive(c);
+        List<String> order = new ArrayList<>();
+        Random r = new Random(12345);
+        EventActionIfc a = new EventActionIfc() {
+            int n = 0;
+
+            @Override
+            public void action(JSLEvent evt) {
+                order.add(evt.getName() + " " + evt.getTime() + " " + evt.getPriority());
+                // bursts of new events, followed by periods of no new events
+                int k = ((n / 2000) % 2 == 0) ? 2 : 0;
+                for (int i = 0; i < k; i++) {
+                    if (n < 20000) {
+                        n++;
+                        double dt = (r.nextInt(4) == 0) ? 0.0 : Math.floor(r.nextDouble() * 1000.0) / 100.0;
+                        e.scheduleEvent(this, dt, "E" + n, r.nextInt(3), null, m);
+                    }
+                }
+                if (k == 0) {
+                    n++;
+                }
+            }
+        };
+        e.initialize();
+        for (int i = 0; i < 100; i++) {
+            e.scheduleEvent(a, i % 10, "S" + i, i % 3, null, m);
+        }
+        e.executeAllEvents();
+        return order;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.entity.Attribute;
+import jsl.modeling.elements.entity.AttributeType;
+import jsl.modeling.elements.entity.Entity;
+import jsl.modeling.elements.entity.EntityType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the slot indexed attributes of entities
+ */
+public class EntityAttributeTest {
+
+    @Test
+    public void slotAttributes() {
+        Simulation sim = new Simulation("Attributes");
+        EntityType type = new EntityType(sim.getModel(), "Part");
+        AttributeType weight = type.defineAttributeType("weight");
+        AttributeType due = type.defineAttributeType("due");
+        assertEquals(0, weight.getIndex());
+        assertEquals(1, due.getIndex());
+        assertEquals(type, due.getEntityType());
+        assertEquals(due, type.getAttributeType("due"));
+
+        Entity e = type.createEntity();
+        assertEquals(0.0, e.getAttributeValue(weight));
+        e.setAttributeValue(weight, 2.5);
+        e.setAttributeValue("due", 10.0);
+        assertEquals(2.5, e.getAttributeValue("weight"));
+        assertEquals(10.0, e.getAttributeValue(due));
+        assertTrue(e.containsAttribute("due"));
+        assertFalse(e.containsAttribute("color"));
+
+        // defined after the entity was created
+        AttributeType late = type.defineAttributeType("late");
+        assertEquals(0.0, e.getAttributeValue(late));
+        e.setAttributeValue(late, 1.0);
+        assertEquals(1.0, e.getAttributeValue("late"));
+
+        // attributes added to a single entity
+        e.addAttribute("color", new Attribute(3.0, "color"));
+        assertEquals(3.0, e.getAttributeValue("color"));
+        assertThrows(IllegalArgumentException.class, () -> e.addAttribute("weight", new Attribute("weight")));
+        assertThrows(IllegalArgumentException.class, () -> e.getAttributeValue("size"));
+
+        EntityType other = new EntityType(sim.getModel(), "Tool");
+        AttributeType size = other.defineAttributeType("size");
+        assertThrows(IllegalArgumentException.class, () -> e.getAttributeValue(size));
+        assertEquals(0.0, other.createEntity().getAttributeValue("size"));
+    }
+
+    @Test
+    public void attributesAfterDispose() {
+        Simulation sim = new Simulation("Disposed");
+        EntityType type = new EntityType(sim.getModel(), "Part");
+        AttributeType weight = type.defineAttributeType("weight");
+        Entity e = type.createEntity();
+        e.setAttributeValue(weight, 2.0);
+        // without pooling the disposed entity is nullified and no longer has a type
+        e.dispose();
+        assertFalse(e.containsAttribute("weight"));
+        assertThrows(IllegalArgumentException.class, () -> e.getAttributeValue("weight"));
+        assertThrows(IllegalArgumentException.class, () -> e.setAttributeValue("weight", 1.0));
+        assertThrows(IllegalArgumentException.class, () -> e.getAttributeValue(weight));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.IllegalStateException;
+import jsl.modeling.ModelElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.entity.AttributeType;
+import jsl.modeling.elements.entity.Entity;
+import jsl.modeling.elements.entity.EntityType;
+import jsl.modeling.queue.QObject;
+import jsl.modeling.queue.QObjectPool;
+import jsl.modeling.queue.Queue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks the pooling and leak detection of entities and QObjects
+ */
+public class EntityPoolTest {
+
+    @Test
+    public void entityPooling() {
+        Simulation sim = new Simulation("EntityPool");
+        EntityType type = new EntityType(sim.getModel(), "Part");
+        AttributeType weight = type.defineAttributeType("weight");
+        type.setEntityPoolingOption(true);
+
+        Entity e1 = type.createEntity("first");
+        long id = e1.getId();
+        e1.setAttributeValue(weight, 2.0);
+        e1.setMessage("hello");
+        e1.dispose();
+        assertThrows(RuntimeException.class, e1::dispose);
+
+        Entity e2 = type.createEntity("second");
+        assertSame(e1, e2);
+        assertNotEquals(id, e2.getId());
+        assertEquals("second", e2.getName());
+        assertEquals(0.0, e2.getAttributeValue(weight));
+        assertNull(e2.getMessage());
+        assertFalse(e2.hasAllocations());
+        assertEquals(1, type.getNumberOfEntitiesCreated());
+        assertEquals(1, type.getNumberOfEntitiesReused());
+
+        type.setEntityPoolingOption(false);
+        e2.dispose();
+        Entity e3 = type.createEntity();
+        assertNotEquals(e2, e3);
+        assertEquals(2, type.getNumberOfEntitiesCreated());
+    }
+
+    @Test
+    public void qObjectPooling() {
+        Simulation sim = new Simulation("QObjectPool");
+        QObjectPool pool = new QObjectPool(sim.getModel(), "Pool");
+        Queue<QObject> q = new Queue<>(sim.getModel(), "Q");
+        QObject a = pool.acquire("a");
+        a.setAttachedObject("data");
+        q.enqueue(a);
+        assertThrows(IllegalStateException.class, () -> pool.release(a));
+        q.remove(a);
+        pool.release(a);
+        assertThrows(IllegalStateException.class, () -> pool.release(a));
+        QObject b = pool.acquire("b");
+        assertSame(a, b);
+        assertEquals("b", b.getName());
+        assertNull(b.getAttachedObject());
+        assertEquals(1, pool.getNumberCreated());
+        assertEquals(1, pool.getNumberReused());
+        // the pool only holds plain QObjects
+        QObject sub = new QObject(0.0, "sub") {
+        };
+        assertThrows(IllegalArgumentException.class, () -> pool.release(sub));
+        Entity e = new EntityType(sim.getModel(), "Part").createEntity();
+        assertThrows(IllegalArgumentException.class, () -> pool.release(e));
+        // the rejected objects were not added to the pool
+        assertNotSame(sub, pool.acquire("c"));
+        assertEquals(2, pool.getNumberCreated());
+    }
+
+    @Test
+    public void leakDetection() {
+        Simulation sim = new Simulation("Leaks");
+        EntityType type = new EntityType(sim.getModel(), "Part");
+        type.setEntityPoolingOption(true);
+        type.setLeakDetectionOption(true);
+        QObjectPool pool = new QObjectPool(sim.getModel(), "Pool");
+        pool.setLeakDetectionOption(true);
+        new Creator(sim.getModel(), type, pool);
+        sim.setNumberOfReplications(2);
+        sim.setLengthOfReplication(10.0);
+        sim.run();
+        assertEquals(2, type.getNumberOfLeakedEntities());
+        assertEquals(1, pool.getNumberLeaked());
+        // the disposed entity of the first replication was reused
+        assertEquals(1, type.getNumberOfEntitiesReused());
+    }
+
+    /**
+     * Creates three entities and two QObjects, then disposes or releases one
+     * of each at the start of each replication
+     */
+    private static class Creator extends ModelElement {
+
+        private final EntityType myType;
+
+        private final QObjectPool myPool;
+
+        Creator(ModelElement parent, EntityType type, QObjectPool pool) {
+            super(parent);
+            myType = type;
+            myPool = pool;
+        }
+
+        @Override
+        protected void initialize() {
+            Entity e = myType.createEntity();
+            myType.createEntity();
+            myType.createEntity();
+            e.dispose();
+            myPool.acquire();
+            myPool.release(myPool.acquire());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.JSLEvent;
+import jsl.modeling.ModelElement;
+import jsl.modeling.SchedulingElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.EventGenerator;
+import jsl.utilities.random.rvariable.ConstantRV;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Controls event generators after their events have executed while the
+ * executive pools events. The debug option of the pool causes any use of a
+ * recycled event to throw.
+ */
+public class EventGeneratorPoolingTest {
+
+    @Test
+    public void startTurnOffAndSuspendWithPooling() {
+        for (boolean debug : new boolean[]{true, false}) {
+            Simulation sim = new Simulation("Generator Pooling");
+            GeneratorControl gc = new GeneratorControl(sim.getModel());
+            sim.getExecutive().setEventPoolingOption(true);
+            sim.getExecutive().setEventPoolDebugOption(debug);
+            sim.setNumberOfReplications(2);
+            sim.setLengthOfReplication(20.0);
+            sim.run();
+            // events at 1, 2, 3, the event at 4 is counted and turns the generator off
+            assertEquals(4, gc.myMaxed.getNumberOfEventsGenerated());
+            // events at 1, 2 (suspends), resumed at 5.5 for 6.5, then suspended and turned off
+            assertEquals(3, gc.mySuspended.getNumberOfEventsGenerated());
+            // turned on at 3 for 4, turns itself off at 5
+            assertEquals(2, gc.myStarted.getNumberOfEventsGenerated());
+            assertFalse(gc.myMaxed.isEventPending());
+            assertFalse(gc.mySuspended.isEventPending());
+            assertFalse(gc.myStarted.isEventPending());
+        }
+    }
+
+    static class GeneratorControl extends SchedulingElement {
+
+        private final EventGenerator myMaxed;
+        private final EventGenerator mySuspended;
+        private final EventGenerator myStarted;
+
+        GeneratorControl(ModelElement parent) {
+            super(parent);
+            ConstantRV one = new ConstantRV(1.0);
+            myMaxed = new EventGenerator(this, (g, e) -> {
+            }, one, one, 3);
+            mySuspended = new EventGenerator(this, (g, e) -> {
+                if (g.getNumberOfEventsGenerated() == 2) {
+                    g.suspend();
+                }
+            }, one, one);
+            myStarted = new EventGenerator(this, (g, e) -> {
+                if (g.getNumberOfEventsGenerated() == 2) {
+                    g.turnOffGenerator();
+                }
+            }, one, one);
+            myStarted.setStartOnInitializeFlag(false);
+        }
+
+        @Override
+        protected void initialize() {
+            scheduleEvent(this::startGenerator, 3.0);
+            scheduleEvent(this::resume, 5.5);
+            scheduleEvent(this::control, 6.0);
+            scheduleEvent(this::suspend, 7.0);
+            scheduleEvent(this::resume, 9.0);
+            scheduleEvent(this::control, 9.5);
+            scheduleEvent(this::control, 11.0);
+        }
+
+        private void startGenerator(JSLEvent e) {
+            myStarted.turnOnGenerator(1.0);
+        }
+
+        private void resume(JSLEvent e) {
+            mySuspended.resume();
+        }
+
+        private void suspend(JSLEvent e) {
+            mySuspended.suspend();
+            mySuspended.turnOnGenerator();
+        }
+
+        private void control(JSLEvent e) {
+            myMaxed.turnOffGenerator();
+            myMaxed.suspend();
+            myStarted.turnOnGenerator();
+            myStarted.suspend();
+            myStarted.turnOffGenerator();
+            if (getTime() > 9.0) {
+                mySuspended.turnOffGenerator();
+                mySuspended.suspend();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import ex.models.DriveThroughPharmacy;
+import jsl.modeling.EventListenerIfc;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.Simulation;
+import jsl.observers.scheduler.EventProfiler;
+import jsl.utilities.random.rng.RNStreamProvider;
+import jsl.utilities.random.rng.RNStreamProviderIfc;
+import jsl.utilities.random.rvariable.JSLRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the counts and output of the EventProfiler
+ */
+public class EventProfilerTest {
+
+    private RNStreamProviderIfc myProvider;
+
+    @BeforeEach
+    public void setUp() {
+        myProvider = JSLRandom.getRNStreamProvider();
+        JSLRandom.setRNStreamProvider(new RNStreamProvider());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JSLRandom.setRNStreamProvider(myProvider);
+    }
+
+    @Test
+    public void profilesEvents() {
+        Simulation sim = new Simulation("ProfilerTest");
+        new DriveThroughPharmacy(sim.getModel(), 2);
+        sim.setNumberOfReplications(3);
+        sim.setLengthOfReplication(1000.0);
+        long[] counts = new long[2];
+        sim.getExecutive().addEventListener(new EventListenerIfc() {
+            @Override
+            public void afterEvent(double time, JSLEvent event) {
+                counts[0]++;
+                if (event.getName().equals("End Replication")) {
+                    counts[1]++;
+                }
+            }
+        });
+        EventProfiler profiler = new EventProfiler(sim.getExecutive());
+        profiler.setSamplingPeriod(4);
+        profiler.start();
+        sim.run();
+        profiler.stop();
+        assertFalse(profiler.isProfiling());
+
+        assertEquals(counts[0], profiler.getTotalCount());
+        long timed = 0;
+        for (EventProfiler.EventProfile p : profiler.getProfiles()) {
+            timed = timed + p.getTimedCount();
+            if (p.getEventName().equals("End Replication")) {
+                assertEquals(counts[1], p.getCount());
+                assertEquals(0, p.getNumberScheduled());
+            }
+        }
+        assertEquals(counts[0] / 4, timed);
+
+        String[] lines = profiler.getFoldedStacks().split(System.lineSeparator());
+        assertEquals(profiler.getProfiles().size(), lines.length);
+        for (String line : lines) {
+            assertTrue(line.matches("[^ ]+ \\d+"), line);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import jsl.observers.ObserverIfc;
 import jsl.modeling.EventActionIfc;
 import jsl.modeling.Executive;
 import jsl.modeling.JSLEvent;
+import jsl.modeling.JSLEventException;
 import jsl.modeling.Model;
 import jsl.modeling.Simulation;
 import org.junit.jupiter.api.BeforeAll;
@@ -184,7 +185,49 @@ public class ExecutiveTest {
         e.executeAllEvents();
         assertTrue(e.noStepsExecuted());
      }
-     
+
+    @Test
+    public void test6() {
+        System.out.println("Test 6");
+        System.out.println("Executed events should be reused by the event pool");
+        e.setEventPoolingOption(true);
+        e.initialize();
+        JSLEvent e1 = e.scheduleEvent(a, 1.0, "event 1", 1, null, m);
+        e.scheduleEvent(a, 1.1, "event 2", 1, null, m);
+        e.executeNextEvent();
+        e.executeNextEvent();
+        // event 1 was recycled when event 2 executed
+        JSLEvent e3 = e.scheduleEvent(a, 1.0, "event 3", 1, null, m);
+        assertTrue(e3 == e1);
+        assertTrue(e.getNumberOfEventsReused() == 1);
+        e.executeNextEvent();
+        assertTrue(e.getTotalNumberEventsExecuted() == 3);
+        assertTrue(e.getTime() == 2.1);
+    }
+
+    @Test
+    public void test7() {
+        System.out.println("Test 7");
+        System.out.println("Using a recycled event should be detected");
+        e.setEventPoolingOption(true);
+        e.setEventPoolDebugOption(true);
+        e.initialize();
+        JSLEvent e1 = e.scheduleEvent(a, 1.0, "event 1", 1, null, m);
+        e.scheduleEvent(a, 1.1, "event 2", 1, null, m);
+        e.executeNextEvent();
+        e.executeNextEvent();
+        boolean f = false;
+        try {
+            e1.isScheduled();
+        } catch (JSLEventException ex) {
+            System.out.println(ex.getMessage());
+            f = true;
+        }
+        assertTrue(f);
+        JSLEvent e3 = e.scheduleEvent(a, 1.0, "event 3", 1, null, m);
+        assertTrue(e3 != e1);
+    }
+
     public class ActionListener implements EventActionIfc {
 
         @Override
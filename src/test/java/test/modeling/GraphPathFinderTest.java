@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.spatial.CoordinateIfc;
+import jsl.modeling.elements.spatial.GraphPathFinder;
+import jsl.modeling.elements.spatial.GraphSpatialModel;
+import jsl.modeling.elements.spatial.GraphSpatialModel.Node;
+import jsl.modeling.elements.spatial.Mover;
+import jsl.modeling.elements.spatial.NoPathFoundException;
+import jsl.modeling.elements.spatial.Path;
+import jsl.modeling.elements.spatial.PathFollowingMovementController;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the shortest paths of the graph path finder against Floyd-Warshall
+ */
+public class GraphPathFinderTest {
+
+    @Test
+    public void shortestPaths() {
+        GraphSpatialModel graph = new GraphSpatialModel("aisles");
+        Random rnd = new Random(11);
+        int n = 40;
+        for (int i = 0; i < n; i++) {
+            graph.addNode("n" + i, rnd.nextInt(50), 100 * i);
+        }
+        double[][] d = new double[n][n];
+        for (double[] row : d) {
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+        }
+        for (int e = 0; e < 120; e++) {
+            int a = rnd.nextInt(n);
+            int b = rnd.nextInt(n);
+            if (a == b) {
+                continue;
+            }
+            Node na = graph.getNode(a);
+            Node nb = graph.getNode(b);
+            double len = Math.hypot(na.getX1() - nb.getX1(), na.getX2() - nb.getX2()) * (1.0 + rnd.nextDouble());
+            graph.addEdge(na, nb, len);
+            d[a][b] = Math.min(d[a][b], len);
+        }
+        for (int i = 0; i < n; i++) {
+            d[i][i] = 0.0;
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    d[i][j] = Math.min(d[i][j], d[i][k] + d[k][j]);
+                }
+            }
+        }
+        assertTrue(graph.isEuclideanLowerBound());
+        GraphPathFinder finder = graph.getPathFinder();
+        for (int mode = 0; mode < 3; mode++) {
+            finder.setAStarOption(mode == 0);
+            if (mode == 2) {
+                finder.precomputeAllPairs();
+                assertTrue(finder.isPrecomputed());
+            }
+            finder.clearCache();
+            Path path = new Path(graph);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    Node from = graph.getNode(i);
+                    Node to = graph.getNode(j);
+                    finder.findPath(path, from, to);
+                    if (Double.isInfinite(d[i][j])) {
+                        assertTrue(path.isEmpty());
+                        assertThrows(NoPathFoundException.class, () -> graph.distance(from, to));
+                    } else {
+                        assertEquals(d[i][j], graph.distance(from, to), 1.0e-9);
+                        assertEquals(d[i][j], path.getTotalDistance(), 1.0e-9);
+                        if (i != j) {
+                            CoordinateIfc[] points = path.toArray(new CoordinateIfc[0]);
+                            assertSame(to, points[points.length - 1]);
+                        }
+                    }
+                }
+            }
+        }
+        // adding an edge discards the precomputed paths
+        graph.addTwoWayEdge(graph.getNode(0), graph.getNode(n - 1));
+        // no path is shorter than the straight line, since no edge is
+        Node first = graph.getNode(0);
+        Node last = graph.getNode(n - 1);
+        assertEquals(Math.hypot(first.getX1() - last.getX1(), first.getX2() - last.getX2()),
+                graph.distance(first, last), 1.0e-9);
+        assertFalse(finder.isPrecomputed());
+    }
+
+    @Test
+    public void cacheStatistics() {
+        GraphSpatialModel graph = new GraphSpatialModel();
+        Node a = graph.addNode("A", 0, 0);
+        Node b = graph.addNode("B", 10, 0);
+        Node c = graph.addNode("C", 10, 10);
+        graph.addTwoWayEdge(a, b);
+        graph.addTwoWayEdge(b, c);
+        GraphPathFinder finder = graph.getPathFinder();
+        finder.setCacheCapacity(2);
+        assertEquals(20.0, graph.distance(a, c));
+        assertEquals(20.0, graph.distance(a, c));
+        assertEquals(10.0, graph.distance(c, b));
+        assertEquals(10.0, graph.distance(a, b));
+        // (a,c) was the least recently used and was evicted
+        assertEquals(20.0, graph.distance(a, c));
+        assertEquals(1, finder.getCacheHits());
+        assertEquals(4, finder.getCacheMisses());
+        assertEquals(0.2, finder.getCacheHitRatio(), 1.0e-12);
+        assertEquals(2, finder.getCacheSize());
+        assertEquals(4, finder.getNumberOfSearches());
+    }
+
+    @Test
+    public void moverFollowsPath() {
+        Simulation sim = new Simulation("GraphMover");
+        GraphSpatialModel graph = new GraphSpatialModel();
+        Node a = graph.addNode("A", 0, 0);
+        Node b = graph.addNode("B", 10, 0);
+        Node c = graph.addNode("C", 10, 10);
+        graph.addTwoWayEdge(a, b);
+        graph.addTwoWayEdge(b, c);
+        TripMover mover = new TripMover(sim, graph, a, c);
+        mover.setMovementController(new PathFollowingMovementController(sim.getModel(), graph));
+        sim.setLengthOfReplication(100.0);
+        sim.run();
+        assertEquals(20.0, mover.myArrivalTime, 1.0e-9);
+        assertEquals(2, mover.myNumMovements);
+        assertTrue(mover.isPositionEqualTo(c));
+    }
+
+    /**
+     * Travels from the origin to the destination at the start of the replication
+     */
+    private static class TripMover extends Mover {
+
+        private final CoordinateIfc myTarget;
+
+        private double myArrivalTime;
+
+        private int myNumMovements;
+
+        TripMover(Simulation sim, GraphSpatialModel graph, Node origin, Node target) {
+            super(sim.getModel(), "mover", graph, origin);
+            myTarget = target;
+        }
+
+        @Override
+        protected void initialize() {
+            super.initialize();
+            travelTo(myTarget);
+        }
+
+        @Override
+        protected void afterMovementEnds() {
+            myNumMovements++;
+        }
+
+        @Override
+        protected void afterTripEnds() {
+            myArrivalTime = getTime();
+        }
+    }
+}
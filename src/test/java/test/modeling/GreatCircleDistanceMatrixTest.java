@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.elements.spatial.CoordinateIfc;
+import jsl.modeling.elements.spatial.GreatCircleBasedSpatialModel;
+import jsl.modeling.elements.spatial.SpatialElement;
+import jsl.modeling.elements.spatial.SpatialModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the distance matrix of the great circle spatial model against the
+ * distances computed without the matrix
+ */
+public class GreatCircleDistanceMatrixTest {
+
+    @Test
+    public void matrixMatchesDirectComputation() {
+        GreatCircleBasedSpatialModel model = new GreatCircleBasedSpatialModel("earth");
+        // a model without the matrix provides the expected values
+        GreatCircleBasedSpatialModel direct = new GreatCircleBasedSpatialModel("direct");
+        Random rnd = new Random(3);
+        List<Site> sites = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            sites.add(new Site(model, rnd));
+        }
+        // built in parallel for the existing sites, later changes are incremental
+        model.setDistanceMatrixOption(true);
+        assertEquals(300, model.getDistanceMatrixSize());
+        check(model, direct, sites);
+
+        for (int i = 0; i < 40; i++) {
+            sites.add(new Site(model, rnd));
+        }
+        for (int i = 0; i < 30; i++) {
+            sites.get(rnd.nextInt(sites.size())).moveTo(rnd);
+        }
+        GreatCircleBasedSpatialModel other = new GreatCircleBasedSpatialModel("other");
+        for (int i = 0; i < 25; i++) {
+            Site s = sites.remove(rnd.nextInt(sites.size()));
+            s.changeSpatialModel(other, s.getPosition());
+        }
+        assertEquals(sites.size(), model.getDistanceMatrixSize());
+        check(model, direct, sites);
+
+        model.setEarthRadius(3958.8);
+        direct.setEarthRadius(3958.8);
+        check(model, direct, sites);
+    }
+
+    @Test
+    public void matrixGrowsAndIsLimited() {
+        GreatCircleBasedSpatialModel model = new GreatCircleBasedSpatialModel("earth");
+        GreatCircleBasedSpatialModel direct = new GreatCircleBasedSpatialModel("direct");
+        model.setDistanceMatrixOption(true);
+        Random rnd = new Random(9);
+        List<Site> sites = new ArrayList<>();
+        // grows from the initial capacity several times
+        for (int i = 0; i < 100; i++) {
+            sites.add(new Site(model, rnd));
+        }
+        assertEquals(100, model.getDistanceMatrixSize());
+        check(model, direct, sites);
+
+        // the check happens before the matrix is allocated
+        GreatCircleBasedSpatialModel large = new GreatCircleBasedSpatialModel("large");
+        for (int i = 0; i <= GreatCircleBasedSpatialModel.MAX_DISTANCE_MATRIX_SIZE; i++) {
+            new SpatialElement(large, 0.0, 0.0);
+        }
+        assertThrows(IllegalStateException.class, () -> large.setDistanceMatrixOption(true));
+        assertFalse(large.getDistanceMatrixOption());
+    }
+
+    @Test
+    public void bulkDistances() {
+        GreatCircleBasedSpatialModel model = new GreatCircleBasedSpatialModel("earth");
+        Random rnd = new Random(5);
+        int n = 50;
+        CoordinateIfc[] c = new CoordinateIfc[n];
+        double[] lats = new double[n];
+        double[] lons = new double[n];
+        for (int i = 0; i < n; i++) {
+            lats[i] = rnd.nextDouble() * 180 - 90;
+            lons[i] = rnd.nextDouble() * 360 - 180;
+            c[i] = model.getCoordinate(lats[i], lons[i]);
+        }
+        double[] r1 = new double[n];
+        double[] r2 = new double[n];
+        model.distances(c[0], c, r1);
+        model.distances(lats[0], lons[0], lats, lons, r2);
+        for (int i = 0; i < n; i++) {
+            double d = model.distance(c[0], c[i]);
+            assertEquals(d, r1[i]);
+            assertEquals(d, r2[i]);
+        }
+    }
+
+    private static void check(GreatCircleBasedSpatialModel model,
+            GreatCircleBasedSpatialModel direct, List<Site> sites) {
+        int n = sites.size();
+        CoordinateIfc[] positions = new CoordinateIfc[n];
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            positions[i] = sites.get(i).getPosition();
+            indices[i] = model.getDistanceMatrixIndex(sites.get(i));
+        }
+        double[] row = new double[n];
+        double[] byIndex = new double[n];
+        for (int i = 0; i < n; i++) {
+            model.distances(positions[i], positions, row);
+            model.distances(indices[i], indices, byIndex);
+            for (int j = 0; j < n; j++) {
+                double d = direct.distance(positions[i], positions[j]);
+                assertEquals(d, model.distance(sites.get(i), sites.get(j)));
+                assertEquals(d, row[j]);
+                assertEquals(d, byIndex[j]);
+            }
+        }
+    }
+
+    private static class Site extends SpatialElement {
+
+        Site(SpatialModel model, Random rnd) {
+            super(model, rnd.nextDouble() * 180 - 90, rnd.nextDouble() * 360 - 180);
+        }
+
+        void moveTo(Random rnd) {
+            setCurrentPosition(getSpatialModel().getCoordinate(rnd.nextDouble() * 180 - 90, rnd.nextDouble() * 360 - 180));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.calendar.CalendarIfc;
+import jsl.calendar.CalendarQueueEventCalendar;
+import jsl.calendar.IndexedHeapEventCalendar;
+import jsl.calendar.LinkedListEventCalendar;
+import jsl.calendar.PriorityQueueEventCalendar;
+import jsl.calendar.SkewHeapEventCalendar;
+import jsl.calendar.TreeSetEventCalendar;
+import jsl.modeling.EventActionIfc;
+import jsl.modeling.Executive;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.Model;
+import jsl.modeling.Simulation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the removal of canceled events from the calendars
+ */
+public class IndexedHeapEventCalendarTest {
+
+    Model m;
+
+    @BeforeEach
+    public void setUp() {
+        Simulation s = new Simulation();
+        m = s.getModel();
+    }
+
+    @Test
+    public void cancelRemovesEvent() {
+        IndexedHeapEventCalendar c = new IndexedHeapEventCalendar();
+        Executive e = new Executive(c);
+        EventActionIfc a = evt -> {};
+        e.initialize();
+        JSLEvent e1 = e.scheduleEvent(a, 1.0, "e1", 1, null, m);
+        JSLEvent e2 = e.scheduleEvent(a, 2.0, "e2", 1, null, m);
+        JSLEvent e3 = e.scheduleEvent(a, 3.0, "e3", 1, null, m);
+        e.cancel(e2);
+        assertEquals(2, c.size());
+        assertFalse(e2.isScheduled());
+        assertTrue(e2.getCanceledFlag());
+        assertEquals(1, e.getNumberOfEventsCanceled());
+        assertEquals(0, e.getNumberOfCanceledEventsInCalendar());
+        assertEquals(3, e.getMaximumCalendarSize());
+        assertTrue(c.nextEvent() == e1);
+        assertTrue(c.nextEvent() == e3);
+        assertTrue(c.isEmpty());
+    }
+
+    @Test
+    public void sameOrderWithCancellations() {
+        List<String> expected = runEvents(new PriorityQueueEventCalendar(), 1000000);
+        assertEquals(expected, runEvents(new IndexedHeapEventCalendar(), 1000000));
+        assertEquals(expected, runEvents(new PriorityQueueEventCalendar(), 50));
+        assertEquals(expected, runEvents(new CalendarQueueEventCalendar(), 50));
+        assertEquals(expected, runEvents(new TreeSetEventCalendar(), 50));
+        assertEquals(expected, runEvents(new SkewHeapEventCalendar(), 50));
+        assertEquals(expected, runEvents(new LinkedListEventCalendar(), 50));
+    }
+
+    @Test
+    public void compaction() {
+        PriorityQueueEventCalendar c = new PriorityQueueEventCalendar();
+        Executive e = new Executive(c);
+        e.setCompactionPolicy(0.5, 10);
+        EventActionIfc a = evt -> {};
+        e.initialize();
+        List<JSLEvent> events = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            events.add(e.scheduleEvent(a, i, "e" + i, 1, null, m));
+        }
+        // canceled directly, must not be removed
+        events.get(0).setCanceledFlag(true);
+        for (int i = 1; i <= 16; i++) {
+            e.cancel(events.get(i));
+        }
+        assertEquals(1, e.getNumberOfCompactions());
+        assertEquals(14, c.size());
+        assertEquals(0, e.getNumberOfCanceledEventsInCalendar());
+        assertTrue(events.get(0).isScheduled());
+        assertFalse(events.get(1).isScheduled());
+    }
+
+    /**
+     * Executes events that repeatedly cancel pending time outs, as happens
+     * with reneging and preemption
+     *
+     * @param c         the calendar to use
+     * @param threshold the compaction threshold
+     * @return the names of the events in the order executed
+     */
+    private List<String> runEvents(CalendarIfc c, int threshold) {
+        Executive e = new Executive(c);
+        e.setCompactionPolicy(0.25, threshold);
+        List<String> order = new ArrayList<>();
+        List<JSLEvent> pending = new ArrayList<>();
+        Random r = new Random(4321);
+        EventActionIfc a = new EventActionIfc() {
+            int n = 0;
+
+            @Override
+            public void action(JSLEvent evt) {
+                order.add(evt.getName() + " " + evt.getTime() + " " + evt.getPriority());
+                if (n >= 10000) {
+                    return;
+                }
+                for (int i = 0; i < 2; i++) {
+                    n++;
+                    double dt = Math.floor(r.nextDouble() * 1000.0) / 100.0;
+                    pending.add(e.scheduleEvent(this, dt, "E" + n, r.nextInt(3), null, m));
+                }
+                // cancel a pending time out
+                int k = r.nextInt(pending.size());
+                JSLEvent p = pending.get(k);
+                if (p.isScheduled() && !p.getCanceledFlag()) {
+                    e.cancel(p);
+                }
+                pending.remove(k);
+            }
+        };
+        e.initialize();
+        for (int i = 0; i < 20; i++) {
+            e.scheduleEvent(a, i % 5, "S" + i, i % 3, null, m);
+        }
+        e.executeAllEvents();
+        return order;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import ex.models.DriveThroughPharmacy;
+import jsl.modeling.EventListenerIfc;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.ModelElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.observers.ObserverIfc;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks observers that subscribe to particular states and the typed listeners
+ */
+public class ObserverSubscriptionTest {
+
+    private Simulation mySim;
+
+    private ResponseVariable mySystemTime;
+
+    @BeforeEach
+    public void setUp() {
+        mySim = new Simulation("Observer Subscription");
+        DriveThroughPharmacy dtp = new DriveThroughPharmacy(mySim.getModel(), 1);
+        mySystemTime = dtp.getSystemTimeResponse();
+        mySim.setNumberOfReplications(3);
+        mySim.setLengthOfReplication(1000.0);
+    }
+
+    @Test
+    public void subscribedStatesOnly() {
+        CountingObserver afterRep = new CountingObserver(ModelElement.AFTER_REPLICATION);
+        CountingObserver all = new CountingObserver(ModelElement.AFTER_REPLICATION);
+        mySystemTime.addObserver(afterRep, ModelElement.AFTER_REPLICATION);
+        mySystemTime.addObserver(all);
+        double[] numChanges = new double[1];
+        mySystemTime.addVariableListener((v, t, p, x) -> numChanges[0]++);
+        mySim.run();
+        assertEquals(3, afterRep.myCount);
+        assertEquals(0, afterRep.myOtherCount);
+        assertEquals(3, all.myCount);
+        // every change of the variable was notified as an UPDATE to the observer of all states
+        assertTrue(numChanges[0] > 0);
+        assertTrue(all.myOtherCount >= numChanges[0]);
+    }
+
+    @Test
+    public void eventListener() {
+        long[] counts = new long[2];
+        EventListenerIfc listener = new EventListenerIfc() {
+            @Override
+            public void beforeEvent(double time, JSLEvent event) {
+                counts[0]++;
+            }
+
+            @Override
+            public void afterEvent(double time, JSLEvent event) {
+                counts[1]++;
+            }
+        };
+        mySim.getExecutive().addEventListener(listener);
+        mySim.setNumberOfReplications(1);
+        mySim.run();
+        mySim.getExecutive().removeEventListener(listener);
+        assertEquals((long) mySim.getExecutive().getTotalNumberEventsExecuted(), counts[0]);
+        assertEquals(counts[0], counts[1]);
+    }
+
+    private static class CountingObserver implements ObserverIfc {
+
+        private final int myState;
+
+        private int myCount;
+
+        private int myOtherCount;
+
+        CountingObserver(int state) {
+            myState = state;
+        }
+
+        @Override
+        public void update(Object theObserved, Object arg) {
+            ModelElement m = (ModelElement) theObserved;
+            if (m.getObserverState() == myState) {
+                myCount++;
+            } else {
+                myOtherCount++;
+            }
+        }
+    }
+}
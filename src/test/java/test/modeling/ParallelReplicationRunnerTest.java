@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import ex.models.DriveThroughPharmacy;
+import jsl.modeling.Model;
+import jsl.modeling.ModelBuilderIfc;
+import jsl.modeling.ParallelReplicationRunner;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.Counter;
+import jsl.modeling.elements.variable.ResponseVariable;
+import jsl.utilities.random.rng.RNStreamProvider;
+import jsl.utilities.random.rng.RNStreamProviderIfc;
+import jsl.utilities.random.rvariable.JSLRandom;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that parallel replications produce the same results as sequential replications
+ */
+public class ParallelReplicationRunnerTest {
+
+    private RNStreamProviderIfc myProvider;
+
+    private final ModelBuilderIfc myBuilder = model -> new DriveThroughPharmacy(model, 2);
+
+    @BeforeEach
+    public void setUp() {
+        myProvider = JSLRandom.getRNStreamProvider();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JSLRandom.setRNStreamProvider(myProvider);
+    }
+
+    private Simulation makeSimulation(String name) {
+        Simulation sim = new Simulation(name);
+        sim.setNumberOfReplications(30);
+        sim.setLengthOfReplication(2000.0);
+        sim.setLengthOfWarmUp(200.0);
+        return sim;
+    }
+
+    @Test
+    public void sameAsSequential() {
+        JSLRandom.setRNStreamProvider(new RNStreamProvider());
+        Simulation seq = makeSimulation("Sequential");
+        myBuilder.buildModel(seq.getModel());
+        seq.run();
+
+        for (int w = 1; w <= 3; w++) {
+            JSLRandom.setRNStreamProvider(new RNStreamProvider());
+            Simulation par = makeSimulation("Parallel");
+            ParallelReplicationRunner runner = new ParallelReplicationRunner(par, myBuilder, w);
+            runner.setReplicationsPerTask(w);
+            runner.run();
+            assertSameResults(seq.getModel(), par.getModel());
+        }
+    }
+
+    private void assertSameResults(Model expected, Model actual) {
+        List<ResponseVariable> e = expected.getResponseVariables();
+        List<ResponseVariable> a = actual.getResponseVariables();
+        assertEquals(e.size(), a.size());
+        for (int i = 0; i < e.size(); i++) {
+            assertSameStatistic(e.get(i).getAcrossReplicationStatistic(), a.get(i).getAcrossReplicationStatistic());
+        }
+        List<Counter> ec = expected.getCounters();
+        List<Counter> ac = actual.getCounters();
+        assertEquals(ec.size(), ac.size());
+        for (int i = 0; i < ec.size(); i++) {
+            assertSameStatistic(ec.get(i).getAcrossReplicationStatistic(), ac.get(i).getAcrossReplicationStatistic());
+        }
+    }
+
+    private void assertSameStatistic(StatisticAccessorIfc e, StatisticAccessorIfc a) {
+        assertEquals(e.getCount(), a.getCount());
+        assertEquals(e.getAverage(), a.getAverage());
+        assertEquals(e.getVariance(), a.getVariance());
+        assertEquals(e.getMin(), a.getMin());
+        assertEquals(e.getMax(), a.getMax());
+    }
+}
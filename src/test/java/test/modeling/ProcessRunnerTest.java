@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.ModelElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.processview.continuation.ProcessProgram;
+import jsl.modeling.elements.processview.continuation.ProcessResource;
+import jsl.modeling.elements.processview.continuation.ProcessRunner;
+import jsl.modeling.elements.processview.continuation.ProcessSignal;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the timing of programs executed by a ProcessRunner
+ */
+public class ProcessRunnerTest {
+
+    @Test
+    public void seizeDelayRelease() {
+        Simulation sim = new Simulation("Seize Delay Release");
+        ProcessRunner runner = new ProcessRunner(sim.getModel(), "Runner");
+        ProcessResource server = new ProcessResource(sim.getModel(), 2, "Server");
+        List<Double> ends = new ArrayList<>();
+        ProcessProgram customer = ProcessProgram.builder("Customer")
+                .seize(server)
+                .delay(5.0)
+                .release(server)
+                .execute(p -> ends.add(p.getProcessRunner().getTime()))
+                .build();
+        ProcessProgram big = ProcessProgram.builder("Big")
+                .seize(server, 2)
+                .delay(1.0)
+                .release(server, 2)
+                .execute(p -> ends.add(-p.getProcessRunner().getTime()))
+                .build();
+        new Starter(sim.getModel(), () -> {
+            for (int i = 0; i < 3; i++) {
+                runner.start(customer, i);
+            }
+            runner.start(big, null, 1.0);
+            runner.start(customer, null, 2.0);
+        });
+        sim.run();
+        // the big request waits behind the third customer and blocks the last one
+        assertEquals(Arrays.asList(5.0, 5.0, 10.0, -11.0, 16.0), ends);
+        assertEquals(0, runner.getNumberActive());
+        assertEquals(0, server.getNumBusy());
+    }
+
+    @Test
+    public void waitForAndLoop() {
+        Simulation sim = new Simulation("Wait For");
+        ProcessRunner runner = new ProcessRunner(sim.getModel(), "Runner");
+        ProcessSignal gate = new ProcessSignal(sim.getModel(), "Gate");
+        double[] end = new double[2];
+        int[] passes = new int[1];
+        ProcessProgram waiter = ProcessProgram.builder()
+                .waitFor(gate)
+                .loopWhile(p -> passes[0] < 3, b -> b.delay(2.0).execute(p -> passes[0]++))
+                .when(p -> passes[0] > 5, b -> b.delay(100.0))
+                .execute(p -> end[0] = p.getProcessRunner().getTime())
+                .build();
+        ProcessProgram opener = ProcessProgram.builder()
+                .delay(7.0)
+                .execute(p -> end[1] = gate.signal())
+                .build();
+        new Starter(sim.getModel(), () -> {
+            runner.start(waiter, null);
+            runner.start(opener, null);
+        });
+        sim.run();
+        assertEquals(1.0, end[1]);
+        assertEquals(13.0, end[0]);
+        assertEquals(3, passes[0]);
+    }
+
+    static class Starter extends ModelElement {
+
+        private final Runnable myAction;
+
+        Starter(ModelElement parent, Runnable action) {
+            super(parent);
+            myAction = action;
+        }
+
+        @Override
+        protected void initialize() {
+            myAction.run();
+        }
+    }
+}
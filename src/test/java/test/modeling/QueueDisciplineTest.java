@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.Simulation;
+import jsl.modeling.queue.QObject;
+import jsl.modeling.queue.Queue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the queue disciplines against a list that is kept in the expected
+ * order of each discipline
+ */
+public class QueueDisciplineTest {
+
+    @Test
+    public void disciplinesMatchReferenceList() {
+        Simulation sim = new Simulation("Queue Disciplines");
+        Queue<QObject> q = new Queue<>(sim.getModel(), "Q", Queue.Discipline.FIFO);
+        List<QObject> ref = new ArrayList<>();
+        Random random = new Random(42);
+        Queue.Discipline[] disciplines = {Queue.Discipline.FIFO, Queue.Discipline.RANKED,
+                Queue.Discipline.LIFO, Queue.Discipline.RANKED, Queue.Discipline.FIFO};
+        for (Queue.Discipline d : disciplines) {
+            q.changeDiscipline(d);
+            if (d == Queue.Discipline.RANKED) {
+                Collections.sort(ref);
+            }
+            for (int n = 0; n < 5000; n++) {
+                int op = random.nextInt(10);
+                if ((op < 5) || ref.isEmpty()) {
+                    QObject qObject = new QObject(0.0);
+                    qObject.setPriority(random.nextInt(5));
+                    q.enqueue(qObject);
+                    ref.add(qObject);
+                } else if (op < 7) {
+                    QObject next = d == Queue.Discipline.LIFO ? ref.get(ref.size() - 1) : ref.get(0);
+                    assertSame(next, q.removeNext());
+                    ref.remove(next);
+                } else if (op == 7) {
+                    QObject qObject = ref.get(random.nextInt(ref.size()));
+                    assertTrue(q.remove(qObject));
+                    assertFalse(q.contains(qObject));
+                    ref.remove(qObject);
+                } else if (op == 8) {
+                    QObject qObject = ref.get(random.nextInt(ref.size()));
+                    qObject.setPriority(random.nextInt(5));
+                } else {
+                    int i = random.nextInt(ref.size());
+                    assertSame(ref.get(i), q.peekAt(i));
+                    assertEquals(i, q.indexOf(ref.get(i)));
+                }
+                if (d == Queue.Discipline.RANKED) {
+                    Collections.sort(ref);
+                }
+                assertEquals(ref.size(), q.size());
+            }
+            assertEquals(ref, q.getUnmodifiableList());
+        }
+        q.clear();
+        assertTrue(q.isEmpty());
+        for (QObject qObject : ref) {
+            assertFalse(qObject.isQueued());
+        }
+    }
+}
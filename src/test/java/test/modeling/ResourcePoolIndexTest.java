@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.JSLEvent;
+import jsl.modeling.ModelElement;
+import jsl.modeling.SchedulingElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.variable.RandomVariable;
+import jsl.modeling.queue.QObject;
+import jsl.modeling.queue.Queue;
+import jsl.modeling.resource.*;
+import jsl.utilities.random.rvariable.ExponentialRV;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the unit index of ResourcePool against scans of the units
+ */
+public class ResourcePoolIndexTest {
+
+    @Test
+    public void indexMatchesScan() {
+        for (ResourceUnitSelectionRuleIfc rule : new ResourceUnitSelectionRuleIfc[]{null,
+                new CyclicResourceUnitSelectionRule(), new LongestIdleResourceUnitSelectionRule(),
+                new LeastUtilizedResourceUnitSelectionRule()}) {
+            Simulation sim = new Simulation("Pool Index");
+            PoolModel pm = new PoolModel(sim.getModel(), 20, rule);
+            sim.setNumberOfReplications(2);
+            sim.setLengthOfWarmUp(100.0);
+            sim.setLengthOfReplication(1000.0);
+            sim.run();
+            assertTrue(pm.myPool.myNumChecks > 1000);
+        }
+    }
+
+    @Test
+    public void cyclicRule() {
+        Simulation sim = new Simulation("Cyclic");
+        List<ResourceUnit> units = new ResourceUnit.Builder(sim.getModel()).name("Unit").build(4);
+        ResourcePool pool = new ResourcePool(sim.getModel(), units);
+        CyclicResourceUnitSelectionRule rule = new CyclicResourceUnitSelectionRule();
+        ResourceUnitIndexIfc index = pool.getUnitIndex();
+        for (int i = 0; i < 8; i++) {
+            assertSame(units.get(i % 4), rule.selectAvailableResource(index));
+        }
+        rule.reset();
+        for (int i = 0; i < 8; i++) {
+            assertSame(units.get(i % 4), rule.selectAvailableResource(units));
+        }
+        assertEquals(4, index.getNumIdle());
+        assertSame(units.get(2), index.getIdleUnit(2));
+        assertSame(units.get(0), index.findNextIdle(4));
+    }
+
+    static class CheckedPool extends ResourcePool {
+
+        int myNumChecks;
+
+        CheckedPool(ModelElement parent, List<ResourceUnit> units) {
+            super(parent, units, true);
+        }
+
+        @Override
+        protected void resourceUnitChanged(ResourceUnit ru) {
+            super.resourceUnitChanged(ru);
+            myNumChecks++;
+            ResourceUnitIndexIfc index = getUnitIndex();
+            int idle = 0, busy = 0, failed = 0, inactive = 0;
+            for (ResourceUnit u : getUnits()) {
+                idle += u.isIdle() ? 1 : 0;
+                busy += u.isBusy() ? 1 : 0;
+                failed += u.isFailed() ? 1 : 0;
+                inactive += u.isInactive() ? 1 : 0;
+            }
+            assertEquals(idle, getNumIdle());
+            assertEquals(busy, getNumBusy());
+            assertEquals(failed, getNumFailed());
+            assertEquals(inactive, getNumInactive());
+            List<ResourceUnit> idleUnits = findIdleResourceUnits();
+            assertEquals(idle, idleUnits.size());
+            for (int k = 0; k < idle; k++) {
+                assertTrue(idleUnits.get(k).isIdle());
+                assertTrue((k == 0) || (index.getPosition(idleUnits.get(k - 1)) < index.getPosition(idleUnits.get(k))));
+            }
+            if (idle == 0) {
+                assertEquals(null, findFirstIdle());
+                assertEquals(null, index.findLongestIdle());
+                assertEquals(null, index.findLeastUtilizedIdle());
+                return;
+            }
+            assertSame(idleUnits.get(0), findFirstIdle());
+            ResourceUnit longest = new LongestIdleResourceUnitSelectionRule().selectAvailableResource(getUnits());
+            assertEquals(longest.getTimeEnteredIdle(), index.findLongestIdle().getTimeEnteredIdle());
+            ResourceUnit least = new LeastUtilizedResourceUnitSelectionRule().selectAvailableResource(getUnits());
+            assertSame(least, index.findLeastUtilizedIdle());
+        }
+    }
+
+    static class PoolModel extends SchedulingElement {
+
+        private final CheckedPool myPool;
+        private final Queue<QObject> myQ;
+        private final RandomVariable myArrivalRV;
+        private final RandomVariable myServiceRV;
+        private final RequestReactorIfc myReactor = new RequestReactorAdapter() {
+            @Override
+            public void completed(Request request) {
+                if (myQ.isNotEmpty()) {
+                    seize(myQ.removeNext());
+                }
+            }
+        };
+
+        PoolModel(ModelElement parent, int numUnits, ResourceUnitSelectionRuleIfc rule) {
+            super(parent);
+            List<ResourceUnit> units = new ResourceUnit.Builder(this).name("Unit").build(numUnits);
+            myPool = new CheckedPool(this, units);
+            myPool.setSelectionRule(rule);
+            myQ = new Queue<>(this, "Q");
+            myArrivalRV = new RandomVariable(this, new ExponentialRV(1.0));
+            myServiceRV = new RandomVariable(this, new ExponentialRV(18.0));
+        }
+
+        @Override
+        protected void initialize() {
+            super.initialize();
+            schedule(this::arrival).in(myArrivalRV).units();
+        }
+
+        private void arrival(JSLEvent<Object> evt) {
+            QObject customer = new QObject(getTime());
+            if (myPool.hasIdleUnits()) {
+                seize(customer);
+            } else {
+                myQ.enqueue(customer);
+            }
+            schedule(this::arrival).in(myArrivalRV).units();
+        }
+
+        private void seize(QObject customer) {
+            ResourceUnit ru = (getTime() < 500.0) ? myPool.selectResourceUnit() : myPool.randomlySelectResourceUnit();
+            ru.seize(myReactor, myServiceRV, customer);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import ex.models.DriveThroughPharmacy;
+import jsl.modeling.ModelBuilderIfc;
+import jsl.modeling.ParallelReplicationRunner;
+import jsl.modeling.SequentialStoppingController;
+import jsl.modeling.Simulation;
+import jsl.utilities.random.rng.RNStreamProvider;
+import jsl.utilities.random.rng.RNStreamProviderIfc;
+import jsl.utilities.random.rvariable.JSLRandom;
+import jsl.utilities.statistic.StatisticAccessorIfc;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the sequential stopping controller stops when the targets are met
+ * and that the parallel controller makes the same decisions
+ */
+public class SequentialStoppingControllerTest {
+
+    private RNStreamProviderIfc myProvider;
+
+    private final ModelBuilderIfc myBuilder = model -> new DriveThroughPharmacy(model, 2);
+
+    @BeforeEach
+    public void setUp() {
+        myProvider = JSLRandom.getRNStreamProvider();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JSLRandom.setRNStreamProvider(myProvider);
+    }
+
+    private Simulation makeSimulation(String name) {
+        Simulation sim = new Simulation(name);
+        sim.setNumberOfReplications(500);
+        sim.setLengthOfReplication(2000.0);
+        sim.setLengthOfWarmUp(200.0);
+        return sim;
+    }
+
+    private void addTargets(SequentialStoppingController c) {
+        c.addRelativePrecisionTarget("System Time", 0.02);
+        c.addHalfWidthTarget("Num Served", 10.0);
+    }
+
+    @Test
+    public void stopsWhenTargetsMet() {
+        JSLRandom.setRNStreamProvider(new RNStreamProvider());
+        Simulation sim = makeSimulation("Sequential");
+        myBuilder.buildModel(sim.getModel());
+        SequentialStoppingController c = sim.makeSequentialStoppingController();
+        addTargets(c);
+        c.run();
+        assertTrue(c.allTargetsMet());
+        assertTrue(c.getReplicationsSaved() > 0);
+        assertEquals(500, sim.getNumberOfReplications());
+        StatisticAccessorIfc s = sim.getModel().getResponseVariable("System Time").getAcrossReplicationStatistic();
+        assertEquals(c.getNumberOfReplicationsExecuted(), (int) s.getCount());
+        assertTrue(s.getHalfWidth() <= 0.02 * s.getAverage());
+    }
+
+    @Test
+    public void parallelSameAsSequential() {
+        JSLRandom.setRNStreamProvider(new RNStreamProvider());
+        Simulation seq = makeSimulation("Sequential");
+        myBuilder.buildModel(seq.getModel());
+        SequentialStoppingController sc = new SequentialStoppingController(seq);
+        addTargets(sc);
+        sc.run();
+
+        JSLRandom.setRNStreamProvider(new RNStreamProvider());
+        Simulation par = makeSimulation("Parallel");
+        ParallelReplicationRunner runner = new ParallelReplicationRunner(par, myBuilder, 1);
+        SequentialStoppingController pc = new SequentialStoppingController(runner);
+        addTargets(pc);
+        pc.run();
+
+        assertEquals(sc.getNumberOfReplicationsExecuted(), pc.getNumberOfReplicationsExecuted());
+        assertEquals(sc.getNumberOfBatches(), pc.getNumberOfBatches());
+        StatisticAccessorIfc e = seq.getModel().getResponseVariable("System Time").getAcrossReplicationStatistic();
+        StatisticAccessorIfc a = par.getModel().getResponseVariable("System Time").getAcrossReplicationStatistic();
+        assertEquals(e.getCount(), a.getCount());
+        assertEquals(e.getAverage(), a.getAverage(), 1.0e-9);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import ex.models.DriveThroughPharmacy;
+import jsl.modeling.EventListenerIfc;
+import jsl.modeling.JSLEvent;
+import jsl.modeling.Simulation;
+import jsl.observers.telemetry.JMXTelemetryExporter;
+import jsl.observers.telemetry.SimulationTelemetry;
+import jsl.observers.telemetry.SnapshotFileExporter;
+import jsl.observers.telemetry.TelemetryExporterIfc;
+import jsl.observers.telemetry.TelemetrySnapshot;
+import jsl.utilities.random.rng.RNStreamProvider;
+import jsl.utilities.random.rng.RNStreamProviderIfc;
+import jsl.utilities.random.rvariable.JSLRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the metrics published by SimulationTelemetry and its exporters
+ */
+public class SimulationTelemetryTest {
+
+    private RNStreamProviderIfc myProvider;
+
+    @BeforeEach
+    public void setUp() {
+        myProvider = JSLRandom.getRNStreamProvider();
+        JSLRandom.setRNStreamProvider(new RNStreamProvider());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JSLRandom.setRNStreamProvider(myProvider);
+    }
+
+    private Simulation makeSimulation() {
+        Simulation sim = new Simulation("TelemetryTest");
+        new DriveThroughPharmacy(sim.getModel(), 2);
+        sim.setNumberOfReplications(5);
+        sim.setLengthOfReplication(1000.0);
+        return sim;
+    }
+
+    @Test
+    public void countsEvents() throws Exception {
+        Simulation sim = makeSimulation();
+        SimulationTelemetry telemetry = new SimulationTelemetry(sim);
+        assertFalse(telemetry.isRecording());
+        TelemetryExporterIfc exporter = new TelemetryExporterIfc() {
+            @Override
+            public void start(SimulationTelemetry t) {
+            }
+
+            @Override
+            public void stop() {
+            }
+        };
+        telemetry.addExporter(exporter);
+        JMXTelemetryExporter jmx = new JMXTelemetryExporter();
+        telemetry.addExporter(jmx);
+        double[] events = new double[1];
+        sim.getExecutive().addEventListener(new EventListenerIfc() {
+            @Override
+            public void afterEvent(double time, JSLEvent event) {
+                events[0]++;
+            }
+        });
+        sim.run();
+        TelemetrySnapshot s = telemetry.snapshot();
+        assertEquals((long) events[0], s.getEventsExecuted());
+        long sum = 0;
+        for (long c : s.getElementEventCounts().values()) {
+            sum = sum + c;
+        }
+        assertEquals(s.getEventsExecuted(), sum);
+        assertEquals(5, s.getReplicationNumber());
+        assertEquals(1.0, s.getReplicationProgress());
+        assertEquals(5000.0, s.getTotalSimulatedTime(), 1.0e-9);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(s.getEventsExecuted(), server.getAttribute(jmx.getObjectName(), "EventsExecuted"));
+        telemetry.removeAllExporters();
+        assertFalse(server.isRegistered(jmx.getObjectName()));
+        assertFalse(telemetry.isRecording());
+    }
+
+    @Test
+    public void writesJSONSnapshots() throws Exception {
+        Simulation sim = makeSimulation();
+        SimulationTelemetry telemetry = new SimulationTelemetry(sim);
+        File file = File.createTempFile("telemetry", ".json");
+        file.deleteOnExit();
+        SnapshotFileExporter exporter = new SnapshotFileExporter(file, SnapshotFileExporter.Format.JSON, 10);
+        telemetry.addExporter(exporter);
+        sim.run();
+        telemetry.removeExporter(exporter);
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(exporter.getNumberOfSnapshots(), lines.size());
+        String last = lines.get(lines.size() - 1);
+        assertTrue(last.startsWith("{\"simulation\":\"TelemetryTest\""));
+        assertTrue(last.contains("\"replication\":5"));
+        assertTrue(last.contains("\"elementEventCounts\":{"));
+    }
+}
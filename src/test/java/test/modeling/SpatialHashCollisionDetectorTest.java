@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.JSLEvent;
+import jsl.modeling.SchedulingElement;
+import jsl.modeling.Simulation;
+import jsl.modeling.elements.spatial.Collision;
+import jsl.modeling.elements.spatial.CollisionHandlerIfc;
+import jsl.modeling.elements.spatial.Euclidean2DPlane;
+import jsl.modeling.elements.spatial.Mover;
+import jsl.modeling.elements.spatial.SpatialElement;
+import jsl.modeling.elements.spatial.SpatialHashCollisionDetector;
+import jsl.modeling.elements.spatial.SpatialHashIndex;
+import jsl.utilities.random.rvariable.ConstantRV;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks the time, position and type of the collisions found by the spatial
+ * hash collision detector for a stationary and a moving element
+ */
+public class SpatialHashCollisionDetectorTest {
+
+    @Test
+    public void stationaryAndMovingCollisions() {
+        Simulation sim = new Simulation("Collisions");
+        Euclidean2DPlane plane = new Euclidean2DPlane("plane");
+        Movers m = new Movers(sim, plane);
+        sim.setLengthOfReplication(200.0);
+        sim.run();
+
+        // the disk of radius 1 touches the point at (10, 0) when the mover reaches (9, 0),
+        // 0.3 of the way along its 30 unit movement that takes 15 time units
+        Recorder a = m.myStationaryRecorder;
+        assertEquals(1, a.myCount);
+        assertSame(m.myPoint, a.myElement);
+        assertEquals(Collision.STATIONARY, a.myType);
+        assertEquals(2.0 + 0.3 * 15.0, a.myTime, 1.0E-9);
+        assertEquals(9.0, a.myX, 1.0E-9);
+        assertEquals(0.0, a.myY, 1.0E-9);
+
+        // the other mover is moving north from (20, 5), its indexed position, when the
+        // mover starts at 3.0 from (40, 5) and reaches (21, 5), 0.475 of the way along
+        // its 40 unit movement that takes 10 time units
+        Recorder b = m.myMovingRecorder;
+        assertEquals(1, b.myCount);
+        assertSame(m.myOther, b.myElement.getModelElement());
+        assertEquals(Collision.MOVING, b.myType);
+        assertEquals(3.0 + 0.475 * 10.0, b.myTime, 1.0E-9);
+        assertEquals(21.0, b.myX, 1.0E-9);
+        assertEquals(5.0, b.myY, 1.0E-9);
+    }
+
+    /**
+     * Copies the collision, which is reused by the mover
+     */
+    private static class Recorder implements CollisionHandlerIfc {
+
+        private int myCount;
+        private SpatialElement myElement;
+        private int myType;
+        private double myTime;
+        private double myX;
+        private double myY;
+
+        @Override
+        public void handleCollision(Collision collision) {
+            myCount++;
+            myElement = collision.getCollisionElement();
+            myType = collision.getCollisionType();
+            myTime = collision.getTimeOfCollision();
+            myX = collision.getCollisionPosition().getX1();
+            myY = collision.getCollisionPosition().getX2();
+        }
+    }
+
+    private static class Movers extends SchedulingElement {
+
+        private final Euclidean2DPlane myPlane;
+        private final SpatialElement myPoint;
+        private final Mover myOther;
+        private final Mover myToPoint;
+        private final Mover myToOther;
+        private final Recorder myStationaryRecorder = new Recorder();
+        private final Recorder myMovingRecorder = new Recorder();
+
+        Movers(Simulation sim, Euclidean2DPlane plane) {
+            super(sim.getModel());
+            myPlane = plane;
+            myPoint = new SpatialElement(plane, 10.0, 0.0, "point");
+            myOther = makeMover("other", 20.0, 5.0, 1.0);
+            myToPoint = makeMover("toPoint", 0.0, 0.0, 2.0);
+            myToOther = makeMover("toOther", 40.0, 5.0, 4.0);
+            SpatialHashIndex index = new SpatialHashIndex(plane, 5.0);
+            myToPoint.setCollisionDetector(new SpatialHashCollisionDetector(index, 1.0));
+            myToPoint.setCollisionHandler(myStationaryRecorder);
+            myToOther.setCollisionDetector(new SpatialHashCollisionDetector(index, 1.0));
+            myToOther.setCollisionHandler(myMovingRecorder);
+        }
+
+        private Mover makeMover(String name, double x, double y, double velocity) {
+            Mover m = new Mover(this, name, myPlane, myPlane.getCoordinate(x, y));
+            m.setVelocityInitialRandomSource(new ConstantRV(velocity));
+            return m;
+        }
+
+        @Override
+        protected void initialize() {
+            scheduleEvent(this::moveOther, 0.0);
+            scheduleEvent(this::moveToPoint, 2.0);
+            scheduleEvent(this::moveToOther, 3.0);
+        }
+
+        private void moveOther(JSLEvent evt) {
+            myOther.travelTo(myPlane.getCoordinate(20.0, 100.0));
+        }
+
+        private void moveToPoint(JSLEvent evt) {
+            myToPoint.travelTo(myPlane.getCoordinate(30.0, 0.0));
+        }
+
+        private void moveToOther(JSLEvent evt) {
+            myToOther.travelTo(myPlane.getCoordinate(0.0, 5.0));
+        }
+    }
+}
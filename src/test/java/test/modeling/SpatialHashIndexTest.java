@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.modeling;
+
+import jsl.modeling.elements.spatial.CoordinateIfc;
+import jsl.modeling.elements.spatial.Euclidean2DPlane;
+import jsl.modeling.elements.spatial.RectangularCell2D;
+import jsl.modeling.elements.spatial.RectangularGridSpatialModel2D;
+import jsl.modeling.elements.spatial.SpatialElement;
+import jsl.modeling.elements.spatial.SpatialHashIndex;
+import jsl.modeling.elements.spatial.SpatialModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+/**
+ * Checks the queries of the spatial hash index against brute force searches
+ */
+public class SpatialHashIndexTest {
+
+    @Test
+    public void queriesMatchBruteForce() {
+        Euclidean2DPlane plane = new Euclidean2DPlane("plane");
+        Random rnd = new Random(7);
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            points.add(new Point(plane, rnd.nextDouble() * 100 - 50, rnd.nextDouble() * 100 - 50));
+        }
+        // indexes the points that already exist, later changes are observed
+        SpatialHashIndex index = new SpatialHashIndex(plane, 5.0);
+        for (int i = 0; i < 50; i++) {
+            points.add(new Point(plane, rnd.nextDouble() * 100 - 50, rnd.nextDouble() * 100 - 50));
+        }
+        for (int i = 0; i < 100; i++) {
+            points.get(rnd.nextInt(points.size())).moveTo(rnd.nextDouble() * 120 - 60, rnd.nextDouble() * 120 - 60);
+        }
+        Euclidean2DPlane other = new Euclidean2DPlane("other");
+        for (int i = 0; i < 20; i++) {
+            Point p = points.remove(rnd.nextInt(points.size()));
+            p.changeSpatialModel(other, p.getPosition());
+            assertFalse(index.contains(p));
+        }
+        assertEquals(points.size(), index.size());
+
+        for (int q = 0; q < 50; q++) {
+            double x = rnd.nextDouble() * 140 - 70;
+            double y = rnd.nextDouble() * 140 - 70;
+            double r = rnd.nextDouble() * 20;
+            Set<SpatialElement> found = new HashSet<>();
+            index.findWithinRadius(x, y, r, null, found);
+            Set<SpatialElement> expected = new HashSet<>();
+            for (Point p : points) {
+                if (distance(p, x, y) <= r) {
+                    expected.add(p);
+                }
+            }
+            assertEquals(expected, found);
+
+            SpatialElement[] nearest = new SpatialElement[5];
+            assertEquals(5, index.findNearest(x, y, null, nearest));
+            List<Point> sorted = new ArrayList<>(points);
+            sorted.sort((a, b) -> Double.compare(distance(a, x, y), distance(b, x, y)));
+            for (int i = 0; i < 5; i++) {
+                assertEquals(distance(sorted.get(i), x, y), distance(nearest[i], x, y), 1.0e-12);
+            }
+
+            double x2 = rnd.nextDouble() * 140 - 70;
+            double y2 = rnd.nextDouble() * 140 - 70;
+            found.clear();
+            index.findAlongSegment(x, y, x2, y2, 3.0, null, found);
+            expected.clear();
+            for (Point p : points) {
+                if (segmentDistance(p, x, y, x2, y2) <= 3.0) {
+                    expected.add(p);
+                }
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void firstAlongSegment() {
+        Euclidean2DPlane plane = new Euclidean2DPlane();
+        SpatialHashIndex index = new SpatialHashIndex(plane, 1.0);
+        Point start = new Point(plane, 0.0, 0.0);
+        Point far = new Point(plane, 8.0, 0.5);
+        Point near = new Point(plane, 4.0, -0.5);
+        new Point(plane, 4.0, 3.0);
+        assertSame(near, index.findFirstAlongSegment(0.0, 0.0, 10.0, 0.0, 1.0, start));
+        // the unit disk first touches (4,-0.5) when its center reaches x = 4 - sqrt(0.75)
+        assertEquals((4.0 - Math.sqrt(0.75)) / 10.0, index.getLastSegmentFraction(), 1.0e-12);
+        near.moveTo(20.0, 0.0);
+        assertSame(far, index.findFirstAlongSegment(0.0, 0.0, 10.0, 0.0, 1.0, start));
+        assertSame(start, index.findNearest(-3.0, 0.0, null));
+    }
+
+    @Test
+    public void sparseOutlier() {
+        Euclidean2DPlane plane = new Euclidean2DPlane();
+        SpatialHashIndex index = new SpatialHashIndex(plane, 1.0);
+        Point origin = new Point(plane, 0.0, 0.0);
+        Point outlier = new Point(plane, 20000.0, 20000.0);
+        // the cells between the two elements must not be visited
+        assertTimeout(Duration.ofSeconds(1), () -> {
+            for (int i = 0; i < 100; i++) {
+                assertSame(outlier, index.findNearest(0.0, 0.0, origin));
+                List<SpatialElement> found = new ArrayList<>();
+                assertEquals(2, index.findWithinRadius(0.0, 0.0, 30000.0, null, found));
+                found.clear();
+                assertEquals(2, index.findAlongSegment(0.0, 0.0, 20000.0, 20000.0, 1.0, null, found));
+                assertSame(outlier, index.findFirstAlongSegment(-5.0, -5.0, 30000.0, 30000.0, 1.0, origin));
+            }
+        });
+        // a mover passes far away and comes back among many nearby elements
+        Random rnd = new Random(11);
+        List<Point> points = new ArrayList<>();
+        points.add(origin);
+        points.add(outlier);
+        for (int i = 0; i < 300; i++) {
+            Point p = new Point(plane, rnd.nextDouble() * 20, rnd.nextDouble() * 20);
+            points.add(p);
+            p.moveTo(-50000.0, 50000.0 * rnd.nextDouble());
+            p.moveTo(rnd.nextDouble() * 20, rnd.nextDouble() * 20);
+        }
+        outlier.moveTo(10.0, 10.0);
+        assertTimeout(Duration.ofSeconds(1), () -> {
+            for (int q = 0; q < 100; q++) {
+                double x = rnd.nextDouble() * 20;
+                double y = rnd.nextDouble() * 20;
+                List<SpatialElement> found = new ArrayList<>();
+                index.findWithinRadius(x, y, 2.0, null, found);
+                int expected = 0;
+                Point nearest = points.get(0);
+                for (Point p : points) {
+                    if (distance(p, x, y) <= 2.0) {
+                        expected++;
+                    }
+                    if (distance(p, x, y) < distance(nearest, x, y)) {
+                        nearest = p;
+                    }
+                }
+                assertEquals(expected, found.size());
+                assertEquals(distance(nearest, x, y), distance(index.findNearest(x, y, null), x, y), 1.0e-12);
+            }
+        });
+    }
+
+    @Test
+    public void gridNeighborhoodMinimum() {
+        RectangularGridSpatialModel2D grid = new RectangularGridSpatialModel2D(30.0, 30.0, 3, 3);
+        new SpatialElement(grid, 5.0, 5.0);
+        new SpatialElement(grid, 15.0, 5.0);
+        new SpatialElement(grid, 15.0, 15.0);
+        for (RectangularCell2D cell : grid.getCellsAsList()) {
+            for (boolean core : new boolean[]{true, false}) {
+                assertSame(RectangularGridSpatialModel2D.findCellWithMinimumElements(
+                        grid.getMooreNeighborhoodAsList(cell, core)),
+                        grid.findCellWithMinimumElementsInNeighborhood(cell, core));
+            }
+        }
+        SpatialHashIndex index = new SpatialHashIndex(grid);
+        assertEquals(10.0, index.getCellSize());
+        List<SpatialElement> found = new ArrayList<>();
+        assertEquals(2, index.findWithinRadius(10.0, 5.0, 5.0, null, found));
+    }
+
+    private static double distance(SpatialElement e, double x, double y) {
+        CoordinateIfc c = e.getPosition();
+        return Math.hypot(c.getX1() - x, c.getX2() - y);
+    }
+
+    private static double segmentDistance(SpatialElement e, double x1, double y1, double x2, double y2) {
+        CoordinateIfc c = e.getPosition();
+        double sx = x2 - x1;
+        double sy = y2 - y1;
+        double t = ((c.getX1() - x1) * sx + (c.getX2() - y1) * sy) / (sx * sx + sy * sy);
+        t = Math.max(0.0, Math.min(1.0, t));
+        return Math.hypot(c.getX1() - (x1 + t * sx), c.getX2() - (y1 + t * sy));
+    }
+
+    /**
+     * A spatial element that can be moved by the test
+     */
+    private static class Point extends SpatialElement {
+
+        Point(SpatialModel model, double x, double y) {
+            super(model, x, y);
+        }
+
+        void moveTo(double x, double y) {
+            setCurrentPosition(getSpatialModel().getCoordinate(x, y));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.random;
+
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.random.rng.RNStreamIfc;
+import jsl.utilities.random.rvariable.AbstractRVariable;
+import jsl.utilities.random.rvariable.ExponentialRV;
+import jsl.utilities.random.rvariable.NormalRV;
+import jsl.utilities.random.rvariable.TriangularRV;
+import jsl.utilities.random.rvariable.UniformRV;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that bulk generation produces the same values as one-at-a-time generation
+ */
+public class BulkGenerationTest {
+
+    private static final int N = 1000;
+
+    private RNStreamFactory f;
+
+    @BeforeEach
+    public void setUp() {
+        f = new RNStreamFactory();
+    }
+
+    private static double[] perCall(RNStreamIfc s, int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = s.randU01();
+        }
+        return x;
+    }
+
+    private void checkStream(boolean anti, boolean prec53) {
+        RNStreamFactory.RNStream s = (RNStreamFactory.RNStream) f.getStream();
+        s.setAntitheticOption(anti);
+        s.increasedPrecis(prec53);
+        double[] expected = perCall(s, N);
+        s.resetStartStream();
+        double[] bulk = new double[N + 10];
+        s.randU01(bulk, 5, N);
+        for (int i = 0; i < N; i++) {
+            assertEquals(expected[i], bulk[i + 5]);
+        }
+        assertEquals(0.0, bulk[4]);
+        assertEquals(0.0, bulk[N + 5]);
+        assertEquals(expected[N - 1], s.getPrevU01());
+        // the state continues from where the bulk call stopped
+        double next = s.randU01();
+        s.resetStartStream();
+        perCall(s, N);
+        assertEquals(s.randU01(), next);
+    }
+
+    @Test
+    public void streamBulkMatchesPerCall() {
+        checkStream(false, false);
+        checkStream(true, false);
+        checkStream(false, true);
+    }
+
+    @Test
+    public void badArguments() {
+        RNStreamIfc s = f.getStream();
+        assertThrows(IllegalArgumentException.class, () -> s.randU01(null, 0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> s.randU01(new double[5], 3, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> s.randU01(new double[5], -1, 1));
+    }
+
+    private void checkVariate(AbstractRVariable rv) {
+        double[] expected = new double[N];
+        for (int i = 0; i < N; i++) {
+            expected[i] = rv.sample();
+        }
+        rv.resetStartStream();
+        assertArrayEquals(expected, rv.sample(N));
+        assertEquals(expected[N - 1], rv.getPreviousValue());
+    }
+
+    @Test
+    public void variateBulkMatchesPerCall() {
+        checkVariate(new ExponentialRV(2.0, f.getStream()));
+        checkVariate(new NormalRV(10.0, 4.0, f.getStream()));
+        checkVariate(new UniformRV(-1.0, 3.0, f.getStream()));
+        checkVariate(new TriangularRV(1.0, 2.0, 5.0, f.getStream()));
+        checkVariate(new TriangularRV(1.0, 1.0, 5.0, f.getStream()));
+    }
+}
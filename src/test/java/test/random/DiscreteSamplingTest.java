@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2018. Manuel D. Rossetti, rossetti@uark.edu
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package test.random;
+
+import jsl.utilities.random.distributions.Binomial;
+import jsl.utilities.random.distributions.Poisson;
+import jsl.utilities.random.rng.RNStreamFactory;
+import jsl.utilities.random.rng.RNStreamIfc;
+import jsl.utilities.random.robj.DEmpiricalList;
+import jsl.utilities.random.rvariable.AliasTable;
+import jsl.utilities.random.rvariable.BinomialRV;
+import jsl.utilities.random.rvariable.DEmpiricalRV;
+import jsl.utilities.random.rvariable.GuideTable;
+import jsl.utilities.random.rvariable.PoissonRV;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the guide table and alias table based discrete samplers
+ */
+public class DiscreteSamplingTest {
+
+    private static final int N = 20000;
+
+    private static final double[] VALUES = {1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+
+    private static final double[] CDF = {0.1, 0.1, 0.35, 0.9, 0.95, 1.0};
+
+    private RNStreamFactory f;
+
+    @BeforeEach
+    public void setUp() {
+        f = new RNStreamFactory();
+    }
+
+    private static int sequentialSearch(double[] cdf, double u) {
+        int i = 0;
+        while (cdf[i] <= u) {
+            i = i + 1;
+        }
+        return i;
+    }
+
+    @Test
+    public void guideTableMatchesSequentialSearch() {
+        GuideTable g = new GuideTable(CDF);
+        RNStreamIfc s = f.getStream();
+        for (int k = 0; k < N; k++) {
+            double u = s.randU01();
+            assertEquals(sequentialSearch(CDF, u), g.index(u));
+        }
+        for (double u : CDF) {
+            if (u < 1.0) {
+                assertEquals(sequentialSearch(CDF, u), g.index(u));
+            }
+        }
+        GuideTable truncated = new GuideTable(new double[]{0.25, 0.5});
+        assertEquals(1, truncated.index(0.25));
+        assertEquals(-1, truncated.index(0.5));
+    }
+
+    @Test
+    public void dEmpiricalMatchesInversion() {
+        RNStreamIfc s = f.getStream();
+        DEmpiricalRV rv = new DEmpiricalRV(VALUES, CDF, s);
+        double[] x = rv.sample(N);
+        s.resetStartStream();
+        for (int k = 0; k < N; k++) {
+            assertEquals(VALUES[sequentialSearch(CDF, s.randU01())], x[k]);
+        }
+    }
+
+    @Test
+    public void dEmpiricalListMatchesInversion() {
+        RNStreamIfc s = f.getStream();
+        DEmpiricalList<Double> list = new DEmpiricalList<>(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0), CDF, s);
+        double[] x = new double[N];
+        for (int k = 0; k < N; k++) {
+            x[k] = list.getRandomElement();
+        }
+        s.resetStartStream();
+        for (int k = 0; k < N; k++) {
+            assertEquals(VALUES[sequentialSearch(CDF, s.randU01())], x[k]);
+        }
+    }
+
+    @Test
+    public void dEmpiricalListIgnoresExtraElements() {
+        RNStreamIfc s = f.getStream();
+        DEmpiricalList<Double> list = new DEmpiricalList<>(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0), CDF, s);
+        for (int k = 0; k < N; k++) {
+            assertNotEquals(7.0, list.getRandomElement());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new DEmpiricalList<>(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0), CDF, s));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DEmpiricalList<>(Arrays.asList(1.0, 2.0), new double[]{0.6, 0.5}, s));
+    }
+
+    @Test
+    public void aliasMethodFrequencies() {
+        AliasTable a = AliasTable.fromCDF(CDF);
+        RNStreamIfc s = f.getStream();
+        int[] counts = new int[CDF.length];
+        int n = 200000;
+        for (int k = 0; k < n; k++) {
+            counts[a.index(s.randU01())]++;
+        }
+        double prev = 0.0;
+        for (int i = 0; i < CDF.length; i++) {
+            double p = CDF[i] - prev;
+            prev = CDF[i];
+            double se = Math.sqrt(p * (1.0 - p) / n);
+            assertEquals(p, (double) counts[i] / n, 5.0 * se + 1.0e-12);
+        }
+    }
+
+    @Test
+    public void aliasMethodUsesInversionWhenAntithetic() {
+        RNStreamIfc s1 = f.getStream();
+        RNStreamIfc s2 = s1.newInstance();
+        DEmpiricalRV inv = new DEmpiricalRV(VALUES, CDF, s1);
+        DEmpiricalRV alias = new DEmpiricalRV(VALUES, CDF, s2, true);
+        assertTrue(alias.isAliasMethod());
+        inv.setAntitheticOption(true);
+        alias.setAntitheticOption(true);
+        for (int k = 0; k < 1000; k++) {
+            assertEquals(inv.sample(), alias.sample());
+        }
+    }
+
+    @Test
+    public void cdfTablesMatchRecursiveCDF() {
+        double[] pt = Poisson.recursiveCDFTable(60, 12.5);
+        for (int j = 0; j <= 60; j++) {
+            assertEquals(Poisson.recursiveCDF(j, 12.5), pt[j]);
+        }
+        double[] bt = Binomial.recursiveCDFTable(40, 0.3);
+        for (int j = 0; j <= 40; j++) {
+            assertEquals(Binomial.recursiveCDF(j, 40, 0.3), bt[j]);
+        }
+    }
+
+    @Test
+    public void poissonAndBinomialMatchInversion() {
+        for (double mean : new double[]{0.5, 12.5, 400.0}) {
+            RNStreamIfc s = f.getStream();
+            double[] x = new PoissonRV(mean, s).sample(N);
+            s.resetStartStream();
+            for (int k = 0; k < N; k++) {
+                assertEquals(Poisson.poissonInvCDF(s.randU01(), mean), x[k], "mean = " + mean);
+            }
+        }
+        RNStreamIfc s = f.getStream();
+        double[] x = new BinomialRV(0.3, 40, s).sample(N);
+        s.resetStartStream();
+        for (int k = 0; k < N; k++) {
+            assertEquals(Binomial.binomialInvCDF(s.randU01(), 40, 0.3), x[k]);
+        }
+    }
+}